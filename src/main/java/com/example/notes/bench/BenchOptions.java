@@ -0,0 +1,244 @@
+package com.example.notes.bench;
+
+import com.example.notes.load.LoadProfile;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+
+/**
+ * Параметры командной строки notes-bench: сценарий и флаги.
+ *
+ * ФОРМАТ:
+ *   notes-bench <сценарий> --url URL [--concurrency N] [--rate R] [--duration D] [--out DIR]
+ *               [--workload NAME|FILE] [--processes N] [--samples FILE] [--live]
+ * Флаги можно писать и как "--rate 50", и как "--rate=50". --live значения не принимает.
+ *
+ * --url ОБЯЗАТЕЛЕН (или -DbaseUrl=...): в jar нет local.properties, и без флага нагрузка
+ * пошла бы на публичный сервер из @DefaultValue EnvConfig. Для встроенной заглушки - --url inproc.
+ *
+ * ЗНАЧЕНИЯ ПО УМОЛЧАНИЮ:
+ * Флаг, которого нет в командной строке, остаётся null - тогда сценарий берёт своё значение
+ * (у smoke одна частота и длительность, у soak - другие). См. Scenario.
+ *
+ * ЗАЧЕМ ОТДЕЛЬНЫЙ КЛАСС:
+ * Разбор аргументов не зависит от сети и конфигурации, поэтому ошибку в команде
+ * видно сразу, до того как notes-bench начнёт создавать пользователей.
+ */
+public class BenchOptions {
+
+    private final Scenario scenario;
+    private final String url;
+    private final Integer concurrency;
+    private final Double rate;
+    private final Duration duration;
+    private final Path out;
+    private final String workload;
+    private final Integer processes;
+    private final Path samples;
+    private final boolean live;
+
+    private BenchOptions(Scenario scenario, String url, Integer concurrency, Double rate, Duration duration,
+                         Path out, String workload, Integer processes, Path samples, boolean live) {
+        this.scenario = scenario;
+        this.url = url;
+        this.concurrency = concurrency;
+        this.rate = rate;
+        this.duration = duration;
+        this.out = out;
+        this.workload = workload;
+        this.processes = processes;
+        this.samples = samples;
+        this.live = live;
+    }
+
+    /**
+     * Разбирает аргументы командной строки.
+     *
+     * @param args аргументы main()
+     * @return параметры запуска
+     * @throws IllegalArgumentException если сценарий или флаг неизвестны, или значение не разбирается
+     */
+    public static BenchOptions parse(String[] args) {
+        if (args.length == 0) {
+            throw new IllegalArgumentException("Scenario is required");
+        }
+        Scenario scenario = Scenario.byName(args[0]);
+        String url = null;
+        Integer concurrency = null;
+        Double rate = null;
+        Duration duration = null;
+        Path out = Paths.get("bench-results");
+        String workload = null;
+        Integer processes = null;
+        Path samples = null;
+        boolean live = false;
+
+        for (int i = 1; i < args.length; i++) {
+            String flag = args[i];
+            if ("--live".equals(flag) || "-l".equals(flag)) {
+                live = true;
+                continue;
+            }
+            String value;
+            int eq = flag.indexOf('=');
+            if (eq > 0) {
+                value = flag.substring(eq + 1);
+                flag = flag.substring(0, eq);
+            } else if (i + 1 < args.length) {
+                value = args[++i];
+            } else {
+                throw new IllegalArgumentException("Missing value for " + flag);
+            }
+            switch (flag) {
+                case "--url":
+                case "-u":
+                    url = value;
+                    break;
+                case "--concurrency":
+                case "-c":
+                    concurrency = parsePositiveInt(flag, value);
+                    break;
+                case "--rate":
+                case "-r":
+                    rate = parsePositiveDouble(flag, value);
+                    break;
+                case "--duration":
+                case "-d":
+                    duration = LoadProfile.parseDuration(value);
+                    break;
+                case "--out":
+                case "-o":
+                    out = Paths.get(value);
+                    break;
+                case "--workload":
+                case "-w":
+                    workload = value;
+                    break;
+                case "--processes":
+                case "-p":
+                    processes = parsePositiveInt(flag, value);
+                    break;
+                case "--samples":
+                case "-s":
+                    samples = Paths.get(value);
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown flag: " + flag);
+            }
+        }
+        if (url == null && System.getProperty("baseUrl") == null) {
+            throw new IllegalArgumentException(
+                    "--url is required: the Notes API base URL, or \"inproc\" for the built-in stub");
+        }
+        return new BenchOptions(scenario, url, concurrency, rate, duration, out, workload, processes, samples, live);
+    }
+
+    private static int parsePositiveInt(String flag, String value) {
+        try {
+            int parsed = Integer.parseInt(value.trim());
+            if (parsed > 0) {
+                return parsed;
+            }
+        } catch (NumberFormatException ignored) {
+            // сообщение ниже
+        }
+        throw new IllegalArgumentException(flag + " must be a positive integer: " + value);
+    }
+
+    private static double parsePositiveDouble(String flag, String value) {
+        try {
+            double parsed = Double.parseDouble(value.trim());
+            if (parsed > 0) {
+                return parsed;
+            }
+        } catch (NumberFormatException ignored) {
+            // сообщение ниже
+        }
+        throw new IllegalArgumentException(flag + " must be a positive number: " + value);
+    }
+
+    /**
+     * Переносит флаги в системные свойства, которые читает EnvConfig ("system:properties").
+     *
+     * ВАЖНО: вызывать до первого обращения к TestEnv - конфигурация читается один раз.
+     */
+    public void applyToConfig() {
+        if (url != null) {
+            System.setProperty("baseUrl", url);
+        }
+        if (workload != null) {
+            System.setProperty("workload", workload);
+        }
+        if (samples != null) {
+            System.setProperty("sample.log", samples.toString());
+        }
+        // Каждый поток держит одно соединение: пул должен быть не меньше числа потоков
+        if (concurrency != null && concurrency > 64) {
+            System.setProperty("http.pool.maxTotal", String.valueOf(concurrency));
+            System.setProperty("http.pool.maxPerRoute", String.valueOf(concurrency));
+        }
+    }
+
+    /**
+     * @return текст справки (сценарии и флаги)
+     */
+    public static String usage() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("Usage: java -jar notes-bench.jar <scenario> --url URL [flags]\n\n");
+        sb.append("Scenarios:\n");
+        for (Scenario scenario : Scenario.values()) {
+            sb.append(String.format("  %-11s %s%n", scenario.getName(), scenario.getDescription()));
+        }
+        sb.append("\nFlags:\n");
+        sb.append("  -u, --url URL          required: Notes API base URL, or \"inproc\" for the built-in stub\n");
+        sb.append("  -c, --concurrency N    worker threads and test users\n");
+        sb.append("  -r, --rate R           target operations per second\n");
+        sb.append("  -d, --duration D       run length: 500ms, 90s, 5m, 2h\n");
+        sb.append("  -o, --out DIR          report directory (default bench-results)\n");
+        sb.append("  -w, --workload W       operation mix: built-in name (default, browse-heavy) or .properties file\n");
+        sb.append("  -p, --processes N      load generator JVMs for the distributed scenario\n");
+        sb.append("  -s, --samples FILE     write every request to a binary sample log\n");
+        sb.append("  -l, --live             once-per-second console view: req/s, in flight, errors, p50/p99\n");
+        sb.append("\nOther commands:\n");
+        sb.append("  analyze FILE [--bucket 1s] [--out DIR]   timeline, per-route percentiles and errors from a sample log\n");
+        sb.append("  recovery [--notes 100000,500000] [--users 100] [--out DIR]   stub restart time: journal vs snapshot\n");
+        sb.append("  footprint [--notes 1000000,10000000] [--users 1000] [--out DIR]   stub heap/GC: heap vs offheap store\n");
+        sb.append("\nOther settings (http.pool.*, schema.validation, ...) can be passed as -Dkey=value.\n");
+        return sb.toString();
+    }
+
+    public Scenario getScenario() {
+        return scenario;
+    }
+
+    public int getConcurrency(int fallback) {
+        return concurrency != null ? concurrency : fallback;
+    }
+
+    public double getRate(double fallback) {
+        return rate != null ? rate : fallback;
+    }
+
+    public Duration getDuration(Duration fallback) {
+        return duration != null ? duration : fallback;
+    }
+
+    /**
+     * @return true, если во время сценария нужна живая панель (ConsoleDashboard)
+     */
+    public boolean isLive() {
+        return live;
+    }
+
+    public int getProcesses(int fallback) {
+        return processes != null ? processes : fallback;
+    }
+
+    /**
+     * @return каталог отчётов; сценарий пишет в подкаталог со своим именем
+     */
+    public Path getOut() {
+        return out;
+    }
+}
@@ -0,0 +1,205 @@
+package com.example.notes.bench;
+
+import com.example.notes.core.LiveStats;
+import com.example.notes.endpoints.Route;
+import org.HdrHistogram.Histogram;
+
+import java.io.Closeable;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.util.Locale;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Живая панель в терминале во время сценария (notes-bench --live): раз в секунду
+ * показывает частоту запросов, запросы в полёте, ошибки по статусам и p50/p99 по маршрутам.
+ *
+ * КАК ЭТО РАБОТАЕТ:
+ * 1. Счётчики пишет LiveStatsFilter в LiveStats - прямо в потоках запросов, без блокировок
+ * 2. Раз в секунду поток "dashboard" забирает интервальные гистограммы (LiveStats.drainInterval)
+ *    и счётчики статусов. Потоки запросов в это время продолжают писать в другую половину
+ *    Recorder - отрисовка их не тормозит
+ * 3. p50/p99 - скользящее окно за WINDOW_SECONDS: по маршруту хранится кольцо из
+ *    последних интервальных гистограмм, окно - их сумма. Гистограммы в кольце
+ *    переиспользуются, новых объектов на каждую секунду почти нет
+ * 4. Кадр собирается в строку и печатается одним вызовом. Если вывод - терминал
+ *    (System.console() != null), новый кадр рисуется поверх предыдущего (ANSI: курсор
+ *    вверх на высоту кадра, очистить до конца экрана). Чтобы не затереть то, что печатает
+ *    сам сценарий (заголовки фаз, итоговые таблицы), System.out на время панели подменяется
+ *    потоком, который отмечает любой вывод: после него кадр рисуется ниже, а не поверх.
+ *    Если вывод не терминал (файл, CI), кадры просто идут друг за другом
+ *
+ * ОШИБКИ:
+ * Статус 400 и выше или отсутствие ответа (статус 0); счётчики - с начала прогона.
+ */
+public class ConsoleDashboard implements Closeable {
+
+    /**
+     * Ширина скользящего окна для перцентилей, секунд.
+     */
+    static final int WINDOW_SECONDS = 10;
+
+    private static final String ESC = "\033[";
+
+    private static final Route[] ROUTES = Route.values();
+
+    private final String title;
+    private final PrintStream out;
+    private final boolean terminal;
+    private final LiveStats stats;
+
+    /**
+     * Кто-то кроме панели печатал после последнего кадра.
+     */
+    private volatile boolean dirty;
+    private int lastFrameLines;
+
+    private final Histogram[][] ring = new Histogram[ROUTES.length][WINDOW_SECONDS];
+    private final Histogram window = LiveStats.newIntervalHistogram();
+    private final long[] routeTotals = new long[ROUTES.length];
+    private final long[] statusTotals = new long[LiveStats.STATUS_SLOTS];
+    private final long startNanos = System.nanoTime();
+    private long lastTickNanos = startNanos;
+    private int tick;
+
+    private final ScheduledExecutorService timer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "dashboard");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private ConsoleDashboard(String title, PrintStream out, boolean terminal) {
+        this.title = title;
+        this.out = out;
+        this.terminal = terminal;
+        this.stats = LiveStats.activate();
+        for (Histogram[] slots : ring) {
+            for (int i = 0; i < slots.length; i++) {
+                slots[i] = LiveStats.newIntervalHistogram();
+            }
+        }
+    }
+
+    /**
+     * Включает LiveStats и начинает выводить кадры раз в секунду.
+     *
+     * @param title название (сценарий) в первой строке кадра
+     */
+    public static ConsoleDashboard start(String title, PrintStream out) {
+        ConsoleDashboard dashboard = new ConsoleDashboard(title, out, System.console() != null);
+        if (dashboard.terminal) {
+            System.setOut(new PrintStream(new FilterOutputStream(out) {
+                @Override
+                public void write(int b) throws IOException {
+                    dashboard.dirty = true;
+                    out.write(b);
+                }
+
+                @Override
+                public void write(byte[] b, int off, int len) throws IOException {
+                    dashboard.dirty = true;
+                    out.write(b, off, len);
+                }
+            }, true));
+        }
+        dashboard.timer.scheduleAtFixedRate(dashboard::draw, 1, 1, TimeUnit.SECONDS);
+        return dashboard;
+    }
+
+    private void draw() {
+        String frame = nextFrame();
+        if (terminal && !dirty && lastFrameLines > 0) {
+            // Курсор в начало строки на lastFrameLines выше и очистка до конца экрана
+            out.print(ESC + lastFrameLines + "F" + ESC + "J");
+        }
+        out.print(frame);
+        if (!terminal) {
+            out.println();
+        }
+        out.flush();
+        dirty = false;
+        lastFrameLines = 0;
+        for (int i = 0; i < frame.length(); i++) {
+            if (frame.charAt(i) == '\n') {
+                lastFrameLines++;
+            }
+        }
+    }
+
+    /**
+     * Забирает интервал из LiveStats и собирает кадр.
+     */
+    String nextFrame() {
+        long now = System.nanoTime();
+        double seconds = Math.max(now - lastTickNanos, 1) / 1e9;
+        lastTickNanos = now;
+        int slot = tick++ % WINDOW_SECONDS;
+
+        long interval = 0;
+        double[] routeRates = new double[ROUTES.length];
+        for (Route route : ROUTES) {
+            Histogram current = ring[route.ordinal()][slot];
+            stats.drainInterval(route, current);
+            long count = current.getTotalCount();
+            interval += count;
+            routeTotals[route.ordinal()] += count;
+            routeRates[route.ordinal()] = count / seconds;
+        }
+        stats.drainStatuses(statusTotals);
+
+        StringBuilder frame = new StringBuilder(1024);
+        long elapsed = TimeUnit.NANOSECONDS.toSeconds(now - startNanos);
+        long total = 0;
+        for (long count : routeTotals) {
+            total += count;
+        }
+        frame.append(String.format(Locale.ROOT, "notes-bench %s  %02d:%02d:%02d  %.1f req/s  in flight %d  total %d%n",
+                title, elapsed / 3600, elapsed / 60 % 60, elapsed % 60, interval / seconds, stats.inFlight(), total));
+        frame.append(String.format("%-30s %9s %9s %9s %10s%n", "route", "req/s", "p50 ms", "p99 ms", "total"));
+        for (Route route : ROUTES) {
+            if (routeTotals[route.ordinal()] == 0) {
+                continue;
+            }
+            window.reset();
+            for (Histogram part : ring[route.ordinal()]) {
+                window.add(part);
+            }
+            frame.append(String.format(Locale.ROOT, "%-30s %9.1f %9.2f %9.2f %10d%n",
+                    route.label(), routeRates[route.ordinal()],
+                    window.getValueAtPercentile(50) / 1e3, window.getValueAtPercentile(99) / 1e3,
+                    routeTotals[route.ordinal()]));
+        }
+        frame.append("errors:");
+        boolean any = false;
+        for (int status = 0; status < statusTotals.length; status++) {
+            if (statusTotals[status] > 0 && (status == 0 || status >= 400)) {
+                frame.append(' ').append(status == 0 ? "no-response" : String.valueOf(status))
+                        .append(" x").append(statusTotals[status]);
+                any = true;
+            }
+        }
+        frame.append(any ? "" : " none").append(String.format("%n(p50/p99 over the last %d s)%n", WINDOW_SECONDS));
+        return frame.toString();
+    }
+
+    /**
+     * Останавливает вывод, возвращает System.out и выключает LiveStats.
+     */
+    @Override
+    public void close() {
+        timer.shutdownNow();
+        try {
+            timer.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (terminal) {
+            System.out.flush();
+            System.setOut(out);
+        }
+        LiveStats.deactivate();
+    }
+}
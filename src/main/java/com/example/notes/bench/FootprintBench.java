@@ -0,0 +1,265 @@
+package com.example.notes.bench;
+
+import com.example.notes.stub.NotesBackend;
+import com.example.notes.stub.NotesStore;
+import com.example.notes.stub.OffHeapNotesStore;
+import com.example.notes.stub.StoredUser;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.lang.management.BufferPoolMXBean;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.ref.Reference;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Память и сборка мусора у хранилищ заглушки: notes-bench footprint [--notes 1000000,10000000]
+ * [--users 1000] [--out DIR].
+ *
+ * ЗАЧЕМ НУЖЕН ЭТОТ КЛАСС:
+ * OffHeapNotesStore нужен ради больших наборов данных: показывает, сколько на самом деле
+ * стоит заметка в куче и вне её и во что обходится сборщику мусора живой набор
+ * из миллионов заметок.
+ *
+ * КАК ЭТО РАБОТАЕТ (для каждого числа заметок, сначала heap, потом offheap):
+ * 1. Полная сборка, исходные объёмы кучи и памяти вне кучи (direct), счётчики GC
+ * 2. Заполнение: пользователи и заметки по кругу, три категории
+ * 3. Сборки за время заполнения (число и суммарное время - в основном молодое поколение)
+ * 4. Явная полная сборка с живым хранилищем - её время растёт с числом объектов в куче
+ * 5. Объёмы после сборки минус исходные = цена хранилища; хранилище отпускается
+ * Не хватило памяти - строка с OOM, следующий прогон идёт дальше.
+ *
+ * Итог - таблица в консоли и footprint.csv в --out (по умолчанию bench-results):
+ *   notes,store,fill_ms,heap_mb,off_heap_mb,bytes_per_note,gc_count,gc_ms,full_gc_ms
+ * 10M заметок в куче - это гигабайты: запускать с -Xmx и -XX:MaxDirectMemorySize
+ * (память вне кучи по умолчанию ограничена размером кучи), например
+ *   java -Xmx12g -XX:MaxDirectMemorySize=4g -jar notes-bench.jar footprint
+ */
+public class FootprintBench {
+
+    private static final String[] CATEGORIES = {"Home", "Work", "Personal"};
+
+    private static final String USAGE =
+            "Usage: java -jar notes-bench.jar footprint [--notes 1000000,10000000] [--users 1000] [--out DIR]";
+
+    /**
+     * Итог одного прогона; failure != null - прогон не закончился (например, OOM).
+     */
+    private static final class Row {
+
+        int notes;
+        String store;
+        long fillMillis;
+        long heapBytes;
+        long offHeapBytes;
+        long gcCount;
+        long gcMillis;
+        long fullGcMillis;
+        String failure;
+
+        double bytesPerNote() {
+            return (double) (heapBytes + offHeapBytes) / notes;
+        }
+    }
+
+    public static int run(String[] args) {
+        List<Integer> sizes = new ArrayList<>();
+        int users = 1000;
+        Path out = Paths.get("bench-results");
+        try {
+            for (int i = 0; i < args.length; i++) {
+                String flag = args[i];
+                if (i + 1 >= args.length) {
+                    throw new IllegalArgumentException("Missing value for " + flag);
+                }
+                String value = args[++i];
+                if ("--notes".equals(flag) || "-n".equals(flag)) {
+                    for (String size : value.split(",")) {
+                        sizes.add(Integer.parseInt(size.trim().replace("_", "")));
+                    }
+                } else if ("--users".equals(flag) || "-u".equals(flag)) {
+                    users = Integer.parseInt(value);
+                } else if ("--out".equals(flag) || "-o".equals(flag)) {
+                    out = Paths.get(value);
+                } else {
+                    throw new IllegalArgumentException("Unknown flag: " + flag);
+                }
+            }
+            if (users <= 0) {
+                throw new IllegalArgumentException("--users must be positive");
+            }
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.println(USAGE);
+            return 2;
+        }
+        if (sizes.isEmpty()) {
+            sizes.add(1_000_000);
+            sizes.add(10_000_000);
+        }
+        List<Row> rows = new ArrayList<>();
+        for (int notes : sizes) {
+            rows.add(measure(NotesBackend.HEAP, notes, users));
+            rows.add(measure(NotesBackend.OFF_HEAP, notes, users));
+        }
+        print(rows, System.out);
+        try {
+            Files.createDirectories(out);
+            Path csv = out.resolve("footprint.csv");
+            write(rows, csv);
+            System.out.printf("Report in %s%n", csv.toAbsolutePath());
+            return 0;
+        } catch (IOException e) {
+            System.err.println("Cannot write footprint report: " + e);
+            return 1;
+        }
+    }
+
+    private static Row measure(String kind, int notes, int users) {
+        Row row = new Row();
+        row.notes = notes;
+        row.store = kind;
+
+        // ШАГ 1: Исходное состояние
+        fullGc();
+        long heapBefore = heapUsed();
+        long directBefore = directUsed();
+        long gcCountBefore = gcCount();
+        long gcMillisBefore = gcMillis();
+
+        NotesBackend store = null;
+        try {
+            // ШАГ 2: Заполнение
+            long start = System.nanoTime();
+            store = fill(kind, notes, users);
+            row.fillMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+            // ШАГ 3: Сборки во время заполнения
+            row.gcCount = gcCount() - gcCountBefore;
+            row.gcMillis = gcMillis() - gcMillisBefore;
+
+            // ШАГ 4: Полная сборка с живым хранилищем
+            start = System.nanoTime();
+            System.gc();
+            row.fullGcMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+            // ШАГ 5: Цена хранилища
+            fullGc();
+            row.heapBytes = heapUsed() - heapBefore;
+            row.offHeapBytes = directUsed() - directBefore;
+            Reference.reachabilityFence(store);
+        } catch (OutOfMemoryError e) {
+            store = null;
+            row.failure = "OOM: " + e.getMessage();
+        } finally {
+            if (store != null) {
+                try {
+                    store.close();
+                } catch (IOException e) {
+                    System.err.println("Warning: cannot close store: " + e);
+                }
+            }
+        }
+        store = null;
+        fullGc();
+        System.out.printf(Locale.ROOT, "%s, %d notes: %s%n", kind, notes,
+                row.failure != null ? row.failure : String.format(Locale.ROOT, "%.0f bytes/note", row.bytesPerNote()));
+        return row;
+    }
+
+    private static NotesBackend fill(String kind, int notes, int userCount) {
+        NotesBackend store = NotesBackend.OFF_HEAP.equals(kind) ? new OffHeapNotesStore() : new NotesStore();
+        StoredUser[] users = new StoredUser[userCount];
+        for (int u = 0; u < userCount; u++) {
+            users[u] = store.register("user" + u, "user" + u + "@footprint.local", "password");
+        }
+        for (int n = 0; n < notes; n++) {
+            StoredUser user = users[n % userCount];
+            String title = "Note " + n;
+            String description = "Footprint benchmark note number " + n;
+            String category = CATEGORIES[n % CATEGORIES.length];
+            if (store instanceof OffHeapNotesStore) {
+                ((OffHeapNotesStore) store).addNote(user, title, description, category);
+            } else {
+                ((NotesStore) store).createNote(user, title, description, category);
+            }
+        }
+        return store;
+    }
+
+    // ==================== JVM ====================
+
+    private static void fullGc() {
+        // Две сборки: первая может оставить объекты с финализаторами и очищенные ссылки
+        System.gc();
+        System.gc();
+    }
+
+    private static long heapUsed() {
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+
+    private static long directUsed() {
+        long used = 0;
+        for (BufferPoolMXBean pool : ManagementFactory.getPlatformMXBeans(BufferPoolMXBean.class)) {
+            if ("direct".equals(pool.getName())) {
+                used += pool.getMemoryUsed();
+            }
+        }
+        return used;
+    }
+
+    private static long gcCount() {
+        long count = 0;
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            count += Math.max(0, gc.getCollectionCount());
+        }
+        return count;
+    }
+
+    private static long gcMillis() {
+        long millis = 0;
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            millis += Math.max(0, gc.getCollectionTime());
+        }
+        return millis;
+    }
+
+    // ==================== ОТЧЁТ ====================
+
+    private static void print(List<Row> rows, PrintStream out) {
+        out.println();
+        out.printf("%-10s %-8s %9s %9s %11s %10s %8s %8s %11s%n",
+                "notes", "store", "fill ms", "heap MB", "off-heap MB", "B/note", "GCs", "GC ms", "full GC ms");
+        for (Row row : rows) {
+            if (row.failure != null) {
+                out.printf("%-10d %-8s %s%n", row.notes, row.store, row.failure);
+                continue;
+            }
+            out.printf(Locale.ROOT, "%-10d %-8s %9d %9.1f %11.1f %10.0f %8d %8d %11d%n",
+                    row.notes, row.store, row.fillMillis, row.heapBytes / 1e6, row.offHeapBytes / 1e6,
+                    row.bytesPerNote(), row.gcCount, row.gcMillis, row.fullGcMillis);
+        }
+    }
+
+    private static void write(List<Row> rows, Path csv) throws IOException {
+        try (BufferedWriter writer = Files.newBufferedWriter(csv, StandardCharsets.UTF_8)) {
+            writer.write("notes,store,fill_ms,heap_mb,off_heap_mb,bytes_per_note,gc_count,gc_ms,full_gc_ms,failure\n");
+            for (Row row : rows) {
+                writer.write(String.format(Locale.ROOT, "%d,%s,%d,%.3f,%.3f,%.1f,%d,%d,%d,%s\n",
+                        row.notes, row.store, row.fillMillis, row.heapBytes / 1e6, row.offHeapBytes / 1e6,
+                        row.failure != null ? 0 : row.bytesPerNote(), row.gcCount, row.gcMillis, row.fullGcMillis,
+                        row.failure != null ? "OOM" : ""));
+            }
+        }
+    }
+}
@@ -0,0 +1,196 @@
+package com.example.notes.bench;
+
+import com.example.notes.stub.NotesStore;
+import com.example.notes.stub.StoredNote;
+import com.example.notes.stub.StoredUser;
+import com.example.notes.stub.StubStorage;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Stream;
+
+/**
+ * Время запуска заглушки с диска в зависимости от объёма данных:
+ * notes-bench recovery [--notes 100000,500000] [--users 100] [--out DIR].
+ *
+ * ЗАЧЕМ НУЖЕН ЭТОТ КЛАСС:
+ * Снимки (StubStorage.checkpoint) нужны, чтобы запуск не переигрывал всю историю.
+ * Этот сценарий показывает, сколько это даёт: для каждого размера данных сравнивается
+ * восстановление только из журнала и из снимка с хвостом журнала после него.
+ *
+ * КАК ЭТО РАБОТАЕТ (для каждого числа заметок, во временном каталоге):
+ * 1. Заполнение: пользователи, заметки, каждая четвёртая отмечается выполненной (PUT).
+ *    Запись без ожидания диска (syncWrites=false) - меряем запуск, а не заполнение
+ * 2. journal  - запуск по одному журналу: все записи с самого начала
+ * 3. Снимок, затем ещё 10% изменений (хвост)
+ * 4. snapshot - запуск по снимку и хвосту журнала
+ * Итог - таблица в консоли и recovery.csv в --out (по умолчанию bench-results):
+ *   notes,mode,snapshot_mb,snapshot_records,snapshot_ms,journal_mb,journal_records,journal_ms,total_ms
+ * Каждый запуск - в новое хранилище той же JVM, поэтому первый размер включает прогрев JIT.
+ */
+public class RecoveryBench {
+
+    private static final String[] CATEGORIES = {"Home", "Work", "Personal"};
+
+    private static final String USAGE =
+            "Usage: java -jar notes-bench.jar recovery [--notes 100000,500000] [--users 100] [--out DIR]";
+
+    /**
+     * Один запуск: размер данных, способ и итог восстановления.
+     */
+    private static final class Row {
+
+        final int notes;
+        final String mode;
+        final StubStorage.Recovery recovery;
+
+        Row(int notes, String mode, StubStorage.Recovery recovery) {
+            this.notes = notes;
+            this.mode = mode;
+            this.recovery = recovery;
+        }
+    }
+
+    public static int run(String[] args) {
+        List<Integer> sizes = new ArrayList<>();
+        int users = 100;
+        Path out = Paths.get("bench-results");
+        try {
+            for (int i = 0; i < args.length; i++) {
+                String flag = args[i];
+                if (i + 1 >= args.length) {
+                    throw new IllegalArgumentException("Missing value for " + flag);
+                }
+                String value = args[++i];
+                if ("--notes".equals(flag) || "-n".equals(flag)) {
+                    for (String size : value.split(",")) {
+                        sizes.add(Integer.parseInt(size.trim().replace("_", "")));
+                    }
+                } else if ("--users".equals(flag) || "-u".equals(flag)) {
+                    users = Integer.parseInt(value);
+                } else if ("--out".equals(flag) || "-o".equals(flag)) {
+                    out = Paths.get(value);
+                } else {
+                    throw new IllegalArgumentException("Unknown flag: " + flag);
+                }
+            }
+            if (users <= 0) {
+                throw new IllegalArgumentException("--users must be positive");
+            }
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.println(USAGE);
+            return 2;
+        }
+        if (sizes.isEmpty()) {
+            sizes.add(100_000);
+            sizes.add(500_000);
+        }
+        try {
+            List<Row> rows = new ArrayList<>();
+            for (int notes : sizes) {
+                Path directory = Files.createTempDirectory("notes-recovery-");
+                try {
+                    measure(directory, users, notes, rows);
+                } finally {
+                    deleteRecursively(directory);
+                }
+            }
+            print(rows, System.out);
+            Files.createDirectories(out);
+            Path csv = out.resolve("recovery.csv");
+            write(rows, csv);
+            System.out.printf("Report in %s%n", csv.toAbsolutePath());
+            return 0;
+        } catch (IOException e) {
+            System.err.println("Recovery benchmark failed: " + e);
+            return 1;
+        }
+    }
+
+    private static void measure(Path directory, int users, int notes, List<Row> rows) throws IOException {
+        // ШАГ 1: Заполнение
+        NotesStore store = open(directory);
+        StoredUser[] owners = new StoredUser[users];
+        for (int u = 0; u < users; u++) {
+            owners[u] = store.register("user" + u, "user" + u + "@recovery.local", "password");
+            store.login("user" + u + "@recovery.local", "password");
+        }
+        List<StoredNote> created = new ArrayList<>(notes);
+        for (int n = 0; n < notes; n++) {
+            created.add(store.createNote(owners[n % users], "Note " + n, "Recovery benchmark note " + n,
+                    CATEGORIES[n % CATEGORIES.length]));
+        }
+        for (int n = 0; n < notes; n += 4) {
+            complete(store, owners[n % users], created.get(n));
+        }
+        store.close();
+
+        // ШАГ 2: Только журнал
+        store = open(directory);
+        rows.add(new Row(notes, "journal", store.storage().getRecovery()));
+
+        // ШАГ 3: Снимок и хвост после него
+        store.storage().checkpoint();
+        for (int n = 1; n < notes; n += 10) {
+            complete(store, owners[n % users], created.get(n));
+        }
+        store.close();
+
+        // ШАГ 4: Снимок + хвост
+        store = open(directory);
+        rows.add(new Row(notes, "snapshot", store.storage().getRecovery()));
+        store.close();
+    }
+
+    private static NotesStore open(Path directory) throws IOException {
+        return NotesStore.durable(directory, false, 2, Long.MAX_VALUE);
+    }
+
+    private static void complete(NotesStore store, StoredUser owner, StoredNote note) {
+        store.updateNote(owner, note.getId(), note.getTitle(), note.getDescription(), note.getCategory(), true);
+    }
+
+    private static void print(List<Row> rows, PrintStream out) {
+        out.println();
+        out.printf("%-10s %-9s %12s %12s %12s %12s %10s%n",
+                "notes", "mode", "snapshot MB", "snapshot ms", "journal MB", "journal ms", "total ms");
+        for (Row row : rows) {
+            StubStorage.Recovery r = row.recovery;
+            out.printf(Locale.ROOT, "%-10d %-9s %12.1f %12d %12.1f %12d %10d%n",
+                    row.notes, row.mode, r.getSnapshotBytes() / 1e6, r.getSnapshotMillis(),
+                    r.getJournalBytes() / 1e6, r.getJournalMillis(), r.getTotalMillis());
+        }
+    }
+
+    private static void write(List<Row> rows, Path csv) throws IOException {
+        try (BufferedWriter writer = Files.newBufferedWriter(csv, StandardCharsets.UTF_8)) {
+            writer.write("notes,mode,snapshot_mb,snapshot_records,snapshot_ms,"
+                    + "journal_mb,journal_records,journal_ms,total_ms\n");
+            for (Row row : rows) {
+                StubStorage.Recovery r = row.recovery;
+                writer.write(String.format(Locale.ROOT, "%d,%s,%.3f,%d,%d,%.3f,%d,%d,%d\n",
+                        row.notes, row.mode, r.getSnapshotBytes() / 1e6, r.getSnapshotRecords(),
+                        r.getSnapshotMillis(), r.getJournalBytes() / 1e6, r.getJournalRecords(),
+                        r.getJournalMillis(), r.getTotalMillis()));
+            }
+        }
+    }
+
+    private static void deleteRecursively(Path directory) throws IOException {
+        try (Stream<Path> files = Files.walk(directory)) {
+            for (Path file : (Iterable<Path>) files.sorted(Comparator.reverseOrder())::iterator) {
+                Files.deleteIfExists(file);
+            }
+        }
+    }
+}
@@ -0,0 +1,282 @@
+package com.example.notes.bench;
+
+import com.example.notes.core.SampleLogReader;
+import com.example.notes.endpoints.Route;
+import com.example.notes.load.LoadProfile;
+import org.HdrHistogram.Histogram;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Обработка журнала SampleLog после прогона: notes-bench analyze FILE [--bucket D] [--out DIR].
+ *
+ * ЗАЧЕМ НУЖЕН ЭТОТ КЛАСС:
+ * Итоговые перцентили не показывают, что было по ходу прогона: p99 за час может быть
+ * приличным, хотя пять минут из этого часа API почти не отвечал. Журнал хранит каждый
+ * запрос, и по нему строится временной ряд - перцентили и пропускная способность
+ * по интервалам (bucket), плюс разбивка ошибок по маршрутам и статусам.
+ *
+ * КАК ЭТО РАБОТАЕТ:
+ * 1. SampleLogReader читает журнал блоками - в памяти никогда нет всех записей
+ * 2. Запись попадает в интервал по моменту окончания; у каждого открытого интервала
+ *    своя небольшая гистограмма (2 значащие цифры)
+ * 3. Потоки дописывают журнал не строго по порядку времени, поэтому интервал
+ *    закрывается (пишется строкой в timeline.csv) только когда в журнале встретилась
+ *    запись на REORDER_SLACK позже его конца. Запись в уже закрытый интервал
+ *    учитывается в итогах и в счётчике late, но не в timeline.csv
+ * 4. Итоги по маршрутам - гистограммы с 3 значащими цифрами за весь журнал
+ *
+ * ФАЙЛЫ (в --out, по умолчанию analysis рядом с журналом):
+ * - timeline.csv - time_s,requests,throughput_rps,errors,bytes_per_s,p50_ms,p90_ms,p99_ms,max_ms
+ * - routes.csv   - route,count,errors,p50_ms,p90_ms,p99_ms,p99_9_ms,max_ms
+ * - errors.csv   - route,status,count (статус 0 - ответа не было)
+ * Ошибка - статус 400 и выше или отсутствие ответа.
+ */
+public class SampleLogAnalyzer {
+
+    private static final long MAX_MICROS = TimeUnit.HOURS.toMicros(1);
+
+    private static final long REORDER_SLACK_MICROS = TimeUnit.SECONDS.toMicros(5);
+
+    private static final Route[] ROUTES = Route.values();
+
+    /**
+     * Открытый интервал временного ряда.
+     */
+    private static final class Bucket {
+        long requests;
+        long errors;
+        long bytes;
+        Histogram latency;
+    }
+
+    private final long bucketMicros;
+
+    private final Histogram[] routeLatency = new Histogram[ROUTES.length];
+    private final long[] routeErrors = new long[ROUTES.length];
+    private final Map<Route, TreeMap<Integer, Long>> errorsByStatus = new EnumMap<>(Route.class);
+
+    private final TreeMap<Long, Bucket> open = new TreeMap<>();
+    private final ArrayDeque<Histogram> spare = new ArrayDeque<>();
+    private long nextToWrite;
+
+    private long requests;
+    private long errors;
+    private long late;
+    private long originMicros;
+    private long lastMicros;
+
+    public SampleLogAnalyzer(Duration bucket) {
+        this.bucketMicros = TimeUnit.NANOSECONDS.toMicros(bucket.toNanos());
+        if (bucketMicros <= 0) {
+            throw new IllegalArgumentException("Bucket must be at least 1 microsecond: " + bucket);
+        }
+    }
+
+    /**
+     * Точка входа из org.hb.Main: analyze FILE [--bucket D] [--out DIR].
+     *
+     * @return код выхода: 0 - готово, 1 - ошибка чтения или записи, 2 - неверные аргументы
+     */
+    public static int run(String[] args) {
+        Path log = null;
+        Duration bucket = Duration.ofSeconds(1);
+        Path out = null;
+        try {
+            for (int i = 0; i < args.length; i++) {
+                String flag = args[i];
+                if (!flag.startsWith("-")) {
+                    log = Paths.get(flag);
+                    continue;
+                }
+                if (i + 1 >= args.length) {
+                    throw new IllegalArgumentException("Missing value for " + flag);
+                }
+                String value = args[++i];
+                if ("--bucket".equals(flag) || "-b".equals(flag)) {
+                    bucket = LoadProfile.parseDuration(value);
+                } else if ("--out".equals(flag) || "-o".equals(flag)) {
+                    out = Paths.get(value);
+                } else {
+                    throw new IllegalArgumentException("Unknown flag: " + flag);
+                }
+            }
+            if (log == null) {
+                throw new IllegalArgumentException("Sample log file is required");
+            }
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.println("Usage: java -jar notes-bench.jar analyze FILE [--bucket 1s] [--out DIR]");
+            return 2;
+        }
+        if (out == null) {
+            Path parent = log.toAbsolutePath().getParent();
+            out = parent.resolve("analysis");
+        }
+        try {
+            SampleLogAnalyzer analyzer = new SampleLogAnalyzer(bucket);
+            analyzer.analyze(log, out);
+            analyzer.print(System.out);
+            System.out.printf("Reports in %s%n", out.toAbsolutePath());
+            return 0;
+        } catch (IOException e) {
+            System.err.println("Cannot analyze " + log + ": " + e.getMessage());
+            return 1;
+        }
+    }
+
+    /**
+     * Читает журнал целиком и пишет timeline.csv, routes.csv и errors.csv в каталог.
+     */
+    public void analyze(Path log, Path directory) throws IOException {
+        Files.createDirectories(directory);
+        try (SampleLogReader reader = SampleLogReader.open(log);
+             BufferedWriter timeline = Files.newBufferedWriter(directory.resolve("timeline.csv"),
+                     StandardCharsets.UTF_8)) {
+            timeline.write("time_s,requests,throughput_rps,errors,bytes_per_s,p50_ms,p90_ms,p99_ms,max_ms\n");
+            originMicros = TimeUnit.MILLISECONDS.toMicros(reader.startMillis());
+            lastMicros = originMicros;
+            while (reader.next()) {
+                accept(reader, timeline);
+            }
+            flushBefore(Long.MAX_VALUE, timeline);
+        }
+        writeRoutes(directory.resolve("routes.csv"));
+        writeErrors(directory.resolve("errors.csv"));
+    }
+
+    private void accept(SampleLogReader reader, BufferedWriter timeline) throws IOException {
+        long micros = reader.timestampMicros();
+        long latencyMicros = Math.min(Math.max(reader.latencyNanos() / 1_000, 0), MAX_MICROS);
+        int status = reader.status();
+        boolean failed = status == 0 || status >= 400;
+        Route route = reader.route();
+
+        requests++;
+        lastMicros = Math.max(lastMicros, micros);
+        routeHistogram(route).recordValue(latencyMicros);
+        if (failed) {
+            errors++;
+            routeErrors[route.ordinal()]++;
+            errorsByStatus.computeIfAbsent(route, r -> new TreeMap<>()).merge(status, 1L, Long::sum);
+        }
+
+        long index = Math.max(0, (micros - originMicros) / bucketMicros);
+        if (index < nextToWrite) {
+            late++;
+        } else {
+            Bucket bucket = open.computeIfAbsent(index, i -> newBucket());
+            bucket.requests++;
+            bucket.bytes += reader.bytes();
+            bucket.latency.recordValue(latencyMicros);
+            if (failed) {
+                bucket.errors++;
+            }
+        }
+        flushBefore((lastMicros - REORDER_SLACK_MICROS - originMicros) / bucketMicros, timeline);
+    }
+
+    /**
+     * Пишет в timeline.csv все интервалы с номером меньше limit (пустые - нулевыми строками).
+     */
+    private void flushBefore(long limit, BufferedWriter timeline) throws IOException {
+        while (!open.isEmpty() && nextToWrite < limit) {
+            Bucket bucket = open.remove(nextToWrite);
+            double seconds = bucketMicros / 1e6;
+            double start = nextToWrite * seconds;
+            if (bucket == null) {
+                timeline.write(String.format(Locale.ROOT, "%.3f,0,0.0,0,0.0,,,,\n", start));
+            } else {
+                Histogram latency = bucket.latency;
+                timeline.write(String.format(Locale.ROOT, "%.3f,%d,%.1f,%d,%.1f,%.3f,%.3f,%.3f,%.3f\n",
+                        start, bucket.requests, bucket.requests / seconds, bucket.errors, bucket.bytes / seconds,
+                        latency.getValueAtPercentile(50) / 1e3, latency.getValueAtPercentile(90) / 1e3,
+                        latency.getValueAtPercentile(99) / 1e3, latency.getMaxValue() / 1e3));
+                latency.reset();
+                spare.push(latency);
+            }
+            nextToWrite++;
+        }
+    }
+
+    private Bucket newBucket() {
+        Bucket bucket = new Bucket();
+        bucket.latency = spare.isEmpty() ? new Histogram(MAX_MICROS, 2) : spare.pop();
+        return bucket;
+    }
+
+    private Histogram routeHistogram(Route route) {
+        Histogram histogram = routeLatency[route.ordinal()];
+        if (histogram == null) {
+            histogram = new Histogram(MAX_MICROS, 3);
+            routeLatency[route.ordinal()] = histogram;
+        }
+        return histogram;
+    }
+
+    private void writeRoutes(Path file) throws IOException {
+        StringBuilder csv = new StringBuilder("route,count,errors,p50_ms,p90_ms,p99_ms,p99_9_ms,max_ms\n");
+        for (Route route : ROUTES) {
+            Histogram latency = routeLatency[route.ordinal()];
+            if (latency == null) {
+                continue;
+            }
+            csv.append(String.format(Locale.ROOT, "%s,%d,%d,%.3f,%.3f,%.3f,%.3f,%.3f\n",
+                    route.label(), latency.getTotalCount(), routeErrors[route.ordinal()],
+                    latency.getValueAtPercentile(50) / 1e3, latency.getValueAtPercentile(90) / 1e3,
+                    latency.getValueAtPercentile(99) / 1e3, latency.getValueAtPercentile(99.9) / 1e3,
+                    latency.getMaxValue() / 1e3));
+        }
+        Files.write(file, csv.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    private void writeErrors(Path file) throws IOException {
+        StringBuilder csv = new StringBuilder("route,status,count\n");
+        errorsByStatus.forEach((route, statuses) -> statuses.forEach((status, count) ->
+                csv.append(route.label()).append(',').append(status).append(',').append(count).append('\n')));
+        Files.write(file, csv.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Печатает итог: число запросов, длительность, маршруты и ошибки.
+     */
+    public void print(PrintStream out) {
+        double seconds = Math.max(lastMicros - originMicros, 1) / 1e6;
+        out.printf(Locale.ROOT, "%d requests in %.1f s (%.1f req/s), %d errors, %d late samples%n",
+                requests, seconds, requests / seconds, errors, late);
+        out.printf("%-22s %8s %7s %9s %9s %9s %9s%n", "route", "count", "errors", "p50 ms", "p99 ms", "p99.9 ms", "max ms");
+        for (Route route : ROUTES) {
+            Histogram latency = routeLatency[route.ordinal()];
+            if (latency == null) {
+                continue;
+            }
+            out.printf(Locale.ROOT, "%-22s %8d %7d %9.2f %9.2f %9.2f %9.2f%n",
+                    route.label(), latency.getTotalCount(), routeErrors[route.ordinal()],
+                    latency.getValueAtPercentile(50) / 1e3, latency.getValueAtPercentile(99) / 1e3,
+                    latency.getValueAtPercentile(99.9) / 1e3, latency.getMaxValue() / 1e3);
+        }
+        errorsByStatus.forEach((route, statuses) -> statuses.forEach((status, count) ->
+                out.printf("  %s -> %s: %d%n", route.label(), status == 0 ? "no response" : status, count)));
+    }
+
+    public long getRequests() {
+        return requests;
+    }
+
+    public long getErrors() {
+        return errors;
+    }
+}
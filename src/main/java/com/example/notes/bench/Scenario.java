@@ -0,0 +1,334 @@
+package com.example.notes.bench;
+
+import com.example.notes.config.TestEnv;
+import com.example.notes.core.SampleLog;
+import com.example.notes.core.ServerTimings;
+import com.example.notes.load.CapacityResult;
+import com.example.notes.load.CapacitySearch;
+import com.example.notes.load.ConcurrencySweep;
+import com.example.notes.load.DistributedLoad;
+import com.example.notes.load.LoadEngine;
+import com.example.notes.load.LoadProfile;
+import com.example.notes.load.LoadResult;
+import com.example.notes.load.OperationMix;
+import com.example.notes.load.ScalabilityResult;
+import com.example.notes.load.SoakMonitor;
+import com.example.notes.load.SoakReport;
+import com.example.notes.stub.NotesBackend;
+import com.example.notes.stub.NotesStore;
+import com.example.notes.stub.NotesStubServer;
+import com.example.notes.stub.StubStorage;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.Locale;
+
+/**
+ * Сценарии notes-bench. Каждый сценарий - одна или несколько фаз LoadEngine
+ * с операциями по OperationMix.configured() (флаг --workload, по умолчанию "default").
+ *
+ * СЦЕНАРИИ (в скобках - значения по умолчанию: частота, длительность, потоки):
+ * - smoke    (2 op/s, 15 s, 1)   - проверка, что API отвечает, и базовое время ответа
+ * - steady   (20 op/s, 60 s, 16) - постоянная нагрузка
+ * - spike    (20 op/s, 90 s, 32) - треть времени обычная частота, треть - в 5 раз больше,
+ *                                  треть - снова обычная (видно, восстанавливается ли API)
+ * - soak     (10 op/s, 1 h, 16)  - долгая постоянная нагрузка: утечки и деградация. SoakMonitor
+ *                                  каждые soak.intervalSeconds замеряет p99, кучу после GC, потоки
+ *                                  и дескрипторы; SoakReport проваливает прогон при дрейфе выше soak.*
+ * - capacity (10 op/s, 30 s, 64) - поиск наибольшей частоты в пределах SLO (CapacitySearch):
+ *                                  --rate - первая ступень, --duration - длина ступени
+ * - scaling  (-, 20 s, 32)       - закрытая нагрузка при 1, 2, 4 ... --concurrency сессиях и модель USL
+ *                                  (ConcurrencySweep); --duration - длина одного уровня, --rate не нужен
+ * - distributed (20 op/s, 60 s, 16) - как steady, но нагрузку дают --processes JVM (по умолчанию 2)
+ *                                  с общим стартом и объединёнными гистограммами (DistributedLoad)
+ *
+ * ОТЧЁТЫ:
+ * <out>/<сценарий>/<фаза>/summary.json, latency.json, latency.csv (см. LoadResult.write).
+ * С --samples FILE каждый запрос этого процесса пишется в SampleLog (для notes-bench analyze);
+ * процессы distributed свои запросы в журнал не пишут.
+ * С --live во время сценария раз в секунду выводится ConsoleDashboard (тоже только этот процесс).
+ * Со встроенной заглушкой (baseUrl=inproc) фаза ещё сравнивает своё время с /metrics заглушки:
+ * таблица в консоли и server-timing.csv - сколько из времени ответа приходится на клиент
+ * (см. ServerTimings).
+ *
+ * КОД ВЫХОДА:
+ * 0 - прогон без ошибок, 1 - были ошибки операций (для capacity нарушения SLO на верхних
+ * ступенях ожидаемы, поэтому он возвращает 0, если SLO выдержан хотя бы на одной ступени).
+ */
+public enum Scenario {
+
+    SMOKE("smoke", "one user, low rate: is the API up and how fast does it answer",
+            2, Duration.ofSeconds(15), 1) {
+        @Override
+        int run(BenchOptions options, Path dir) throws IOException {
+            return exitCode(runPhase("smoke", profile(options, 1.0), dir));
+        }
+    },
+
+    STEADY("steady", "constant open-model load at --rate for --duration",
+            20, Duration.ofSeconds(60), 16) {
+        @Override
+        int run(BenchOptions options, Path dir) throws IOException {
+            return exitCode(runPhase("steady", profile(options, 1.0), dir));
+        }
+    },
+
+    SPIKE("spike", "baseline, " + Scenario.SPIKE_FACTOR + "x burst, recovery - a third of --duration each",
+            20, Duration.ofSeconds(90), 32) {
+        @Override
+        int run(BenchOptions options, Path dir) throws IOException {
+            int worst = 0;
+            worst = Math.max(worst, exitCode(runPhase("1-baseline", profile(options, 1.0 / 3), dir)));
+            worst = Math.max(worst, exitCode(runPhase("2-spike", scaled(options, SPIKE_FACTOR), dir)));
+            worst = Math.max(worst, exitCode(runPhase("3-recovery", profile(options, 1.0 / 3), dir)));
+            return worst;
+        }
+    },
+
+    SOAK("soak", "long constant load; fails on latency, heap, thread or fd drift (soak.*)",
+            10, Duration.ofHours(1), 16) {
+        @Override
+        int run(BenchOptions options, Path dir) throws IOException {
+            LoadProfile profile = profile(options, 1.0);
+            OperationMix mix = OperationMix.configured();
+            System.out.printf("%n== soak: %s, workload %s, sample every %d s ==%n",
+                    profile, mix.getName(), TestEnv.getSoakIntervalSeconds());
+            ServerTimings before = serverTimings();
+            LoadEngine engine = new LoadEngine(profile, mix);
+            SoakMonitor monitor = new SoakMonitor(engine.getCorrected(),
+                    Duration.ofSeconds(TestEnv.getSoakIntervalSeconds()));
+            monitor.start();
+            LoadResult result;
+            try {
+                result = engine.run();
+            } finally {
+                monitor.stop();
+            }
+            result.print(System.out);
+            result.write(dir.resolve("soak"));
+            reportServerTimings(before, result, dir.resolve("soak"));
+            SoakReport report = SoakReport.fromConfig(monitor.getSamples());
+            report.print(System.out);
+            report.write(dir);
+            return Math.max(exitCode(result), report.passed() ? 0 : 1);
+        }
+    },
+
+    CAPACITY("capacity", "stepped or binary search for the highest rate within the SLO (slo.*, capacity.*)",
+            10, Duration.ofSeconds(30), 64) {
+        @Override
+        int run(BenchOptions options, Path dir) throws IOException {
+            LoadProfile base = profile(options, 1.0);
+            CapacitySearch search = CapacitySearch.fromConfig(options.getRate(TestEnv.getCapacityStartRate()),
+                    base.getDuration(), base.getWorkers());
+            int[] step = {0};
+            CapacityResult result = search.run(profile -> {
+                try {
+                    return runPhase(String.format(Locale.ROOT, "plateau-%02d", ++step[0]), profile, dir);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            result.print(System.out);
+            result.write(dir);
+            return result.getSustainedRate() > 0 ? 0 : 1;
+        }
+    },
+
+    SCALING("scaling", "closed-loop throughput at 1, 2, 4 ... --concurrency sessions with a USL fit",
+            0, Duration.ofSeconds(20), 32) {
+        @Override
+        int run(BenchOptions options, Path dir) throws IOException {
+            int maxConcurrency = options.getConcurrency(32);
+            Duration perLevel = options.getDuration(Duration.ofSeconds(20));
+            OperationMix mix = OperationMix.configured();
+            System.out.printf("%n== scaling: up to %d sessions, %d s per level, workload %s ==%n",
+                    maxConcurrency, perLevel.getSeconds(), mix.getName());
+            ScalabilityResult result = new ConcurrencySweep(
+                    ConcurrencySweep.powersOfTwo(maxConcurrency), perLevel, mix).run();
+            result.print(System.out);
+            result.write(dir);
+            return result.getModel() != null ? 0 : 1;
+        }
+    },
+
+    DISTRIBUTED("distributed", "steady load split across --processes local JVMs, histograms merged",
+            20, Duration.ofSeconds(60), 16) {
+        @Override
+        int run(BenchOptions options, Path dir) throws IOException {
+            LoadProfile profile = profile(options, 1.0);
+            int processes = options.getProcesses(DEFAULT_PROCESSES);
+            System.out.printf("%n== distributed: %s, %d processes, workload %s ==%n",
+                    profile, processes, OperationMix.configured().getName());
+            LoadResult result = new DistributedLoad(profile, processes).run();
+            result.print(System.out);
+            result.write(dir);
+            return exitCode(result);
+        }
+    };
+
+    /**
+     * Во сколько раз частота в фазе spike выше обычной.
+     */
+    static final int SPIKE_FACTOR = 5;
+
+    /**
+     * Сколько JVM запускает distributed без флага --processes.
+     */
+    static final int DEFAULT_PROCESSES = 2;
+
+    private final String name;
+    private final String description;
+    private final double defaultRate;
+    private final Duration defaultDuration;
+    private final int defaultConcurrency;
+
+    Scenario(String name, String description, double defaultRate, Duration defaultDuration, int defaultConcurrency) {
+        this.name = name;
+        this.description = description;
+        this.defaultRate = defaultRate;
+        this.defaultDuration = defaultDuration;
+        this.defaultConcurrency = defaultConcurrency;
+    }
+
+    /**
+     * Выполняет сценарий и пишет отчёты в options.getOut()/имя сценария.
+     *
+     * @return код выхода процесса (0 - без ошибок)
+     */
+    public int run(BenchOptions options) throws IOException {
+        Path dir = options.getOut().resolve(name);
+        System.out.printf("Scenario %s, reports in %s%n", name, dir.toAbsolutePath());
+        // Адрес после разрешения (inproc - уже запущенная заглушка): видно, на какой сервер идёт нагрузка
+        System.out.printf("Target: %s%s%n", TestEnv.getBaseUrl(), TestEnv.isInProcess() ? " (built-in stub)" : "");
+        printStubRecovery();
+        String samples = TestEnv.getSampleLog();
+        // null-ресурс try-with-resources пропускает: журнал необязателен
+        try (SampleLog log = samples == null ? null : SampleLog.activate(Paths.get(samples))) {
+            ConsoleDashboard dashboard = options.isLive() ? ConsoleDashboard.start(name, System.out) : null;
+            int exitCode;
+            try {
+                exitCode = run(options, dir);
+            } finally {
+                // Панель останавливается до итогов: очередной кадр не встанет между ними
+                if (dashboard != null) {
+                    dashboard.close();
+                }
+            }
+            if (log != null) {
+                System.out.printf("%d samples in %s (notes-bench analyze %s)%n", log.size(), samples, samples);
+            }
+            return exitCode;
+        }
+    }
+
+    abstract int run(BenchOptions options, Path dir) throws IOException;
+
+    public String getName() {
+        return name;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    /**
+     * @param name имя сценария из командной строки (smoke, steady, ...)
+     * @throws IllegalArgumentException если сценария с таким именем нет
+     */
+    public static Scenario byName(String name) {
+        for (Scenario scenario : values()) {
+            if (scenario.name.equalsIgnoreCase(name)) {
+                return scenario;
+            }
+        }
+        throw new IllegalArgumentException("Unknown scenario: " + name);
+    }
+
+    // ==================== ФАЗЫ ====================
+
+    /**
+     * Профиль фазы: частота, потоки и пользователи - из флагов или значений сценария,
+     * длительность - доля от --duration.
+     */
+    LoadProfile profile(BenchOptions options, double durationShare) {
+        int concurrency = options.getConcurrency(defaultConcurrency);
+        Duration total = options.getDuration(defaultDuration);
+        Duration phase = Duration.ofMillis(Math.max(1, (long) (total.toMillis() * durationShare)));
+        return new LoadProfile(options.getRate(defaultRate), phase, concurrency, concurrency);
+    }
+
+    /**
+     * Профиль фазы с частотой в factor раз выше (треть длительности).
+     */
+    LoadProfile scaled(BenchOptions options, double factor) {
+        LoadProfile base = profile(options, 1.0 / 3);
+        return new LoadProfile(base.getRatePerSecond() * factor, base.getDuration(),
+                base.getSessions(), base.getWorkers());
+    }
+
+    static LoadResult runPhase(String phase, LoadProfile profile, Path dir) throws IOException {
+        OperationMix mix = OperationMix.configured();
+        System.out.printf("%n== %s: %s, workload %s ==%n", phase, profile, mix.getName());
+        ServerTimings before = serverTimings();
+        LoadResult result = new LoadEngine(profile, mix).run();
+        result.print(System.out);
+        result.write(dir.resolve(phase));
+        reportServerTimings(before, result, dir.resolve(phase));
+        return result;
+    }
+
+    /**
+     * Печатает, что встроенная заглушка восстановила с диска (только при baseUrl=inproc и stub.dataDir).
+     */
+    private static void printStubRecovery() {
+        if (!TestEnv.isInProcess()) {
+            return;
+        }
+        NotesBackend backend = NotesStubServer.shared().backend();
+        if (backend instanceof NotesStore && ((NotesStore) backend).storage() != null) {
+            StubStorage storage = ((NotesStore) backend).storage();
+            System.out.printf("Stub data: %s, %s%n", storage.getDirectory(), storage.getRecovery());
+        }
+    }
+
+    /**
+     * @return снимок /metrics встроенной заглушки или null (API не inproc или метрики не прочитались)
+     */
+    static ServerTimings serverTimings() {
+        if (!TestEnv.isInProcess()) {
+            return null;
+        }
+        try {
+            return ServerTimings.scrape(NotesStubServer.shared().metricsUrl());
+        } catch (IOException e) {
+            System.err.println("Warning: cannot read stub metrics: " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Время заглушки за фазу против клиентского (uncorrected - от фактической отправки):
+     * таблица в консоли и server-timing.csv в каталоге фазы.
+     */
+    static void reportServerTimings(ServerTimings before, LoadResult result, Path dir) throws IOException {
+        if (before == null) {
+            return;
+        }
+        ServerTimings after = serverTimings();
+        if (after == null) {
+            return;
+        }
+        ServerTimings phase = after.minus(before);
+        System.out.println("Server-side timing (stub /metrics):");
+        phase.print(result.getUncorrected(), System.out);
+        phase.writeCsv(result.getUncorrected(), dir.resolve("server-timing.csv"));
+    }
+
+    static int exitCode(LoadResult result) {
+        return result.getErrors() == 0 && result.getCompleted() == result.getScheduled() ? 0 : 1;
+    }
+}
@@ -0,0 +1,320 @@
+package com.example.notes.config;
+
+import org.aeonbits.owner.Config;
+
+/**
+ * Интерфейс конфигурации для тестового окружения.
+ *
+ * ЗАЧЕМ НУЖЕН ЭТОТ КЛАСС:
+ * Этот интерфейс определяет, какие настройки нужны для запуска тестов.
+ * Вместо того, чтобы хардкодить (жёстко прописывать) URL сервера и другие настройки
+ * прямо в тестах, мы храним их в отдельном файле конфигурации.
+ *
+ * КАК ЭТО РАБОТАЕТ:
+ * 1. Мы создаём интерфейс (не класс!) с методами для каждой настройки
+ * 2. Библиотека Owner автоматически создаёт реализацию этого интерфейса
+ * 3. Owner читает значения из файла local.properties или использует значения по умолчанию
+ * 4. Когда мы вызываем метод baseUrl(), Owner возвращает значение из файла
+ *
+ * ПОЧЕМУ ИНТЕРФЕЙС, А НЕ КЛАСС:
+ * Библиотека Owner использует магию Java (динамические прокси), чтобы автоматически
+ * создать класс, который реализует этот интерфейс. Нам не нужно писать код чтения файлов,
+ * парсинга строк и т.д. - Owner делает всё за нас.
+ */
+// Аннотация @Config.Sources указывает, откуда брать настройки
+// "classpath:config/local.properties" означает:
+// - classpath: искать файл в папке resources внутри проекта
+// - config/local.properties: путь к файлу относительно resources
+// Полный путь: src/test/resources/config/local.properties (есть только у тестов;
+// notes-bench его не содержит и берёт значения из флагов командной строки и @DefaultValue;
+// baseUrl он из @DefaultValue не берёт - требует --url, см. BenchOptions)
+//
+// "system:properties" стоит первым: значение из командной строки (-DbaseUrl=inproc)
+// перекрывает значение из файла. @LoadPolicy(MERGE) - читать ВСЕ источники,
+// а не только первый найденный (по умолчанию Owner берёт только первый).
+@Config.LoadPolicy(Config.LoadType.MERGE)
+@Config.Sources({"system:properties", "classpath:config/local.properties"})
+public interface EnvConfig extends Config {
+
+    /**
+     * Возвращает базовый URL API для тестирования.
+     *
+     * КАК РАБОТАЕТ ЭТОТ МЕТОД:
+     * 1. Owner ищет в файле local.properties строку вида: baseUrl=http://example.com
+     * 2. Если находит - возвращает значение справа от знака =
+     * 3. Если не находит - возвращает значение из @DefaultValue
+     *
+     * ЗАЧЕМ НУЖЕН @Key:
+     * Эта аннотация связывает метод с конкретным ключом в properties-файле.
+     * Без неё Owner будет искать ключ с именем метода (baseUrl).
+     * С @Key("baseUrl") мы явно указываем, какой ключ искать.
+     *
+     * ЗАЧЕМ НУЖЕН @DefaultValue:
+     * Если файл local.properties не найден или в нём нет ключа baseUrl,
+     * будет использовано это значение по умолчанию.
+     * Это удобно: тесты запустятся даже без файла конфигурации.
+     *
+     * ОСОБОЕ ЗНАЧЕНИЕ "inproc":
+     * Вместо внешнего сервера тесты ходят во встроенную заглушку API (NotesStubServer),
+     * которая запускается внутри JVM на случайном порту. Адрес подставляет TestEnv.getBaseUrl().
+     *
+     * @return URL сервера API (например, "https://practice.expandtesting.com/notes/api") или "inproc"
+     */
+    @Key("baseUrl")
+    @DefaultValue("https://practice.expandtesting.com/notes/api")
+    String baseUrl();
+
+    /**
+     * Возвращает уровень логирования HTTP-запросов.
+     *
+     * КАК ИСПОЛЬЗУЕТСЯ ЭТО ЗНАЧЕНИЕ:
+     * RestAssured может логировать (выводить в консоль):
+     * - NONE: ничего не выводить
+     * - BASIC: только метод, URL и статус ответа
+     * - HEADERS: метод, URL, заголовки и статус
+     * - BODY: всё вышеперечисленное плюс тело запроса/ответа
+     * - ALL: максимально подробная информация
+     *
+     * ЗАЧЕМ НАСТРАИВАТЬ УРОВЕНЬ ЛОГИРОВАНИЯ:
+     * - При разработке тестов удобно видеть все детали (BODY или ALL)
+     * - При запуске в CI/CD достаточно BASIC, чтобы не захламлять логи
+     * - Можно менять уровень в файле конфигурации без изменения кода
+     *
+     * КОГДА ЛОГ ПОПАДАЕТ В КОНСОЛЬ:
+     * Только если тест упал. До этого обмены копятся в памяти
+     * (см. RingBufferLogFilter и FailureLogExtension).
+     *
+     * @return уровень логирования (NONE, BASIC, HEADERS, BODY, ALL)
+     */
+    @Key("log.level")
+    @DefaultValue("BASIC")
+    String logLevel();
+
+    /**
+     * Возвращает размер пула заранее созданных пользователей.
+     *
+     * ЗАЧЕМ НУЖЕН ПУЛ:
+     * Раньше каждый тест перед началом регистрировался и логинился, а после - удалял аккаунт.
+     * Это три лишних HTTP-запроса на каждый тест. Пул создаёт пользователей заранее
+     * (в фоне) и выдаёт их тестам "в аренду" - см. UserPool.
+     *
+     * КАКОЕ ЗНАЧЕНИЕ ВЫБРАТЬ:
+     * Не меньше числа параллельных потоков JUnit (junit-platform.properties),
+     * иначе тесты будут ждать, пока освободится пользователь.
+     *
+     * @return максимальное число пользователей в пуле
+     */
+    @Key("users.pool.size")
+    @DefaultValue("8")
+    int userPoolSize();
+
+    /**
+     * Возвращает, сколько последних HTTP-обменов теста хранить для лога упавшего теста.
+     *
+     * ЗАЧЕМ ОГРАНИЧЕНИЕ:
+     * Лог хранится в памяти, пока тест не завершится. Кольцевой буфер держит
+     * только последние N обменов, поэтому длинный тест не раздувает память.
+     *
+     * @return размер кольцевого буфера
+     */
+    @Key("log.buffer.size")
+    @DefaultValue("20")
+    int logBufferSize();
+
+    // ==================== ПУЛ HTTP-СОЕДИНЕНИЙ ====================
+    // Используются в HttpConnectionPool. Все тесты ходят на один baseUrl,
+    // поэтому лимит "на маршрут" (один хост) почти равен общему лимиту.
+
+    /**
+     * Максимум открытых соединений во всём пуле.
+     */
+    @Key("http.pool.maxTotal")
+    @DefaultValue("64")
+    int httpPoolMaxTotal();
+
+    /**
+     * Максимум открытых соединений к одному хосту (маршруту).
+     */
+    @Key("http.pool.maxPerRoute")
+    @DefaultValue("64")
+    int httpPoolMaxPerRoute();
+
+    /**
+     * Через сколько секунд простоя соединение закрывается фоновым потоком.
+     */
+    @Key("http.pool.idleEvictSeconds")
+    @DefaultValue("30")
+    int httpPoolIdleEvictSeconds();
+
+    /**
+     * Сколько секунд держать соединение, если сервер не прислал заголовок Keep-Alive.
+     */
+    @Key("http.pool.keepAliveSeconds")
+    @DefaultValue("60")
+    int httpKeepAliveSeconds();
+
+    /**
+     * Проверять ли ответы API по JSON-схемам в клиентах (см. SchemaRegistry).
+     *
+     * Схемы компилируются один раз, проверка одного ответа стоит микросекунды,
+     * поэтому по умолчанию она включена для каждого вызова.
+     */
+    @Key("schema.validation")
+    @DefaultValue("true")
+    boolean schemaValidation();
+
+    /**
+     * Смесь операций нагрузочного прогона (см. WorkloadConfig, OperationMix.configured()).
+     *
+     * ЗНАЧЕНИЕ:
+     * - имя встроенного файла: "default", "browse-heavy" (src/main/resources/workloads)
+     * - или путь к своему properties-файлу в том же формате
+     */
+    @Key("workload")
+    @DefaultValue("default")
+    String workload();
+
+    /**
+     * Файл, в который SampleLogFilter пишет каждый запрос (см. SampleLog).
+     * Не задан - запросы по отдельности не записываются, остаются только гистограммы.
+     */
+    @Key("sample.log")
+    String sampleLog();
+
+    // ==================== SLO И ПОИСК ПРЕДЕЛЬНОЙ НАГРУЗКИ ====================
+    // Используются в CapacitySearch (сценарий capacity у notes-bench).
+
+    /**
+     * Допустимый p99 времени ответа (с учётом очереди, corrected) в миллисекундах.
+     */
+    @Key("slo.p99Millis")
+    @DefaultValue("500")
+    double sloP99Millis();
+
+    /**
+     * Допустимая доля ошибок (0.01 = 1%).
+     */
+    @Key("slo.errorRate")
+    @DefaultValue("0.01")
+    double sloErrorRate();
+
+    /**
+     * Как подбирать частоту: step - ступени +capacity.startRate, binary - удвоение, затем деление пополам.
+     */
+    @Key("capacity.mode")
+    @DefaultValue("binary")
+    String capacityMode();
+
+    /**
+     * Частота первой ступени, операций в секунду.
+     */
+    @Key("capacity.startRate")
+    @DefaultValue("10")
+    double capacityStartRate();
+
+    /**
+     * Выше этой частоты поиск не поднимается.
+     */
+    @Key("capacity.maxRate")
+    @DefaultValue("5000")
+    double capacityMaxRate();
+
+    /**
+     * Точность бинарного поиска: остановиться, когда граница известна с точностью 5%.
+     */
+    @Key("capacity.resolution")
+    @DefaultValue("0.05")
+    double capacityResolution();
+
+    /**
+     * Сколько ступеней (plateau) выполнить самое большее.
+     */
+    @Key("capacity.maxPlateaus")
+    @DefaultValue("12")
+    int capacityMaxPlateaus();
+
+    // ==================== SOAK: ДРЕЙФ РЕСУРСОВ ====================
+    // Используются в SoakMonitor и SoakReport (сценарий soak у notes-bench).
+    // Рост считается по линейному тренду после прогрева, а не по разнице первого и последнего замера.
+
+    /**
+     * Как часто снимать замер (перцентили за интервал, куча, потоки, дескрипторы), секунд.
+     */
+    @Key("soak.intervalSeconds")
+    @DefaultValue("30")
+    int soakIntervalSeconds();
+
+    /**
+     * Доля начала прогона, которая не входит в тренд (JIT, наполнение пулов и кэшей).
+     */
+    @Key("soak.warmupShare")
+    @DefaultValue("0.1")
+    double soakWarmupShare();
+
+    /**
+     * Допустимый рост p99 (corrected) за прогон, в процентах от начального значения тренда.
+     */
+    @Key("soak.maxP99DriftPercent")
+    @DefaultValue("50")
+    double soakMaxP99DriftPercent();
+
+    /**
+     * Допустимый рост кучи после сборки мусора за прогон, МБ.
+     */
+    @Key("soak.maxHeapGrowthMb")
+    @DefaultValue("64")
+    double soakMaxHeapGrowthMb();
+
+    /**
+     * Допустимый рост числа потоков JVM за прогон.
+     */
+    @Key("soak.maxThreadGrowth")
+    @DefaultValue("5")
+    double soakMaxThreadGrowth();
+
+    /**
+     * Допустимый рост числа открытых файловых дескрипторов (в том числе сокетов) за прогон.
+     */
+    @Key("soak.maxFdGrowth")
+    @DefaultValue("20")
+    double soakMaxFdGrowth();
+
+    // ==================== ЗАГЛУШКА: ХРАНИЛИЩЕ ====================
+    // Используются в NotesBackend.fromConfig() (общая заглушка при baseUrl=inproc) и StubStorage.
+
+    /**
+     * Где заглушка хранит заметки: heap - объекты в куче (NotesStore),
+     * offheap - упакованные записи вне кучи (OffHeapNotesStore, для 10M+ заметок).
+     */
+    @Key("stub.store")
+    @DefaultValue("heap")
+    String stubStore();
+
+    /**
+     * Каталог журнала и снимков заглушки. Не задан - заглушка хранит всё только в памяти.
+     */
+    @Key("stub.dataDir")
+    String stubDataDir();
+
+    /**
+     * Окно групповой фиксации журнала, мс: все записи за окно сбрасываются на диск одним force().
+     */
+    @Key("stub.groupCommitMillis")
+    @DefaultValue("2")
+    long stubGroupCommitMillis();
+
+    /**
+     * true - изменение подтверждается клиенту только после записи на диск;
+     * false - сразу (запись уйдёт на диск с ближайшей фиксацией, при сбое окно может потеряться).
+     */
+    @Key("stub.syncWrites")
+    @DefaultValue("true")
+    boolean stubSyncWrites();
+
+    /**
+     * Рост журнала с прошлого снимка, после которого в фоне снимается новый снимок, МБ.
+     */
+    @Key("stub.snapshotMb")
+    @DefaultValue("256")
+    long stubSnapshotMb();
+}
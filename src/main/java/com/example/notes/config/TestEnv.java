@@ -0,0 +1,344 @@
+package com.example.notes.config;
+
+import com.example.notes.stub.NotesStubServer;
+import org.aeonbits.owner.ConfigFactory;
+
+/**
+ * Класс для удобного доступа к настройкам тестового окружения.
+ *
+ * ЗАЧЕМ НУЖЕН ЭТОТ КЛАСС:
+ * Этот класс - это обёртка (wrapper) над библиотекой Owner.
+ * Вместо того, чтобы в каждом тесте писать:
+ *   ConfigFactory.create(EnvConfig.class).baseUrl()
+ * Мы просто пишем:
+ *   TestEnv.getBaseUrl()
+ *
+ * ЭТО УПРОЩАЕТ:
+ * 1. Код тестов становится короче и читабельнее
+ * 2. Не нужно импортировать ConfigFactory и создавать объект конфигурации в каждом тесте
+ * 3. Централизованное место для работы с конфигурацией
+ *
+ * ПАТТЕРН ПРОЕКТИРОВАНИЯ:
+ * Это пример паттерна "Фасад" (Facade) - мы скрываем сложную логику Owner
+ * за простыми статическими методами.
+ *
+ * ПОЧЕМУ СТАТИЧЕСКИЕ МЕТОДЫ:
+ * - Статические методы можно вызывать без создания объекта класса: TestEnv.getBaseUrl()
+ * - Конфигурация одна на все тесты, не нужно создавать множество объектов
+ * - Это удобно: импортируем класс один раз и используем везде
+ */
+public class TestEnv {
+
+    /**
+     * Единственный экземпляр конфигурации для всех тестов.
+     *
+     * ЧТО ЗДЕСЬ ПРОИСХОДИТ:
+     * ConfigFactory.create(EnvConfig.class) - это магический вызов библиотеки Owner.
+     * Owner берёт наш интерфейс EnvConfig и создаёт его реализацию:
+     * 1. Читает файл local.properties (путь указан в @Config.Sources)
+     * 2. Парсит содержимое файла (формат ключ=значение)
+     * 3. Создаёт объект, который реализует методы baseUrl() и logLevel()
+     * 4. При вызове методов возвращает значения из файла или @DefaultValue
+     *
+     * ПОЧЕМУ STATIC FINAL:
+     * - static: переменная принадлежит классу, а не объекту
+     * - final: значение устанавливается один раз и не может быть изменено
+     * - Это гарантирует, что конфигурация создаётся только один раз при загрузке класса
+     *
+     * ПОЧЕМУ PRIVATE:
+     * Мы не хотим, чтобы внешний код напрямую обращался к CONFIG.
+     * Вместо этого используем публичные методы getBaseUrl() и getLogLevel().
+     * Это инкапсуляция - скрываем детали реализации.
+     */
+    private static final EnvConfig CONFIG = ConfigFactory.create(EnvConfig.class);
+
+    /**
+     * Значение baseUrl, при котором тесты работают со встроенной заглушкой API.
+     */
+    public static final String INPROC = "inproc";
+
+    /**
+     * Возвращает базовый URL API для тестирования.
+     *
+     * ЗАЧЕМ ЭТОТ МЕТОД:
+     * Предоставляет простой способ получить URL сервера из любого теста.
+     * Вместо прямого обращения к CONFIG используем этот метод.
+     *
+     * ПРИМЕР ИСПОЛЬЗОВАНИЯ В ТЕСТЕ:
+     * <pre>
+     * public class MyTest {
+     *     @Test
+     *     public void testAPI() {
+     *         String url = TestEnv.getBaseUrl(); // Получаем URL
+     *         given().baseUri(url).when().get("/health").then().statusCode(200);
+     *     }
+     * }
+     * </pre>
+     *
+     * ОТКУДА БЕРЁТСЯ ЗНАЧЕНИЕ:
+     * 1. Из файла src/test/resources/config/local.properties (если там есть baseUrl=...)
+     * 2. Если файла нет или ключа нет - используется значение по умолчанию
+     *    из @DefaultValue в EnvConfig
+     * 3. Если значение "inproc" - запускается встроенная заглушка API (один раз на JVM)
+     *    и возвращается её адрес, например "http://127.0.0.1:54321/notes/api"
+     *
+     * @return базовый URL API (например, "https://practice.expandtesting.com/notes/api")
+     */
+    public static String getBaseUrl() {
+        if (isInProcess()) {
+            return NotesStubServer.shared().baseUrl();
+        }
+        return CONFIG.baseUrl();
+    }
+
+    /**
+     * @return true, если тесты работают со встроенной заглушкой API (baseUrl=inproc)
+     */
+    public static boolean isInProcess() {
+        return INPROC.equalsIgnoreCase(CONFIG.baseUrl());
+    }
+
+    /**
+     * Возвращает уровень логирования HTTP-запросов и ответов.
+     *
+     * ЗАЧЕМ ЭТОТ МЕТОД:
+     * Позволяет настроить, насколько подробно RestAssured будет выводить информацию
+     * о запросах в консоль при запуске тестов.
+     *
+     * ПРИМЕР ИСПОЛЬЗОВАНИЯ В ТЕСТЕ:
+     * <pre>
+     * public class MyTest {
+     *     @BeforeAll
+     *     public static void setup() {
+     *         RestAssured.baseURI = TestEnv.getBaseUrl();
+     *         // Настраиваем логирование на основе конфигурации
+     *         String logLevel = TestEnv.getLogLevel();
+     *         if ("ALL".equals(logLevel)) {
+     *             RestAssured.enableLoggingOfRequestAndResponseIfValidationFails();
+     *         }
+     *     }
+     * }
+     * </pre>
+     *
+     * ВОЗМОЖНЫЕ ЗНАЧЕНИЯ:
+     * - "NONE" - ничего не логировать
+     * - "BASIC" - только метод, URL и статус код (по умолчанию)
+     * - "HEADERS" - плюс все заголовки запроса и ответа
+     * - "BODY" - плюс тело запроса и ответа
+     * - "ALL" - максимально подробная информация
+     *
+     * ОТКУДА БЕРЁТСЯ ЗНАЧЕНИЕ:
+     * 1. Из файла src/test/resources/config/local.properties (если там есть log.level=...)
+     * 2. Если файла нет или ключа нет - используется "BASIC" из @DefaultValue
+     *
+     * @return уровень логирования (NONE, BASIC, HEADERS, BODY или ALL)
+     */
+    public static String getLogLevel() {
+        return CONFIG.logLevel();
+    }
+
+    /**
+     * Возвращает размер пула тестовых пользователей.
+     *
+     * ОТКУДА БЕРЁТСЯ ЗНАЧЕНИЕ:
+     * Ключ users.pool.size в local.properties, по умолчанию 8.
+     *
+     * @return максимальное число пользователей в пуле
+     */
+    public static int getUserPoolSize() {
+        return CONFIG.userPoolSize();
+    }
+
+    /**
+     * Возвращает размер кольцевого буфера HTTP-лога одного теста.
+     *
+     * ОТКУДА БЕРЁТСЯ ЗНАЧЕНИЕ:
+     * Ключ log.buffer.size в local.properties, по умолчанию 20.
+     *
+     * @return сколько последних обменов хранить
+     */
+    public static int getLogBufferSize() {
+        return CONFIG.logBufferSize();
+    }
+
+    // ==================== ПУЛ HTTP-СОЕДИНЕНИЙ ====================
+
+    /**
+     * @return максимум соединений во всём пуле (http.pool.maxTotal)
+     */
+    public static int getHttpPoolMaxTotal() {
+        return CONFIG.httpPoolMaxTotal();
+    }
+
+    /**
+     * @return максимум соединений к одному хосту (http.pool.maxPerRoute)
+     */
+    public static int getHttpPoolMaxPerRoute() {
+        return CONFIG.httpPoolMaxPerRoute();
+    }
+
+    /**
+     * @return через сколько секунд простоя закрывать соединение (http.pool.idleEvictSeconds)
+     */
+    public static int getHttpPoolIdleEvictSeconds() {
+        return CONFIG.httpPoolIdleEvictSeconds();
+    }
+
+    /**
+     * @return keep-alive по умолчанию в секундах (http.pool.keepAliveSeconds)
+     */
+    public static int getHttpKeepAliveSeconds() {
+        return CONFIG.httpKeepAliveSeconds();
+    }
+
+    /**
+     * @return проверять ли ответы по JSON-схемам (schema.validation)
+     */
+    public static boolean isSchemaValidationEnabled() {
+        return CONFIG.schemaValidation();
+    }
+
+    /**
+     * @return имя или путь файла нагрузки (workload)
+     */
+    public static String getWorkload() {
+        return CONFIG.workload();
+    }
+
+    // ==================== SLO И ПОИСК ПРЕДЕЛЬНОЙ НАГРУЗКИ ====================
+
+    /**
+     * @return допустимый corrected p99 в миллисекундах (slo.p99Millis)
+     */
+    public static double getSloP99Millis() {
+        return CONFIG.sloP99Millis();
+    }
+
+    /**
+     * @return допустимая доля ошибок (slo.errorRate)
+     */
+    public static double getSloErrorRate() {
+        return CONFIG.sloErrorRate();
+    }
+
+    /**
+     * @return режим поиска: step или binary (capacity.mode)
+     */
+    public static String getCapacityMode() {
+        return CONFIG.capacityMode();
+    }
+
+    /**
+     * @return частота первой ступени (capacity.startRate)
+     */
+    public static double getCapacityStartRate() {
+        return CONFIG.capacityStartRate();
+    }
+
+    /**
+     * @return верхняя граница частоты (capacity.maxRate)
+     */
+    public static double getCapacityMaxRate() {
+        return CONFIG.capacityMaxRate();
+    }
+
+    /**
+     * @return точность бинарного поиска (capacity.resolution)
+     */
+    public static double getCapacityResolution() {
+        return CONFIG.capacityResolution();
+    }
+
+    /**
+     * @return максимум ступеней (capacity.maxPlateaus)
+     */
+    public static int getCapacityMaxPlateaus() {
+        return CONFIG.capacityMaxPlateaus();
+    }
+
+    /**
+     * @return путь к журналу запросов (sample.log) или null, если журнал выключен
+     */
+    public static String getSampleLog() {
+        String path = CONFIG.sampleLog();
+        return path == null || path.trim().isEmpty() ? null : path.trim();
+    }
+
+    /**
+     * @return интервал замеров soak в секундах (soak.intervalSeconds)
+     */
+    public static int getSoakIntervalSeconds() {
+        return CONFIG.soakIntervalSeconds();
+    }
+
+    /**
+     * @return доля прогона на прогрев, не входит в тренд (soak.warmupShare)
+     */
+    public static double getSoakWarmupShare() {
+        return CONFIG.soakWarmupShare();
+    }
+
+    /**
+     * @return допустимый рост p99 в процентах (soak.maxP99DriftPercent)
+     */
+    public static double getSoakMaxP99DriftPercent() {
+        return CONFIG.soakMaxP99DriftPercent();
+    }
+
+    /**
+     * @return допустимый рост кучи после GC в МБ (soak.maxHeapGrowthMb)
+     */
+    public static double getSoakMaxHeapGrowthMb() {
+        return CONFIG.soakMaxHeapGrowthMb();
+    }
+
+    /**
+     * @return допустимый рост числа потоков (soak.maxThreadGrowth)
+     */
+    public static double getSoakMaxThreadGrowth() {
+        return CONFIG.soakMaxThreadGrowth();
+    }
+
+    /**
+     * @return допустимый рост числа открытых дескрипторов (soak.maxFdGrowth)
+     */
+    public static double getSoakMaxFdGrowth() {
+        return CONFIG.soakMaxFdGrowth();
+    }
+
+    /**
+     * @return хранилище заглушки: heap или offheap (stub.store)
+     */
+    public static String getStubStore() {
+        return CONFIG.stubStore().trim();
+    }
+
+    /**
+     * @return каталог данных заглушки (stub.dataDir) или null, если заглушка только в памяти
+     */
+    public static String getStubDataDir() {
+        String path = CONFIG.stubDataDir();
+        return path == null || path.trim().isEmpty() ? null : path.trim();
+    }
+
+    /**
+     * @return окно групповой фиксации журнала заглушки в мс (stub.groupCommitMillis)
+     */
+    public static long getStubGroupCommitMillis() {
+        return CONFIG.stubGroupCommitMillis();
+    }
+
+    /**
+     * @return ждать ли записи изменения на диск перед ответом (stub.syncWrites)
+     */
+    public static boolean isStubSyncWrites() {
+        return CONFIG.stubSyncWrites();
+    }
+
+    /**
+     * @return рост журнала между снимками в МБ (stub.snapshotMb)
+     */
+    public static long getStubSnapshotMb() {
+        return CONFIG.stubSnapshotMb();
+    }
+}
@@ -0,0 +1,71 @@
+package com.example.notes.core;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Кольцевой буфер последних HTTP-обменов (запрос + ответ) одного теста.
+ *
+ * ЧТО ТАКОЕ КОЛЬЦЕВОЙ БУФЕР:
+ * Массив фиксированного размера, в который записи пишутся по кругу.
+ * Когда массив заполнен, новая запись затирает самую старую.
+ * Поэтому буфер никогда не растёт: тест с тысячей запросов хранит только последние N.
+ *
+ * ЗАЧЕМ:
+ * Логи нужны только когда тест упал - и обычно только последние несколько запросов.
+ * Держать их в памяти дешевле, чем печатать каждый запрос в консоль.
+ */
+public class ExchangeRingBuffer {
+
+    private final HttpExchange[] entries;
+
+    /**
+     * Индекс, куда будет записана следующая запись.
+     */
+    private int next;
+
+    /**
+     * Сколько записей добавлено всего (может быть больше размера массива).
+     */
+    private long total;
+
+    /**
+     * @param capacity сколько последних записей хранить
+     */
+    public ExchangeRingBuffer(int capacity) {
+        this.entries = new HttpExchange[Math.max(1, capacity)];
+    }
+
+    /**
+     * Добавляет запись, при необходимости затирая самую старую.
+     *
+     * @param entry один HTTP-обмен (ссылки на запрос и ответ, текст собирается при печати)
+     */
+    public synchronized void add(HttpExchange entry) {
+        entries[next] = entry;
+        next = (next + 1) % entries.length;
+        total++;
+    }
+
+    /**
+     * Возвращает записи от старой к новой.
+     *
+     * @return копия содержимого буфера
+     */
+    public synchronized List<HttpExchange> entries() {
+        List<HttpExchange> result = new ArrayList<>(entries.length);
+        int count = (int) Math.min(total, entries.length);
+        int start = total > entries.length ? next : 0;
+        for (int i = 0; i < count; i++) {
+            result.add(entries[(start + i) % entries.length]);
+        }
+        return result;
+    }
+
+    /**
+     * @return сколько обменов было всего, включая затёртые
+     */
+    public synchronized long total() {
+        return total;
+    }
+}
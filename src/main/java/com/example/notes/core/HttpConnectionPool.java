@@ -0,0 +1,176 @@
+package com.example.notes.core;
+
+import com.example.notes.config.TestEnv;
+import io.restassured.config.HttpClientConfig;
+import io.restassured.config.RestAssuredConfig;
+import org.apache.http.HeaderElement;
+import org.apache.http.HeaderElementIterator;
+import org.apache.http.HttpHost;
+import org.apache.http.HttpResponse;
+import org.apache.http.conn.ClientConnectionOperator;
+import org.apache.http.conn.OperatedClientConnection;
+import org.apache.http.conn.scheme.SchemeRegistry;
+import org.apache.http.impl.client.DefaultHttpClient;
+import org.apache.http.impl.conn.DefaultClientConnectionOperator;
+import org.apache.http.impl.conn.PoolingClientConnectionManager;
+import org.apache.http.impl.conn.SchemeRegistryFactory;
+import org.apache.http.message.BasicHeaderElementIterator;
+import org.apache.http.params.HttpParams;
+import org.apache.http.pool.PoolStats;
+import org.apache.http.protocol.HTTP;
+import org.apache.http.protocol.HttpContext;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Общий пул HTTP-соединений (keep-alive) для всех спецификаций Rest-Assured.
+ *
+ * ЗАЧЕМ НУЖЕН ЭТОТ КЛАСС:
+ * По умолчанию Rest-Assured на каждый запрос создаёт новый HttpClient со своим
+ * менеджером соединений. Значит, каждый запрос открывает новое TCP-соединение
+ * и заново проходит TLS-рукопожатие с EnvConfig.baseUrl(). На сотнях тестов
+ * это заметная доля общего времени.
+ *
+ * КАК ЭТО РАБОТАЕТ:
+ * 1. Один PoolingClientConnectionManager на всю JVM
+ * 2. Rest-Assured по-прежнему создаёт HttpClient на каждый запрос (через фабрику),
+ *    но все клиенты берут соединения из этого общего пула
+ * 3. После ответа соединение возвращается в пул и используется следующим запросом
+ * 4. Фоновый поток закрывает соединения, которые долго простаивают
+ *
+ * ПОЧЕМУ НЕ reuseHttpClientInstance():
+ * Rest-Assured перед каждым запросом меняет параметры клиента. Один общий клиент
+ * при параллельных тестах получал бы эти изменения из разных потоков одновременно.
+ * Отдельный лёгкий клиент на запрос + общий пул соединений - безопасно и так же быстро.
+ *
+ * НАСТРОЙКИ (EnvConfig):
+ * http.pool.maxTotal, http.pool.maxPerRoute, http.pool.idleEvictSeconds, http.pool.keepAliveSeconds
+ */
+// Rest-Assured работает только с AbstractHttpClient (старый API HttpClient 4.x),
+// поэтому используем совместимые с ним (deprecated) классы пула
+@SuppressWarnings("deprecation")
+public class HttpConnectionPool {
+
+    /**
+     * Сколько HTTP-запросов отправлено через пул.
+     */
+    private static final LongAdder REQUESTS = new LongAdder();
+
+    /**
+     * Сколько новых TCP-соединений открыто (остальные запросы переиспользовали соединения).
+     */
+    private static final LongAdder CONNECTIONS_OPENED = new LongAdder();
+
+    private static final PoolingClientConnectionManager MANAGER = createManager();
+
+    private static final RestAssuredConfig CONFIG = RestAssuredConfig.config()
+            .httpClient(HttpClientConfig.httpClientConfig().httpClientFactory(HttpConnectionPool::newClient));
+
+    /**
+     * Возвращает конфигурацию Rest-Assured, подключённую к общему пулу.
+     * Используется в Specs для requestSpec и для каждой авторизованной спецификации.
+     *
+     * @return конфигурация с фабрикой HTTP-клиентов на общем пуле
+     */
+    public static RestAssuredConfig restAssuredConfig() {
+        return CONFIG;
+    }
+
+    /**
+     * Создаёт лёгкий HttpClient поверх общего пула соединений.
+     */
+    private static DefaultHttpClient newClient() {
+        DefaultHttpClient client = new DefaultHttpClient(MANAGER);
+        client.addRequestInterceptor((request, context) -> REQUESTS.increment());
+        client.setKeepAliveStrategy(HttpConnectionPool::keepAliveMillis);
+        return client;
+    }
+
+    /**
+     * Сколько держать соединение открытым: столько, сколько разрешил сервер
+     * в заголовке Keep-Alive: timeout=N, иначе - значение из конфигурации.
+     */
+    private static long keepAliveMillis(HttpResponse response, HttpContext context) {
+        HeaderElementIterator it = new BasicHeaderElementIterator(response.headerIterator(HTTP.CONN_KEEP_ALIVE));
+        while (it.hasNext()) {
+            HeaderElement element = it.nextElement();
+            if ("timeout".equalsIgnoreCase(element.getName()) && element.getValue() != null) {
+                try {
+                    return Long.parseLong(element.getValue()) * 1000;
+                } catch (NumberFormatException ignored) {
+                    // Некорректный заголовок - используем значение из конфигурации
+                }
+            }
+        }
+        return TimeUnit.SECONDS.toMillis(TestEnv.getHttpKeepAliveSeconds());
+    }
+
+    private static PoolingClientConnectionManager createManager() {
+        PoolingClientConnectionManager manager = new PoolingClientConnectionManager(SchemeRegistryFactory.createDefault()) {
+            @Override
+            protected ClientConnectionOperator createConnectionOperator(SchemeRegistry schemeRegistry) {
+                return new CountingConnectionOperator(schemeRegistry);
+            }
+        };
+        manager.setMaxTotal(TestEnv.getHttpPoolMaxTotal());
+        manager.setDefaultMaxPerRoute(TestEnv.getHttpPoolMaxPerRoute());
+
+        // Фоновая очистка: закрываем просроченные и долго простаивающие соединения
+        long idleSeconds = TestEnv.getHttpPoolIdleEvictSeconds();
+        ScheduledExecutorService evictor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "http-pool-evictor");
+            thread.setDaemon(true);
+            return thread;
+        });
+        evictor.scheduleWithFixedDelay(() -> {
+            manager.closeExpiredConnections();
+            manager.closeIdleConnections(idleSeconds, TimeUnit.SECONDS);
+        }, idleSeconds, idleSeconds, TimeUnit.SECONDS);
+        return manager;
+    }
+
+    // ==================== СТАТИСТИКА ====================
+
+    /**
+     * @return сколько HTTP-запросов отправлено через пул
+     */
+    public static long requests() {
+        return REQUESTS.sum();
+    }
+
+    /**
+     * @return сколько TCP-соединений было открыто
+     */
+    public static long connectionsOpened() {
+        return CONNECTIONS_OPENED.sum();
+    }
+
+    /**
+     * @return текущее состояние пула (занятые, свободные, ожидающие соединения)
+     */
+    public static PoolStats poolStats() {
+        return MANAGER.getTotalStats();
+    }
+
+    /**
+     * Оператор соединений, который считает каждое новое TCP-соединение.
+     */
+    private static class CountingConnectionOperator extends DefaultClientConnectionOperator {
+
+        CountingConnectionOperator(SchemeRegistry schemes) {
+            super(schemes);
+        }
+
+        @Override
+        public void openConnection(OperatedClientConnection conn, HttpHost target, InetAddress local,
+                                   HttpContext context, HttpParams params) throws IOException {
+            super.openConnection(conn, target, local, context, params);
+            CONNECTIONS_OPENED.increment();
+        }
+    }
+}
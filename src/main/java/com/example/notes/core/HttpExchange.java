@@ -0,0 +1,64 @@
+package com.example.notes.core;
+
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+
+/**
+ * Один HTTP-обмен в ExchangeRingBuffer: ссылки на запрос и ответ, без готового текста.
+ *
+ * ЗАЧЕМ ХРАНИТЬ ССЫЛКИ, А НЕ ТЕКСТ:
+ * Текст обмена нужен только упавшему тесту, а таких - единицы. Собирать его на каждом
+ * запросе (тем более заголовки и тела на уровнях HEADERS/BODY) - та же работа, что и
+ * печать в консоль, только без вывода. Поэтому фильтр кладёт в буфер только ссылки
+ * (это O(1)), а format() вызывает FailureLogExtension, когда тест уже упал.
+ * Буфер хранит последние log.buffer.size обменов, старые ссылки затираются и уходят в GC.
+ */
+public final class HttpExchange {
+
+    private final RingBufferLogFilter.Level level;
+    private final FilterableRequestSpecification request;
+    private final Response response;
+    private final long elapsedMillis;
+
+    HttpExchange(RingBufferLogFilter.Level level, FilterableRequestSpecification request, Response response,
+                 long elapsedMillis) {
+        this.level = level;
+        this.request = request;
+        this.response = response;
+        this.elapsedMillis = elapsedMillis;
+    }
+
+    /**
+     * Собирает текст обмена с учётом уровня детализации, на котором он записан.
+     */
+    public String format() {
+        StringBuilder sb = new StringBuilder(256);
+        sb.append(request.getMethod()).append(' ').append(request.getURI())
+                .append(" -> ").append(response.getStatusCode())
+                .append(" (").append(elapsedMillis).append(" ms)");
+
+        if (level.compareTo(RingBufferLogFilter.Level.ALL) >= 0) {
+            sb.append("\n  Path params: ").append(request.getPathParams())
+                    .append("\n  Query params: ").append(request.getQueryParams());
+        }
+        if (level.compareTo(RingBufferLogFilter.Level.HEADERS) >= 0) {
+            sb.append("\n  Request headers:\n").append(indent(request.getHeaders().toString()))
+                    .append("\n  Response headers:\n").append(indent(response.getHeaders().toString()));
+        }
+        if (level.compareTo(RingBufferLogFilter.Level.BODY) >= 0) {
+            Object body = request.getBody();
+            sb.append("\n  Request body: ").append(body == null ? "<none>" : body)
+                    .append("\n  Response body: ").append(response.asString());
+        }
+        return sb.toString();
+    }
+
+    @Override
+    public String toString() {
+        return format();
+    }
+
+    private static String indent(String text) {
+        return "    " + text.replace("\n", "\n    ");
+    }
+}
@@ -0,0 +1,50 @@
+package com.example.notes.core;
+
+import com.example.notes.endpoints.Route;
+import io.restassured.filter.Filter;
+import io.restassured.filter.FilterContext;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+
+/**
+ * Фильтр Rest-Assured, который записывает время каждого запроса в LatencyHistograms.SUITE.
+ *
+ * КАК ЭТО РАБОТАЕТ:
+ * 1. Засекаем время, отправляем запрос дальше по цепочке фильтров
+ * 2. Дочитываем тело ответа (время ответа - до последнего байта, а не до заголовков)
+ * 3. Определяем маршрут по методу и шаблону пути: NotesClient передаёт путь
+ *    "/notes/{id}" с pathParam, поэтому все запросы заметок по ID попадают
+ *    в одну гистограмму GET /notes/{id}, а не по одной на каждый ID
+ * 4. Пишем время в гистограмму маршрута
+ *
+ * ПОЧЕМУ ТЕЛО ДОЧИТЫВАЕТСЯ ЗДЕСЬ:
+ * Соединение возвращается в пул (HttpConnectionPool) только после того, как тело
+ * прочитано до конца. Если тест проверяет только статус-код, тело никто не читает,
+ * и соединение остаётся занятым до конца прогона. Rest-Assured кэширует прочитанное
+ * тело, поэтому дальнейшие проверки и extract() работают как раньше.
+ *
+ * Подключается в Specs последним фильтром - ближе всего к сети, чтобы время
+ * других фильтров (например, логирования) не попадало в замер.
+ */
+public class LatencyFilter implements Filter {
+
+    public static final LatencyFilter INSTANCE = new LatencyFilter();
+
+    private LatencyFilter() {
+    }
+
+    @Override
+    public Response filter(FilterableRequestSpecification requestSpec,
+                           FilterableResponseSpecification responseSpec,
+                           FilterContext ctx) {
+        long start = System.nanoTime();
+        Response response = ctx.next(requestSpec, responseSpec);
+        response.asByteArray();
+        long elapsed = System.nanoTime() - start;
+
+        Route route = Route.resolve(requestSpec.getMethod(), requestSpec.getUserDefinedPath());
+        LatencyHistograms.SUITE.record(route, elapsed);
+        return response;
+    }
+}
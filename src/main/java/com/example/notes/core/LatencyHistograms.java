@@ -0,0 +1,112 @@
+package com.example.notes.core;
+
+import com.example.notes.endpoints.Route;
+import org.HdrHistogram.AtomicHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Гистограммы времени ответа по маршрутам API (одна гистограмма на Route).
+ *
+ * ЗАЧЕМ НУЖЕН ЭТОТ КЛАСС:
+ * Среднее время ответа ничего не говорит о "хвостах": 99 быстрых запросов и один
+ * на 5 секунд дадут приличное среднее. Гистограмма хранит распределение целиком,
+ * поэтому из неё можно достать любой перцентиль: p50, p99, p99.9, максимум.
+ *
+ * ПОЧЕМУ HdrHistogram:
+ * - память фиксирована и не зависит от числа запросов (хранятся счётчики по диапазонам)
+ * - точность задаётся в значащих цифрах (3 цифры - погрешность не больше 0.1%)
+ * - AtomicHistogram записывает значение атомарным инкрементом счётчика: без блокировок
+ *   и без выделения памяти, поэтому запись безопасна из параллельных тестов
+ *
+ * КАК УСТРОЕНО:
+ * Массив гистограмм создаётся заранее, индекс - Route.ordinal(). На запись
+ * не нужно ни искать в Map, ни создавать ключ из строки URL.
+ * Значения хранятся в микросекундах.
+ */
+public class LatencyHistograms {
+
+    /**
+     * Верхняя граница записи - 1 час. Всё, что дольше, записывается как 1 час.
+     */
+    private static final long MAX_MICROS = TimeUnit.HOURS.toMicros(1);
+
+    private static final int SIGNIFICANT_DIGITS = 3;
+
+    private static final Route[] ROUTES = Route.values();
+
+    /**
+     * Гистограммы запросов тестов (их заполняет LatencyFilter, выгружает LatencyReportListener).
+     */
+    public static final LatencyHistograms SUITE = new LatencyHistograms();
+
+    private final AtomicHistogram[] histograms = new AtomicHistogram[ROUTES.length];
+
+    public LatencyHistograms() {
+        for (int i = 0; i < histograms.length; i++) {
+            histograms[i] = new AtomicHistogram(MAX_MICROS, SIGNIFICANT_DIGITS);
+        }
+    }
+
+    /**
+     * Записывает время одного запроса.
+     *
+     * @param route       маршрут запроса
+     * @param elapsedNanos время ответа в наносекундах (разница System.nanoTime())
+     */
+    public void record(Route route, long elapsedNanos) {
+        long micros = Math.min(Math.max(elapsedNanos / 1_000, 0), MAX_MICROS);
+        histograms[route.ordinal()].recordValue(micros);
+    }
+
+    /**
+     * Добавляет к маршруту все значения другой гистограммы (например, полученной от
+     * другого процесса). Счётчики складываются, поэтому объединение точное - перцентили
+     * такие же, как если бы все значения записывались в одну гистограмму.
+     *
+     * @param route     маршрут
+     * @param histogram значения в микросекундах
+     */
+    public void add(Route route, Histogram histogram) {
+        histograms[route.ordinal()].add(histogram);
+    }
+
+    /**
+     * @return копия гистограммы маршрута на текущий момент (значения в микросекундах)
+     */
+    public Histogram snapshot(Route route) {
+        return histograms[route.ordinal()].copy();
+    }
+
+    /**
+     * @return одна гистограмма со значениями всех маршрутов (микросекунды)
+     */
+    public Histogram merged() {
+        Histogram merged = new Histogram(MAX_MICROS, SIGNIFICANT_DIGITS);
+        for (AtomicHistogram histogram : histograms) {
+            merged.add(histogram);
+        }
+        return merged;
+    }
+
+    /**
+     * @return общее число записанных запросов по всем маршрутам
+     */
+    public long totalCount() {
+        long total = 0;
+        for (AtomicHistogram histogram : histograms) {
+            total += histogram.getTotalCount();
+        }
+        return total;
+    }
+
+    /**
+     * Обнуляет все гистограммы.
+     */
+    public void reset() {
+        for (AtomicHistogram histogram : histograms) {
+            histogram.reset();
+        }
+    }
+}
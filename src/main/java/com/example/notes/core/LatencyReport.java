@@ -0,0 +1,159 @@
+package com.example.notes.core;
+
+import com.example.notes.endpoints.Route;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+
+/**
+ * Выгрузка LatencyHistograms в файлы: JSON (для скриптов и сравнения прогонов) и CSV (для таблиц).
+ *
+ * ЧТО ПОПАДАЕТ В ОТЧЁТ (по строке на каждый маршрут, где были запросы):
+ * route, count, p50, p90, p99, p99.9, max, mean - время в миллисекундах.
+ *
+ * ПРИМЕР CSV:
+ * route,count,p50_ms,p90_ms,p99_ms,p99_9_ms,max_ms,mean_ms
+ * GET /notes/{id},42,1.203,2.511,7.807,7.807,7.807,1.498
+ */
+public class LatencyReport {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+    private static final String CSV_HEADER = "route,count,p50_ms,p90_ms,p99_ms,p99_9_ms,max_ms,mean_ms\n";
+
+    private LatencyReport() {
+    }
+
+    /**
+     * Пишет отчёт в JSON: {"routes": [{"route": "GET /notes", "count": 10, "p50_ms": 1.2, ...}]}.
+     */
+    public static void writeJson(LatencyHistograms histograms, Path file) throws IOException {
+        ObjectNode root = MAPPER.createObjectNode();
+        ArrayNode routes = root.putArray("routes");
+        for (Route route : Route.values()) {
+            Histogram histogram = histograms.snapshot(route);
+            if (histogram.getTotalCount() == 0) {
+                continue;
+            }
+            ObjectNode row = routes.addObject();
+            row.put("route", route.label());
+            putStats(row, histogram);
+        }
+        Files.createDirectories(file.toAbsolutePath().getParent());
+        MAPPER.writeValue(file.toFile(), root);
+    }
+
+    /**
+     * Пишет тот же отчёт в CSV (заголовок + строка на маршрут).
+     */
+    public static void writeCsv(LatencyHistograms histograms, Path file) throws IOException {
+        StringBuilder csv = new StringBuilder(CSV_HEADER);
+        for (Route route : Route.values()) {
+            Histogram histogram = histograms.snapshot(route);
+            if (histogram.getTotalCount() == 0) {
+                continue;
+            }
+            csv.append(route.label()).append(',')
+                    .append(histogram.getTotalCount()).append(',')
+                    .append(format(percentileMillis(histogram, 50))).append(',')
+                    .append(format(percentileMillis(histogram, 90))).append(',')
+                    .append(format(percentileMillis(histogram, 99))).append(',')
+                    .append(format(percentileMillis(histogram, 99.9))).append(',')
+                    .append(format(toMillis(histogram.getMaxValue()))).append(',')
+                    .append(format(round(histogram.getMean() / 1_000.0))).append('\n');
+        }
+        Files.createDirectories(file.toAbsolutePath().getParent());
+        Files.write(file, csv.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Пишет два набора гистограмм рядом: по каждому маршруту - "uncorrected" и "corrected".
+     *
+     * ЗАЧЕМ:
+     * Нагрузочный прогон (LoadEngine) меряет время дважды: от фактической отправки запроса
+     * и от запланированной. Разница между ними - время, которое запрос провёл в очереди
+     * из-за того, что система не успевала (см. LoadEngine, "КООРДИНИРОВАННЫЙ ПРОПУСК").
+     *
+     * ПРИМЕР:
+     * {"routes": [{"route": "POST /notes",
+     *              "uncorrected": {"count": 500, "p99_ms": 12.1, ...},
+     *              "corrected":   {"count": 500, "p99_ms": 840.3, ...}}]}
+     */
+    public static void writeSideBySideJson(LatencyHistograms uncorrected, LatencyHistograms corrected, Path file)
+            throws IOException {
+        ObjectNode root = MAPPER.createObjectNode();
+        ArrayNode routes = root.putArray("routes");
+        for (Route route : Route.values()) {
+            Histogram plain = uncorrected.snapshot(route);
+            if (plain.getTotalCount() == 0) {
+                continue;
+            }
+            ObjectNode row = routes.addObject();
+            row.put("route", route.label());
+            putStats(row.putObject("uncorrected"), plain);
+            putStats(row.putObject("corrected"), corrected.snapshot(route));
+        }
+        Files.createDirectories(file.toAbsolutePath().getParent());
+        MAPPER.writeValue(file.toFile(), root);
+    }
+
+    /**
+     * CSV того же сравнения: колонки без префикса - uncorrected, с префиксом corrected_ - corrected.
+     */
+    public static void writeSideBySideCsv(LatencyHistograms uncorrected, LatencyHistograms corrected, Path file)
+            throws IOException {
+        StringBuilder csv = new StringBuilder("route,count,p50_ms,p99_ms,p99_9_ms,max_ms,"
+                + "corrected_p50_ms,corrected_p99_ms,corrected_p99_9_ms,corrected_max_ms\n");
+        for (Route route : Route.values()) {
+            Histogram plain = uncorrected.snapshot(route);
+            if (plain.getTotalCount() == 0) {
+                continue;
+            }
+            Histogram fixed = corrected.snapshot(route);
+            csv.append(route.label()).append(',').append(plain.getTotalCount());
+            for (Histogram histogram : new Histogram[]{plain, fixed}) {
+                csv.append(',').append(format(percentileMillis(histogram, 50)))
+                        .append(',').append(format(percentileMillis(histogram, 99)))
+                        .append(',').append(format(percentileMillis(histogram, 99.9)))
+                        .append(',').append(format(toMillis(histogram.getMaxValue())));
+            }
+            csv.append('\n');
+        }
+        Files.createDirectories(file.toAbsolutePath().getParent());
+        Files.write(file, csv.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static void putStats(ObjectNode node, Histogram histogram) {
+        node.put("count", histogram.getTotalCount());
+        node.put("p50_ms", percentileMillis(histogram, 50));
+        node.put("p90_ms", percentileMillis(histogram, 90));
+        node.put("p99_ms", percentileMillis(histogram, 99));
+        node.put("p99_9_ms", percentileMillis(histogram, 99.9));
+        node.put("max_ms", toMillis(histogram.getMaxValue()));
+        node.put("mean_ms", round(histogram.getMean() / 1_000.0));
+    }
+
+    private static double percentileMillis(Histogram histogram, double percentile) {
+        return toMillis(histogram.getValueAtPercentile(percentile));
+    }
+
+    private static double toMillis(long micros) {
+        return round(micros / 1_000.0);
+    }
+
+    private static double round(double millis) {
+        return Math.round(millis * 1_000) / 1_000.0;
+    }
+
+    private static String format(double millis) {
+        return String.format(Locale.ROOT, "%.3f", millis);
+    }
+}
@@ -0,0 +1,149 @@
+package com.example.notes.core;
+
+import com.example.notes.endpoints.Route;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Счётчики для живого просмотра прогона (ConsoleDashboard): запросы в полёте,
+ * ответы по статусам и время ответа за последний интервал по маршрутам.
+ *
+ * ЗАЧЕМ ОТДЕЛЬНО ОТ LatencyHistograms:
+ * LatencyHistograms копит значения за весь прогон, а панели нужно "что происходит
+ * сейчас". Снимать копию накопленной гистограммы и вычитать предыдущую каждую секунду
+ * можно, но копия читает счётчики, пока потоки нагрузки их меняют.
+ *
+ * КАК ЭТО РАБОТАЕТ:
+ * - Время ответа пишется в Recorder из HdrHistogram (по одному на Route). У Recorder
+ *   две гистограммы: в активную пишут потоки запросов, а getIntervalHistogramInto()
+ *   меняет их местами и отдаёт накопленную за интервал. Запись не ждёт никаких
+ *   блокировок (wait-free), чтение ждёт только завершения уже начатых записей
+ * - Статусы - AtomicLongArray, индекс - HTTP-статус (0 - ответа нет).
+ *   Читатель забирает значение через getAndSet(0), поэтому ни один ответ не теряется
+ *   и не считается дважды
+ * - В полёте - AtomicInteger: +1 до отправки, -1 после ответа
+ *
+ * Включается через activate() (notes-bench --live); пока не включён, LiveStatsFilter
+ * только передаёт запросы дальше.
+ */
+public final class LiveStats {
+
+    /**
+     * Верхняя граница записи - 1 час, значения в микросекундах.
+     */
+    private static final long MAX_MICROS = TimeUnit.HOURS.toMicros(1);
+
+    /**
+     * Для живого просмотра хватает 2 значащих цифр: гистограммы меньше и быстрее меняются местами.
+     */
+    private static final int SIGNIFICANT_DIGITS = 2;
+
+    /**
+     * Статусы 0..599; всё, что больше, считается как 599.
+     */
+    public static final int STATUS_SLOTS = 600;
+
+    private static final Route[] ROUTES = Route.values();
+
+    private static volatile LiveStats active;
+
+    private final Recorder[] recorders = new Recorder[ROUTES.length];
+    private final AtomicLongArray statuses = new AtomicLongArray(STATUS_SLOTS);
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    public LiveStats() {
+        for (int i = 0; i < recorders.length; i++) {
+            recorders[i] = new Recorder(MAX_MICROS, SIGNIFICANT_DIGITS);
+        }
+    }
+
+    /**
+     * Создаёт счётчики и включает их запись в LiveStatsFilter.
+     */
+    public static LiveStats activate() {
+        LiveStats stats = new LiveStats();
+        active = stats;
+        return stats;
+    }
+
+    /**
+     * Выключает запись (счётчики остаются доступны для чтения).
+     */
+    public static void deactivate() {
+        active = null;
+    }
+
+    /**
+     * @return включённые счётчики или null
+     */
+    public static LiveStats active() {
+        return active;
+    }
+
+    /**
+     * Запрос отправляется.
+     */
+    public void begin() {
+        inFlight.incrementAndGet();
+    }
+
+    /**
+     * Запрос завершён.
+     *
+     * @param route        маршрут
+     * @param status       HTTP-статус, 0 - ответа нет
+     * @param elapsedNanos время ответа
+     */
+    public void end(Route route, int status, long elapsedNanos) {
+        inFlight.decrementAndGet();
+        long micros = Math.min(Math.max(elapsedNanos / 1_000, 0), MAX_MICROS);
+        recorders[route.ordinal()].recordValue(micros);
+        statuses.incrementAndGet(Math.min(Math.max(status, 0), STATUS_SLOTS - 1));
+    }
+
+    /**
+     * @return запросов отправлено, но ещё без ответа
+     */
+    public int inFlight() {
+        return inFlight.get();
+    }
+
+    /**
+     * Переносит в target значения маршрута с прошлого вызова (target перезаписывается)
+     * и начинает новый интервал.
+     *
+     * @param target гистограмма, созданная newIntervalHistogram()
+     */
+    public void drainInterval(Route route, Histogram target) {
+        recorders[route.ordinal()].getIntervalHistogramInto(target);
+    }
+
+    /**
+     * @return пустая гистограмма с теми же параметрами, что у Recorder
+     */
+    public static Histogram newIntervalHistogram() {
+        return new Histogram(MAX_MICROS, SIGNIFICANT_DIGITS);
+    }
+
+    /**
+     * Забирает число ответов со статусом с прошлого вызова и обнуляет его.
+     *
+     * @param counts массив длины STATUS_SLOTS, к которому добавляются значения
+     * @return сколько ответов забрано всего
+     */
+    public long drainStatuses(long[] counts) {
+        long total = 0;
+        for (int status = 0; status < STATUS_SLOTS; status++) {
+            if (statuses.get(status) != 0) {
+                long count = statuses.getAndSet(status, 0);
+                counts[status] += count;
+                total += count;
+            }
+        }
+        return total;
+    }
+}
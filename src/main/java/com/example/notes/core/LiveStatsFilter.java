@@ -0,0 +1,49 @@
+package com.example.notes.core;
+
+import com.example.notes.endpoints.Route;
+import io.restassured.filter.Filter;
+import io.restassured.filter.FilterContext;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+
+/**
+ * Фильтр Rest-Assured, который пишет каждый запрос в активные LiveStats:
+ * запросы в полёте, статус и время ответа по маршруту.
+ *
+ * Пока LiveStats не включены (LiveStats.active() == null), фильтр только передаёт
+ * запрос дальше. Если запрос упал без ответа, записывается статус 0.
+ *
+ * Подключается в Specs перед LatencyFilter (снаружи): его работа не попадает в гистограммы
+ * LatencyFilter. Время ответа меряется так же, до последнего байта тела; в него входит
+ * запись в гистограмму LatencyFilter и SampleLog - доли микросекунды.
+ */
+public class LiveStatsFilter implements Filter {
+
+    public static final LiveStatsFilter INSTANCE = new LiveStatsFilter();
+
+    private LiveStatsFilter() {
+    }
+
+    @Override
+    public Response filter(FilterableRequestSpecification requestSpec,
+                           FilterableResponseSpecification responseSpec,
+                           FilterContext ctx) {
+        LiveStats stats = LiveStats.active();
+        if (stats == null) {
+            return ctx.next(requestSpec, responseSpec);
+        }
+        stats.begin();
+        long start = System.nanoTime();
+        int status = 0;
+        try {
+            Response response = ctx.next(requestSpec, responseSpec);
+            response.asByteArray();
+            status = response.getStatusCode();
+            return response;
+        } finally {
+            long elapsed = System.nanoTime() - start;
+            stats.end(Route.resolve(requestSpec.getMethod(), requestSpec.getUserDefinedPath()), status, elapsed);
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.example.notes.core;
+
+import com.example.notes.config.TestEnv;
+import io.restassured.filter.Filter;
+import io.restassured.filter.FilterContext;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+
+import java.util.Locale;
+
+/**
+ * Фильтр Rest-Assured, который запоминает HTTP-обмены в кольцевой буфер текущего теста.
+ *
+ * ЗАЧЕМ НУЖЕН ЭТОТ ФИЛЬТР:
+ * Раньше спецификации включали .log(LogDetail.ALL): каждый запрос и ответ форматировался
+ * и печатался в консоль. Это стоит CPU и I/O на каждом вызове и засоряет логи CI,
+ * хотя читают их только когда тест упал.
+ * Фильтр только складывает ссылки на запрос и ответ (HttpExchange) в ExchangeRingBuffer
+ * (в памяти), а FailureLogExtension форматирует и печатает буфер, если тест упал.
+ * Прошедший тест не платит за форматирование ничего.
+ *
+ * ЧТО ТАКОЕ ФИЛЬТР В REST-ASSURED:
+ * Объект, через который проходит каждый запрос. Фильтр может посмотреть запрос,
+ * передать его дальше (ctx.next) и посмотреть полученный ответ.
+ *
+ * СКОЛЬКО ДЕТАЛЕЙ ЗАПОМИНАТЬ:
+ * Определяет log.level из EnvConfig:
+ * - NONE: ничего
+ * - BASIC: метод, URL, статус и время ответа
+ * - HEADERS: плюс заголовки запроса и ответа
+ * - BODY: плюс тела запроса и ответа
+ * - ALL: плюс параметры пути и запроса
+ */
+public class RingBufferLogFilter implements Filter {
+
+    /**
+     * Уровни детализации записи (значения log.level).
+     */
+    public enum Level {
+        NONE, BASIC, HEADERS, BODY, ALL
+    }
+
+    /**
+     * Фильтр не хранит состояния (буфер - у теста), поэтому один экземпляр на всех.
+     */
+    public static final RingBufferLogFilter INSTANCE = new RingBufferLogFilter();
+
+    private static final Level LEVEL = Level.valueOf(TestEnv.getLogLevel().trim().toUpperCase(Locale.ROOT));
+
+    /**
+     * Буфер теста, который сейчас выполняется в этом потоке.
+     */
+    private static final ThreadLocal<ExchangeRingBuffer> CURRENT = new ThreadLocal<>();
+
+    /**
+     * Начинает запись обменов текущего потока в буфер.
+     *
+     * @param buffer буфер теста
+     */
+    public static void bind(ExchangeRingBuffer buffer) {
+        CURRENT.set(buffer);
+    }
+
+    /**
+     * Прекращает запись обменов текущего потока.
+     */
+    public static void unbind() {
+        CURRENT.remove();
+    }
+
+    @Override
+    public Response filter(FilterableRequestSpecification requestSpec,
+                           FilterableResponseSpecification responseSpec,
+                           FilterContext ctx) {
+        ExchangeRingBuffer buffer = CURRENT.get();
+        if (buffer == null || LEVEL == Level.NONE) {
+            // Запрос вне теста (например, фоновая очистка пула) или логирование выключено
+            return ctx.next(requestSpec, responseSpec);
+        }
+
+        long start = System.nanoTime();
+        Response response = ctx.next(requestSpec, responseSpec);
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+        // Только ссылки: текст собирается, если тест упадёт (HttpExchange.format)
+        buffer.add(new HttpExchange(LEVEL, requestSpec, response, elapsedMillis));
+        return response;
+    }
+}
@@ -0,0 +1,198 @@
+package com.example.notes.core;
+
+import com.example.notes.endpoints.Route;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Двоичный журнал запросов: одна запись фиксированного размера на каждый запрос.
+ *
+ * ЗАЧЕМ НУЖЕН ЭТОТ КЛАСС:
+ * Гистограммы (LatencyHistograms) хранят только распределение за весь прогон. Чтобы увидеть,
+ * КОГДА выросло время ответа или посыпались ошибки, нужен каждый запрос со временем.
+ * Хранить миллионы объектов в куче нельзя: сборщик мусора начнёт останавливать потоки
+ * нагрузки, и мы будем мерить собственные паузы GC. Журнал пишется в файл, отображённый
+ * в память (MappedByteBuffer): запись - несколько putLong/putInt в страницу памяти,
+ * без объектов в куче и без системных вызовов; на диск страницы сбрасывает ОС.
+ *
+ * ФОРМАТ ФАЙЛА:
+ *   заголовок, 16 байт: magic "NSLG" (int), версия (short), размер записи (short),
+ *                       время открытия журнала, мс от эпохи (long)
+ *   записи, по RECORD_SIZE = 24 байта:
+ *     0  long  момент окончания запроса, мкс от эпохи (0 - запись не дописана)
+ *     8  long  время ответа, нс
+ *     16 int   байт в теле ответа
+ *     20 short маршрут (Route.ordinal())
+ *     22 short HTTP-статус (0 - ответа нет: ошибка соединения)
+ * Читает журнал SampleLogReader, обрабатывает SampleLogAnalyzer (notes-bench analyze).
+ *
+ * КАК ЭТО РАБОТАЕТ:
+ * 1. Номер записи выдаёт AtomicLong - потоки пишут параллельно, каждый в свою ячейку
+ * 2. Файл отображается кусками по CHUNK_RECORDS записей; следующий кусок отображается,
+ *    когда до него доходит первая запись (файл растёт сам)
+ * 3. Момент окончания пишется последним: запись с нулём в этом поле не дописана, и читатель
+ *    её пропускает (так же он пропускает хвост куска после аварийного завершения)
+ * 4. close() сбрасывает страницы на диск и обрезает файл по последней записи
+ *
+ * ВКЛЮЧЕНИЕ:
+ * SampleLogFilter пишет в журнал, открытый через activate() (notes-bench --samples FILE
+ * или -Dsample.log=FILE). Пока журнал не открыт, фильтр ничего не делает.
+ */
+public final class SampleLog implements Closeable {
+
+    static final int MAGIC = 0x4E534C47; // "NSLG"
+    static final short VERSION = 1;
+    static final int HEADER_SIZE = 16;
+    static final int RECORD_SIZE = 24;
+
+    /**
+     * Записей в одном отображённом куске (2M записей = 48 МБ).
+     */
+    private static final int CHUNK_RECORDS = 1 << 21;
+
+    private static final long CHUNK_BYTES = (long) CHUNK_RECORDS * RECORD_SIZE;
+
+    private static volatile SampleLog active;
+
+    private final Path path;
+    private final FileChannel channel;
+    private final AtomicLong next = new AtomicLong();
+    private volatile MappedByteBuffer[] chunks = new MappedByteBuffer[0];
+    private volatile boolean closed;
+
+    /**
+     * Момент открытия: время записи = baseMicros + (nanoTime - baseNanos) / 1000.
+     * nanoTime монотонный и дешевле, чем currentTimeMillis с пересчётом.
+     */
+    private final long baseMicros;
+    private final long baseNanos;
+
+    private SampleLog(Path path, FileChannel channel, long startMillis) {
+        this.path = path;
+        this.channel = channel;
+        this.baseMicros = TimeUnit.MILLISECONDS.toMicros(startMillis);
+        this.baseNanos = System.nanoTime();
+    }
+
+    /**
+     * Создаёт журнал (существующий файл перезаписывается).
+     */
+    public static SampleLog open(Path path) throws IOException {
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        long startMillis = System.currentTimeMillis();
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        header.putInt(MAGIC).putShort(VERSION).putShort((short) RECORD_SIZE).putLong(startMillis).flip();
+        while (header.hasRemaining()) {
+            channel.write(header, header.position());
+        }
+        return new SampleLog(path, channel, startMillis);
+    }
+
+    /**
+     * Открывает журнал и делает его активным: SampleLogFilter начинает писать в него.
+     */
+    public static SampleLog activate(Path path) throws IOException {
+        SampleLog log = open(path);
+        active = log;
+        return log;
+    }
+
+    /**
+     * @return активный журнал или null
+     */
+    public static SampleLog active() {
+        return active;
+    }
+
+    /**
+     * Добавляет запись о запросе. Потокобезопасно, без блокировок (кроме отображения нового куска).
+     *
+     * @param route        маршрут
+     * @param status       HTTP-статус, 0 - ответа нет
+     * @param latencyNanos время ответа
+     * @param bytes        размер тела ответа
+     */
+    public void append(Route route, int status, long latencyNanos, int bytes) {
+        if (closed) {
+            return;
+        }
+        long index = next.getAndIncrement();
+        MappedByteBuffer chunk = chunk((int) (index / CHUNK_RECORDS));
+        int offset = (int) (index % CHUNK_RECORDS) * RECORD_SIZE;
+        chunk.putLong(offset + 8, latencyNanos);
+        chunk.putInt(offset + 16, bytes);
+        chunk.putShort(offset + 20, (short) route.ordinal());
+        chunk.putShort(offset + 22, (short) status);
+        // Последним - признак того, что запись дописана
+        chunk.putLong(offset, baseMicros + (System.nanoTime() - baseNanos) / 1_000);
+    }
+
+    private MappedByteBuffer chunk(int number) {
+        MappedByteBuffer[] current = chunks;
+        if (number < current.length) {
+            return current[number];
+        }
+        synchronized (this) {
+            current = chunks;
+            if (number >= current.length) {
+                MappedByteBuffer[] grown = Arrays.copyOf(current, number + 1);
+                try {
+                    for (int i = current.length; i <= number; i++) {
+                        grown[i] = channel.map(FileChannel.MapMode.READ_WRITE,
+                                HEADER_SIZE + i * CHUNK_BYTES, CHUNK_BYTES);
+                    }
+                } catch (IOException e) {
+                    throw new IllegalStateException("Cannot extend sample log " + path, e);
+                }
+                chunks = grown;
+                current = grown;
+            }
+            return current[number];
+        }
+    }
+
+    /**
+     * @return сколько записей добавлено
+     */
+    public long size() {
+        return next.get();
+    }
+
+    public Path getPath() {
+        return path;
+    }
+
+    /**
+     * Сбрасывает записи на диск и обрезает файл по последней записи.
+     * Вызывать после того, как нагрузка остановлена: запись в закрытый журнал не попадёт.
+     */
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        if (active == this) {
+            active = null;
+        }
+        for (MappedByteBuffer chunk : chunks) {
+            chunk.force();
+        }
+        channel.truncate(HEADER_SIZE + next.get() * RECORD_SIZE);
+        channel.close();
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.notes.core;
+
+import com.example.notes.endpoints.Route;
+import io.restassured.filter.Filter;
+import io.restassured.filter.FilterContext;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+
+/**
+ * Фильтр Rest-Assured, который записывает каждый запрос в активный SampleLog:
+ * момент окончания, маршрут, статус, время ответа и размер тела.
+ *
+ * Пока журнал не открыт (SampleLog.active() == null), фильтр только передаёт запрос
+ * дальше - в тестах он ничего не стоит.
+ *
+ * Если запрос упал без ответа (ошибка соединения, таймаут), записывается статус 0,
+ * а исключение пробрасывается дальше как обычно.
+ *
+ * Подключается в Specs перед LatencyFilter (снаружи): запись в журнал не попадает в гистограммы
+ * LatencyFilter, а во время, записанное в журнал, входит только запись в гистограмму - доли микросекунды.
+ */
+public class SampleLogFilter implements Filter {
+
+    public static final SampleLogFilter INSTANCE = new SampleLogFilter();
+
+    private SampleLogFilter() {
+    }
+
+    @Override
+    public Response filter(FilterableRequestSpecification requestSpec,
+                           FilterableResponseSpecification responseSpec,
+                           FilterContext ctx) {
+        SampleLog log = SampleLog.active();
+        if (log == null) {
+            return ctx.next(requestSpec, responseSpec);
+        }
+        long start = System.nanoTime();
+        int status = 0;
+        int bytes = 0;
+        try {
+            Response response = ctx.next(requestSpec, responseSpec);
+            bytes = response.asByteArray().length;
+            status = response.getStatusCode();
+            return response;
+        } finally {
+            long elapsed = System.nanoTime() - start;
+            Route route = Route.resolve(requestSpec.getMethod(), requestSpec.getUserDefinedPath());
+            log.append(route, status, elapsed, bytes);
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package com.example.notes.core;
+
+import com.example.notes.endpoints.Route;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Последовательное чтение журнала SampleLog без загрузки его в память.
+ *
+ * КАК ИСПОЛЬЗОВАТЬ:
+ * <pre>
+ * try (SampleLogReader reader = SampleLogReader.open(path)) {
+ *     while (reader.next()) {
+ *         long micros = reader.timestampMicros();
+ *         Route route = reader.route();
+ *         ...
+ *     }
+ * }
+ * </pre>
+ * Читатель - "курсор": после next() геттеры возвращают поля текущей записи.
+ * Объекты на запись не создаются, файл читается блоками по BUFFER_SIZE,
+ * поэтому журнал любого размера обрабатывается в постоянной памяти.
+ * Недописанные записи (момент окончания 0) пропускаются.
+ */
+public final class SampleLogReader implements Closeable {
+
+    private static final int BUFFER_SIZE = SampleLog.RECORD_SIZE * 8192;
+
+    private static final Route[] ROUTES = Route.values();
+
+    private final FileChannel channel;
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+    private final long startMillis;
+    private long position = SampleLog.HEADER_SIZE;
+
+    private long timestampMicros;
+    private long latencyNanos;
+    private int bytes;
+    private Route route;
+    private int status;
+
+    private SampleLogReader(FileChannel channel, long startMillis) {
+        this.channel = channel;
+        this.startMillis = startMillis;
+        buffer.limit(0);
+    }
+
+    /**
+     * @throws IOException если файл не журнал SampleLog или другой версии
+     */
+    public static SampleLogReader open(Path path) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            ByteBuffer header = ByteBuffer.allocate(SampleLog.HEADER_SIZE);
+            while (header.hasRemaining() && channel.read(header, header.position()) > 0) {
+                // дочитываем заголовок
+            }
+            header.flip();
+            if (header.remaining() < SampleLog.HEADER_SIZE || header.getInt() != SampleLog.MAGIC) {
+                throw new IOException("Not a sample log: " + path);
+            }
+            short version = header.getShort();
+            short recordSize = header.getShort();
+            if (version != SampleLog.VERSION || recordSize != SampleLog.RECORD_SIZE) {
+                throw new IOException("Unsupported sample log version " + version + " in " + path);
+            }
+            return new SampleLogReader(channel, header.getLong());
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Переходит к следующей дописанной записи.
+     *
+     * @return false, если записей больше нет
+     */
+    public boolean next() throws IOException {
+        while (true) {
+            if (buffer.remaining() < SampleLog.RECORD_SIZE && !fill()) {
+                return false;
+            }
+            timestampMicros = buffer.getLong();
+            latencyNanos = buffer.getLong();
+            bytes = buffer.getInt();
+            int ordinal = buffer.getShort();
+            status = buffer.getShort() & 0xFFFF;
+            if (timestampMicros != 0 && ordinal >= 0 && ordinal < ROUTES.length) {
+                route = ROUTES[ordinal];
+                return true;
+            }
+        }
+    }
+
+    private boolean fill() throws IOException {
+        buffer.compact();
+        int read;
+        while (buffer.hasRemaining() && (read = channel.read(buffer, position)) > 0) {
+            position += read;
+        }
+        buffer.flip();
+        return buffer.remaining() >= SampleLog.RECORD_SIZE;
+    }
+
+    /**
+     * @return момент открытия журнала, мс от эпохи (начало шкалы времени)
+     */
+    public long startMillis() {
+        return startMillis;
+    }
+
+    /**
+     * @return момент окончания запроса, мкс от эпохи
+     */
+    public long timestampMicros() {
+        return timestampMicros;
+    }
+
+    public long latencyNanos() {
+        return latencyNanos;
+    }
+
+    public int bytes() {
+        return bytes;
+    }
+
+    public Route route() {
+        return route;
+    }
+
+    /**
+     * @return HTTP-статус, 0 - ответа не было
+     */
+    public int status() {
+        return status;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
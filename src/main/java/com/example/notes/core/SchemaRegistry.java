@@ -0,0 +1,142 @@
+package com.example.notes.core;
+
+import com.example.notes.config.TestEnv;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.networknt.schema.JsonSchema;
+import com.networknt.schema.JsonSchemaFactory;
+import com.networknt.schema.SpecVersion;
+import com.networknt.schema.ValidationMessage;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Проверка ответов API по JSON-схемам из src/main/resources/schemas.
+ *
+ * ЗАЧЕМ НУЖЕН ЭТОТ КЛАСС:
+ * JSON-схема описывает, какие поля должны быть в ответе и какого они типа.
+ * Десериализация в NoteDto такие ошибки прячет: пропавшее поле просто станет null,
+ * а лишнее будет проигнорировано. Проверка по схеме ловит их сразу.
+ *
+ * ПОЧЕМУ СХЕМЫ КЭШИРУЮТСЯ:
+ * Загрузить схему - значит прочитать файл, разобрать JSON и скомпилировать
+ * набор валидаторов. Это в десятки раз дороже самой проверки. Поэтому каждая схема
+ * компилируется один раз на JVM, а готовый JsonSchema (он потокобезопасен)
+ * переиспользуется всеми тестами и потоками.
+ *
+ * КАК ИСПОЛЬЗОВАТЬ:
+ * - в клиентах: EnvelopeReader.readValidData(body, NoteDto.class, SchemaRegistry.NOTE) - поле "data"
+ *   ответа проверяется здесь (assertDataValid) на том же дереве, из которого читается NoteDto
+ * - в тестах: response.then().body(SchemaMatchers.matchesSchema(SchemaRegistry.ERROR)) - весь ответ
+ *
+ * ОТКЛЮЧЕНИЕ: schema.validation=false в local.properties (или -Dschema.validation=false).
+ *
+ * ЗАМЕР: см. benchmarks/SchemaValidationBenchmark.
+ */
+public class SchemaRegistry {
+
+    /**
+     * Схема заметки (объект в поле "data" ответов /notes).
+     */
+    public static final String NOTE = "schemas/note.json";
+
+    /**
+     * Схема ответа с ошибкой (весь ответ 4xx).
+     */
+    public static final String ERROR = "schemas/error.json";
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private static final JsonSchemaFactory FACTORY = JsonSchemaFactory.getInstance(SpecVersion.VersionFlag.V7);
+
+    /**
+     * Скомпилированные схемы по пути в classpath.
+     */
+    private static final ConcurrentMap<String, JsonSchema> SCHEMAS = new ConcurrentHashMap<>();
+
+    private static final boolean ENABLED = TestEnv.isSchemaValidationEnabled();
+
+    private SchemaRegistry() {
+    }
+
+    /**
+     * @return включена ли проверка по схемам в клиентах (schema.validation)
+     */
+    public static boolean isEnabled() {
+        return ENABLED;
+    }
+
+    /**
+     * Возвращает скомпилированную схему, при первом обращении - загружает её из classpath.
+     *
+     * @param path путь к схеме в classpath (NOTE, ERROR)
+     * @return скомпилированная схема
+     */
+    public static JsonSchema schema(String path) {
+        return SCHEMAS.computeIfAbsent(path, SchemaRegistry::compile);
+    }
+
+    /**
+     * Проверяет весь ответ по схеме.
+     *
+     * @param body байты тела ответа
+     * @param path путь к схеме
+     * @return найденные ошибки (пустое множество - ответ корректен)
+     */
+    public static Set<ValidationMessage> validate(byte[] body, String path) {
+        return schema(path).validate(readTree(body));
+    }
+
+    /**
+     * Проверяет поле "data" ответа по схеме. Если "data" - массив (GET /notes),
+     * по схеме проверяется каждый элемент.
+     *
+     * Ничего не делает, если проверка отключена (schema.validation=false).
+     *
+     * @param data уже разобранное поле "data" (тело второй раз не разбирается)
+     * @param path путь к схеме элемента
+     * @throws AssertionError если поле "data" не соответствует схеме
+     */
+    public static void assertDataValid(JsonNode data, String path) {
+        if (!ENABLED) {
+            return;
+        }
+        JsonSchema schema = schema(path);
+        Set<ValidationMessage> errors = new LinkedHashSet<>();
+        if (data.isArray()) {
+            for (JsonNode element : data) {
+                errors.addAll(schema.validate(element));
+            }
+        } else {
+            errors.addAll(schema.validate(data));
+        }
+        if (!errors.isEmpty()) {
+            throw new AssertionError("Response \"data\" does not match " + path + ": " + errors);
+        }
+    }
+
+    private static JsonNode readTree(byte[] body) {
+        try {
+            return MAPPER.readTree(body);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Response body is not valid JSON", e);
+        }
+    }
+
+    private static JsonSchema compile(String path) {
+        try (InputStream in = SchemaRegistry.class.getClassLoader().getResourceAsStream(path)) {
+            if (in == null) {
+                throw new IllegalArgumentException("Schema not found on classpath: " + path);
+            }
+            return FACTORY.getSchema(in);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot read schema " + path, e);
+        }
+    }
+}
@@ -0,0 +1,248 @@
+package com.example.notes.core;
+
+import com.example.notes.endpoints.Route;
+import com.example.notes.stub.StubMetrics;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Locale;
+
+/**
+ * Время обработки на стороне заглушки (GET /metrics) в сравнении с временем, которое видит клиент.
+ *
+ * ЗАЧЕМ НУЖЕН ЭТОТ КЛАСС:
+ * LatencyHistograms меряют запрос целиком: фильтры RestAssured, сериализацию, пул соединений,
+ * loopback и работу сервера. Заглушка отдаёт свою часть (StubMetrics: очередь, обработка,
+ * сериализация). Разница средних - накладные расходы клиента: если они - большая доля
+ * времени ответа, ускорять надо тестовый клиент, а не сервер.
+ *
+ * КАК ЭТО РАБОТАЕТ:
+ * 1. scrape() читает /metrics и берёт из summary только _sum и _count по маршруту и фазе
+ *    (квантили разных интервалов не вычитаются, суммы и счётчики - да)
+ * 2. minus() - разница двух снимков: время сервера только за прогон
+ * 3. print()/writeCsv() по каждому маршруту клиента: среднее клиента, средние фаз сервера
+ *    и остаток - client overhead. Средние, а не перцентили: у клиента и сервера разные
+ *    запросы оказываются в хвосте, а среднее суммы равно сумме средних
+ *
+ * ПРИМЕР CSV (server-timing.csv):
+ * route,client_count,client_mean_ms,server_count,queue_ms,handler_ms,serialize_ms,server_ms,overhead_ms,overhead_pct
+ * GET /notes,1200,1.412,1230,0.021,0.088,0.154,0.263,1.149,81.4
+ */
+public final class ServerTimings {
+
+    private static final Route[] ROUTES = Route.values();
+
+    private static final StubMetrics.Phase[] PHASES = StubMetrics.Phase.values();
+
+    private static final String CSV_HEADER = "route,client_count,client_mean_ms,server_count,queue_ms,handler_ms,"
+            + "serialize_ms,server_ms,overhead_ms,overhead_pct\n";
+
+    private static final HttpClient CLIENT = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+
+    /**
+     * Индекс - route.ordinal() * PHASES.length + phase.ordinal().
+     */
+    private final double[] sumSeconds = new double[ROUTES.length * PHASES.length];
+    private final long[] counts = new long[ROUTES.length * PHASES.length];
+
+    private ServerTimings() {
+    }
+
+    /**
+     * Читает метрики заглушки.
+     *
+     * @param metricsUrl адрес /metrics, например NotesStubServer.metricsUrl()
+     * @throws IOException если сервер недоступен или ответил не 200
+     */
+    public static ServerTimings scrape(String metricsUrl) throws IOException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(metricsUrl))
+                .timeout(Duration.ofSeconds(10))
+                .GET()
+                .build();
+        HttpResponse<String> response;
+        try {
+            response = CLIENT.send(request, HttpResponse.BodyHandlers.ofString(StandardCharsets.UTF_8));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while reading " + metricsUrl, e);
+        }
+        if (response.statusCode() != 200) {
+            throw new IOException("GET " + metricsUrl + " returned " + response.statusCode());
+        }
+        return parse(response.body());
+    }
+
+    /**
+     * Разбирает текст /metrics. Строки других метрик и неизвестные маршруты пропускаются.
+     */
+    public static ServerTimings parse(String text) {
+        ServerTimings timings = new ServerTimings();
+        String sumPrefix = StubMetrics.SECONDS + "_sum{";
+        String countPrefix = StubMetrics.SECONDS + "_count{";
+        for (String line : text.split("\n")) {
+            boolean sum = line.startsWith(sumPrefix);
+            if (!sum && !line.startsWith(countPrefix)) {
+                continue;
+            }
+            int close = line.indexOf("} ");
+            if (close < 0) {
+                continue;
+            }
+            String labels = line.substring(line.indexOf('{') + 1, close);
+            Route route = routeByName(label(labels, "route"));
+            StubMetrics.Phase phase = StubMetrics.Phase.byLabel(label(labels, "phase"));
+            if (route == null || phase == null) {
+                continue;
+            }
+            String value = line.substring(close + 2).trim();
+            int index = route.ordinal() * PHASES.length + phase.ordinal();
+            if (sum) {
+                timings.sumSeconds[index] = Double.parseDouble(value);
+            } else {
+                timings.counts[index] = Long.parseLong(value);
+            }
+        }
+        return timings;
+    }
+
+    /**
+     * @return время сервера между снимком before и этим
+     */
+    public ServerTimings minus(ServerTimings before) {
+        ServerTimings diff = new ServerTimings();
+        for (int i = 0; i < counts.length; i++) {
+            diff.sumSeconds[i] = sumSeconds[i] - before.sumSeconds[i];
+            diff.counts[i] = counts[i] - before.counts[i];
+        }
+        return diff;
+    }
+
+    /**
+     * @return сколько запросов маршрута сервер прошёл через фазу
+     */
+    public long count(Route route, StubMetrics.Phase phase) {
+        return counts[route.ordinal() * PHASES.length + phase.ordinal()];
+    }
+
+    /**
+     * @return среднее время фазы в миллисекундах (0, если запросов не было)
+     */
+    public double meanMillis(Route route, StubMetrics.Phase phase) {
+        int index = route.ordinal() * PHASES.length + phase.ordinal();
+        return counts[index] == 0 ? 0 : sumSeconds[index] * 1_000 / counts[index];
+    }
+
+    /**
+     * @return среднее время внутри сервера (сумма средних фаз) в миллисекундах
+     */
+    public double serverMeanMillis(Route route) {
+        double total = 0;
+        for (StubMetrics.Phase phase : PHASES) {
+            total += meanMillis(route, phase);
+        }
+        return total;
+    }
+
+    /**
+     * Доля накладных расходов клиента во всём времени ответа, по маршрутам, которые видели оба.
+     *
+     * @return от 0 до 1; 0, если сравнивать нечего
+     */
+    public double clientOverheadShare(LatencyHistograms client) {
+        double clientMillis = 0;
+        double overheadMillis = 0;
+        for (Route route : ROUTES) {
+            Histogram histogram = client.snapshot(route);
+            if (histogram.getTotalCount() == 0 || count(route, StubMetrics.Phase.HANDLER) == 0) {
+                continue;
+            }
+            double mean = histogram.getMean() / 1_000.0;
+            clientMillis += mean * histogram.getTotalCount();
+            overheadMillis += Math.max(mean - serverMeanMillis(route), 0) * histogram.getTotalCount();
+        }
+        return clientMillis == 0 ? 0 : overheadMillis / clientMillis;
+    }
+
+    // ==================== ОТЧЁТ ====================
+
+    /**
+     * Печатает таблицу: маршрут, среднее клиента, средние фаз сервера, накладные расходы клиента.
+     */
+    public void print(LatencyHistograms client, PrintStream out) {
+        out.printf("%-22s %8s %9s | %8s %8s %8s %8s | %9s %6s%n", "route", "count", "client ms",
+                "queue", "handler", "serial.", "server", "overhead", "%");
+        for (Route route : ROUTES) {
+            Histogram histogram = client.snapshot(route);
+            if (histogram.getTotalCount() == 0 || count(route, StubMetrics.Phase.HANDLER) == 0) {
+                continue;
+            }
+            double mean = histogram.getMean() / 1_000.0;
+            double server = serverMeanMillis(route);
+            out.printf(Locale.ROOT, "%-22s %8d %9.3f | %8.3f %8.3f %8.3f %8.3f | %9.3f %6.1f%n",
+                    route.label(), histogram.getTotalCount(), mean,
+                    meanMillis(route, StubMetrics.Phase.QUEUE), meanMillis(route, StubMetrics.Phase.HANDLER),
+                    meanMillis(route, StubMetrics.Phase.SERIALIZE), server, mean - server,
+                    percent(mean - server, mean));
+        }
+        out.printf(Locale.ROOT, "Client overhead: %.1f%% of observed latency%n",
+                clientOverheadShare(client) * 100);
+    }
+
+    /**
+     * Пишет ту же таблицу в CSV (заголовок + строка на маршрут).
+     */
+    public void writeCsv(LatencyHistograms client, Path file) throws IOException {
+        StringBuilder csv = new StringBuilder(CSV_HEADER);
+        for (Route route : ROUTES) {
+            Histogram histogram = client.snapshot(route);
+            if (histogram.getTotalCount() == 0 || count(route, StubMetrics.Phase.HANDLER) == 0) {
+                continue;
+            }
+            double mean = histogram.getMean() / 1_000.0;
+            double server = serverMeanMillis(route);
+            csv.append(String.format(Locale.ROOT, "%s,%d,%.3f,%d,%.3f,%.3f,%.3f,%.3f,%.3f,%.1f\n",
+                    route.label(), histogram.getTotalCount(), mean, count(route, StubMetrics.Phase.HANDLER),
+                    meanMillis(route, StubMetrics.Phase.QUEUE), meanMillis(route, StubMetrics.Phase.HANDLER),
+                    meanMillis(route, StubMetrics.Phase.SERIALIZE), server, mean - server,
+                    percent(mean - server, mean)));
+        }
+        Files.createDirectories(file.toAbsolutePath().getParent());
+        Files.write(file, csv.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static double percent(double part, double whole) {
+        return whole == 0 ? 0 : part * 100 / whole;
+    }
+
+    private static String label(String labels, String name) {
+        String prefix = name + "=\"";
+        int start = labels.indexOf(prefix);
+        if (start < 0) {
+            return "";
+        }
+        start += prefix.length();
+        int end = labels.indexOf('"', start);
+        return end < 0 ? "" : labels.substring(start, end);
+    }
+
+    private static Route routeByName(String name) {
+        for (Route route : ROUTES) {
+            if (route.name().equals(name)) {
+                return route;
+            }
+        }
+        return null;
+    }
+}
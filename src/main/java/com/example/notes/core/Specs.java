@@ -0,0 +1,155 @@
+package com.example.notes.core;
+
+import com.example.notes.config.TestEnv;
+import io.restassured.builder.RequestSpecBuilder;
+import io.restassured.http.ContentType;
+import io.restassured.specification.RequestSpecification;
+
+/**
+ * Класс для хранения спецификаций Rest-Assured.
+ *
+ * ЧТО ТАКОЕ СПЕЦИФИКАЦИЯ (RequestSpecification):
+ * Это шаблон настроек для HTTP-запросов. Вместо того, чтобы в каждом тесте писать:
+ *
+ * given()
+ *     .baseUri("http://localhost:8080")
+ *     .contentType(JSON)
+ *     .accept(JSON)
+ *     .log().all()
+ * .when()
+ *     .get("/api/notes")
+ *
+ * Мы один раз создаём спецификацию и потом просто пишем:
+ *
+ * given()
+ *     .spec(requestSpec)  // Все настройки уже внутри
+ * .when()
+ *     .get("/api/notes")
+ *
+ * ЗАЧЕМ НУЖЕН ЭТОТ КЛАСС:
+ * 1. Централизованное хранение конфигурации для всех API-запросов
+ * 2. Избавляет от дублирования кода в тестах
+ * 3. Упрощает изменение настроек (меняем в одном месте)
+ *
+ * КАК РАБОТАЕТ Rest-Assured:
+ * Rest-Assured - это библиотека для тестирования REST API на Java.
+ * Она позволяет делать HTTP-запросы (GET, POST, PUT, DELETE) и проверять ответы.
+ *
+ * ДВЕ СПЕЦИФИКАЦИИ В ЭТОМ КЛАССЕ:
+ * 1. requestSpec() - базовая спецификация БЕЗ авторизации (для регистрации и логина)
+ * 2. authSpecFor(token) - спецификация С авторизацией (для работы с заметками)
+ *
+ * ЛОГИРОВАНИЕ:
+ * Спецификации не печатают запросы в консоль. Вместо этого RingBufferLogFilter
+ * запоминает последние обмены теста, и они печатаются, только если тест упал.
+ *
+ * ВРЕМЯ ОТВЕТА:
+ * LatencyFilter записывает время каждого запроса в гистограмму его маршрута;
+ * в конце прогона отчёт выгружается в target/latency (см. LatencyReportListener).
+ * SampleLogFilter дополнительно пишет каждый запрос в журнал SampleLog, если он открыт,
+ * а LiveStatsFilter - в счётчики живой панели notes-bench (LiveStats), если она включена.
+ * Порядок фильтров важен: LatencyFilter - последний, ближе всего к сети, поэтому работа
+ * остальных фильтров в гистограммы не попадает.
+ *
+ * СОЕДИНЕНИЯ:
+ * Обе спецификации используют общий пул keep-alive соединений (HttpConnectionPool),
+ * поэтому запросы не открывают новое TCP/TLS-соединение каждый раз.
+ *
+ * ПОЧЕМУ ЗДЕСЬ НЕТ ИЗМЕНЯЕМЫХ СТАТИЧЕСКИХ ПОЛЕЙ:
+ * Тесты выполняются параллельно. Если бы authSpec хранился в статическом поле,
+ * тесты перезаписывали бы токены друг друга. Поэтому authSpecFor() только СОЗДАЁТ
+ * спецификацию, а хранит её TestSession (своя у каждого теста).
+ */
+public class Specs {
+
+    /**
+     * Базовая спецификация запроса БЕЗ авторизации.
+     *
+     * КОГДА ИСПОЛЬЗОВАТЬ:
+     * - Для регистрации пользователя (POST /users/register)
+     * - Для входа (POST /users/login)
+     * - Для любых публичных эндпоинтов, не требующих авторизации
+     *
+     * ПОЧЕМУ volatile:
+     * Спецификация создаётся лениво при первом обращении, а обращаются к ней
+     * сразу несколько потоков. volatile гарантирует, что все потоки увидят
+     * полностью собранный объект.
+     */
+    private static volatile RequestSpecification requestSpec;
+
+    /**
+     * Возвращает БАЗОВУЮ спецификацию запроса (без авторизации).
+     * При первом вызове создаёт её, дальше возвращает один и тот же объект.
+     *
+     * ЧТО ДЕЛАЕТ МЕТОД:
+     * Создаёт объект RequestSpecification с помощью паттерна "строитель" (Builder).
+     * Спецификация после создания не меняется, поэтому её безопасно делить между потоками.
+     *
+     * @return базовая спецификация без токена
+     */
+    public static RequestSpecification requestSpec() {
+        RequestSpecification spec = requestSpec;
+        if (spec == null) {
+            synchronized (Specs.class) {
+                spec = requestSpec;
+                if (spec == null) {
+                    // Создаём базовую спецификацию (без токена)
+                    spec = new RequestSpecBuilder()
+                            .setBaseUri(TestEnv.getBaseUrl())
+                            .setConfig(HttpConnectionPool.restAssuredConfig())
+                            .setContentType(ContentType.JSON)
+                            .setAccept(ContentType.JSON)
+                            .addFilter(RingBufferLogFilter.INSTANCE)
+                            .addFilter(LiveStatsFilter.INSTANCE)
+                            .addFilter(SampleLogFilter.INSTANCE)
+                            .addFilter(LatencyFilter.INSTANCE)
+                            .build();
+                    requestSpec = spec;
+                }
+            }
+        }
+        return spec;
+    }
+
+    /**
+     * Создаёт АВТОРИЗОВАННУЮ спецификацию с токеном.
+     *
+     * КОГДА ВЫЗЫВАТЬ:
+     * После успешного логина, когда получен токен авторизации.
+     * Обычно это делает конструктор TestSession, тестам вызывать напрямую не нужно.
+     *
+     * ЧТО ДЕЛАЕТ:
+     * Создаёт новую спецификацию, которая включает заголовок X-AUTH-TOKEN.
+     * Все запросы с этой спецификацией будут автоматически авторизованы.
+     * Метод ничего не запоминает - каждый вызов возвращает новый объект.
+     *
+     * @param token токен авторизации, полученный при логине
+     * @return спецификация с заголовком X-AUTH-TOKEN
+     */
+    public static RequestSpecification authSpecFor(String token) {
+        return authSpecFor(TestEnv.getBaseUrl(), token);
+    }
+
+    /**
+     * То же, что authSpecFor(token), но для другого сервера - например, отдельной
+     * заглушки с заранее заполненными данными (StubSnapshotExtension).
+     *
+     * @param baseUrl базовый URL API этого сервера
+     * @param token   токен авторизации на этом сервере
+     */
+    public static RequestSpecification authSpecFor(String baseUrl, String token) {
+        return new RequestSpecBuilder()
+                .setBaseUri(baseUrl)
+                .setConfig(HttpConnectionPool.restAssuredConfig())
+                .setContentType(ContentType.JSON)
+                .setAccept(ContentType.JSON)
+                // Добавляем заголовок авторизации
+                // X-AUTH-TOKEN - имя заголовка, которое требует Notes API
+                .addHeader("X-AUTH-TOKEN", token)
+                .addFilter(RingBufferLogFilter.INSTANCE)
+                .addFilter(LiveStatsFilter.INSTANCE)
+                .addFilter(SampleLogFilter.INSTANCE)
+                .addFilter(LatencyFilter.INSTANCE)
+                .build();
+    }
+}
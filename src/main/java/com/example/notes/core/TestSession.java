@@ -0,0 +1,113 @@
+package com.example.notes.core;
+
+import io.restassured.specification.RequestSpecification;
+
+/**
+ * Сессия одного теста: токен авторизации и авторизованная спецификация.
+ *
+ * ЗАЧЕМ НУЖЕН ЭТОТ КЛАСС:
+ * Раньше токен и authSpec лежали в статических полях Specs.
+ * Пока тесты шли по одному, это работало. Но при параллельном запуске
+ * (junit.jupiter.execution.parallel) тесты начинали перезаписывать токены друг друга:
+ * тест A логинился, тест B логинился следом, и тест A создавал заметки от имени B.
+ *
+ * КАК ЭТО РАБОТАЕТ:
+ * 1. SessionExtension перед каждым тестом создаёт новую сессию и "привязывает" её к потоку
+ * 2. NotesClient берёт спецификацию из TestSession.current()
+ * 3. После теста SessionExtension "отвязывает" сессию от потока
+ *
+ * ПОЧЕМУ ThreadLocal:
+ * JUnit выполняет @BeforeEach, сам тест и @AfterEach одного теста в одном потоке.
+ * ThreadLocal - это переменная, у которой своё значение в каждом потоке.
+ * Поэтому два теста в двух потоках видят каждый свою сессию.
+ *
+ * ПОЧЕМУ ОБЪЕКТ НЕИЗМЕНЯЕМЫЙ:
+ * Все поля final - сессию нельзя "подменить" наполовину. Нужна другая сессия -
+ * создаём новый объект и привязываем его.
+ */
+public class TestSession {
+
+    /**
+     * Сессия, привязанная к текущему потоку (у каждого потока своя).
+     */
+    private static final ThreadLocal<TestSession> CURRENT = new ThreadLocal<>();
+
+    /**
+     * Токен авторизации пользователя этой сессии (заголовок X-AUTH-TOKEN).
+     */
+    private final String token;
+
+    /**
+     * Спецификация С авторизацией, собранная для этого токена.
+     */
+    private final RequestSpecification authSpec;
+
+    /**
+     * Создаёт сессию для уже полученного токена.
+     *
+     * @param token токен авторизации, полученный при логине
+     */
+    public TestSession(String token) {
+        this.token = token;
+        this.authSpec = Specs.authSpecFor(token);
+    }
+
+    /**
+     * Создаёт сессию на другом сервере API (не TestEnv.getBaseUrl()).
+     *
+     * @param baseUrl базовый URL API этого сервера
+     * @param token   токен авторизации, полученный на этом сервере
+     */
+    public TestSession(String baseUrl, String token) {
+        this.token = token;
+        this.authSpec = Specs.authSpecFor(baseUrl, token);
+    }
+
+    public String getToken() {
+        return token;
+    }
+
+    public RequestSpecification getAuthSpec() {
+        return authSpec;
+    }
+
+    // ==================== ПРИВЯЗКА К ПОТОКУ ====================
+
+    /**
+     * Возвращает сессию текущего потока.
+     *
+     * КОГДА ИСПОЛЬЗОВАТЬ:
+     * Внутри API-клиентов, которым нужна авторизация (NotesClient).
+     *
+     * @return сессия текущего теста
+     * @throws IllegalStateException если сессия не привязана
+     *         (например, тест не наследуется от BaseApiTest)
+     */
+    public static TestSession current() {
+        TestSession session = CURRENT.get();
+        if (session == null) {
+            throw new IllegalStateException(
+                    "No TestSession bound to thread " + Thread.currentThread().getName()
+                            + ". Does the test extend BaseApiTest?");
+        }
+        return session;
+    }
+
+    /**
+     * Привязывает сессию к текущему потоку.
+     *
+     * @param session сессия, которую будут видеть клиенты в этом потоке
+     */
+    public static void bind(TestSession session) {
+        CURRENT.set(session);
+    }
+
+    /**
+     * Отвязывает сессию от текущего потока.
+     * Обязательно вызывать после теста: потоки пула JUnit переиспользуются,
+     * и следующий тест не должен увидеть чужой токен.
+     */
+    public static void unbind() {
+        CURRENT.remove();
+    }
+}
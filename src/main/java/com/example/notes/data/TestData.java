@@ -221,6 +221,50 @@ public class TestData {
         );
     }
 
+    // ==================== ЗАМЕТКИ ЗАДАННОГО РАЗМЕРА ====================
+
+    /**
+     * Создаёт заметку с описанием заданной длины (для нагрузки с крупными телами, см. PayloadProfile).
+     *
+     * @param descriptionLength длина описания, от 4 до 1000 символов (ограничения API)
+     * @return объект NoteCreateRequest
+     */
+    public static NoteCreateRequest noteWithDescriptionLength(int descriptionLength) {
+        return new NoteCreateRequest(
+                "Load Note Title",
+                description(descriptionLength),
+                "Personal"
+        );
+    }
+
+    /**
+     * Данные обновления заметки с описанием заданной длины.
+     *
+     * @param descriptionLength длина описания, от 4 до 1000 символов (ограничения API)
+     * @return объект NoteUpdateRequest
+     */
+    public static NoteUpdateRequest updateWithDescriptionLength(int descriptionLength) {
+        return new NoteUpdateRequest(
+                "Updated Load Note Title",
+                description(descriptionLength),
+                "Work",
+                true
+        );
+    }
+
+    /**
+     * Текст заданной длины: фраза "Lorem ipsum ..." повторяется и обрезается.
+     */
+    private static String description(int length) {
+        String phrase = "Lorem ipsum dolor sit amet, consectetur adipiscing elit. ";
+        StringBuilder sb = new StringBuilder(length + phrase.length());
+        while (sb.length() < length) {
+            sb.append(phrase);
+        }
+        sb.setLength(length);
+        return sb.toString();
+    }
+
     // ==================== ТЕСТОВЫЕ ПОЛЬЗОВАТЕЛИ ====================
 
     /**
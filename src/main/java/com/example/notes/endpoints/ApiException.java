@@ -0,0 +1,46 @@
+package com.example.notes.endpoints;
+
+/**
+ * Ошибка асинхронного вызова API: сервер вернул не тот статус-код, который ожидался.
+ *
+ * ЗАЧЕМ НУЖЕН ЭТОТ КЛАСС:
+ * В синхронных клиентах статус проверяет Rest-Assured (.statusCode(200)) и бросает AssertionError.
+ * Асинхронные клиенты возвращают CompletableFuture, и ошибка должна попасть внутрь future.
+ * ApiException хранит статус и тело ответа, чтобы по ним можно было понять, что пошло не так.
+ *
+ * ПРИМЕР:
+ * NotesAsyncClient.getNote(token, id)
+ *     .exceptionally(e -> {
+ *         ApiException api = (ApiException) e.getCause();
+ *         System.out.println(api.getStatusCode()); // например, 404
+ *         return null;
+ *     });
+ */
+public class ApiException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final int statusCode;
+    private final String body;
+
+    /**
+     * @param method   HTTP-метод запроса
+     * @param uri      адрес запроса
+     * @param expected ожидаемый статус-код
+     * @param actual   полученный статус-код
+     * @param body     тело ответа (обычно JSON с полем message)
+     */
+    public ApiException(String method, String uri, int expected, int actual, String body) {
+        super(method + " " + uri + " expected status " + expected + " but was " + actual + ": " + body);
+        this.statusCode = actual;
+        this.body = body;
+    }
+
+    public int getStatusCode() {
+        return statusCode;
+    }
+
+    public String getBody() {
+        return body;
+    }
+}
@@ -0,0 +1,106 @@
+package com.example.notes.endpoints;
+
+import com.example.notes.config.TestEnv;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Общая часть асинхронных клиентов (NotesAsyncClient, AuthAsyncClient).
+ *
+ * ЗАЧЕМ НУЖЕН ЭТОТ КЛАСС:
+ * Rest-Assured блокирует поток до получения ответа: один поток - один запрос в полёте.
+ * java.net.http.HttpClient (JDK 11) умеет отправлять запросы асинхронно: метод sendAsync()
+ * сразу возвращает CompletableFuture, а ответ обрабатывается, когда придёт.
+ * Так один поток может держать в полёте сотни запросов (нужно для наполнения данными и нагрузки).
+ *
+ * ЧТО ЗДЕСЬ:
+ * - один HttpClient на всю JVM (пул соединений и HTTP/2 внутри него)
+ * - один ObjectMapper для сериализации моделей
+ * - сборка запросов и проверка статуса; поле "data" достаёт EnvelopeReader
+ *
+ * HTTP/2:
+ * Клиент просит HTTP/2. Если сервер его не поддерживает, JDK сам откатывается на HTTP/1.1.
+ * По HTTP/2 все запросы к одному хосту идут через одно соединение (мультиплексирование).
+ */
+class AsyncHttp {
+
+    private static final HttpClient CLIENT = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_2)
+            .connectTimeout(Duration.ofSeconds(10))
+            .build();
+
+    static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private AsyncHttp() {
+    }
+
+    /**
+     * Начинает строить запрос к эндпоинту API с JSON-заголовками.
+     *
+     * @param path  путь эндпоинта (например, Endpoints.NOTES)
+     * @param token токен авторизации или null для публичных эндпоинтов
+     * @return builder запроса, которому осталось указать метод
+     */
+    static HttpRequest.Builder request(String path, String token) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(TestEnv.getBaseUrl() + path))
+                .header("Content-Type", "application/json")
+                .header("Accept", "application/json");
+        if (token != null) {
+            builder.header("X-AUTH-TOKEN", token);
+        }
+        return builder;
+    }
+
+    /**
+     * Сериализует модель в тело запроса (Java -> JSON).
+     */
+    static HttpRequest.BodyPublisher json(Object body) {
+        try {
+            return HttpRequest.BodyPublishers.ofByteArray(MAPPER.writeValueAsBytes(body));
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Cannot serialize request body " + body, e);
+        }
+    }
+
+    /**
+     * Отправляет запрос, проверяет статус-код и достаёт поле "data" из ответа.
+     *
+     * @param request        готовый запрос
+     * @param expectedStatus ожидаемый статус-код (200, 201)
+     * @param type           тип поля "data" (например, NoteDto)
+     * @return future с объектом из поля "data"; при другом статусе - future с ApiException
+     */
+    static <T> CompletableFuture<T> send(HttpRequest request, int expectedStatus, JavaType type) {
+        return sendExpecting(request, expectedStatus)
+                .thenApply(bytes -> EnvelopeReader.readData(bytes, type));
+    }
+
+    /**
+     * Отправляет запрос и проверяет только статус-код (тело ответа не нужно).
+     *
+     * @return future, которое завершится после ответа с ожидаемым статусом
+     */
+    static CompletableFuture<Void> sendDiscarding(HttpRequest request, int expectedStatus) {
+        return sendExpecting(request, expectedStatus).thenApply(bytes -> null);
+    }
+
+    private static CompletableFuture<byte[]> sendExpecting(HttpRequest request, int expectedStatus) {
+        return CLIENT.sendAsync(request, HttpResponse.BodyHandlers.ofByteArray())
+                .thenApply(response -> {
+                    if (response.statusCode() != expectedStatus) {
+                        throw new ApiException(request.method(), request.uri().toString(), expectedStatus,
+                                response.statusCode(), new String(response.body(), StandardCharsets.UTF_8));
+                    }
+                    return response.body();
+                });
+    }
+}
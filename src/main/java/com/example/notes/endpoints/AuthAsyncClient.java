@@ -0,0 +1,73 @@
+package com.example.notes.endpoints;
+
+import com.example.notes.models.AuthResponse;
+import com.example.notes.models.UserLoginRequest;
+import com.example.notes.models.UserRegisterRequest;
+import com.fasterxml.jackson.databind.JavaType;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Асинхронный API-клиент для работы с авторизацией (Users API).
+ *
+ * Делает то же, что AuthClient, но не блокирует поток: каждый метод сразу
+ * возвращает CompletableFuture (см. NotesAsyncClient).
+ *
+ * ПРИМЕР: зарегистрировать 50 пользователей одновременно
+ * List<CompletableFuture<String>> tokens = new ArrayList<>();
+ * for (int i = 0; i < 50; i++) {
+ *     tokens.add(AuthAsyncClient.registerAndLogin(TestData.randomUser()));
+ * }
+ */
+public class AuthAsyncClient {
+
+    private static final JavaType AUTH = AsyncHttp.MAPPER.constructType(AuthResponse.class);
+
+    /**
+     * Регистрирует пользователя. POST /users/register, ожидается 201.
+     *
+     * @param request данные для регистрации (name, email, password)
+     * @return future с данными пользователя (без токена)
+     */
+    public static CompletableFuture<AuthResponse> register(UserRegisterRequest request) {
+        return AsyncHttp.send(AsyncHttp.request(Endpoints.USERS_REGISTER, null)
+                .POST(AsyncHttp.json(request))
+                .build(), 201, AUTH);
+    }
+
+    /**
+     * Выполняет вход. POST /users/login, ожидается 200.
+     *
+     * @param request данные для входа (email, password)
+     * @return future с токеном и данными пользователя
+     */
+    public static CompletableFuture<AuthResponse> login(UserLoginRequest request) {
+        return AsyncHttp.send(AsyncHttp.request(Endpoints.USERS_LOGIN, null)
+                .POST(AsyncHttp.json(request))
+                .build(), 200, AUTH);
+    }
+
+    /**
+     * Удаляет аккаунт. DELETE /users/delete-account, ожидается 200.
+     *
+     * @param token токен авторизации пользователя
+     * @return future, которое завершится после удаления
+     */
+    public static CompletableFuture<Void> deleteAccount(String token) {
+        return AsyncHttp.sendDiscarding(AsyncHttp.request(Endpoints.USERS_DELETE, token)
+                .DELETE()
+                .build(), 200);
+    }
+
+    /**
+     * Полный цикл: регистрация + логин (запросы идут друг за другом, но поток не блокируется).
+     *
+     * @param request данные для регистрации
+     * @return future с токеном авторизации
+     */
+    public static CompletableFuture<String> registerAndLogin(UserRegisterRequest request) {
+        return register(request)
+                .thenCompose(registered -> login(new UserLoginRequest(request.getEmail(), request.getPassword())))
+                .thenApply(AuthResponse::getToken);
+    }
+}
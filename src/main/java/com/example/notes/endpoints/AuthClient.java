@@ -54,7 +54,7 @@ public class AuthClient {
      */
     public static Response registerResponse(UserRegisterRequest request) {
         return given()
-                .spec(Specs.requestSpec)
+                .spec(Specs.requestSpec())
                 .body(request)
                 .when()
                 .post(Endpoints.USERS_REGISTER);
@@ -71,12 +71,12 @@ public class AuthClient {
      * @return AuthResponse с данными пользователя (без токена - токен только при логине)
      */
     public static AuthResponse register(UserRegisterRequest request) {
-        return registerResponse(request)
+        byte[] body = registerResponse(request)
                 .then()
                 .statusCode(201) // 201 Created - пользователь успешно создан
                 .extract()
-                .jsonPath()
-                .getObject("data", AuthResponse.class);
+                .asByteArray();
+        return EnvelopeReader.readData(body, AuthResponse.class);
     }
 
     // ==================== ВХОД (ЛОГИН) ====================
@@ -101,7 +101,7 @@ public class AuthClient {
      */
     public static Response loginResponse(UserLoginRequest request) {
         return given()
-                .spec(Specs.requestSpec)
+                .spec(Specs.requestSpec())
                 .body(request)
                 .when()
                 .post(Endpoints.USERS_LOGIN);
@@ -121,12 +121,12 @@ public class AuthClient {
      * @return AuthResponse с токеном и данными пользователя
      */
     public static AuthResponse login(UserLoginRequest request) {
-        return loginResponse(request)
+        byte[] body = loginResponse(request)
                 .then()
                 .statusCode(200)
                 .extract()
-                .jsonPath()
-                .getObject("data", AuthResponse.class);
+                .asByteArray();
+        return EnvelopeReader.readData(body, AuthResponse.class);
     }
 
     // ==================== УДАЛЕНИЕ АККАУНТА ====================
@@ -146,7 +146,7 @@ public class AuthClient {
      */
     public static Response deleteAccountResponse(String token) {
         return given()
-                .spec(Specs.requestSpec)
+                .spec(Specs.requestSpec())
                 .header("X-AUTH-TOKEN", token)
                 .when()
                 .delete(Endpoints.USERS_DELETE);
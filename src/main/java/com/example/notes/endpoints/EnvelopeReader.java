@@ -0,0 +1,166 @@
+package com.example.notes.endpoints;
+
+import com.example.notes.core.SchemaRegistry;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Потоковое извлечение поля "data" из ответа Notes API.
+ *
+ * ЗАЧЕМ НУЖЕН ЭТОТ КЛАСС:
+ * Все ответы API приходят в "конверте": {"success": true, "status": 200, "message": "...", "data": {...}}.
+ * Раньше клиенты доставали data так: .extract().jsonPath().getObject("data", NoteDto.class).
+ * JsonPath в Rest-Assured работает через Groovy: сначала разбирает ВСЁ тело в дерево
+ * Groovy-объектов, потом сериализует кусок дерева обратно в JSON, и только потом
+ * Jackson превращает его в NoteDto. Получается три прохода и много временных объектов.
+ *
+ * КАК РАБОТАЕТ ЭТОТ КЛАСС:
+ * 1. Читаем байты тела потоковым парсером Jackson (JsonParser) - токен за токеном
+ * 2. Пропускаем поля верхнего уровня, пока не встретим "data" (success, message и т.д.
+ *    пропускаются без создания объектов)
+ * 3. Прямо с этой позиции парсера Jackson заполняет NoteDto - один проход, без дерева
+ *
+ * С ПРОВЕРКОЙ ПО СХЕМЕ (readValidData):
+ * Валидатору нужно дерево JsonNode, поэтому тело разбирается в дерево - один раз: "data"
+ * проверяется по схеме, и объект читается из того же дерева. Отдельная проверка и потоковое
+ * чтение разбирали бы одни и те же байты дважды. Если проверка отключена
+ * (schema.validation=false), readValidData - обычное потоковое readData.
+ *
+ * ПОЧЕМУ ObjectReader КЭШИРУЕТСЯ:
+ * ObjectReader для типа создаётся один раз и потом только переиспользуется.
+ * Он неизменяемый и потокобезопасный, поэтому один экземпляр на тип - на все потоки.
+ *
+ * ЗАМЕР: см. benchmarks/EnvelopeExtractionBenchmark.
+ */
+public class EnvelopeReader {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private static final String DATA_FIELD = "data";
+
+    /**
+     * Готовые ObjectReader по типам (NoteDto, List<NoteDto>, AuthResponse, ...).
+     */
+    private static final ConcurrentMap<JavaType, ObjectReader> READERS = new ConcurrentHashMap<>();
+
+    private EnvelopeReader() {
+    }
+
+    /**
+     * Достаёт объект из поля "data".
+     *
+     * ПРИМЕР:
+     * byte[] body = response.then().statusCode(200).extract().asByteArray();
+     * NoteDto note = EnvelopeReader.readData(body, NoteDto.class);
+     *
+     * @param body байты тела ответа
+     * @param type класс объекта в поле "data"
+     * @return объект из поля "data"
+     */
+    public static <T> T readData(byte[] body, Class<T> type) {
+        return readData(body, MAPPER.constructType(type));
+    }
+
+    /**
+     * Достаёт список объектов из поля "data" (например, ответ GET /notes).
+     *
+     * @param body        байты тела ответа
+     * @param elementType класс элемента списка
+     * @return список объектов из поля "data"
+     */
+    public static <T> List<T> readDataList(byte[] body, Class<T> elementType) {
+        return readData(body, MAPPER.getTypeFactory().constructCollectionType(List.class, elementType));
+    }
+
+    /**
+     * Достаёт из поля "data" значение произвольного типа Jackson.
+     *
+     * @param body байты тела ответа
+     * @param type тип значения в поле "data"
+     * @return значение из поля "data"
+     * @throws IllegalArgumentException если тело не JSON-объект или в нём нет поля "data"
+     */
+    public static <T> T readData(byte[] body, JavaType type) {
+        ObjectReader reader = reader(type);
+        try (JsonParser parser = MAPPER.getFactory().createParser(body)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new IllegalArgumentException("Response body is not a JSON object");
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.getCurrentName();
+                JsonToken value = parser.nextToken();
+                if (DATA_FIELD.equals(field)) {
+                    return value == JsonToken.VALUE_NULL ? null : reader.readValue(parser);
+                }
+                // Не наше поле - пропускаем значение целиком (вместе с вложенными объектами)
+                parser.skipChildren();
+            }
+            throw new IllegalArgumentException("Response body has no \"" + DATA_FIELD + "\" field");
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot parse response body", e);
+        }
+    }
+
+    /**
+     * Достаёт объект из поля "data", проверив его по JSON-схеме (SchemaRegistry).
+     *
+     * ПРИМЕР:
+     * NoteDto note = EnvelopeReader.readValidData(body, NoteDto.class, SchemaRegistry.NOTE);
+     *
+     * @param body   байты тела ответа
+     * @param type   класс объекта в поле "data"
+     * @param schema путь к схеме "data" в classpath
+     * @return объект из поля "data"
+     * @throws AssertionError если "data" не соответствует схеме
+     */
+    public static <T> T readValidData(byte[] body, Class<T> type, String schema) {
+        return readValidData(body, MAPPER.constructType(type), schema);
+    }
+
+    /**
+     * Достаёт список из поля "data", проверив каждый элемент по JSON-схеме.
+     *
+     * @param body        байты тела ответа
+     * @param elementType класс элемента списка
+     * @param schema      путь к схеме элемента в classpath
+     * @return список объектов из поля "data"
+     * @throws AssertionError если элемент "data" не соответствует схеме
+     */
+    public static <T> List<T> readValidDataList(byte[] body, Class<T> elementType, String schema) {
+        return readValidData(body, MAPPER.getTypeFactory().constructCollectionType(List.class, elementType), schema);
+    }
+
+    private static <T> T readValidData(byte[] body, JavaType type, String schema) {
+        if (!SchemaRegistry.isEnabled()) {
+            return readData(body, type);
+        }
+        try {
+            JsonNode root = MAPPER.readTree(body);
+            if (root == null || !root.isObject()) {
+                throw new IllegalArgumentException("Response body is not a JSON object");
+            }
+            JsonNode data = root.get(DATA_FIELD);
+            if (data == null) {
+                throw new IllegalArgumentException("Response body has no \"" + DATA_FIELD + "\" field");
+            }
+            SchemaRegistry.assertDataValid(data, schema);
+            return data.isNull() ? null : reader(type).readValue(data);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot parse response body", e);
+        }
+    }
+
+    private static ObjectReader reader(JavaType type) {
+        return READERS.computeIfAbsent(type, MAPPER::readerFor);
+    }
+}
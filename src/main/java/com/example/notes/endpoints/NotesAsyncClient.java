@@ -0,0 +1,104 @@
+package com.example.notes.endpoints;
+
+import com.example.notes.models.NoteCreateRequest;
+import com.example.notes.models.NoteDto;
+import com.example.notes.models.NoteUpdateRequest;
+import com.fasterxml.jackson.databind.JavaType;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Асинхронный API-клиент для работы с заметками (Notes API).
+ *
+ * ЧЕМ ОТЛИЧАЕТСЯ ОТ NotesClient:
+ * - NotesClient блокирует поток, пока не придёт ответ, и берёт токен из TestSession
+ * - NotesAsyncClient сразу возвращает CompletableFuture, а токен получает параметром
+ *   (в асинхронном коде один поток обслуживает запросы многих пользователей сразу)
+ *
+ * КОГДА ИСПОЛЬЗОВАТЬ:
+ * - Быстро наполнить пользователя большим количеством заметок
+ * - Нагрузочные сценарии, где нужны сотни одновременных запросов
+ * Для обычных функциональных тестов удобнее NotesClient.
+ *
+ * ПРИМЕР: создать 100 заметок параллельно и дождаться всех
+ * List<CompletableFuture<NoteDto>> futures = new ArrayList<>();
+ * for (int i = 0; i < 100; i++) {
+ *     futures.add(NotesAsyncClient.createNote(token, TestData.simpleNote()));
+ * }
+ * CompletableFuture.allOf(futures.toArray(CompletableFuture<?>[]::new)).join();
+ *
+ * ОШИБКИ:
+ * Если сервер ответил не тем статусом, future завершается с ApiException.
+ */
+public class NotesAsyncClient {
+
+    private static final JavaType NOTE = AsyncHttp.MAPPER.constructType(NoteDto.class);
+    private static final JavaType NOTE_LIST =
+            AsyncHttp.MAPPER.getTypeFactory().constructCollectionType(List.class, NoteDto.class);
+
+    /**
+     * Создаёт заметку. POST /notes, ожидается 200.
+     *
+     * @param token   токен пользователя
+     * @param request данные новой заметки
+     * @return future с созданной заметкой (включая сгенерированный ID)
+     */
+    public static CompletableFuture<NoteDto> createNote(String token, NoteCreateRequest request) {
+        return AsyncHttp.send(AsyncHttp.request(Endpoints.NOTES, token)
+                .POST(AsyncHttp.json(request))
+                .build(), 200, NOTE);
+    }
+
+    /**
+     * Получает заметку по ID. GET /notes/{id}, ожидается 200.
+     *
+     * @param token токен пользователя
+     * @param id    идентификатор заметки
+     * @return future с заметкой
+     */
+    public static CompletableFuture<NoteDto> getNote(String token, String id) {
+        return AsyncHttp.send(AsyncHttp.request(Endpoints.noteById(id), token)
+                .GET()
+                .build(), 200, NOTE);
+    }
+
+    /**
+     * Обновляет заметку. PUT /notes/{id}, ожидается 200.
+     *
+     * @param token   токен пользователя
+     * @param id      идентификатор заметки
+     * @param request новые данные заметки
+     * @return future с обновлённой заметкой
+     */
+    public static CompletableFuture<NoteDto> updateNote(String token, String id, NoteUpdateRequest request) {
+        return AsyncHttp.send(AsyncHttp.request(Endpoints.noteById(id), token)
+                .PUT(AsyncHttp.json(request))
+                .build(), 200, NOTE);
+    }
+
+    /**
+     * Удаляет заметку. DELETE /notes/{id}, ожидается 200.
+     *
+     * @param token токен пользователя
+     * @param id    идентификатор заметки
+     * @return future, которое завершится после удаления
+     */
+    public static CompletableFuture<Void> deleteNote(String token, String id) {
+        return AsyncHttp.sendDiscarding(AsyncHttp.request(Endpoints.noteById(id), token)
+                .DELETE()
+                .build(), 200);
+    }
+
+    /**
+     * Получает все заметки пользователя. GET /notes, ожидается 200.
+     *
+     * @param token токен пользователя
+     * @return future со списком заметок
+     */
+    public static CompletableFuture<List<NoteDto>> getAllNotes(String token) {
+        return AsyncHttp.send(AsyncHttp.request(Endpoints.NOTES, token)
+                .GET()
+                .build(), 200, NOTE_LIST);
+    }
+}
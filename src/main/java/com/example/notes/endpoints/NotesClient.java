@@ -1,10 +1,14 @@
 package com.example.notes.endpoints;
 
-import com.example.notes.core.Specs;
+import com.example.notes.core.SchemaRegistry;
+import com.example.notes.core.TestSession;
 import com.example.notes.models.NoteCreateRequest;
 import com.example.notes.models.NoteDto;
 import com.example.notes.models.NoteUpdateRequest;
 import io.restassured.response.Response;
+import io.restassured.specification.RequestSpecification;
+
+import java.util.List;
 
 import static io.restassured.RestAssured.given;
 
@@ -47,11 +51,13 @@ import static io.restassured.RestAssured.given;
  * Вместо того, чтобы указывать эти настройки в каждом запросе, мы используем spec.
  *
  * ДВЕ СПЕЦИФИКАЦИИ:
- * - Specs.requestSpec - БЕЗ авторизации (для регистрации, логина)
- * - Specs.authSpec - С авторизацией (для работы с заметками)
+ * - Specs.requestSpec() - БЕЗ авторизации (для регистрации, логина)
+ * - TestSession.current().getAuthSpec() - С авторизацией (для работы с заметками)
  *
- * ВАЖНО: Все методы NotesClient используют authSpec, потому что
+ * ВАЖНО: Все методы NotesClient используют authSpec текущей сессии, потому что
  * Notes API требует авторизации для всех операций с заметками.
+ * Сессия своя у каждого теста (см. TestSession), поэтому клиент безопасен
+ * при параллельном запуске тестов.
  */
 public class NotesClient {
 
@@ -67,7 +73,7 @@ public class NotesClient {
      *
      * КАК РАБОТАЕТ REST-ASSURED ЗДЕСЬ:
      * 1. given() - начинаем конструировать запрос
-     * 2. .spec(Specs.requestSpec) - применяем общие настройки (baseURI, заголовки)
+     * 2. .spec(authSpec()) - применяем настройки сессии (baseURI, заголовки, токен)
      * 3. .body(request) - помещаем в тело запроса объект NoteCreateRequest
      *    Rest-Assured автоматически сериализует объект в JSON
      * 4. .when() - указываем, что сейчас будет выполнение запроса
@@ -86,7 +92,7 @@ public class NotesClient {
      */
     public static Response createNoteResponse(NoteCreateRequest request) {
         return given()                          // Шаг 1: Начинаем строить запрос
-                .spec(Specs.authSpec)           // Шаг 2: Применяем настройки С АВТОРИЗАЦИЕЙ
+                .spec(authSpec())               // Шаг 2: Применяем настройки С АВТОРИЗАЦИЕЙ
                 .body(request)                  // Шаг 3: Добавляем тело запроса (JSON)
                 .when()                         // Шаг 4: Переходим к выполнению
                 .post(Endpoints.NOTES);         // Шаг 5: Отправляем POST на /notes
@@ -104,8 +110,11 @@ public class NotesClient {
      * 1. Вызывает createNoteResponse(request) - отправляет POST-запрос
      * 2. .then() - начинаем проверку и извлечение данных из ответа
      * 3. .statusCode(200) - проверяем, что статус-код = 200 (успех)
-     * 4. .extract().jsonPath() - извлекаем JSON из ответа
-     * 5. .getObject("data", NoteDto.class) - достаём поле "data" и преобразуем в NoteDto
+     * 4. .extract().asByteArray() - берём тело ответа как есть (байты)
+     * 5. EnvelopeReader.readValidData(body, NoteDto.class, NOTE) - тело разбирается один раз:
+     *    поле "data" проверяется по схеме note.json (схема скомпилирована один раз на JVM)
+     *    и из того же дерева превращается в NoteDto. С schema.validation=false проверки нет,
+     *    и "data" читается потоковым парсером Jackson, без дерева
      *
      * ЧТО ТАКОЕ ДЕСЕРИАЛИЗАЦИЯ:
      * Это процесс преобразования JSON (текста) в объект Java.
@@ -126,12 +135,13 @@ public class NotesClient {
      * @return объект NoteDto с данными созданной заметки (включая сгенерированный ID)
      */
     public static NoteDto createNote(NoteCreateRequest request) {
-        return createNoteResponse(request)      // Шаг 1: Отправляем POST-запрос
+        byte[] body = createNoteResponse(request) // Шаг 1: Отправляем POST-запрос
                 .then()                         // Шаг 2: Начинаем обработку ответа
                 .statusCode(200)                // Шаг 3: Проверяем успешный статус
                 .extract()                      // Шаг 4: Извлекаем данные из ответа
-                .jsonPath()                     // Шаг 5: Парсим JSON
-                .getObject("data", NoteDto.class); // Шаг 6: Десериализуем в NoteDto
+                .asByteArray();                 // Шаг 5: Берём сырые байты тела
+        // Шаг 6: Один разбор тела - проверка "data" по схеме note.json и NoteDto из того же дерева
+        return EnvelopeReader.readValidData(body, NoteDto.class, SchemaRegistry.NOTE);
     }
 
     // ==================== ПОЛУЧЕНИЕ ЗАМЕТКИ ПО ID (READ) ====================
@@ -146,7 +156,7 @@ public class NotesClient {
      *
      * КАК РАБОТАЕТ:
      * 1. given() - начинаем строить запрос
-     * 2. .spec(Specs.requestSpec) - применяем общие настройки
+     * 2. .spec(authSpec()) - применяем настройки сессии текущего теста
      * 3. .pathParam("id", id) - подставляем значение id вместо {id} в URL
      *    Например: /notes/{id} превратится в /notes/123
      * 4. .when() - переходим к выполнению
@@ -160,7 +170,7 @@ public class NotesClient {
      */
     public static Response getNoteResponse(String id) {
         return given()                          // Шаг 1: Начинаем строить запрос
-                .spec(Specs.authSpec)           // Шаг 2: Применяем настройки С АВТОРИЗАЦИЕЙ
+                .spec(authSpec())               // Шаг 2: Применяем настройки С АВТОРИЗАЦИЕЙ
                 .pathParam("id", id)            // Шаг 3: Подставляем ID в URL
                 .when()                         // Шаг 4: Переходим к выполнению
                 .get(Endpoints.NOTES_BY_ID);    // Шаг 5: Отправляем GET на /notes/{id}
@@ -181,12 +191,13 @@ public class NotesClient {
      * @return объект NoteDto с данными заметки
      */
     public static NoteDto getNote(String id) {
-        return getNoteResponse(id)              // Шаг 1: Отправляем GET-запрос
+        byte[] body = getNoteResponse(id)       // Шаг 1: Отправляем GET-запрос
                 .then()                         // Шаг 2: Начинаем обработку ответа
                 .statusCode(200)                // Шаг 3: Проверяем успешный статус
                 .extract()                      // Шаг 4: Извлекаем данные
-                .jsonPath()                     // Шаг 5: Парсим JSON
-                .getObject("data", NoteDto.class); // Шаг 6: Десериализуем в NoteDto
+                .asByteArray();                 // Шаг 5: Берём сырые байты тела
+        // Шаг 6: Один разбор тела - проверка "data" по схеме note.json и NoteDto из того же дерева
+        return EnvelopeReader.readValidData(body, NoteDto.class, SchemaRegistry.NOTE);
     }
 
     // ==================== ОБНОВЛЕНИЕ ЗАМЕТКИ (UPDATE) ====================
@@ -200,7 +211,7 @@ public class NotesClient {
      *
      * КАК РАБОТАЕТ:
      * 1. given() - начинаем строить запрос
-     * 2. .spec(Specs.requestSpec) - применяем общие настройки
+     * 2. .spec(authSpec()) - применяем настройки сессии текущего теста
      * 3. .pathParam("id", id) - подставляем ID в URL
      * 4. .body(request) - добавляем в тело запроса объект NoteUpdateRequest
      *    Rest-Assured автоматически конвертирует его в JSON
@@ -221,7 +232,7 @@ public class NotesClient {
      */
     public static Response updateNoteResponse(String id, NoteUpdateRequest request) {
         return given()                          // Шаг 1: Начинаем строить запрос
-                .spec(Specs.authSpec)           // Шаг 2: Применяем настройки С АВТОРИЗАЦИЕЙ
+                .spec(authSpec())               // Шаг 2: Применяем настройки С АВТОРИЗАЦИЕЙ
                 .pathParam("id", id)            // Шаг 3: Подставляем ID в URL
                 .body(request)                  // Шаг 4: Добавляем тело (JSON)
                 .when()                         // Шаг 5: Переходим к выполнению
@@ -244,12 +255,13 @@ public class NotesClient {
      * @return объект NoteDto с обновлёнными данными заметки
      */
     public static NoteDto updateNote(String id, NoteUpdateRequest request) {
-        return updateNoteResponse(id, request)  // Шаг 1: Отправляем PUT-запрос
+        byte[] body = updateNoteResponse(id, request) // Шаг 1: Отправляем PUT-запрос
                 .then()                         // Шаг 2: Начинаем обработку ответа
                 .statusCode(200)                // Шаг 3: Проверяем успешный статус
                 .extract()                      // Шаг 4: Извлекаем данные
-                .jsonPath()                     // Шаг 5: Парсим JSON
-                .getObject("data", NoteDto.class); // Шаг 6: Десериализуем в NoteDto
+                .asByteArray();                 // Шаг 5: Берём сырые байты тела
+        // Шаг 6: Один разбор тела - проверка "data" по схеме note.json и NoteDto из того же дерева
+        return EnvelopeReader.readValidData(body, NoteDto.class, SchemaRegistry.NOTE);
     }
 
     // ==================== УДАЛЕНИЕ ЗАМЕТКИ (DELETE) ====================
@@ -263,7 +275,7 @@ public class NotesClient {
      *
      * КАК РАБОТАЕТ:
      * 1. given() - начинаем строить запрос
-     * 2. .spec(Specs.requestSpec) - применяем общие настройки
+     * 2. .spec(authSpec()) - применяем настройки сессии текущего теста
      * 3. .pathParam("id", id) - подставляем ID в URL
      * 4. .when() - переходим к выполнению
      * 5. .delete(Endpoints.NOTES_BY_ID) - отправляем DELETE-запрос на /notes/{id}
@@ -276,7 +288,7 @@ public class NotesClient {
      */
     public static Response deleteNoteResponse(String id) {
         return given()                          // Шаг 1: Начинаем строить запрос
-                .spec(Specs.authSpec)           // Шаг 2: Применяем настройки С АВТОРИЗАЦИЕЙ
+                .spec(authSpec())               // Шаг 2: Применяем настройки С АВТОРИЗАЦИЕЙ
                 .pathParam("id", id)            // Шаг 3: Подставляем ID в URL
                 .when()                         // Шаг 4: Переходим к выполнению
                 .delete(Endpoints.NOTES_BY_ID); // Шаг 5: Отправляем DELETE на /notes/{id}
@@ -317,7 +329,7 @@ public class NotesClient {
      *
      * КАК РАБОТАЕТ:
      * 1. given() - начинаем строить запрос
-     * 2. .spec(Specs.requestSpec) - применяем общие настройки
+     * 2. .spec(authSpec()) - применяем настройки сессии текущего теста
      * 3. .when() - переходим к выполнению
      * 4. .get(Endpoints.NOTES) - отправляем GET-запрос на /notes
      *
@@ -336,12 +348,46 @@ public class NotesClient {
      */
     public static Response getAllNotesResponse() {
         return given()                          // Шаг 1: Начинаем строить запрос
-                .spec(Specs.authSpec)           // Шаг 2: Применяем настройки С АВТОРИЗАЦИЕЙ
+                .spec(authSpec())               // Шаг 2: Применяем настройки С АВТОРИЗАЦИЕЙ
                 .when()                         // Шаг 3: Переходим к выполнению
                 .get(Endpoints.NOTES);          // Шаг 4: Отправляем GET на /notes
     }
 
-    // Примечание: Метод getAllNotes() (который бы возвращал List<NoteDto>) не реализован,
-    // потому что в тестах обычно проверяется весь Response.
-    // Если понадобится, его можно добавить по аналогии с getNote().
+    /**
+     * Получает список всех заметок текущего пользователя как СПИСОК объектов NoteDto.
+     *
+     * КОГДА ИСПОЛЬЗОВАТЬ ЭТОТ МЕТОД:
+     * - Когда нужно перебрать заметки (например, удалить все заметки пользователя)
+     * - Когда точно известно, что запрос пройдёт успешно (статус 200)
+     *
+     * КАК РАБОТАЕТ:
+     * Аналогично getNote(), но поле "data" - это массив,
+     * поэтому используем readValidDataList() вместо readValidData().
+     *
+     * @return список заметок (пустой, если заметок нет)
+     */
+    public static List<NoteDto> getAllNotes() {
+        byte[] body = getAllNotesResponse()     // Шаг 1: Отправляем GET-запрос
+                .then()                         // Шаг 2: Начинаем обработку ответа
+                .statusCode(200)                // Шаг 3: Проверяем успешный статус
+                .extract()                      // Шаг 4: Извлекаем данные
+                .asByteArray();                 // Шаг 5: Берём сырые байты тела
+        // Шаг 6: Один разбор тела - проверка каждой заметки по note.json и список из того же дерева
+        return EnvelopeReader.readValidDataList(body, NoteDto.class, SchemaRegistry.NOTE);
+    }
+
+    // ==================== ВСПОМОГАТЕЛЬНЫЕ МЕТОДЫ ====================
+
+    /**
+     * Возвращает авторизованную спецификацию сессии, привязанной к текущему потоку.
+     *
+     * ЗАЧЕМ ОТДЕЛЬНЫЙ МЕТОД:
+     * Раньше здесь было статическое поле Specs.authSpec, общее для всех тестов.
+     * Теперь у каждого теста своя сессия, и клиент берёт её в момент запроса.
+     *
+     * @return спецификация с токеном текущего теста
+     */
+    private static RequestSpecification authSpec() {
+        return TestSession.current().getAuthSpec();
+    }
 }
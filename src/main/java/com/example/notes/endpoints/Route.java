@@ -0,0 +1,137 @@
+package com.example.notes.endpoints;
+
+/**
+ * Маршруты Notes API: пара "HTTP-метод + шаблон пути" из Endpoints.
+ *
+ * ЗАЧЕМ НУЖЕН ЭТОТ КЛАСС:
+ * Endpoints хранит только пути, а один путь обслуживает несколько действий
+ * (GET /notes - список, POST /notes - создание). Route называет каждое действие
+ * отдельно, чтобы по запросу можно было понять, что именно он делает:
+ * - встроенный сервер-заглушка выбирает по Route нужный обработчик
+ * - статистика и отчёты группируют запросы по шаблону (GET /notes/{id}),
+ *   а не по конкретному ID заметки
+ *
+ * ПРИМЕР:
+ *   Route.resolve("GET", "/notes/65a1f0c2e4b0a1b2c3d4e5f6")  вернёт  Route.GET_NOTE
+ *   Route.GET_NOTE.label()                                   вернёт  "GET /notes/{id}"
+ */
+public enum Route {
+
+    REGISTER("POST", Endpoints.USERS_REGISTER),
+    LOGIN("POST", Endpoints.USERS_LOGIN),
+    PROFILE("GET", Endpoints.USERS_PROFILE),
+    DELETE_ACCOUNT("DELETE", Endpoints.USERS_DELETE),
+    LIST_NOTES("GET", Endpoints.NOTES),
+    CREATE_NOTE("POST", Endpoints.NOTES),
+    GET_NOTE("GET", Endpoints.NOTES_BY_ID),
+    UPDATE_NOTE("PUT", Endpoints.NOTES_BY_ID),
+    DELETE_NOTE("DELETE", Endpoints.NOTES_BY_ID),
+
+    /**
+     * Запрос, который не совпал ни с одним маршрутом API.
+     */
+    UNKNOWN("", "");
+
+    /**
+     * Префикс пути заметки по ID: "/notes/".
+     */
+    private static final String NOTE_PREFIX = Endpoints.NOTES + "/";
+
+    private final String method;
+    private final String template;
+    private final String label;
+
+    Route(String method, String template) {
+        this.method = method;
+        this.template = template;
+        this.label = method.isEmpty() ? "OTHER" : method + " " + template;
+    }
+
+    public String getMethod() {
+        return method;
+    }
+
+    public String getTemplate() {
+        return template;
+    }
+
+    /**
+     * @return название для отчётов, например "PUT /notes/{id}"
+     */
+    public String label() {
+        return label;
+    }
+
+    /**
+     * Определяет маршрут по методу и пути запроса.
+     *
+     * ПОЧЕМУ БЕЗ split() И РЕГУЛЯРНЫХ ВЫРАЖЕНИЙ:
+     * Метод вызывается на каждый запрос (в сервере-заглушке и при сборе статистики),
+     * поэтому он только сравнивает строки и не создаёт новых объектов.
+     *
+     * @param method HTTP-метод (GET, POST, PUT, DELETE)
+     * @param path   путь относительно baseUrl, без query-строки (например, "/notes/123")
+     * @return маршрут или UNKNOWN
+     */
+    public static Route resolve(String method, String path) {
+        if (path.equals(Endpoints.NOTES)) {
+            return pick(method, LIST_NOTES, CREATE_NOTE, null, null);
+        }
+        if (isNoteById(path)) {
+            return pick(method, GET_NOTE, null, UPDATE_NOTE, DELETE_NOTE);
+        }
+        if (path.equals(Endpoints.USERS_REGISTER)) {
+            return pick(method, null, REGISTER, null, null);
+        }
+        if (path.equals(Endpoints.USERS_LOGIN)) {
+            return pick(method, null, LOGIN, null, null);
+        }
+        if (path.equals(Endpoints.USERS_PROFILE)) {
+            return pick(method, PROFILE, null, null, null);
+        }
+        if (path.equals(Endpoints.USERS_DELETE)) {
+            return pick(method, null, null, null, DELETE_ACCOUNT);
+        }
+        return UNKNOWN;
+    }
+
+    /**
+     * Достаёт ID заметки из пути вида "/notes/{id}".
+     *
+     * @param path путь, для которого resolve() вернул GET_NOTE, UPDATE_NOTE или DELETE_NOTE
+     * @return ID заметки
+     */
+    public static String noteId(String path) {
+        return path.substring(NOTE_PREFIX.length());
+    }
+
+    /**
+     * "/notes/" + непустой хвост без "/".
+     */
+    private static boolean isNoteById(String path) {
+        return path.length() > NOTE_PREFIX.length()
+                && path.startsWith(NOTE_PREFIX)
+                && path.indexOf('/', NOTE_PREFIX.length()) < 0;
+    }
+
+    private static Route pick(String method, Route get, Route post, Route put, Route delete) {
+        Route route = null;
+        switch (method) {
+            case "GET":
+                route = get;
+                break;
+            case "POST":
+                route = post;
+                break;
+            case "PUT":
+                route = put;
+                break;
+            case "DELETE":
+                route = delete;
+                break;
+            default:
+                break;
+        }
+        return route != null ? route : UNKNOWN;
+    }
+}
@@ -0,0 +1,104 @@
+package com.example.notes.load;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Выбор случайного индекса по весам за O(1) - метод псевдонимов (alias method, Vose).
+ *
+ * ЗАЧЕМ:
+ * Накопительная шкала (перебор весов, пока сумма не превысит случайное число) стоит O(n)
+ * и ветвится на каждом элементе. Таблица псевдонимов строится один раз, а выбор - это
+ * одно случайное число, одно сравнение и два чтения из массива, сколько бы ни было операций.
+ *
+ * КАК ЭТО РАБОТАЕТ:
+ * 1. Веса нормируются так, чтобы среднее было 1 (вес * n / сумма)
+ * 2. Строим n "корзин" одинаковой высоты 1. Каждая корзина содержит свою долю
+ *    probability[i] и "доливку" из одного тяжёлого элемента alias[i]
+ * 3. Выбор: случайное u из [0, n). Корзина i = целая часть u,
+ *    дробная часть < probability[i] - берём i, иначе alias[i]
+ *
+ * Объект неизменяемый, поэтому один экземпляр безопасно использовать из всех потоков.
+ */
+public class AliasSampler {
+
+    private final double[] probability;
+    private final int[] alias;
+
+    /**
+     * @param weights неотрицательные веса (хотя бы один больше нуля)
+     * @throws IllegalArgumentException если веса пустые, отрицательные или все нулевые
+     */
+    public AliasSampler(double[] weights) {
+        int n = weights.length;
+        if (n == 0) {
+            throw new IllegalArgumentException("At least one weight is required");
+        }
+        double total = 0;
+        for (double weight : weights) {
+            if (weight < 0 || Double.isNaN(weight) || Double.isInfinite(weight)) {
+                throw new IllegalArgumentException("Weight must be a finite non-negative number: " + weight);
+            }
+            total += weight;
+        }
+        if (total <= 0) {
+            throw new IllegalArgumentException("At least one weight must be positive");
+        }
+
+        probability = new double[n];
+        alias = new int[n];
+        double[] scaled = new double[n];
+        int[] small = new int[n];
+        int[] large = new int[n];
+        int smallCount = 0;
+        int largeCount = 0;
+        for (int i = 0; i < n; i++) {
+            scaled[i] = weights[i] * n / total;
+            if (scaled[i] < 1.0) {
+                small[smallCount++] = i;
+            } else {
+                large[largeCount++] = i;
+            }
+        }
+        // Лёгкая корзина доливается из тяжёлой; остаток тяжёлой снова попадает в один из списков
+        while (smallCount > 0 && largeCount > 0) {
+            int less = small[--smallCount];
+            int more = large[--largeCount];
+            probability[less] = scaled[less];
+            alias[less] = more;
+            scaled[more] = (scaled[more] + scaled[less]) - 1.0;
+            if (scaled[more] < 1.0) {
+                small[smallCount++] = more;
+            } else {
+                large[largeCount++] = more;
+            }
+        }
+        // Остатки - корзины, заполненные целиком (с точностью до округления)
+        while (largeCount > 0) {
+            int index = large[--largeCount];
+            probability[index] = 1.0;
+            alias[index] = index;
+        }
+        while (smallCount > 0) {
+            int index = small[--smallCount];
+            probability[index] = 1.0;
+            alias[index] = index;
+        }
+    }
+
+    /**
+     * @return индекс веса; вероятность индекса i равна weights[i] / сумма весов
+     */
+    public int next() {
+        double u = ThreadLocalRandom.current().nextDouble() * probability.length;
+        // min - страховка от округления nextDouble() * n до n
+        int column = Math.min((int) u, probability.length - 1);
+        return u - column < probability[column] ? column : alias[column];
+    }
+
+    /**
+     * @return число весов
+     */
+    public int size() {
+        return probability.length;
+    }
+}
@@ -0,0 +1,165 @@
+package com.example.notes.load;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Результат CapacitySearch: наибольшая частота в пределах SLO и кривая "частота -> время ответа".
+ *
+ * ФАЙЛЫ (write):
+ * - capacity.csv  - ступень на строку, по возрастанию частоты:
+ *   target_rate,achieved_rate,completed,errors,error_rate,p50_ms,p99_ms,p99_9_ms,uncorrected_p99_ms,slo_met,violation
+ * - capacity.json - SLO, найденная частота и те же ступени
+ * Время - corrected (от запланированной отправки), кроме uncorrected_p99_ms.
+ */
+public class CapacityResult {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+    /**
+     * Одна ступень поиска: результат прогона и причина нарушения SLO (null - выдержана).
+     */
+    public static class Plateau {
+
+        private final LoadResult result;
+        private final String violation;
+
+        Plateau(LoadResult result, String violation) {
+            this.result = result;
+            this.violation = violation;
+        }
+
+        public LoadResult getResult() {
+            return result;
+        }
+
+        public double getTargetRate() {
+            return result.getProfile().getRatePerSecond();
+        }
+
+        public boolean isSloMet() {
+            return violation == null;
+        }
+
+        /**
+         * @return причина нарушения SLO или null
+         */
+        public String getViolation() {
+            return violation;
+        }
+    }
+
+    private final Slo slo;
+    private final double sustainedRate;
+    private final List<Plateau> plateaus;
+
+    CapacityResult(Slo slo, double sustainedRate, List<Plateau> plateaus) {
+        this.slo = slo;
+        this.sustainedRate = sustainedRate;
+        this.plateaus = Collections.unmodifiableList(new ArrayList<>(plateaus));
+    }
+
+    /**
+     * @return наибольшая заданная частота, при которой SLO выдержан (0 - не выдержан ни разу)
+     */
+    public double getSustainedRate() {
+        return sustainedRate;
+    }
+
+    /**
+     * @return ступени в порядке выполнения
+     */
+    public List<Plateau> getPlateaus() {
+        return plateaus;
+    }
+
+    public Slo getSlo() {
+        return slo;
+    }
+
+    /**
+     * @return ступени по возрастанию частоты (кривая)
+     */
+    public List<Plateau> curve() {
+        List<Plateau> curve = new ArrayList<>(plateaus);
+        curve.sort(Comparator.comparingDouble(Plateau::getTargetRate));
+        return curve;
+    }
+
+    /**
+     * Печатает кривую и итог.
+     */
+    public void print(PrintStream out) {
+        out.printf("%nCapacity curve, SLO %s (latency is corrected):%n", slo);
+        out.printf("%10s %10s %8s %9s %9s %9s  %s%n", "target", "achieved", "errors", "p50 ms", "p99 ms", "p99.9 ms", "SLO");
+        for (Plateau plateau : curve()) {
+            LoadResult result = plateau.getResult();
+            Histogram latency = result.getCorrected().merged();
+            out.printf(Locale.ROOT, "%10.1f %10.1f %8d %9.2f %9.2f %9.2f  %s%n",
+                    plateau.getTargetRate(), result.getAchievedRate(), result.getErrors(),
+                    latency.getValueAtPercentile(50) / 1e3, latency.getValueAtPercentile(99) / 1e3,
+                    latency.getValueAtPercentile(99.9) / 1e3,
+                    plateau.isSloMet() ? "met" : "violated: " + plateau.getViolation());
+        }
+        if (sustainedRate > 0) {
+            out.printf(Locale.ROOT, "Highest rate within SLO: %.1f op/s (%d plateaus)%n", sustainedRate, plateaus.size());
+        } else {
+            out.printf("SLO not met at any tested rate (%d plateaus)%n", plateaus.size());
+        }
+    }
+
+    /**
+     * Записывает capacity.csv и capacity.json в каталог.
+     */
+    public void write(Path directory) throws IOException {
+        Files.createDirectories(directory);
+        StringBuilder csv = new StringBuilder("target_rate,achieved_rate,completed,errors,error_rate,"
+                + "p50_ms,p99_ms,p99_9_ms,uncorrected_p99_ms,slo_met,violation\n");
+        ObjectNode root = MAPPER.createObjectNode();
+        root.put("slo_p99_ms", slo.getP99Millis());
+        root.put("slo_error_rate", slo.getMaxErrorRate());
+        root.put("sustained_rate", sustainedRate);
+        ArrayNode curve = root.putArray("plateaus");
+        for (Plateau plateau : curve()) {
+            LoadResult result = plateau.getResult();
+            Histogram latency = result.getCorrected().merged();
+            double errorRate = result.getCompleted() == 0 ? 0 : (double) result.getErrors() / result.getCompleted();
+            double uncorrectedP99 = result.getUncorrected().merged().getValueAtPercentile(99) / 1e3;
+            csv.append(String.format(Locale.ROOT, "%.1f,%.1f,%d,%d,%.4f,%.3f,%.3f,%.3f,%.3f,%b,%s\n",
+                    plateau.getTargetRate(), result.getAchievedRate(), result.getCompleted(), result.getErrors(),
+                    errorRate, latency.getValueAtPercentile(50) / 1e3, latency.getValueAtPercentile(99) / 1e3,
+                    latency.getValueAtPercentile(99.9) / 1e3, uncorrectedP99, plateau.isSloMet(),
+                    plateau.isSloMet() ? "" : '"' + plateau.getViolation() + '"'));
+
+            ObjectNode row = curve.addObject();
+            row.put("target_rate", plateau.getTargetRate());
+            row.put("achieved_rate", Math.round(result.getAchievedRate() * 10) / 10.0);
+            row.put("completed", result.getCompleted());
+            row.put("errors", result.getErrors());
+            row.put("p50_ms", latency.getValueAtPercentile(50) / 1e3);
+            row.put("p99_ms", latency.getValueAtPercentile(99) / 1e3);
+            row.put("p99_9_ms", latency.getValueAtPercentile(99.9) / 1e3);
+            row.put("uncorrected_p99_ms", uncorrectedP99);
+            row.put("slo_met", plateau.isSloMet());
+            if (!plateau.isSloMet()) {
+                row.put("violation", plateau.getViolation());
+            }
+        }
+        Files.write(directory.resolve("capacity.csv"), csv.toString().getBytes(StandardCharsets.UTF_8));
+        MAPPER.writeValue(directory.resolve("capacity.json").toFile(), root);
+    }
+}
@@ -0,0 +1,148 @@
+package com.example.notes.load;
+
+import com.example.notes.config.TestEnv;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Function;
+
+/**
+ * Поиск наибольшей частоты, при которой API ещё укладывается в SLO.
+ *
+ * ЗАЧЕМ НУЖЕН ЭТОТ КЛАСС:
+ * Перед релизом нагрузку поднимали вручную, пока API не начинал тормозить.
+ * Поиск делает то же самое автоматически: прогоняет ступени (plateau) постоянной
+ * частоты, после каждой проверяет SLO (Slo) и выбирает следующую частоту.
+ *
+ * РЕЖИМЫ (capacity.mode):
+ * - STEP   - частота растёт на startRate: 10, 20, 30, ... до первого нарушения SLO.
+ *            Подробная кривая, но много ступеней
+ * - BINARY - частота удваивается до первого нарушения (10, 20, 40, 80), затем граница
+ *            ищется делением пополам между последней выдержанной и первой невыдержанной
+ *            (40..80 -> 60 -> 50 или 70 ...), пока разница не станет меньше resolution
+ *
+ * ШУМ:
+ * Ступень может случайно выдержать SLO на частоте, которая уже не выдержала его раньше
+ * (или наоборот). Выдержанной считается только частота ниже наименьшей невыдержанной:
+ * passed < failed всегда, и найденная частота никогда не выше уже проваленной.
+ * Если середина интервала совпала с его границей (точности double не хватило) - поиск окончен.
+ *
+ * РЕЗУЛЬТАТ:
+ * Все ступени (CapacityResult) - кривая "частота -> время ответа", а не только итоговое число:
+ * по ней видно, как быстро растёт p99 перед пределом.
+ */
+public class CapacitySearch {
+
+    public enum Mode {
+        STEP, BINARY
+    }
+
+    private final Slo slo;
+    private final Mode mode;
+    private final double startRate;
+    private final double maxRate;
+    private final double resolution;
+    private final int maxPlateaus;
+    private final Duration plateau;
+    private final int concurrency;
+
+    /**
+     * @param slo         цель, по которой оценивается ступень
+     * @param mode        режим подбора частоты
+     * @param startRate   частота первой ступени (и шаг для STEP)
+     * @param maxRate     выше этой частоты не подниматься
+     * @param resolution  точность BINARY: относительная ширина интервала, на которой поиск останавливается
+     * @param maxPlateaus сколько ступеней выполнить самое большее
+     * @param plateau     длительность одной ступени
+     * @param concurrency потоков и пользователей на ступень
+     */
+    public CapacitySearch(Slo slo, Mode mode, double startRate, double maxRate, double resolution,
+                          int maxPlateaus, Duration plateau, int concurrency) {
+        if (startRate <= 0 || maxRate < startRate) {
+            throw new IllegalArgumentException("Invalid rate range: " + startRate + ".." + maxRate);
+        }
+        if (maxPlateaus < 1) {
+            throw new IllegalArgumentException("At least one plateau is required");
+        }
+        this.slo = slo;
+        this.mode = mode;
+        this.startRate = startRate;
+        this.maxRate = maxRate;
+        this.resolution = resolution;
+        this.maxPlateaus = maxPlateaus;
+        this.plateau = plateau;
+        this.concurrency = concurrency;
+    }
+
+    /**
+     * Поиск с настройками slo.* и capacity.* из EnvConfig.
+     *
+     * @param startRate   частота первой ступени (флаг --rate или capacity.startRate)
+     * @param plateau     длительность ступени
+     * @param concurrency потоков и пользователей на ступень
+     */
+    public static CapacitySearch fromConfig(double startRate, Duration plateau, int concurrency) {
+        Mode mode = Mode.valueOf(TestEnv.getCapacityMode().trim().toUpperCase(Locale.ROOT));
+        return new CapacitySearch(Slo.fromConfig(), mode, startRate,
+                Math.max(startRate, TestEnv.getCapacityMaxRate()), TestEnv.getCapacityResolution(),
+                TestEnv.getCapacityMaxPlateaus(), plateau, concurrency);
+    }
+
+    /**
+     * Выполняет поиск.
+     *
+     * @param runner выполняет одну ступень (обычно LoadEngine.run() с печатью и записью отчёта)
+     * @return все ступени и найденная частота
+     */
+    public CapacityResult run(Function<LoadProfile, LoadResult> runner) {
+        List<CapacityResult.Plateau> plateaus = new ArrayList<>();
+        double passed = 0;                            // наибольшая выдержанная частота
+        double failed = Double.POSITIVE_INFINITY;     // наименьшая невыдержанная частота
+        double rate = startRate;
+
+        while (plateaus.size() < maxPlateaus) {
+            LoadResult result = runner.apply(new LoadProfile(rate, plateau, concurrency, concurrency));
+            String violation = slo.violation(result);
+            plateaus.add(new CapacityResult.Plateau(result, violation));
+            if (violation == null) {
+                if (rate < failed) {
+                    passed = Math.max(passed, rate);
+                }
+            } else if (rate < failed) {
+                failed = rate;
+                if (passed >= failed) {
+                    // Более низкая частота выдержала SLO случайно: берём наибольшую выдержанную ниже failed
+                    passed = highestPassedBelow(plateaus, failed);
+                }
+            }
+
+            if (failed == Double.POSITIVE_INFINITY) {
+                // Предел ещё не найден - поднимаемся
+                if (rate >= maxRate) {
+                    break;
+                }
+                rate = Math.min(maxRate, mode == Mode.STEP ? rate + startRate : rate * 2);
+            } else if (mode == Mode.STEP || (failed - passed) / failed <= resolution) {
+                break;
+            } else {
+                rate = (passed + failed) / 2;
+                if (rate <= passed || rate >= failed) {
+                    break; // интервал уже не делится
+                }
+            }
+        }
+        return new CapacityResult(slo, passed, plateaus);
+    }
+
+    private static double highestPassedBelow(List<CapacityResult.Plateau> plateaus, double failed) {
+        double highest = 0;
+        for (CapacityResult.Plateau plateau : plateaus) {
+            if (plateau.isSloMet() && plateau.getTargetRate() < failed) {
+                highest = Math.max(highest, plateau.getTargetRate());
+            }
+        }
+        return highest;
+    }
+}
@@ -0,0 +1,205 @@
+package com.example.notes.load;
+
+import com.example.notes.core.LatencyHistograms;
+import com.example.notes.core.TestSession;
+import com.example.notes.data.TestData;
+import com.example.notes.endpoints.AuthClient;
+import com.example.notes.endpoints.Route;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Замер масштабируемости: одна и та же нагрузка при 1, 2, 4, ... N одновременных сессиях
+ * и подбор коэффициентов универсального закона масштабируемости (UslModel).
+ *
+ * ЗАЧЕМ НУЖЕН ЭТОТ КЛАСС:
+ * Одно число "X операций в секунду" не говорит, что будет при вдвое большем числе клиентов.
+ * Кривая X(N) и модель USL показывают, где рост замедляется (конкуренция σ) и где
+ * начинается спад (согласование κ) - по ним выбирают размер пула соединений и число реплик.
+ *
+ * КАК ЭТО РАБОТАЕТ (для каждого уровня N):
+ * 1. Регистрируем N пользователей (AuthClient.registerAndLogin) - у каждой сессии свой
+ * 2. Запускаем N потоков; каждый в цикле выполняет операции по OperationMix
+ *    без пауз: закрытая модель, следующий запрос - сразу после ответа.
+ *    Паузы (think time) из файла нагрузки здесь не используются - нужна
+ *    именно зависимость пропускной способности от числа одновременных запросов
+ * 3. Первые 20% времени уровня - прогрев, они не считаются
+ * 4. X(N) = выполненные операции / время замера
+ * 5. Удаляем пользователей уровня
+ * После всех уровней - UslModel.fit по точкам (N, X(N)).
+ */
+public class ConcurrencySweep {
+
+    /**
+     * Доля времени уровня на прогрев (JIT, пул соединений, кэши сервера).
+     */
+    private static final double WARMUP_SHARE = 0.2;
+
+    private final int[] levels;
+    private final Duration perLevel;
+    private final OperationMix mix;
+
+    /**
+     * @param levels   уровни одновременности по возрастанию; первый должен быть 1
+     * @param perLevel длительность одного уровня (вместе с прогревом)
+     * @param mix      смесь операций
+     */
+    public ConcurrencySweep(int[] levels, Duration perLevel, OperationMix mix) {
+        if (levels.length == 0 || levels[0] != 1) {
+            throw new IllegalArgumentException("Concurrency levels must start at 1");
+        }
+        this.levels = levels.clone();
+        this.perLevel = perLevel;
+        this.mix = mix;
+    }
+
+    /**
+     * @return 1, 2, 4, ... до max (max включается, даже если это не степень двойки)
+     */
+    public static int[] powersOfTwo(int max) {
+        List<Integer> levels = new ArrayList<>();
+        for (int n = 1; n < max; n *= 2) {
+            levels.add(n);
+        }
+        levels.add(max);
+        return levels.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    /**
+     * Выполняет все уровни и подбирает модель.
+     */
+    public ScalabilityResult run() {
+        List<ScalabilityResult.Level> results = new ArrayList<>(levels.length);
+        for (int concurrency : levels) {
+            ScalabilityResult.Level level = runLevel(concurrency);
+            System.out.printf("Concurrency %4d: %9.1f op/s, %d errors%n",
+                    concurrency, level.getThroughput(), level.getErrors());
+            results.add(level);
+        }
+        return new ScalabilityResult(results);
+    }
+
+    private ScalabilityResult.Level runLevel(int concurrency) {
+        ExecutorService workers = newWorkerPool(concurrency);
+        List<LoadSession> sessions = new ArrayList<>(concurrency);
+        try {
+            createSessions(workers, sessions, concurrency);
+
+            LatencyHistograms latencies = new LatencyHistograms();
+            LongAdder completed = new LongAdder();
+            LongAdder errors = new LongAdder();
+            long start = System.nanoTime();
+            long measureFrom = start + (long) (perLevel.toNanos() * WARMUP_SHARE);
+            long end = start + perLevel.toNanos();
+
+            List<Future<?>> loops = new ArrayList<>(concurrency);
+            for (LoadSession session : sessions) {
+                loops.add(workers.submit(() -> loop(session, measureFrom, end, latencies, completed, errors)));
+            }
+            awaitAll(loops);
+            double seconds = (end - measureFrom) / 1e9;
+            return new ScalabilityResult.Level(concurrency, completed.sum() / seconds,
+                    completed.sum(), errors.sum(), latencies);
+        } finally {
+            deleteSessions(workers, sessions);
+            workers.shutdownNow();
+        }
+    }
+
+    /**
+     * Закрытый цикл одной сессии: операция, ответ, следующая операция.
+     */
+    private void loop(LoadSession session, long measureFrom, long end,
+                      LatencyHistograms latencies, LongAdder completed, LongAdder errors) {
+        TestSession.bind(session.session());
+        try {
+            long now = System.nanoTime();
+            while (now < end) {
+                WeightedOperation operation = mix.next();
+                boolean failed = false;
+                try {
+                    operation.execute(session);
+                } catch (Exception | AssertionError e) {
+                    failed = true;
+                }
+                Route route = session.lastRoute();
+                long finished = System.nanoTime();
+                // Считаем только операции, начатые и законченные в окне замера
+                if (now >= measureFrom && finished <= end) {
+                    latencies.record(route, finished - now);
+                    completed.increment();
+                    if (failed) {
+                        errors.increment();
+                    }
+                }
+                now = finished;
+            }
+        } finally {
+            TestSession.unbind();
+        }
+    }
+
+    private static void createSessions(ExecutorService workers, List<LoadSession> sessions, int count) {
+        List<Future<String>> tokens = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            tokens.add(workers.submit(() -> AuthClient.registerAndLogin(TestData.randomUser())));
+        }
+        for (Future<String> token : tokens) {
+            try {
+                sessions.add(new LoadSession(token.get()));
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("Cannot create sweep user", e.getCause());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while creating sweep users", e);
+            }
+        }
+    }
+
+    private static void deleteSessions(ExecutorService workers, List<LoadSession> sessions) {
+        List<Future<?>> deletions = new ArrayList<>(sessions.size());
+        for (LoadSession session : sessions) {
+            deletions.add(workers.submit(() -> AuthClient.deleteAccount(session.token())));
+        }
+        for (Future<?> deletion : deletions) {
+            try {
+                deletion.get();
+            } catch (ExecutionException e) {
+                System.err.println("Warning: Failed to delete sweep user: " + e.getCause());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private static void awaitAll(List<Future<?>> futures) {
+        for (Future<?> future : futures) {
+            try {
+                future.get();
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("Sweep worker failed", e.getCause());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted during sweep", e);
+            }
+        }
+    }
+
+    private static ExecutorService newWorkerPool(int size) {
+        AtomicInteger counter = new AtomicInteger();
+        return Executors.newFixedThreadPool(size, runnable -> {
+            Thread thread = new Thread(runnable, "sweep-worker-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+}
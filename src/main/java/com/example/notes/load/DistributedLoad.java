@@ -0,0 +1,230 @@
+package com.example.notes.load;
+
+import com.example.notes.config.TestEnv;
+import com.example.notes.core.LatencyHistograms;
+import com.example.notes.endpoints.Route;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Координатор нагрузки из нескольких JVM на одной машине.
+ *
+ * ЗАЧЕМ НУЖЕН ЭТОТ КЛАСС:
+ * Одна JVM с LoadEngine упирается в свои пределы раньше, чем API: сборка мусора
+ * останавливает все потоки нагрузки сразу, а Rest-Assured тратит много процессора
+ * на каждый запрос. Несколько процессов делят нагрузку и не мешают друг другу паузами GC.
+ *
+ * КАК ЭТО РАБОТАЕТ:
+ * 1. Открываем ServerSocket на 127.0.0.1 (свободный порт) и запускаем processes JVM
+ *    с LoadWorker (тот же classpath и java, настройки - системными свойствами)
+ * 2. Каждому процессу отправляем его долю: пользователи и потоки поровну, остаток - по одному
+ *    первым процессам (10 на 3 -> 4, 3, 3: в сумме ровно столько, сколько задано),
+ *    частота - пропорционально пользователям (у каждого процесса свои пользователи -
+ *    доли не пересекаются)
+ * 3. Барьер старта: ждём READY от всех, затем рассылаем GO с моментом старта
+ *    через START_DELAY_MS - все процессы начинают нагрузку одновременно
+ * 4. Барьер остановки: ждём RESULT от всех, затем рассылаем RELEASE
+ * 5. Складываем гистограммы (без потерь, см. WorkerProtocol) и ошибки в один LoadResult
+ *
+ * baseUrl=inproc: заглушку запускает координатор, процессы получают её настоящий адрес -
+ * иначе у каждого была бы своя заглушка, и общей нагрузки на один сервер не получилось бы.
+ */
+public class DistributedLoad {
+
+    /**
+     * Через сколько после последнего READY начинать: рассылка GO и пробуждение процессов
+     * должны успеть до старта.
+     */
+    private static final long START_DELAY_MS = 500;
+
+    /**
+     * Сколько ждать подключения процессов (запуск JVM).
+     */
+    private static final int CONNECT_TIMEOUT_MS = 60_000;
+
+    /**
+     * Системные свойства, которые передаются процессам (ключи EnvConfig и OperationMix).
+     */
+    private static final String[] FORWARDED_PREFIXES = {
+            "workload", "log.", "users.", "http.pool.", "schema."
+    };
+
+    private final LoadProfile profile;
+    private final int processes;
+
+    /**
+     * @param profile   общая нагрузка (частота, длительность, пользователи и потоки на все процессы)
+     * @param processes сколько JVM запустить
+     */
+    public DistributedLoad(LoadProfile profile, int processes) {
+        if (processes < 1) {
+            throw new IllegalArgumentException("At least one worker process is required");
+        }
+        if (processes > profile.getSessions() || processes > profile.getWorkers()) {
+            throw new IllegalArgumentException("Cannot split " + profile.getSessions() + " sessions and "
+                    + profile.getWorkers() + " workers across " + processes + " processes");
+        }
+        this.profile = profile;
+        this.processes = processes;
+    }
+
+    /**
+     * @param index номер процесса (0 .. processes - 1)
+     * @return доля нагрузки процесса; сумма долей всех процессов - ровно profile
+     */
+    LoadProfile shard(int index) {
+        int sessions = share(profile.getSessions(), index);
+        return new LoadProfile(profile.getRatePerSecond() * sessions / profile.getSessions(), profile.getDuration(),
+                sessions, share(profile.getWorkers(), index));
+    }
+
+    private int share(int total, int index) {
+        return total / processes + (index < total % processes ? 1 : 0);
+    }
+
+    /**
+     * Запускает процессы, проводит прогон и возвращает общий результат.
+     */
+    public LoadResult run() throws IOException {
+        List<Process> children = new ArrayList<>(processes);
+        List<Socket> sockets = new ArrayList<>(processes);
+        try (ServerSocket server = new ServerSocket(0, processes, InetAddress.getLoopbackAddress())) {
+            server.setSoTimeout(CONNECT_TIMEOUT_MS);
+            for (int i = 0; i < processes; i++) {
+                children.add(launch(server.getLocalPort(), i));
+            }
+
+            List<DataInputStream> ins = new ArrayList<>(processes);
+            List<DataOutputStream> outs = new ArrayList<>(processes);
+            for (int i = 0; i < processes; i++) {
+                Socket socket = server.accept();
+                sockets.add(socket);
+                socket.setTcpNoDelay(true);
+                ins.add(new DataInputStream(new BufferedInputStream(socket.getInputStream())));
+                outs.add(new DataOutputStream(new BufferedOutputStream(socket.getOutputStream())));
+            }
+            return coordinate(ins, outs);
+        } finally {
+            for (Socket socket : sockets) {
+                closeQuietly(socket);
+            }
+            awaitExit(children);
+        }
+    }
+
+    /**
+     * Разговор с подключёнными процессами: доли, барьер старта, барьер остановки.
+     * Отдельно от запуска JVM, чтобы протокол можно было проверить в одном процессе.
+     *
+     * @param ins  входящие потоки соединений (по одному на процесс)
+     * @param outs исходящие потоки тех же соединений
+     * @return общий результат всех процессов
+     */
+    LoadResult coordinate(List<DataInputStream> ins, List<DataOutputStream> outs) throws IOException {
+        LatencyHistograms uncorrected = new LatencyHistograms();
+        LatencyHistograms corrected = new LatencyHistograms();
+        long[] errors = new long[Route.values().length];
+        long scheduled = 0;
+        long completed = 0;
+        long delayed = 0;
+        long elapsed = 0;
+
+        // Доли: номер из HELLO, а не порядок подключения
+        for (int i = 0; i < ins.size(); i++) {
+            WorkerProtocol.expect(ins.get(i), WorkerProtocol.HELLO);
+            int index = ins.get(i).readInt();
+            if (index < 0 || index >= processes) {
+                throw new IOException("Unexpected worker index " + index + " of " + processes);
+            }
+            WorkerProtocol.writeJob(outs.get(i), shard(index));
+        }
+
+        // Барьер старта
+        for (DataInputStream in : ins) {
+            WorkerProtocol.expect(in, WorkerProtocol.READY);
+        }
+        long startAt = System.currentTimeMillis() + START_DELAY_MS;
+        for (DataOutputStream out : outs) {
+            out.writeByte(WorkerProtocol.GO);
+            out.writeLong(startAt);
+            out.flush();
+        }
+        System.out.printf("%d worker processes ready, load starts in %d ms%n", processes, START_DELAY_MS);
+
+        // Барьер остановки
+        for (DataInputStream in : ins) {
+            WorkerProtocol.Shard shard = WorkerProtocol.readResult(in, uncorrected, corrected, errors);
+            scheduled += shard.scheduled;
+            completed += shard.completed;
+            delayed += shard.delayed;
+            elapsed = Math.max(elapsed, shard.elapsedNanos);
+        }
+        for (DataOutputStream out : outs) {
+            out.writeByte(WorkerProtocol.RELEASE);
+            out.flush();
+        }
+
+        LongAdder[] errorCounters = new LongAdder[errors.length];
+        for (int i = 0; i < errors.length; i++) {
+            errorCounters[i] = new LongAdder();
+            errorCounters[i].add(errors[i]);
+        }
+        return new LoadResult(profile, scheduled, completed, delayed, elapsed, uncorrected, corrected,
+                errorCounters);
+    }
+
+    private Process launch(int port, int index) throws IOException {
+        List<String> command = new ArrayList<>();
+        command.add(Paths.get(System.getProperty("java.home"), "bin", "java").toString());
+        command.add("-cp");
+        command.add(System.getProperty("java.class.path"));
+        // Адрес уже разрешён: для inproc - адрес заглушки этого процесса
+        command.add("-DbaseUrl=" + TestEnv.getBaseUrl());
+        for (String key : System.getProperties().stringPropertyNames()) {
+            for (String prefix : FORWARDED_PREFIXES) {
+                if (key.startsWith(prefix)) {
+                    command.add("-D" + key + "=" + System.getProperty(key));
+                    break;
+                }
+            }
+        }
+        command.add(LoadWorker.class.getName());
+        command.add(String.valueOf(port));
+        command.add(String.valueOf(index));
+        return new ProcessBuilder(command).inheritIO().start();
+    }
+
+    private static void awaitExit(List<Process> children) {
+        for (Process child : children) {
+            try {
+                if (!child.waitFor(1, TimeUnit.MINUTES)) {
+                    System.err.println("Warning: worker process did not exit, killing it");
+                    child.destroyForcibly();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                child.destroyForcibly();
+            }
+        }
+    }
+
+    private static void closeQuietly(Socket socket) {
+        try {
+            socket.close();
+        } catch (IOException ignored) {
+            // соединение уже закрыто процессом
+        }
+    }
+}
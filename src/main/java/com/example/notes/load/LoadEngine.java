@@ -0,0 +1,313 @@
+package com.example.notes.load;
+
+import com.example.notes.config.TestEnv;
+import com.example.notes.core.LatencyHistograms;
+import com.example.notes.core.TestSession;
+import com.example.notes.data.TestData;
+import com.example.notes.endpoints.AuthClient;
+import com.example.notes.endpoints.Route;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+/**
+ * Генератор нагрузки с открытой моделью: операции запускаются с заданной частотой,
+ * независимо от того, как быстро отвечает сервер.
+ *
+ * ОТКРЫТАЯ И ЗАКРЫТАЯ МОДЕЛЬ:
+ * Закрытая модель - "N потоков в цикле: запрос, ответ, следующий запрос". Когда сервер
+ * тормозит, потоки ждут и сами снижают нагрузку - замер показывает меньше проблем, чем есть.
+ * Открытая модель - как настоящие пользователи: они приходят с постоянной частотой
+ * и не ждут друг друга. Если сервер не успевает, запросы копятся в очереди, и это видно.
+ *
+ * КАК ЭТО РАБОТАЕТ:
+ * 1. Заранее регистрируем profile.sessions пользователей (AuthClient.registerAndLogin)
+ * 2. Поток-планировщик каждые 1/rate секунды ставит операцию в очередь пула потоков.
+ *    Время i-й операции задано заранее: start + i * interval - оно не сдвигается,
+ *    даже если предыдущие операции ещё выполняются
+ * 3. Поток пула берёт свободного пользователя, выбирает операцию по OperationMix и
+ *    выполняет её через NotesClient; время и ошибки записываются по маршрутам
+ *    (двумя способами - см. "КООРДИНИРОВАННЫЙ ПРОПУСК" ниже). Если у операции есть
+ *    пауза (think time), пользователь возвращается в свободные только после неё
+ * 4. Свободных пользователей нет - операция ждёт в очереди waiting (delayed) и выполняется,
+ *    как только кто-то освободится. Занятого пользователя операции не делят: две операции
+ *    одного пользователя гонялись бы за одну заметку и давали ложные 404
+ * 5. После duration планировщик останавливается, прогон ждёт все запланированные операции
+ * 6. Аккаунты пользователей удаляются, результат возвращается в LoadResult
+ *
+ * КООРДИНИРОВАННЫЙ ПРОПУСК (coordinated omission):
+ * Если считать время от момента, когда поток реально отправил запрос, то задержка
+ * в очереди теряется: пока сервер "завис" на секунду, запросы не отправлялись вовсе,
+ * и в гистограмму попадает одно медленное значение вместо сотни. Хвосты (p99, p99.9)
+ * выглядят гораздо лучше, чем их увидели бы пользователи.
+ * Поэтому время записывается дважды:
+ * - uncorrected - от фактического начала запроса до ответа (время обслуживания)
+ * - corrected   - от ЗАПЛАНИРОВАННОГО момента отправки до ответа (время, которое видит
+ *                 пользователь, пришедший по расписанию; включает ожидание в очереди)
+ * Для планирования мощности нужно смотреть на corrected.
+ *
+ * Работает с любым baseUrl, в том числе со встроенной заглушкой (baseUrl=inproc).
+ */
+public class LoadEngine {
+
+    private final LoadProfile profile;
+    private final OperationMix mix;
+
+    private final LatencyHistograms uncorrected = new LatencyHistograms();
+    private final LatencyHistograms corrected = new LatencyHistograms();
+    private final LongAdder[] errors = new LongAdder[Route.values().length];
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder delayed = new LongAdder();
+
+    /**
+     * Свободные пользователи. Виртуальный пользователь выполняет одну операцию за раз, как настоящий.
+     */
+    private final ConcurrentLinkedQueue<LoadSession> idle = new ConcurrentLinkedQueue<>();
+    private final List<LoadSession> sessions = new ArrayList<>();
+
+    /**
+     * Запланированные моменты операций, которым не хватило свободного пользователя.
+     * Их выполняет поток, вернувший пользователя в свободные (см. dispatch()).
+     */
+    private final ConcurrentLinkedQueue<Long> waiting = new ConcurrentLinkedQueue<>();
+
+    /**
+     * Пул потоков нагрузки (задаётся в runLoad до первой операции).
+     */
+    private volatile ThreadPoolExecutor pool;
+
+    /**
+     * Возвращает пользователей в свободные после паузы (think time). Один поток:
+     * он только перекладывает сессии в очередь и запросов не выполняет.
+     */
+    private final ScheduledThreadPoolExecutor thinkTimer = new ScheduledThreadPoolExecutor(1, runnable -> {
+        Thread thread = new Thread(runnable, "load-think");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public LoadEngine(LoadProfile profile, OperationMix mix) {
+        this.profile = profile;
+        this.mix = mix;
+        for (int i = 0; i < errors.length; i++) {
+            errors[i] = new LongAdder();
+        }
+    }
+
+    /**
+     * @return гистограммы corrected, которые прогон заполняет прямо сейчас
+     *         (для замеров по ходу прогона, см. SoakMonitor)
+     */
+    public LatencyHistograms getCorrected() {
+        return corrected;
+    }
+
+    /**
+     * Выполняет прогон целиком: подготовка пользователей, нагрузка, удаление пользователей.
+     *
+     * @return результат прогона
+     */
+    public LoadResult run() {
+        return run(() -> { }, result -> { });
+    }
+
+    /**
+     * Прогон с точками синхронизации для LoadWorker: несколько процессов начинают
+     * нагрузку в один момент и удаляют пользователей только после того, как закончили все.
+     *
+     * @param beforeLoad вызывается, когда пользователи созданы, перед первой операцией
+     * @param afterLoad  вызывается с результатом до удаления пользователей
+     */
+    LoadResult run(Runnable beforeLoad, Consumer<LoadResult> afterLoad) {
+        if (profile.getWorkers() > TestEnv.getHttpPoolMaxPerRoute()) {
+            System.err.printf("Warning: %d workers share %d pooled connections (http.pool.maxPerRoute)%n",
+                    profile.getWorkers(), TestEnv.getHttpPoolMaxPerRoute());
+        }
+        ThreadPoolExecutor workers = newWorkerPool(profile.getWorkers());
+        try {
+            createSessions(workers);
+            beforeLoad.run();
+            LoadResult result = runLoad(workers);
+            afterLoad.accept(result);
+            return result;
+        } finally {
+            deleteSessions(workers);
+            workers.shutdownNow();
+            thinkTimer.shutdownNow();
+        }
+    }
+
+    private LoadResult runLoad(ThreadPoolExecutor workers) {
+        pool = workers;
+        long interval = (long) (TimeUnit.SECONDS.toNanos(1) / profile.getRatePerSecond());
+        long start = System.nanoTime();
+        long end = start + profile.getDuration().toNanos();
+
+        long scheduled = 0;
+        for (long intended = start; intended < end; intended = start + scheduled * interval) {
+            long wait = intended - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            long intendedStart = intended;
+            workers.execute(() -> arrive(intendedStart));
+            scheduled++;
+        }
+
+        // Дожидаемся операций: в очереди пула, в waiting и выполняющихся
+        long deadline = System.nanoTime() + TimeUnit.HOURS.toNanos(1);
+        while (completed.sum() < scheduled && System.nanoTime() < deadline
+                && !Thread.currentThread().isInterrupted()) {
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(1));
+        }
+        workers.shutdown();
+        try {
+            workers.awaitTermination(1, TimeUnit.HOURS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        long elapsed = System.nanoTime() - start;
+        return new LoadResult(profile, scheduled, completed.sum(), delayed.sum(), elapsed,
+                uncorrected, corrected, errors);
+    }
+
+    /**
+     * Операция пришла по расписанию: выполняется сразу или ждёт свободного пользователя.
+     *
+     * @param intendedStart запланированный момент отправки (System.nanoTime())
+     */
+    private void arrive(long intendedStart) {
+        LoadSession session = idle.poll();
+        if (session == null) {
+            delayed.increment();
+            waiting.offer(intendedStart);
+        } else {
+            executeOne(session, intendedStart);
+        }
+        dispatch();
+    }
+
+    /**
+     * Выполняет ждущие операции, пока есть свободные пользователи.
+     *
+     * Потерянного пробуждения нет: ждущая операция сначала встаёт в waiting, потом ищет
+     * пользователя, а освободившийся пользователь сначала встаёт в idle, потом проверяет waiting -
+     * кто-то из двоих обязательно увидит другого.
+     */
+    private void dispatch() {
+        while (!waiting.isEmpty()) {
+            LoadSession session = idle.poll();
+            if (session == null) {
+                return;
+            }
+            Long intendedStart = waiting.poll();
+            if (intendedStart == null) {
+                idle.offer(session); // ждущую операцию забрал другой поток
+                continue;
+            }
+            executeOne(session, intendedStart);
+        }
+    }
+
+    private void executeOne(LoadSession session, long intendedStart) {
+        WeightedOperation operation = mix.next();
+        TestSession.bind(session.session());
+        session.calling(operation.getRoute());
+        long start = System.nanoTime();
+        try {
+            operation.execute(session);
+        } catch (Exception | AssertionError e) {
+            errors[session.lastRoute().ordinal()].increment();
+        } finally {
+            long end = System.nanoTime();
+            Route route = session.lastRoute();
+            uncorrected.record(route, end - start);
+            corrected.record(route, end - intendedStart);
+            TestSession.unbind();
+            release(session, operation.getThinkTime().toNanos());
+            completed.increment();
+        }
+    }
+
+    private void release(LoadSession session, long thinkNanos) {
+        if (thinkNanos == 0) {
+            idle.offer(session);
+            return;
+        }
+        thinkTimer.schedule(() -> {
+            idle.offer(session);
+            // Пока есть ждущие операции, прогон не закончен и пул потоков работает
+            if (!waiting.isEmpty()) {
+                pool.execute(this::dispatch);
+            }
+        }, thinkNanos, TimeUnit.NANOSECONDS);
+    }
+
+    // ==================== ПОЛЬЗОВАТЕЛИ ====================
+
+    private void createSessions(ThreadPoolExecutor workers) {
+        List<Future<String>> tokens = new ArrayList<>(profile.getSessions());
+        for (int i = 0; i < profile.getSessions(); i++) {
+            tokens.add(workers.submit(() -> AuthClient.registerAndLogin(TestData.randomUser())));
+        }
+        for (Future<String> token : tokens) {
+            try {
+                LoadSession session = new LoadSession(token.get());
+                sessions.add(session);
+                idle.add(session);
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("Cannot create load test user", e.getCause());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while creating load test users", e);
+            }
+        }
+    }
+
+    private void deleteSessions(ThreadPoolExecutor workers) {
+        if (sessions.isEmpty()) {
+            return;
+        }
+        // Пул уже мог быть остановлен после нагрузки - удаляем через отдельный
+        ThreadPoolExecutor cleanup = workers.isShutdown() ? newWorkerPool(profile.getWorkers()) : workers;
+        List<Future<?>> deletions = new ArrayList<>(sessions.size());
+        for (LoadSession session : sessions) {
+            deletions.add(cleanup.submit(() -> AuthClient.deleteAccount(session.token())));
+        }
+        for (Future<?> deletion : deletions) {
+            try {
+                deletion.get();
+            } catch (ExecutionException e) {
+                System.err.println("Warning: Failed to delete load test user: " + e.getCause());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        sessions.clear();
+        cleanup.shutdownNow();
+    }
+
+    private static ThreadPoolExecutor newWorkerPool(int size) {
+        AtomicInteger counter = new AtomicInteger();
+        // Очередь без ограничения: в открытой модели операции не отбрасываются,
+        // а ждут свободного потока - это ожидание и есть признак перегрузки
+        return new ThreadPoolExecutor(size, size, 0, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "load-worker-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+}
@@ -0,0 +1,92 @@
+package com.example.notes.load;
+
+import java.time.Duration;
+import java.util.Locale;
+
+/**
+ * Параметры нагрузочного прогона (что и с какой интенсивностью запускает LoadEngine).
+ *
+ * ПАРАМЕТРЫ:
+ * - ratePerSecond - сколько операций в секунду запускать (частота прихода запросов)
+ * - duration      - сколько длится нагрузка
+ * - sessions      - сколько пользователей (аккаунтов с токеном) создать заранее
+ * - workers       - сколько потоков выполняют операции одновременно
+ *
+ * КАК ВЫБРАТЬ workers:
+ * Один поток держит один запрос в полёте (Rest-Assured блокирующий). Если сервер отвечает
+ * за 200 мс, а нужно 500 запросов в секунду, в полёте будет около 100 запросов -
+ * значит, потоков нужно не меньше 100 (с запасом на всплески). Пул соединений
+ * (http.pool.maxTotal, http.pool.maxPerRoute) должен быть не меньше workers.
+ */
+public class LoadProfile {
+
+    private final double ratePerSecond;
+    private final Duration duration;
+    private final int sessions;
+    private final int workers;
+
+    public LoadProfile(double ratePerSecond, Duration duration, int sessions, int workers) {
+        if (ratePerSecond <= 0) {
+            throw new IllegalArgumentException("Rate must be positive: " + ratePerSecond);
+        }
+        if (sessions < 1 || workers < 1) {
+            throw new IllegalArgumentException("Sessions and workers must be at least 1");
+        }
+        this.ratePerSecond = ratePerSecond;
+        this.duration = duration;
+        this.sessions = sessions;
+        this.workers = workers;
+    }
+
+    public double getRatePerSecond() {
+        return ratePerSecond;
+    }
+
+    public Duration getDuration() {
+        return duration;
+    }
+
+    public int getSessions() {
+        return sessions;
+    }
+
+    public int getWorkers() {
+        return workers;
+    }
+
+    /**
+     * Разбирает длительность: 500ms, 90s, 5m, 2h. Число без суффикса - секунды.
+     *
+     * @param value строка длительности
+     * @return длительность (больше нуля)
+     */
+    public static Duration parseDuration(String value) {
+        String text = value.trim().toLowerCase(Locale.ROOT);
+        Duration duration;
+        try {
+            if (text.endsWith("ms")) {
+                duration = Duration.ofMillis(Long.parseLong(text.substring(0, text.length() - 2)));
+            } else if (text.endsWith("s")) {
+                duration = Duration.ofSeconds(Long.parseLong(text.substring(0, text.length() - 1)));
+            } else if (text.endsWith("m")) {
+                duration = Duration.ofMinutes(Long.parseLong(text.substring(0, text.length() - 1)));
+            } else if (text.endsWith("h")) {
+                duration = Duration.ofHours(Long.parseLong(text.substring(0, text.length() - 1)));
+            } else {
+                duration = Duration.ofSeconds(Long.parseLong(text));
+            }
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid duration: " + value + " (expected e.g. 90s, 5m, 2h)");
+        }
+        if (duration.isZero() || duration.isNegative()) {
+            throw new IllegalArgumentException("Duration must be positive: " + value);
+        }
+        return duration;
+    }
+
+    @Override
+    public String toString() {
+        return String.format(Locale.ROOT, "%.1f op/s for %d s, %d sessions, %d workers",
+                ratePerSecond, duration.getSeconds(), sessions, workers);
+    }
+}
@@ -0,0 +1,180 @@
+package com.example.notes.load;
+
+import com.example.notes.core.LatencyHistograms;
+import com.example.notes.core.LatencyReport;
+import com.example.notes.endpoints.Route;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Результат нагрузочного прогона: сколько операций запланировано и выполнено,
+ * какая частота получилась на самом деле, ошибки и время ответа по маршрутам.
+ *
+ * ДОСТИГНУТАЯ ЧАСТОТА (achieved rate):
+ * completed / время прогона. Если она заметно ниже заданной - пул потоков или
+ * сервер не справляются, и операции копились в очереди.
+ *
+ * ДВА ВРЕМЕНИ ОТВЕТА (см. LoadEngine, "КООРДИНИРОВАННЫЙ ПРОПУСК"):
+ * - uncorrected - от фактической отправки запроса
+ * - corrected   - от запланированной отправки (включает ожидание в очереди)
+ * Если corrected p99 сильно больше uncorrected p99 - система не держит заданную частоту.
+ *
+ * ОТЛОЖЕННЫЕ ОПЕРАЦИИ (delayed):
+ * Сколько операций пришло, когда все виртуальные пользователи были заняты, и ждали
+ * свободного. Их ожидание входит в corrected. Много delayed - мало profile.sessions
+ * для заданной частоты (или API отвечает медленнее, чем приходят операции).
+ */
+public class LoadResult {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+    private final LoadProfile profile;
+    private final long scheduled;
+    private final long completed;
+    private final long delayed;
+    private final long elapsedNanos;
+    private final LatencyHistograms uncorrected;
+    private final LatencyHistograms corrected;
+    private final long[] errors;
+
+    LoadResult(LoadProfile profile, long scheduled, long completed, long delayed, long elapsedNanos,
+               LatencyHistograms uncorrected, LatencyHistograms corrected, LongAdder[] errors) {
+        this.profile = profile;
+        this.scheduled = scheduled;
+        this.completed = completed;
+        this.delayed = delayed;
+        this.elapsedNanos = elapsedNanos;
+        this.uncorrected = uncorrected;
+        this.corrected = corrected;
+        this.errors = new long[errors.length];
+        for (int i = 0; i < errors.length; i++) {
+            this.errors[i] = errors[i].sum();
+        }
+    }
+
+    public LoadProfile getProfile() {
+        return profile;
+    }
+
+    public long getScheduled() {
+        return scheduled;
+    }
+
+    public long getCompleted() {
+        return completed;
+    }
+
+    /**
+     * @return операций, ждавших свободного виртуального пользователя
+     */
+    public long getDelayed() {
+        return delayed;
+    }
+
+    /**
+     * @return время прогона от первой запланированной операции до завершения последней
+     */
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    /**
+     * @return выполненных операций в секунду
+     */
+    public double getAchievedRate() {
+        return completed * (double) TimeUnit.SECONDS.toNanos(1) / elapsedNanos;
+    }
+
+    /**
+     * @return число ошибок по всем маршрутам
+     */
+    public long getErrors() {
+        long total = 0;
+        for (long count : errors) {
+            total += count;
+        }
+        return total;
+    }
+
+    public long getErrors(Route route) {
+        return errors[route.ordinal()];
+    }
+
+    /**
+     * @return время от фактической отправки запроса до ответа
+     */
+    public LatencyHistograms getUncorrected() {
+        return uncorrected;
+    }
+
+    /**
+     * @return время от запланированной отправки запроса до ответа
+     */
+    public LatencyHistograms getCorrected() {
+        return corrected;
+    }
+
+    /**
+     * Печатает итог прогона: частоты, ошибки и таблицу перцентилей по маршрутам.
+     */
+    public void print(PrintStream out) {
+        out.printf(Locale.ROOT, "Load run: %s%n", profile);
+        out.printf(Locale.ROOT, "Scheduled %d, completed %d, delayed %d, errors %d, achieved %.1f op/s in %.1f s%n",
+                scheduled, completed, delayed, getErrors(), getAchievedRate(), elapsedNanos / 1e9);
+        out.printf(Locale.ROOT, "%-22s %8s %7s | %-35s | %-35s%n", "", "", "", "uncorrected, ms", "corrected, ms");
+        out.printf(Locale.ROOT, "%-22s %8s %7s | %8s %8s %8s %8s | %8s %8s %8s %8s%n",
+                "route", "count", "errors", "p50", "p99", "p99.9", "max", "p50", "p99", "p99.9", "max");
+        for (Route route : Route.values()) {
+            Histogram plain = uncorrected.snapshot(route);
+            if (plain.getTotalCount() == 0) {
+                continue;
+            }
+            Histogram fixed = corrected.snapshot(route);
+            out.printf(Locale.ROOT, "%-22s %8d %7d | %8.2f %8.2f %8.2f %8.2f | %8.2f %8.2f %8.2f %8.2f%n",
+                    route.label(), plain.getTotalCount(), getErrors(route),
+                    plain.getValueAtPercentile(50) / 1e3, plain.getValueAtPercentile(99) / 1e3,
+                    plain.getValueAtPercentile(99.9) / 1e3, plain.getMaxValue() / 1e3,
+                    fixed.getValueAtPercentile(50) / 1e3, fixed.getValueAtPercentile(99) / 1e3,
+                    fixed.getValueAtPercentile(99.9) / 1e3, fixed.getMaxValue() / 1e3);
+        }
+    }
+
+    /**
+     * Записывает результат в каталог: summary.json, latency.json и latency.csv
+     * (в latency.* - uncorrected и corrected рядом по каждому маршруту).
+     *
+     * @param directory каталог отчёта (создаётся, если его нет)
+     */
+    public void write(Path directory) throws IOException {
+        Files.createDirectories(directory);
+        ObjectNode summary = MAPPER.createObjectNode();
+        summary.put("target_rate", profile.getRatePerSecond());
+        summary.put("duration_s", profile.getDuration().getSeconds());
+        summary.put("sessions", profile.getSessions());
+        summary.put("workers", profile.getWorkers());
+        summary.put("scheduled", scheduled);
+        summary.put("completed", completed);
+        summary.put("delayed", delayed);
+        summary.put("achieved_rate", Math.round(getAchievedRate() * 10) / 10.0);
+        summary.put("errors", getErrors());
+        ObjectNode byRoute = summary.putObject("errors_by_route");
+        for (Route route : Route.values()) {
+            if (errors[route.ordinal()] > 0) {
+                byRoute.put(route.label(), errors[route.ordinal()]);
+            }
+        }
+        MAPPER.writeValue(directory.resolve("summary.json").toFile(), summary);
+        LatencyReport.writeSideBySideJson(uncorrected, corrected, directory.resolve("latency.json"));
+        LatencyReport.writeSideBySideCsv(uncorrected, corrected, directory.resolve("latency.csv"));
+    }
+}
@@ -0,0 +1,78 @@
+package com.example.notes.load;
+
+import com.example.notes.core.TestSession;
+import com.example.notes.endpoints.Route;
+
+import java.util.concurrent.ConcurrentLinkedDeque;
+
+/**
+ * Виртуальный пользователь нагрузочного прогона: аккаунт с токеном и его заметки.
+ *
+ * Заметки, созданные в прогоне, запоминаются здесь, чтобы операции
+ * чтения, обновления и удаления работали с существующими ID.
+ * Сессия выполняет одну операцию за раз (см. LoadEngine, ConcurrencySweep).
+ */
+class LoadSession {
+
+    private final TestSession session;
+
+    private final ConcurrentLinkedDeque<String> noteIds = new ConcurrentLinkedDeque<>();
+
+    /**
+     * Маршрут, который операция вызывает сейчас (или вызвала последним).
+     */
+    private volatile Route route = Route.UNKNOWN;
+
+    LoadSession(String token) {
+        this.session = new TestSession(token);
+    }
+
+    TestSession session() {
+        return session;
+    }
+
+    String token() {
+        return session.getToken();
+    }
+
+    /**
+     * Отмечает маршрут перед запросом: если запрос упадёт, ошибка будет записана на него.
+     */
+    void calling(Route route) {
+        this.route = route;
+    }
+
+    /**
+     * @return маршрут последнего запроса сессии (в том числе неудачного)
+     */
+    Route lastRoute() {
+        return route;
+    }
+
+    void addNote(String id) {
+        noteIds.offerLast(id);
+    }
+
+    /**
+     * @return самая новая заметка или null, если заметок нет
+     */
+    String newestNote() {
+        return noteIds.peekLast();
+    }
+
+    /**
+     * @return самая старая заметка или null, если заметок нет
+     */
+    String oldestNote() {
+        return noteIds.peekFirst();
+    }
+
+    /**
+     * Забирает самую старую заметку (для удаления).
+     *
+     * @return ID заметки или null, если заметок нет
+     */
+    String takeOldestNote() {
+        return noteIds.pollFirst();
+    }
+}
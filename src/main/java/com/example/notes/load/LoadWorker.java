@@ -0,0 +1,85 @@
+package com.example.notes.load;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.Socket;
+
+/**
+ * Процесс нагрузки, который запускает DistributedLoad: своя JVM, свои пользователи,
+ * своя доля частоты. Вручную его запускать не нужно.
+ *
+ * КАК ЭТО РАБОТАЕТ:
+ * 1. Подключается к координатору (127.0.0.1:port) и сообщает свой номер
+ * 2. Получает свою долю нагрузки (LoadProfile) и создаёт пользователей в LoadEngine
+ * 3. Сообщает READY и ждёт GO с общим моментом старта; засыпает до этого момента
+ * 4. Даёт нагрузку, отправляет счётчики и гистограммы (WorkerProtocol.RESULT)
+ * 5. Ждёт RELEASE и только потом удаляет пользователей
+ * Настройки (baseUrl, workload, http.pool.*) приходят системными свойствами от координатора.
+ *
+ * АРГУМЕНТЫ: port index
+ * Код выхода 0 - результат отправлен, 1 - ошибка (координатор увидит закрытое соединение).
+ */
+public class LoadWorker {
+
+    public static void main(String[] args) {
+        int port = Integer.parseInt(args[0]);
+        int index = Integer.parseInt(args[1]);
+        int exitCode = 0;
+        try (Socket socket = new Socket(InetAddress.getLoopbackAddress(), port)) {
+            socket.setTcpNoDelay(true);
+            DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+            DataOutputStream out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+            out.writeByte(WorkerProtocol.HELLO);
+            out.writeInt(index);
+            out.flush();
+
+            LoadProfile profile = WorkerProtocol.readJob(in);
+            new LoadEngine(profile, OperationMix.configured()).run(
+                    () -> awaitStart(in, out),
+                    result -> report(in, out, result));
+        } catch (Exception e) {
+            System.err.println("Load worker " + index + " failed: " + e);
+            exitCode = 1;
+        }
+        // Пул соединений держит фоновые потоки - завершаем процесс явно
+        System.exit(exitCode);
+    }
+
+    /**
+     * Барьер старта: READY, затем ожидание GO и общего момента начала нагрузки.
+     */
+    static void awaitStart(DataInputStream in, DataOutputStream out) {
+        try {
+            out.writeByte(WorkerProtocol.READY);
+            out.flush();
+            WorkerProtocol.expect(in, WorkerProtocol.GO);
+            // Часы currentTimeMillis общие для процессов одной машины, nanoTime - нет
+            long delay = in.readLong() - System.currentTimeMillis();
+            if (delay > 0) {
+                Thread.sleep(delay);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted before start", e);
+        }
+    }
+
+    /**
+     * Барьер остановки: отправляет результат и ждёт, пока его отправят все процессы.
+     */
+    static void report(DataInputStream in, DataOutputStream out, LoadResult result) {
+        try {
+            WorkerProtocol.writeResult(out, result);
+            WorkerProtocol.expect(in, WorkerProtocol.RELEASE);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.example.notes.load;
+
+import com.example.notes.endpoints.NotesClient;
+import com.example.notes.endpoints.Route;
+
+/**
+ * Операции нагрузки над заметками - каждая вызывает NotesClient от имени сессии.
+ *
+ * КАКОЙ МЕТОД ВЫЗЫВАЕТСЯ:
+ * - LIST   - NotesClient.getAllNotes()
+ * - CREATE - NotesClient.createNote(payload.note())
+ * - GET    - NotesClient.getNote(самая новая заметка)
+ * - UPDATE - NotesClient.updateNote(самая старая заметка, payload.update())
+ * - DELETE - NotesClient.deleteNote(самая старая заметка)
+ *
+ * Если у пользователя ещё нет заметок, GET, UPDATE и DELETE выполняют CREATE:
+ * операция всё равно состоится, просто другая. Поэтому execute() возвращает
+ * маршрут, который на самом деле был вызван, и отмечает его в сессии до запроса
+ * (LoadSession.lastRoute() - на случай, если запрос упадёт).
+ */
+public enum Operation {
+
+    LIST(Route.LIST_NOTES),
+    CREATE(Route.CREATE_NOTE),
+    GET(Route.GET_NOTE),
+    UPDATE(Route.UPDATE_NOTE),
+    DELETE(Route.DELETE_NOTE);
+
+    private final Route route;
+
+    Operation(Route route) {
+        this.route = route;
+    }
+
+    public Route getRoute() {
+        return route;
+    }
+
+    /**
+     * Выполняет операцию. Сессия должна быть привязана к потоку (TestSession.bind).
+     *
+     * @param payload размер тела для CREATE и UPDATE (остальные операции его не используют)
+     * @return маршрут, который был вызван
+     */
+    Route execute(LoadSession session, PayloadProfile payload) {
+        switch (this) {
+            case LIST:
+                session.calling(route);
+                NotesClient.getAllNotes();
+                return route;
+            case GET: {
+                String id = session.newestNote();
+                if (id == null) {
+                    return CREATE.execute(session, payload);
+                }
+                session.calling(route);
+                NotesClient.getNote(id);
+                return route;
+            }
+            case UPDATE: {
+                String id = session.oldestNote();
+                if (id == null) {
+                    return CREATE.execute(session, payload);
+                }
+                session.calling(route);
+                NotesClient.updateNote(id, payload.update());
+                return route;
+            }
+            case DELETE: {
+                String id = session.takeOldestNote();
+                if (id == null) {
+                    return CREATE.execute(session, payload);
+                }
+                session.calling(route);
+                NotesClient.deleteNote(id);
+                return route;
+            }
+            default:
+                session.calling(Route.CREATE_NOTE);
+                session.addNote(NotesClient.createNote(payload.note()).getId());
+                return Route.CREATE_NOTE;
+        }
+    }
+}
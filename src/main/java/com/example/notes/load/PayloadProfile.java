@@ -0,0 +1,44 @@
+package com.example.notes.load;
+
+import com.example.notes.data.TestData;
+import com.example.notes.models.NoteCreateRequest;
+import com.example.notes.models.NoteUpdateRequest;
+
+/**
+ * Размер тела запроса для операций создания и обновления заметки.
+ *
+ * ЗАЧЕМ:
+ * Сервер тратит время на разбор и хранение тела. Нагрузка из одних коротких заметок
+ * выглядит лучше, чем реальная, если пользователи пишут длинные описания.
+ *
+ * РАЗМЕРЫ (длина описания):
+ * - SMALL  - как в функциональных тестах (TestData.simpleNote, TestData.updateNoteData)
+ * - MEDIUM - 250 символов
+ * - LARGE  - 1000 символов (максимум, который принимает API)
+ */
+public enum PayloadProfile {
+
+    SMALL(0),
+    MEDIUM(250),
+    LARGE(1000);
+
+    private final int descriptionLength;
+
+    PayloadProfile(int descriptionLength) {
+        this.descriptionLength = descriptionLength;
+    }
+
+    /**
+     * @return тело запроса создания заметки этого размера
+     */
+    public NoteCreateRequest note() {
+        return this == SMALL ? TestData.simpleNote() : TestData.noteWithDescriptionLength(descriptionLength);
+    }
+
+    /**
+     * @return тело запроса обновления заметки этого размера
+     */
+    public NoteUpdateRequest update() {
+        return this == SMALL ? TestData.updateNoteData() : TestData.updateWithDescriptionLength(descriptionLength);
+    }
+}
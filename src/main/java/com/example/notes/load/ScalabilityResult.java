@@ -0,0 +1,176 @@
+package com.example.notes.load;
+
+import com.example.notes.core.LatencyHistograms;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Результат ConcurrencySweep: пропускная способность на каждом уровне и модель USL.
+ *
+ * ФАЙЛЫ (write):
+ * - scalability.csv - concurrency,throughput,predicted,completed,errors,p50_ms,p99_ms
+ * - usl.json        - λ, σ, κ, R², N* и X(N*), плюс те же уровни
+ *
+ * КАК ЧИТАТЬ:
+ * - σ около 0 и κ около 0 - API масштабируется почти линейно на проверенных уровнях
+ * - σ заметно больше 0 - рост упирается в общий ресурс (предел λ/σ)
+ * - κ больше 0 - после N* клиентов пропускная способность падает; пул соединений
+ *   и число потоков клиента больше N* делать не нужно
+ */
+public class ScalabilityResult {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+    /**
+     * Замер одного уровня одновременности.
+     */
+    public static class Level {
+
+        private final int concurrency;
+        private final double throughput;
+        private final long completed;
+        private final long errors;
+        private final LatencyHistograms latencies;
+
+        Level(int concurrency, double throughput, long completed, long errors, LatencyHistograms latencies) {
+            this.concurrency = concurrency;
+            this.throughput = throughput;
+            this.completed = completed;
+            this.errors = errors;
+            this.latencies = latencies;
+        }
+
+        public int getConcurrency() {
+            return concurrency;
+        }
+
+        /**
+         * @return выполненных операций в секунду (без прогрева)
+         */
+        public double getThroughput() {
+            return throughput;
+        }
+
+        public long getCompleted() {
+            return completed;
+        }
+
+        public long getErrors() {
+            return errors;
+        }
+
+        public LatencyHistograms getLatencies() {
+            return latencies;
+        }
+    }
+
+    private final List<Level> levels;
+    private final UslModel model;
+
+    ScalabilityResult(List<Level> levels) {
+        this.levels = Collections.unmodifiableList(new ArrayList<>(levels));
+        this.model = fit(levels);
+    }
+
+    private static UslModel fit(List<Level> levels) {
+        if (levels.size() < 2 || levels.get(0).getThroughput() <= 0) {
+            return null;
+        }
+        int[] concurrency = new int[levels.size()];
+        double[] throughput = new double[levels.size()];
+        for (int i = 0; i < levels.size(); i++) {
+            concurrency[i] = levels.get(i).getConcurrency();
+            throughput[i] = levels.get(i).getThroughput();
+        }
+        return UslModel.fit(concurrency, throughput);
+    }
+
+    public List<Level> getLevels() {
+        return levels;
+    }
+
+    /**
+     * @return модель USL или null, если уровней меньше двух или при N = 1 нет ни одной операции
+     */
+    public UslModel getModel() {
+        return model;
+    }
+
+    /**
+     * Печатает уровни, коэффициенты и предсказанный пик.
+     */
+    public void print(PrintStream out) {
+        out.printf("%n%12s %12s %12s %8s %9s %9s%n", "concurrency", "op/s", "USL op/s", "errors", "p50 ms", "p99 ms");
+        for (Level level : levels) {
+            Histogram latency = level.getLatencies().merged();
+            out.printf(Locale.ROOT, "%12d %12.1f %12s %8d %9.2f %9.2f%n",
+                    level.getConcurrency(), level.getThroughput(),
+                    model == null ? "-" : String.format(Locale.ROOT, "%.1f", model.predict(level.getConcurrency())),
+                    level.getErrors(), latency.getValueAtPercentile(50) / 1e3, latency.getValueAtPercentile(99) / 1e3);
+        }
+        if (model == null) {
+            out.println("Not enough data for a USL fit (need concurrency 1 and at least one more level)");
+            return;
+        }
+        out.printf(Locale.ROOT, "USL: lambda %.2f op/s, sigma (contention) %.5f, kappa (coherency) %.6f, R^2 %.4f%n",
+                model.getLambda(), model.getSigma(), model.getKappa(), model.getRSquared());
+        if (Double.isInfinite(model.peakConcurrency())) {
+            out.printf(Locale.ROOT, "No retrograde region (kappa = 0): throughput levels off at %.1f op/s%n",
+                    model.peakThroughput());
+        } else {
+            out.printf(Locale.ROOT, "Predicted peak: %.0f concurrent sessions, %.1f op/s%n",
+                    model.peakConcurrency(), model.peakThroughput());
+        }
+    }
+
+    /**
+     * Записывает scalability.csv и usl.json в каталог.
+     */
+    public void write(Path directory) throws IOException {
+        Files.createDirectories(directory);
+        StringBuilder csv = new StringBuilder("concurrency,throughput,predicted,completed,errors,p50_ms,p99_ms\n");
+        ObjectNode root = MAPPER.createObjectNode();
+        if (model != null) {
+            root.put("lambda", model.getLambda());
+            root.put("sigma", model.getSigma());
+            root.put("kappa", model.getKappa());
+            root.put("r_squared", model.getRSquared());
+            if (!Double.isInfinite(model.peakConcurrency())) {
+                root.put("peak_concurrency", model.peakConcurrency());
+            }
+            if (!Double.isInfinite(model.peakThroughput())) {
+                root.put("peak_throughput", model.peakThroughput());
+            }
+        }
+        ArrayNode rows = root.putArray("levels");
+        for (Level level : levels) {
+            Histogram latency = level.getLatencies().merged();
+            double predicted = model == null ? Double.NaN : model.predict(level.getConcurrency());
+            csv.append(String.format(Locale.ROOT, "%d,%.2f,%.2f,%d,%d,%.3f,%.3f\n",
+                    level.getConcurrency(), level.getThroughput(), predicted, level.getCompleted(), level.getErrors(),
+                    latency.getValueAtPercentile(50) / 1e3, latency.getValueAtPercentile(99) / 1e3));
+            ObjectNode row = rows.addObject();
+            row.put("concurrency", level.getConcurrency());
+            row.put("throughput", level.getThroughput());
+            row.put("completed", level.getCompleted());
+            row.put("errors", level.getErrors());
+            row.put("p50_ms", latency.getValueAtPercentile(50) / 1e3);
+            row.put("p99_ms", latency.getValueAtPercentile(99) / 1e3);
+        }
+        Files.write(directory.resolve("scalability.csv"), csv.toString().getBytes(StandardCharsets.UTF_8));
+        MAPPER.writeValue(directory.resolve("usl.json").toFile(), root);
+    }
+}
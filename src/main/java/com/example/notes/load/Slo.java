@@ -0,0 +1,72 @@
+package com.example.notes.load;
+
+import com.example.notes.config.TestEnv;
+
+import java.util.Locale;
+
+/**
+ * Цель по качеству обслуживания (SLO), по которой CapacitySearch решает, выдержана ли ступень.
+ *
+ * СТУПЕНЬ ВЫДЕРЖАНА, ЕСЛИ:
+ * 1. corrected p99 (от запланированной отправки, см. LoadEngine) не больше p99Millis
+ * 2. доля ошибок не больше maxErrorRate
+ * 3. достигнутая частота не ниже 90% заданной - иначе генератор или сервер не успевают,
+ *    и ступень на самом деле проверяла меньшую нагрузку
+ */
+public class Slo {
+
+    /**
+     * Минимальная доля заданной частоты, которую должна показать ступень.
+     */
+    static final double MIN_ACHIEVED_SHARE = 0.9;
+
+    private final double p99Millis;
+    private final double maxErrorRate;
+
+    public Slo(double p99Millis, double maxErrorRate) {
+        if (p99Millis <= 0 || maxErrorRate < 0) {
+            throw new IllegalArgumentException("Invalid SLO: p99 " + p99Millis + " ms, error rate " + maxErrorRate);
+        }
+        this.p99Millis = p99Millis;
+        this.maxErrorRate = maxErrorRate;
+    }
+
+    /**
+     * @return SLO из настроек slo.p99Millis и slo.errorRate
+     */
+    public static Slo fromConfig() {
+        return new Slo(TestEnv.getSloP99Millis(), TestEnv.getSloErrorRate());
+    }
+
+    /**
+     * @return null, если ступень выдержала SLO, иначе причина (для отчёта)
+     */
+    public String violation(LoadResult result) {
+        double target = result.getProfile().getRatePerSecond();
+        if (result.getAchievedRate() < target * MIN_ACHIEVED_SHARE) {
+            return String.format(Locale.ROOT, "achieved %.1f of %.1f op/s", result.getAchievedRate(), target);
+        }
+        double errorRate = result.getCompleted() == 0 ? 1.0 : (double) result.getErrors() / result.getCompleted();
+        if (errorRate > maxErrorRate) {
+            return String.format(Locale.ROOT, "error rate %.2f%% > %.2f%%", errorRate * 100, maxErrorRate * 100);
+        }
+        double p99 = result.getCorrected().merged().getValueAtPercentile(99) / 1e3;
+        if (p99 > p99Millis) {
+            return String.format(Locale.ROOT, "p99 %.1f ms > %.1f ms", p99, p99Millis);
+        }
+        return null;
+    }
+
+    public double getP99Millis() {
+        return p99Millis;
+    }
+
+    public double getMaxErrorRate() {
+        return maxErrorRate;
+    }
+
+    @Override
+    public String toString() {
+        return String.format(Locale.ROOT, "p99 <= %.0f ms, errors <= %.2f%%", p99Millis, maxErrorRate * 100);
+    }
+}
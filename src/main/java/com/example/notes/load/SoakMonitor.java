@@ -0,0 +1,217 @@
+package com.example.notes.load;
+
+import com.example.notes.core.HttpConnectionPool;
+import com.example.notes.core.LatencyHistograms;
+import org.apache.http.pool.PoolStats;
+import org.HdrHistogram.Histogram;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.lang.management.MemoryUsage;
+import java.lang.management.OperatingSystemMXBean;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Периодические замеры во время долгого прогона (сценарий soak): время ответа
+ * за интервал и ресурсы клиента - куча, потоки, файловые дескрипторы, соединения.
+ *
+ * ЗАЧЕМ НУЖЕН ЭТОТ КЛАСС:
+ * Итог за час прогона скрывает медленную деградацию: p99 растёт на 1% каждые пять
+ * минут, клиент теряет по соединению в минуту - в среднем всё выглядит прилично.
+ * Ряд замеров через равные интервалы показывает тренд (см. SoakReport).
+ *
+ * ЧТО ЗАМЕРЯЕТСЯ (каждые interval):
+ * - requests, p50, p99 - только за интервал: текущая гистограмма LoadEngine минус
+ *   предыдущий снимок (Histogram.subtract), значения corrected
+ * - heap after GC - занятая куча сразу после последней сборки (MemoryPoolMXBean.getCollectionUsage).
+ *   Текущая занятость скачет от мусора между сборками, а после GC остаются только
+ *   живые объекты - их рост и есть утечка. Пока сборок не было, значение -1
+ * - threads - потоки JVM (ThreadMXBean)
+ * - open FDs - открытые файловые дескрипторы, включая сокеты (только Unix, иначе -1)
+ * - pooled / leased - соединения в HttpConnectionPool: всего и занятых
+ *
+ * Поток замеров один и daemon; замер не блокирует потоки нагрузки.
+ */
+public class SoakMonitor {
+
+    /**
+     * Один замер.
+     */
+    public static class Sample {
+
+        private final double elapsedSeconds;
+        private final long requests;
+        private final double p50Millis;
+        private final double p99Millis;
+        private final double heapAfterGcMb;
+        private final int threads;
+        private final long openFds;
+        private final int pooled;
+        private final int leased;
+
+        public Sample(double elapsedSeconds, long requests, double p50Millis, double p99Millis,
+                      double heapAfterGcMb, int threads, long openFds, int pooled, int leased) {
+            this.elapsedSeconds = elapsedSeconds;
+            this.requests = requests;
+            this.p50Millis = p50Millis;
+            this.p99Millis = p99Millis;
+            this.heapAfterGcMb = heapAfterGcMb;
+            this.threads = threads;
+            this.openFds = openFds;
+            this.pooled = pooled;
+            this.leased = leased;
+        }
+
+        public double getElapsedSeconds() {
+            return elapsedSeconds;
+        }
+
+        public long getRequests() {
+            return requests;
+        }
+
+        public double getP50Millis() {
+            return p50Millis;
+        }
+
+        public double getP99Millis() {
+            return p99Millis;
+        }
+
+        /**
+         * @return МБ кучи после последней сборки; -1, если сборок ещё не было
+         */
+        public double getHeapAfterGcMb() {
+            return heapAfterGcMb;
+        }
+
+        public int getThreads() {
+            return threads;
+        }
+
+        /**
+         * @return открытые дескрипторы; -1, если ОС не даёт это узнать
+         */
+        public long getOpenFds() {
+            return openFds;
+        }
+
+        public int getPooled() {
+            return pooled;
+        }
+
+        public int getLeased() {
+            return leased;
+        }
+    }
+
+    private final LatencyHistograms latencies;
+    private final Duration interval;
+    private final List<Sample> samples = Collections.synchronizedList(new ArrayList<>());
+    private final ScheduledExecutorService timer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "soak-monitor");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private Histogram previous;
+    private long startNanos;
+
+    /**
+     * @param latencies гистограммы, которые заполняет прогон (LoadEngine.getCorrected())
+     * @param interval  период замеров
+     */
+    public SoakMonitor(LatencyHistograms latencies, Duration interval) {
+        if (interval.isZero() || interval.isNegative()) {
+            throw new IllegalArgumentException("Sampling interval must be positive: " + interval);
+        }
+        this.latencies = latencies;
+        this.interval = interval;
+    }
+
+    /**
+     * Начинает замеры: первый - через interval.
+     */
+    public void start() {
+        startNanos = System.nanoTime();
+        previous = latencies.merged();
+        long period = interval.toMillis();
+        timer.scheduleAtFixedRate(this::sample, period, period, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Останавливает замеры.
+     */
+    public void stop() {
+        timer.shutdownNow();
+        try {
+            timer.awaitTermination(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * @return замеры в порядке времени
+     */
+    public List<Sample> getSamples() {
+        synchronized (samples) {
+            return new ArrayList<>(samples);
+        }
+    }
+
+    public Duration getInterval() {
+        return interval;
+    }
+
+    private void sample() {
+        Histogram current = latencies.merged();
+        Histogram window = current.copy();
+        window.subtract(previous);
+        previous = current;
+
+        PoolStats pool = HttpConnectionPool.poolStats();
+        Sample sample = new Sample((System.nanoTime() - startNanos) / 1e9, window.getTotalCount(),
+                window.getValueAtPercentile(50) / 1e3, window.getValueAtPercentile(99) / 1e3,
+                heapAfterGcMb(), ManagementFactory.getThreadMXBean().getThreadCount(), openFileDescriptors(),
+                pool.getLeased() + pool.getAvailable(), pool.getLeased());
+        samples.add(sample);
+        System.out.printf("soak %6.0f s: %6d req, p99 %8.2f ms, heap after GC %7.1f MB, %3d threads, %4d fds, %3d/%3d conns%n",
+                sample.getElapsedSeconds(), sample.getRequests(), sample.getP99Millis(), sample.getHeapAfterGcMb(),
+                sample.getThreads(), sample.getOpenFds(), sample.getLeased(), sample.getPooled());
+    }
+
+    /**
+     * @return сумма занятой памяти пулов кучи после последней сборки, МБ; -1 - сборок не было
+     */
+    static double heapAfterGcMb() {
+        long used = 0;
+        boolean collected = false;
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            MemoryUsage usage = pool.getCollectionUsage();
+            if (pool.getType() == MemoryType.HEAP && usage != null) {
+                used += usage.getUsed();
+                collected |= usage.getUsed() > 0 || usage.getCommitted() > 0;
+            }
+        }
+        return collected ? used / (1024.0 * 1024.0) : -1;
+    }
+
+    /**
+     * @return открытые файловые дескрипторы процесса; -1, если недоступно (не Unix)
+     */
+    static long openFileDescriptors() {
+        OperatingSystemMXBean os = ManagementFactory.getOperatingSystemMXBean();
+        if (os instanceof com.sun.management.UnixOperatingSystemMXBean) {
+            return ((com.sun.management.UnixOperatingSystemMXBean) os).getOpenFileDescriptorCount();
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,256 @@
+package com.example.notes.load;
+
+import com.example.notes.config.TestEnv;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Итог долгого прогона: тренды по замерам SoakMonitor и проверка порогов дрейфа.
+ *
+ * КАК ЭТО РАБОТАЕТ:
+ * 1. Первые warmupShare замеров отбрасываются: прогрев JIT, наполнение пула
+ *    соединений и кэшей - это рост, но не утечка
+ * 2. По остальным замерам для каждой величины строится линейный тренд (Trend)
+ * 3. Дрейф = значение тренда в последнем замере минус значение в первом, то есть
+ *    рост за весь прогон после прогрева. Для p99 - в процентах от начального значения
+ * 4. Дрейф сравнивается с порогом; превышение хотя бы одного порога - прогон провален
+ *
+ * ПОРОГИ (soak.* в EnvConfig):
+ * - p99        soak.maxP99DriftPercent - сервер деградирует со временем
+ * - heap       soak.maxHeapGrowthMb    - клиент держит объекты (утечка памяти)
+ * - threads    soak.maxThreadGrowth    - клиент создаёт и не останавливает потоки
+ * - open FDs   soak.maxFdGrowth        - клиент не закрывает сокеты или файлы
+ * Величина, по которой меньше MIN_POINTS замеров (или ОС её не даёт), не проверяется.
+ *
+ * ФАЙЛЫ (write):
+ * - soak.csv   - замеры: elapsed_s,requests,p50_ms,p99_ms,heap_after_gc_mb,threads,open_fds,pooled,leased
+ * - drift.json - пороги, тренды и итог по каждой величине
+ */
+public class SoakReport {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+    /**
+     * Меньше замеров - тренд не строится.
+     */
+    static final int MIN_POINTS = 3;
+
+    /**
+     * Проверка одной величины.
+     */
+    public static class Drift {
+
+        private final String metric;
+        private final String unit;
+        private final Trend trend;
+        private final double drift;
+        private final double limit;
+
+        Drift(String metric, String unit, Trend trend, double drift, double limit) {
+            this.metric = metric;
+            this.unit = unit;
+            this.trend = trend;
+            this.drift = drift;
+            this.limit = limit;
+        }
+
+        public String getMetric() {
+            return metric;
+        }
+
+        /**
+         * @return тренд или null, если замеров не хватило
+         */
+        public Trend getTrend() {
+            return trend;
+        }
+
+        /**
+         * @return рост за прогон (для p99 - в процентах)
+         */
+        public double getDrift() {
+            return drift;
+        }
+
+        public double getLimit() {
+            return limit;
+        }
+
+        public boolean isChecked() {
+            return trend != null;
+        }
+
+        public boolean isExceeded() {
+            return trend != null && drift > limit;
+        }
+    }
+
+    private final List<SoakMonitor.Sample> samples;
+    private final List<Drift> drifts;
+
+    /**
+     * @param samples         замеры SoakMonitor
+     * @param warmupShare     доля замеров в начале, которые не входят в тренд
+     * @param maxP99Percent   допустимый рост p99, %
+     * @param maxHeapMb       допустимый рост кучи после GC, МБ
+     * @param maxThreads      допустимый рост числа потоков
+     * @param maxFds          допустимый рост числа дескрипторов
+     */
+    public SoakReport(List<SoakMonitor.Sample> samples, double warmupShare, double maxP99Percent,
+                      double maxHeapMb, double maxThreads, double maxFds) {
+        this.samples = Collections.unmodifiableList(new ArrayList<>(samples));
+        List<SoakMonitor.Sample> measured = samples.subList((int) (samples.size() * warmupShare), samples.size());
+        List<Drift> result = new ArrayList<>();
+        result.add(relativeDrift("p99", measured, maxP99Percent));
+        result.add(drift("heap after GC", "MB", measured, SoakMonitor.Sample::getHeapAfterGcMb, maxHeapMb));
+        result.add(drift("threads", "", measured, SoakMonitor.Sample::getThreads, maxThreads));
+        result.add(drift("open FDs", "", measured, sample -> sample.getOpenFds(), maxFds));
+        this.drifts = Collections.unmodifiableList(result);
+    }
+
+    /**
+     * Итог с порогами soak.* из EnvConfig.
+     */
+    public static SoakReport fromConfig(List<SoakMonitor.Sample> samples) {
+        return new SoakReport(samples, TestEnv.getSoakWarmupShare(), TestEnv.getSoakMaxP99DriftPercent(),
+                TestEnv.getSoakMaxHeapGrowthMb(), TestEnv.getSoakMaxThreadGrowth(), TestEnv.getSoakMaxFdGrowth());
+    }
+
+    /**
+     * Рост p99 в процентах; интервалы без запросов не учитываются.
+     */
+    private static Drift relativeDrift(String metric, List<SoakMonitor.Sample> measured, double limit) {
+        List<SoakMonitor.Sample> withRequests = new ArrayList<>();
+        for (SoakMonitor.Sample sample : measured) {
+            if (sample.getRequests() > 0) {
+                withRequests.add(sample);
+            }
+        }
+        Trend trend = fit(withRequests, SoakMonitor.Sample::getP99Millis);
+        if (trend == null) {
+            return new Drift(metric, "%", null, 0, limit);
+        }
+        double first = trend.at(withRequests.get(0).getElapsedSeconds());
+        double last = trend.at(withRequests.get(withRequests.size() - 1).getElapsedSeconds());
+        // Начало тренда около нуля (или ниже) - считаем от 1 мс, чтобы не делить на шум
+        double drift = (last - first) / Math.max(first, 1.0) * 100;
+        return new Drift(metric, "%", trend, drift, limit);
+    }
+
+    /**
+     * Абсолютный рост; отрицательные значения (величина недоступна) не учитываются.
+     */
+    private static Drift drift(String metric, String unit, List<SoakMonitor.Sample> measured,
+                               ToDoubleFunction<SoakMonitor.Sample> value, double limit) {
+        List<SoakMonitor.Sample> known = new ArrayList<>();
+        for (SoakMonitor.Sample sample : measured) {
+            if (value.applyAsDouble(sample) >= 0) {
+                known.add(sample);
+            }
+        }
+        Trend trend = fit(known, value);
+        if (trend == null) {
+            return new Drift(metric, unit, null, 0, limit);
+        }
+        double drift = trend.at(known.get(known.size() - 1).getElapsedSeconds())
+                - trend.at(known.get(0).getElapsedSeconds());
+        return new Drift(metric, unit, trend, drift, limit);
+    }
+
+    private static Trend fit(List<SoakMonitor.Sample> points, ToDoubleFunction<SoakMonitor.Sample> value) {
+        if (points.size() < MIN_POINTS) {
+            return null;
+        }
+        double[] x = new double[points.size()];
+        double[] y = new double[points.size()];
+        for (int i = 0; i < points.size(); i++) {
+            x[i] = points.get(i).getElapsedSeconds();
+            y[i] = value.applyAsDouble(points.get(i));
+        }
+        return Trend.fit(x, y);
+    }
+
+    public List<SoakMonitor.Sample> getSamples() {
+        return samples;
+    }
+
+    public List<Drift> getDrifts() {
+        return drifts;
+    }
+
+    /**
+     * @return true, если ни один порог не превышен
+     */
+    public boolean passed() {
+        for (Drift drift : drifts) {
+            if (drift.isExceeded()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Печатает дрейф по каждой величине и итог.
+     */
+    public void print(PrintStream out) {
+        out.printf("%nSoak drift over %d samples (trend after warmup):%n", samples.size());
+        for (Drift drift : drifts) {
+            if (!drift.isChecked()) {
+                out.printf("  %-14s not checked (fewer than %d samples)%n", drift.metric, MIN_POINTS);
+                continue;
+            }
+            out.printf(Locale.ROOT, "  %-14s %+10.2f%-2s limit %8.2f%-2s R^2 %.2f  %s%n",
+                    drift.metric, drift.drift, drift.unit, drift.limit, drift.unit, drift.trend.getRSquared(),
+                    drift.isExceeded() ? "EXCEEDED" : "ok");
+        }
+        out.println(passed() ? "Soak passed: no drift above limits" : "Soak FAILED: drift above limits");
+    }
+
+    /**
+     * Записывает soak.csv и drift.json в каталог.
+     */
+    public void write(Path directory) throws IOException {
+        Files.createDirectories(directory);
+        StringBuilder csv = new StringBuilder(
+                "elapsed_s,requests,p50_ms,p99_ms,heap_after_gc_mb,threads,open_fds,pooled,leased\n");
+        for (SoakMonitor.Sample sample : samples) {
+            csv.append(String.format(Locale.ROOT, "%.1f,%d,%.3f,%.3f,%.1f,%d,%d,%d,%d\n",
+                    sample.getElapsedSeconds(), sample.getRequests(), sample.getP50Millis(), sample.getP99Millis(),
+                    sample.getHeapAfterGcMb(), sample.getThreads(), sample.getOpenFds(),
+                    sample.getPooled(), sample.getLeased()));
+        }
+        Files.write(directory.resolve("soak.csv"), csv.toString().getBytes(StandardCharsets.UTF_8));
+
+        ObjectNode root = MAPPER.createObjectNode();
+        root.put("samples", samples.size());
+        root.put("passed", passed());
+        ArrayNode metrics = root.putArray("drift");
+        for (Drift drift : drifts) {
+            ObjectNode row = metrics.addObject();
+            row.put("metric", drift.metric);
+            row.put("limit", drift.limit);
+            row.put("checked", drift.isChecked());
+            if (drift.isChecked()) {
+                row.put("drift", drift.drift);
+                row.put("slope_per_hour", drift.trend.getSlope() * 3600);
+                row.put("r_squared", drift.trend.getRSquared());
+                row.put("exceeded", drift.isExceeded());
+            }
+        }
+        MAPPER.writeValue(directory.resolve("drift.json").toFile(), root);
+    }
+}
@@ -0,0 +1,91 @@
+package com.example.notes.load;
+
+import java.util.Locale;
+
+/**
+ * Линейный тренд y = intercept + slope * x, подобранный методом наименьших квадратов.
+ *
+ * ЗАЧЕМ:
+ * Разница "последний замер минус первый" зависит от случайных выбросов на краях.
+ * Наклон прямой по всем замерам устойчивее: один всплеск GC или медленный ответ
+ * почти не меняет его, а медленная утечка видна даже на фоне шума.
+ */
+public class Trend {
+
+    private final double intercept;
+    private final double slope;
+    private final double rSquared;
+    private final int points;
+
+    private Trend(double intercept, double slope, double rSquared, int points) {
+        this.intercept = intercept;
+        this.slope = slope;
+        this.rSquared = rSquared;
+        this.points = points;
+    }
+
+    /**
+     * @param x значения по оси x (например, секунды от начала)
+     * @param y замеры
+     * @throws IllegalArgumentException если точек меньше двух или все x одинаковые
+     */
+    public static Trend fit(double[] x, double[] y) {
+        int n = x.length;
+        if (n != y.length || n < 2) {
+            throw new IllegalArgumentException("At least two points are required");
+        }
+        double meanX = 0;
+        double meanY = 0;
+        for (int i = 0; i < n; i++) {
+            meanX += x[i];
+            meanY += y[i];
+        }
+        meanX /= n;
+        meanY /= n;
+        double sxx = 0;
+        double sxy = 0;
+        double syy = 0;
+        for (int i = 0; i < n; i++) {
+            sxx += (x[i] - meanX) * (x[i] - meanX);
+            sxy += (x[i] - meanX) * (y[i] - meanY);
+            syy += (y[i] - meanY) * (y[i] - meanY);
+        }
+        if (sxx == 0) {
+            throw new IllegalArgumentException("All points have the same x");
+        }
+        double slope = sxy / sxx;
+        double rSquared = syy == 0 ? 1.0 : (sxy * sxy) / (sxx * syy);
+        return new Trend(meanY - slope * meanX, slope, rSquared, n);
+    }
+
+    /**
+     * @return значение тренда в точке x
+     */
+    public double at(double x) {
+        return intercept + slope * x;
+    }
+
+    public double getIntercept() {
+        return intercept;
+    }
+
+    public double getSlope() {
+        return slope;
+    }
+
+    /**
+     * @return R² - какую долю разброса объясняет прямая (около 0 - тренда нет, один шум)
+     */
+    public double getRSquared() {
+        return rSquared;
+    }
+
+    public int getPoints() {
+        return points;
+    }
+
+    @Override
+    public String toString() {
+        return String.format(Locale.ROOT, "%.4f + %.6f * x (R^2 %.3f, %d points)", intercept, slope, rSquared, points);
+    }
+}
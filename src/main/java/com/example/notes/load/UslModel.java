@@ -0,0 +1,177 @@
+package com.example.notes.load;
+
+import java.util.Locale;
+
+/**
+ * Универсальный закон масштабируемости (Universal Scalability Law, N. Gunther):
+ *
+ *   X(N) = λN / (1 + σ(N - 1) + κN(N - 1))
+ *
+ * - N - число одновременных клиентов (сессий)
+ * - λ - пропускная способность одного клиента (операций в секунду при N = 1)
+ * - σ - конкуренция (contention): доля работы, которая выполняется по очереди
+ *       (блокировки, один поток-диспетчер). Только σ - закон Амдала, рост упирается в 1/σ
+ * - κ - согласование (coherency): цена обмена данными между клиентами (кэши, репликация).
+ *       С κ > 0 у кривой есть пик, после которого пропускная способность ПАДАЕТ
+ *
+ * ПИК:
+ *   N* = sqrt((1 - σ) / κ), X(N*) - наибольшая пропускная способность.
+ * Больше N* клиентов (потоков, соединений в пуле) держать бессмысленно - будет только хуже.
+ *
+ * КАК ПОДБИРАЮТСЯ КОЭФФИЦИЕНТЫ:
+ * λ берётся из замера при N = 1. Тогда C(N) = X(N) / λ, и уравнение становится линейным:
+ *   N / C(N) - 1 = σ(N - 1) + κN(N - 1)
+ * σ и κ находятся методом наименьших квадратов (регрессия без свободного члена
+ * по двум признакам x = N - 1 и x(x + 1)). Отрицательные значения обрезаются до 0.
+ */
+public class UslModel {
+
+    private final double lambda;
+    private final double sigma;
+    private final double kappa;
+    private final double rSquared;
+
+    public UslModel(double lambda, double sigma, double kappa, double rSquared) {
+        this.lambda = lambda;
+        this.sigma = sigma;
+        this.kappa = kappa;
+        this.rSquared = rSquared;
+    }
+
+    /**
+     * Подбирает коэффициенты по замерам.
+     *
+     * @param concurrency уровни N; должен быть уровень 1 и хотя бы ещё один
+     * @param throughput  замеренная пропускная способность X(N) на каждом уровне
+     * @throws IllegalArgumentException если замеров меньше двух, нет N = 1 или X(1) = 0
+     */
+    public static UslModel fit(int[] concurrency, double[] throughput) {
+        if (concurrency.length != throughput.length || concurrency.length < 2) {
+            throw new IllegalArgumentException("At least two (concurrency, throughput) points are required");
+        }
+        double lambda = 0;
+        for (int i = 0; i < concurrency.length; i++) {
+            if (concurrency[i] == 1) {
+                lambda = throughput[i];
+            }
+        }
+        if (lambda <= 0) {
+            throw new IllegalArgumentException("A positive throughput at concurrency 1 is required");
+        }
+
+        // Нормальные уравнения для y = σ·a + κ·b, где a = N - 1, b = N(N - 1)
+        double aa = 0;
+        double ab = 0;
+        double bb = 0;
+        double ay = 0;
+        double by = 0;
+        for (int i = 0; i < concurrency.length; i++) {
+            if (throughput[i] <= 0) {
+                continue;
+            }
+            double n = concurrency[i];
+            double a = n - 1;
+            double b = n * (n - 1);
+            double y = n / (throughput[i] / lambda) - 1;
+            aa += a * a;
+            ab += a * b;
+            bb += b * b;
+            ay += a * y;
+            by += b * y;
+        }
+        double sigma;
+        double kappa;
+        double det = aa * bb - ab * ab;
+        if (Math.abs(det) < 1e-12) {
+            // Один уровень кроме N = 1: κ не определить, считаем только σ
+            sigma = aa > 0 ? ay / aa : 0;
+            kappa = 0;
+        } else {
+            sigma = (ay * bb - by * ab) / det;
+            kappa = (aa * by - ab * ay) / det;
+        }
+        // Отрицательные коэффициенты физического смысла не имеют: пересчитываем второй без первого
+        if (kappa < 0) {
+            kappa = 0;
+            sigma = aa > 0 ? ay / aa : 0;
+        }
+        if (sigma < 0) {
+            sigma = 0;
+            kappa = bb > 0 ? Math.max(0, by / bb) : 0;
+        }
+        return new UslModel(lambda, sigma, kappa, rSquared(concurrency, throughput, lambda, sigma, kappa));
+    }
+
+    private static double rSquared(int[] concurrency, double[] throughput, double lambda, double sigma, double kappa) {
+        double mean = 0;
+        for (double x : throughput) {
+            mean += x;
+        }
+        mean /= throughput.length;
+        double residual = 0;
+        double total = 0;
+        for (int i = 0; i < concurrency.length; i++) {
+            double predicted = predict(concurrency[i], lambda, sigma, kappa);
+            residual += (throughput[i] - predicted) * (throughput[i] - predicted);
+            total += (throughput[i] - mean) * (throughput[i] - mean);
+        }
+        return total == 0 ? 1.0 : 1.0 - residual / total;
+    }
+
+    private static double predict(double n, double lambda, double sigma, double kappa) {
+        return lambda * n / (1 + sigma * (n - 1) + kappa * n * (n - 1));
+    }
+
+    /**
+     * @return предсказанная пропускная способность при n клиентах
+     */
+    public double predict(double n) {
+        return predict(n, lambda, sigma, kappa);
+    }
+
+    /**
+     * @return N* - число клиентов с наибольшей пропускной способностью;
+     *         бесконечность, если κ = 0 (рост без пика, только насыщение)
+     */
+    public double peakConcurrency() {
+        if (kappa <= 0) {
+            return Double.POSITIVE_INFINITY;
+        }
+        return Math.sqrt((1 - Math.min(sigma, 1)) / kappa);
+    }
+
+    /**
+     * @return X(N*) - наибольшая пропускная способность; при κ = 0 - предел λ/σ (или бесконечность)
+     */
+    public double peakThroughput() {
+        if (kappa <= 0) {
+            return sigma > 0 ? lambda / sigma : Double.POSITIVE_INFINITY;
+        }
+        return predict(peakConcurrency());
+    }
+
+    public double getLambda() {
+        return lambda;
+    }
+
+    public double getSigma() {
+        return sigma;
+    }
+
+    public double getKappa() {
+        return kappa;
+    }
+
+    /**
+     * @return коэффициент детерминации R² (1 - модель точно описывает замеры)
+     */
+    public double getRSquared() {
+        return rSquared;
+    }
+
+    @Override
+    public String toString() {
+        return String.format(Locale.ROOT, "lambda=%.2f op/s, sigma=%.5f, kappa=%.6f, R^2=%.4f, N*=%.1f, X(N*)=%.1f op/s",
+                lambda, sigma, kappa, rSquared, peakConcurrency(), peakThroughput());
+    }
+}
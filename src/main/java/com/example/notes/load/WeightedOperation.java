@@ -0,0 +1,102 @@
+package com.example.notes.load;
+
+import com.example.notes.endpoints.Route;
+
+import java.time.Duration;
+import java.util.Locale;
+
+/**
+ * Одна строка смеси нагрузки: операция, её вес, пауза пользователя после неё и размер тела.
+ *
+ * ФОРМАТ В ФАЙЛЕ НАГРУЗКИ (см. WorkloadConfig):
+ *   ОПЕРАЦИЯ:вес[:пауза[:размер]]
+ * Примеры:
+ *   LIST:70                - 70 долей GET /notes, без паузы
+ *   UPDATE:4:200ms         - после обновления пользователь "думает" 200 мс
+ *   CREATE:10:0:large      - создание заметки с описанием в 1000 символов
+ *
+ * ПАУЗА (think time):
+ * Пока пользователь думает, LoadEngine не даёт ему новых операций - их берут
+ * другие пользователи. Частоту прогона пауза не меняет (модель открытая).
+ */
+public class WeightedOperation {
+
+    private final Operation operation;
+    private final double weight;
+    private final Duration thinkTime;
+    private final PayloadProfile payload;
+
+    public WeightedOperation(Operation operation, double weight, Duration thinkTime, PayloadProfile payload) {
+        if (weight < 0) {
+            throw new IllegalArgumentException("Weight must not be negative: " + operation);
+        }
+        if (thinkTime.isNegative()) {
+            throw new IllegalArgumentException("Think time must not be negative: " + operation);
+        }
+        this.operation = operation;
+        this.weight = weight;
+        this.thinkTime = thinkTime;
+        this.payload = payload;
+    }
+
+    /**
+     * Разбирает строку вида "CREATE:10:200ms:large".
+     *
+     * @throws IllegalArgumentException если операция, число или размер не распознаны
+     */
+    public static WeightedOperation parse(String text) {
+        String[] parts = text.trim().split(":");
+        if (parts.length < 2 || parts.length > 4) {
+            throw new IllegalArgumentException(
+                    "Expected OPERATION:weight[:think[:payload]], got '" + text.trim() + "'");
+        }
+        try {
+            Operation operation = Operation.valueOf(parts[0].trim().toUpperCase(Locale.ROOT));
+            double weight = Double.parseDouble(parts[1].trim());
+            // Пустая пауза или ноль ("", "0", "0ms") - без паузы
+            Duration think = parts.length > 2 && !parts[2].trim().matches("0*(ms|s|m|h)?")
+                    ? LoadProfile.parseDuration(parts[2])
+                    : Duration.ZERO;
+            PayloadProfile payload = parts.length > 3
+                    ? PayloadProfile.valueOf(parts[3].trim().toUpperCase(Locale.ROOT))
+                    : PayloadProfile.SMALL;
+            return new WeightedOperation(operation, weight, think, payload);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid workload entry '" + text.trim() + "': " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Выполняет операцию от имени сессии (сессия привязана к потоку).
+     *
+     * @return маршрут, который был вызван
+     */
+    Route execute(LoadSession session) {
+        return operation.execute(session, payload);
+    }
+
+    public Operation getOperation() {
+        return operation;
+    }
+
+    public Route getRoute() {
+        return operation.getRoute();
+    }
+
+    public double getWeight() {
+        return weight;
+    }
+
+    public Duration getThinkTime() {
+        return thinkTime;
+    }
+
+    public PayloadProfile getPayload() {
+        return payload;
+    }
+
+    @Override
+    public String toString() {
+        return operation + ":" + weight + ":" + thinkTime.toMillis() + "ms:" + payload.name().toLowerCase(Locale.ROOT);
+    }
+}
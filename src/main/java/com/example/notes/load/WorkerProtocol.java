@@ -0,0 +1,145 @@
+package com.example.notes.load;
+
+import com.example.notes.core.LatencyHistograms;
+import com.example.notes.endpoints.Route;
+import org.HdrHistogram.Histogram;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.zip.DataFormatException;
+
+/**
+ * Сообщения между DistributedLoad (координатор) и LoadWorker (процесс нагрузки).
+ *
+ * ПОРЯДОК СООБЩЕНИЙ (одно TCP-соединение через loopback на процесс):
+ *   worker      -> coordinator  HELLO   номер процесса
+ *   coordinator -> worker       JOB     частота, длительность, пользователи, потоки его доли
+ *   worker      -> coordinator  READY   пользователи созданы
+ *   coordinator -> worker       GO      момент старта (System.currentTimeMillis()), общий для всех
+ *   worker      -> coordinator  RESULT  счётчики и гистограммы
+ *   coordinator -> worker       RELEASE все прислали результат - можно удалять пользователей
+ *
+ * READY/GO - барьер старта, RESULT/RELEASE - барьер остановки: пока хотя бы один процесс
+ * даёт нагрузку, остальные не начинают удалять пользователей и не искажают его замер.
+ *
+ * ГИСТОГРАММЫ:
+ * Передаются в сжатом формате HdrHistogram (encodeIntoCompressedByteBuffer): это счётчики
+ * по диапазонам, а не перцентили. Сложение счётчиков на координаторе даёт ровно ту же
+ * гистограмму, что записал бы один процесс, - перцентили перцентилей не усредняются.
+ */
+final class WorkerProtocol {
+
+    static final byte HELLO = 1;
+    static final byte JOB = 2;
+    static final byte READY = 3;
+    static final byte GO = 4;
+    static final byte RESULT = 5;
+    static final byte RELEASE = 6;
+
+    private static final Route[] ROUTES = Route.values();
+
+    private WorkerProtocol() {
+    }
+
+    /**
+     * Читает тип следующего сообщения и проверяет, что он ожидаемый.
+     *
+     * @throws IOException если пришло другое сообщение или соединение закрыто
+     */
+    static void expect(DataInputStream in, byte type) throws IOException {
+        byte actual = in.readByte();
+        if (actual != type) {
+            throw new IOException("Unexpected message " + actual + ", expected " + type);
+        }
+    }
+
+    // ==================== JOB ====================
+
+    static void writeJob(DataOutputStream out, LoadProfile profile) throws IOException {
+        out.writeByte(JOB);
+        out.writeDouble(profile.getRatePerSecond());
+        out.writeLong(profile.getDuration().toMillis());
+        out.writeInt(profile.getSessions());
+        out.writeInt(profile.getWorkers());
+        out.flush();
+    }
+
+    static LoadProfile readJob(DataInputStream in) throws IOException {
+        expect(in, JOB);
+        double rate = in.readDouble();
+        Duration duration = Duration.ofMillis(in.readLong());
+        int sessions = in.readInt();
+        int workers = in.readInt();
+        return new LoadProfile(rate, duration, sessions, workers);
+    }
+
+    // ==================== RESULT ====================
+
+    static void writeResult(DataOutputStream out, LoadResult result) throws IOException {
+        out.writeByte(RESULT);
+        out.writeLong(result.getScheduled());
+        out.writeLong(result.getCompleted());
+        out.writeLong(result.getDelayed());
+        out.writeLong(result.getElapsedNanos());
+        out.writeInt(ROUTES.length);
+        for (Route route : ROUTES) {
+            out.writeLong(result.getErrors(route));
+            writeHistogram(out, result.getUncorrected().snapshot(route));
+            writeHistogram(out, result.getCorrected().snapshot(route));
+        }
+        out.flush();
+    }
+
+    /**
+     * Результат одного процесса, уже добавленный в общие гистограммы координатора.
+     */
+    static final class Shard {
+        long scheduled;
+        long completed;
+        long delayed;
+        long elapsedNanos;
+    }
+
+    /**
+     * Читает RESULT и добавляет гистограммы и ошибки процесса к общим.
+     */
+    static Shard readResult(DataInputStream in, LatencyHistograms uncorrected, LatencyHistograms corrected,
+                            long[] errors) throws IOException {
+        expect(in, RESULT);
+        Shard shard = new Shard();
+        shard.scheduled = in.readLong();
+        shard.completed = in.readLong();
+        shard.delayed = in.readLong();
+        shard.elapsedNanos = in.readLong();
+        int routes = in.readInt();
+        if (routes != ROUTES.length) {
+            throw new IOException("Worker reports " + routes + " routes, expected " + ROUTES.length);
+        }
+        for (Route route : ROUTES) {
+            errors[route.ordinal()] += in.readLong();
+            uncorrected.add(route, readHistogram(in));
+            corrected.add(route, readHistogram(in));
+        }
+        return shard;
+    }
+
+    private static void writeHistogram(DataOutputStream out, Histogram histogram) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(histogram.getNeededByteBufferCapacity());
+        int length = histogram.encodeIntoCompressedByteBuffer(buffer);
+        out.writeInt(length);
+        out.write(buffer.array(), 0, length);
+    }
+
+    private static Histogram readHistogram(DataInputStream in) throws IOException {
+        byte[] bytes = new byte[in.readInt()];
+        in.readFully(bytes);
+        try {
+            return Histogram.decodeFromCompressedByteBuffer(ByteBuffer.wrap(bytes), 0);
+        } catch (DataFormatException e) {
+            throw new IOException("Corrupt histogram from worker", e);
+        }
+    }
+}
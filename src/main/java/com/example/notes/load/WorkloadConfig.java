@@ -0,0 +1,55 @@
+package com.example.notes.load;
+
+import org.aeonbits.owner.Config;
+import org.aeonbits.owner.Converter;
+
+import java.lang.reflect.Method;
+import java.util.List;
+
+/**
+ * Описание нагрузки (смесь операций) в properties-файле - без написания Java-кода.
+ *
+ * ЗАЧЕМ НУЖЕН ЭТОТ КЛАСС:
+ * Реальный трафик - это, например, 70% GET /notes, 15% GET /notes/{id}, 10% POST /notes,
+ * 4% PUT и 1% DELETE, у каждой операции своя пауза пользователя и свой размер тела.
+ * Раньше такую смесь приходилось собирать в коде (new OperationMix(...)).
+ *
+ * ФОРМАТ ФАЙЛА (src/main/resources/workloads/browse-heavy.properties):
+ * <pre>
+ * workload.name=browse-heavy
+ * workload.operations=LIST:70, GET:15:500ms, CREATE:10:2s:medium, UPDATE:4:1s:large, DELETE:1
+ * </pre>
+ * Каждый элемент - WeightedOperation ("ОПЕРАЦИЯ:вес[:пауза[:размер]]").
+ *
+ * КАК ЗАГРУЖАЕТСЯ:
+ * Как EnvConfig - через Owner, но источник выбирается при запуске: ключ workload
+ * в EnvConfig (или флаг --workload у notes-bench) - имя встроенного файла
+ * из classpath:workloads или путь к своему файлу. См. OperationMix.load().
+ */
+public interface WorkloadConfig extends Config {
+
+    /**
+     * Название нагрузки (для отчётов).
+     */
+    @Key("workload.name")
+    @DefaultValue("default")
+    String name();
+
+    /**
+     * Операции с весами. Значение по умолчанию - OperationMix.defaultMix().
+     */
+    @Key("workload.operations")
+    @DefaultValue("CREATE:30, GET:40, UPDATE:20, DELETE:10")
+    @ConverterClass(WeightedOperationConverter.class)
+    List<WeightedOperation> operations();
+
+    /**
+     * Owner применяет конвертер к каждому элементу списка (элементы разделены запятой).
+     */
+    class WeightedOperationConverter implements Converter<WeightedOperation> {
+        @Override
+        public WeightedOperation convert(Method method, String input) {
+            return WeightedOperation.parse(input);
+        }
+    }
+}
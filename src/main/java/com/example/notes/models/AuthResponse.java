@@ -24,7 +24,7 @@ import com.fasterxml.jackson.annotation.JsonProperty;
  * }
  *
  * ВАЖНО: Данные находятся внутри поля "data", поэтому при десериализации
- * нужно извлекать: .jsonPath().getObject("data", AuthResponse.class)
+ * нужно извлекать: EnvelopeReader.readData(body, AuthResponse.class)
  */
 @JsonIgnoreProperties(ignoreUnknown = true)
 public class AuthResponse {
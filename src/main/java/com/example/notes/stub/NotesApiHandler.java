@@ -0,0 +1,342 @@
+package com.example.notes.stub;
+
+import com.example.notes.endpoints.Route;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.MissingNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Обработчик всех маршрутов Notes API в сервере-заглушке.
+ *
+ * КАК ОБРАБАТЫВАЕТСЯ ЗАПРОС:
+ * 1. Route.resolve() определяет маршрут по методу и пути
+ * 2. Для заметок и профиля - проверяем токен из заголовка X-AUTH-TOKEN (иначе 401)
+ * 3. Проверяем ID и поля тела так же, как настоящий API (иначе 400)
+ * 4. Выполняем действие в хранилище - NotesBackend (404, 409 приходят оттуда как StubException)
+ * 5. Пишем ответ в "конверте": {"success": ..., "status": ..., "message": ..., "data": ...}.
+ *    Заметки хранилище пишет в data само (см. NotesBackend)
+ *
+ * ВРЕМЯ ОБРАБОТКИ:
+ * Ожидание в очереди пула, обработка (п. 1-4) и отправка ответа (п. 5) записываются
+ * в StubMetrics по маршруту - их отдаёт GET /metrics.
+ *
+ * ТЕКСТЫ СООБЩЕНИЙ И СТАТУСЫ взяты из ответов practice.expandtesting.com, чтобы
+ * тесты проходили одинаково против заглушки и против настоящего сервера.
+ */
+class NotesApiHandler implements HttpHandler {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    /**
+     * ID заметки в API - 24 hex-символа (ObjectId MongoDB).
+     */
+    private static final Pattern NOTE_ID = Pattern.compile("[0-9a-fA-F]{24}");
+
+    private static final Pattern EMAIL = Pattern.compile("[^@\\s]+@[^@\\s]+\\.[^@\\s]+");
+
+    private static final Set<String> CATEGORIES = Set.of("Home", "Work", "Personal");
+
+    /**
+     * Начало отправки ответа и его статус в текущем запросе (пишет sendWith, читает handle).
+     */
+    private static final class Timing {
+        long sendStart;
+        int status;
+    }
+
+    private static final ThreadLocal<Timing> TIMING = ThreadLocal.withInitial(Timing::new);
+
+    private final NotesBackend store;
+
+    private final StubMetrics metrics;
+
+    /**
+     * Путь контекста сервера (например, "/notes/api"); отрезается от пути запроса.
+     */
+    private final String contextPath;
+
+    NotesApiHandler(NotesBackend store, String contextPath, StubMetrics metrics) {
+        this.store = store;
+        this.contextPath = contextPath;
+        this.metrics = metrics;
+    }
+
+    @Override
+    public void handle(HttpExchange exchange) throws IOException {
+        long start = System.nanoTime();
+        long queuedAt = StubMetrics.queuedAt();
+        Timing timing = TIMING.get();
+        timing.sendStart = 0;
+        timing.status = 0;
+        Route route = Route.UNKNOWN;
+        try {
+            String path = exchange.getRequestURI().getPath().substring(contextPath.length());
+            route = Route.resolve(exchange.getRequestMethod(), path);
+            try {
+                dispatch(exchange, route, path);
+            } catch (StubException e) {
+                send(exchange, e.getStatus(), e.getMessage(), null);
+            } catch (RuntimeException e) {
+                send(exchange, 500, "Internal server error: " + e, null);
+            }
+        } finally {
+            exchange.close();
+            record(route, start, queuedAt, timing);
+        }
+    }
+
+    private void record(Route route, long start, long queuedAt, Timing timing) {
+        long end = System.nanoTime();
+        if (queuedAt != 0) {
+            metrics.record(route, StubMetrics.Phase.QUEUE, start - queuedAt);
+        }
+        if (timing.sendStart == 0) {
+            // Ответ не отправлен (оборвалось соединение) - всё время считается обработкой
+            metrics.record(route, StubMetrics.Phase.HANDLER, end - start);
+            return;
+        }
+        metrics.record(route, StubMetrics.Phase.HANDLER, timing.sendStart - start);
+        metrics.record(route, StubMetrics.Phase.SERIALIZE, end - timing.sendStart);
+        metrics.recordStatus(route, timing.status);
+    }
+
+    private void dispatch(HttpExchange exchange, Route route, String path) throws IOException {
+        switch (route) {
+            case REGISTER:
+                register(exchange);
+                break;
+            case LOGIN:
+                login(exchange);
+                break;
+            case PROFILE:
+                send(exchange, 200, "Profile successful", user(exchange));
+                break;
+            case DELETE_ACCOUNT:
+                store.deleteUser(user(exchange));
+                send(exchange, 200, "Account successfully deleted", null);
+                break;
+            case LIST_NOTES:
+                listNotes(exchange);
+                break;
+            case CREATE_NOTE:
+                createNote(exchange);
+                break;
+            case GET_NOTE:
+                getNote(exchange, path);
+                break;
+            case UPDATE_NOTE:
+                updateNote(exchange, path);
+                break;
+            case DELETE_NOTE:
+                store.deleteNote(user(exchange), noteId(path));
+                send(exchange, 200, "Note successfully deleted", null);
+                break;
+            default:
+                throw new StubException(404, "Not found");
+        }
+    }
+
+    // ==================== ПОЛЬЗОВАТЕЛИ ====================
+
+    private void register(HttpExchange exchange) throws IOException {
+        JsonNode body = readBody(exchange);
+        String name = text(body, "name");
+        String email = text(body, "email");
+        String password = text(body, "password");
+        requireLength(name, 4, 30, "User name must be between 4 and 30 characters");
+        requireEmail(email);
+        requireLength(password, 6, 30, "Password must be between 6 and 30 characters");
+        send(exchange, 201, "User account created successfully", store.register(name, email, password));
+    }
+
+    private void login(HttpExchange exchange) throws IOException {
+        JsonNode body = readBody(exchange);
+        String email = text(body, "email");
+        String password = text(body, "password");
+        requireEmail(email);
+        requireLength(password, 6, 30, "Password must be between 6 and 30 characters");
+        String token = store.login(email, password);
+        StoredUser user = store.authenticate(token);
+
+        // Ответ логина - данные пользователя плюс токен
+        ObjectNode data = MAPPER.valueToTree(user);
+        data.put("token", token);
+        send(exchange, 200, "Login successful", data);
+    }
+
+    private StoredUser user(HttpExchange exchange) {
+        return store.authenticate(exchange.getRequestHeaders().getFirst("X-AUTH-TOKEN"));
+    }
+
+    // ==================== ЗАМЕТКИ ====================
+
+    private void getNote(HttpExchange exchange, String path) throws IOException {
+        StoredUser user = user(exchange);
+        String id = noteId(path);
+        sendWith(exchange, 200, "Note successfully retrieved", json -> store.getNote(user, id, json));
+    }
+
+    /**
+     * GET /notes. Параметры ?category= и ?completed= - расширение заглушки (у настоящего API
+     * их нет): в NotesStore отбор идёт по индексам, без перебора всех заметок пользователя.
+     */
+    private void listNotes(HttpExchange exchange) throws IOException {
+        StoredUser user = user(exchange);
+        String category = null;
+        Boolean completed = null;
+        String query = exchange.getRequestURI().getQuery();
+        if (query != null) {
+            for (String pair : query.split("&")) {
+                int eq = pair.indexOf('=');
+                String name = eq < 0 ? pair : pair.substring(0, eq);
+                String value = eq < 0 ? "" : pair.substring(eq + 1);
+                if (name.equals("category")) {
+                    if (!CATEGORIES.contains(value)) {
+                        throw new StubException(400, "Category must be one of the categories: Home, Work, Personal");
+                    }
+                    category = value;
+                } else if (name.equals("completed")) {
+                    if (!value.equals("true") && !value.equals("false")) {
+                        throw new StubException(400, "Note completed status must be boolean");
+                    }
+                    completed = Boolean.valueOf(value);
+                }
+            }
+        }
+        String byCategory = category;
+        Boolean byCompleted = completed;
+        sendWith(exchange, 200, "Notes successfully retrieved",
+                json -> store.listNotes(user, byCategory, byCompleted, json));
+    }
+
+    private void createNote(HttpExchange exchange) throws IOException {
+        StoredUser user = user(exchange);
+        JsonNode body = readBody(exchange);
+        String title = text(body, "title");
+        String description = text(body, "description");
+        String category = text(body, "category");
+        validateNote(title, description, category);
+        NotesBackend.NoteWriter note = store.create(user, title, description, category);
+        sendWith(exchange, 200, "Note successfully created", note::write);
+    }
+
+    private void updateNote(HttpExchange exchange, String path) throws IOException {
+        StoredUser user = user(exchange);
+        String id = noteId(path);
+        JsonNode body = readBody(exchange);
+        String title = text(body, "title");
+        String description = text(body, "description");
+        String category = text(body, "category");
+        JsonNode completed = body.path("completed");
+        validateNote(title, description, category);
+        if (!completed.isBoolean()) {
+            throw new StubException(400, "Note completed status must be boolean");
+        }
+        NotesBackend.NoteWriter note = store.update(user, id, title, description, category, completed.booleanValue());
+        sendWith(exchange, 200, "Note successfully Updated", note::write);
+    }
+
+    private static String noteId(String path) {
+        String id = Route.noteId(path);
+        if (!NOTE_ID.matcher(id).matches()) {
+            throw new StubException(400, "Note ID must be a valid ID");
+        }
+        return id;
+    }
+
+    private static void validateNote(String title, String description, String category) {
+        requireLength(title, 4, 100, "Title must be between 4 and 100 characters");
+        requireLength(description, 4, 1000, "Description must be between 4 and 1000 characters");
+        if (category == null || !CATEGORIES.contains(category)) {
+            throw new StubException(400, "Category must be one of the categories: Home, Work, Personal");
+        }
+    }
+
+    // ==================== ПРОВЕРКИ И JSON ====================
+
+    private static void requireLength(String value, int min, int max, String message) {
+        if (value == null || value.trim().length() < min || value.length() > max) {
+            throw new StubException(400, message);
+        }
+    }
+
+    private static void requireEmail(String email) {
+        if (email == null || !EMAIL.matcher(email).matches()) {
+            throw new StubException(400, "A valid email address is required");
+        }
+    }
+
+    private static String text(JsonNode body, String field) {
+        JsonNode value = body.get(field);
+        return value != null && value.isTextual() ? value.textValue() : null;
+    }
+
+    private static JsonNode readBody(HttpExchange exchange) throws IOException {
+        try (InputStream in = exchange.getRequestBody()) {
+            byte[] bytes = in.readAllBytes();
+            if (bytes.length == 0) {
+                return MissingNode.getInstance();
+            }
+            try {
+                return MAPPER.readTree(bytes);
+            } catch (IOException e) {
+                throw new StubException(400, "Request body is not valid JSON");
+            }
+        }
+    }
+
+    /**
+     * Пишет поле data ответа.
+     */
+    @FunctionalInterface
+    private interface DataWriter {
+        void write(JsonGenerator json) throws IOException;
+    }
+
+    /**
+     * Пишет ответ в "конверте" API. Поле data пропускается, если data == null.
+     */
+    private static void send(HttpExchange exchange, int status, String message, Object data) throws IOException {
+        sendWith(exchange, status, message, data == null ? null : json -> MAPPER.writeValue(json, data));
+    }
+
+    /**
+     * Как send(), но data пишет writer. Ответ собирается в буфере целиком: если writer бросил
+     * StubException, клиенту ещё ничего не ушло и handle() ответит ошибкой.
+     */
+    private static void sendWith(HttpExchange exchange, int status, String message, DataWriter data)
+            throws IOException {
+        // Повторный вызов (writer бросил StubException) - отправкой считается ответ с ошибкой
+        Timing timing = TIMING.get();
+        timing.sendStart = System.nanoTime();
+        timing.status = status;
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(256);
+        try (JsonGenerator json = MAPPER.getFactory().createGenerator(buffer)) {
+            json.writeStartObject();
+            json.writeBooleanField("success", status < 400);
+            json.writeNumberField("status", status);
+            json.writeStringField("message", message);
+            if (data != null) {
+                json.writeFieldName("data");
+                data.write(json);
+            }
+            json.writeEndObject();
+        }
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        exchange.sendResponseHeaders(status, buffer.size());
+        try (OutputStream out = exchange.getResponseBody()) {
+            buffer.writeTo(out);
+        }
+    }
+}
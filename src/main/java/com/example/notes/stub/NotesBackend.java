@@ -0,0 +1,118 @@
+package com.example.notes.stub;
+
+import com.example.notes.config.TestEnv;
+import com.fasterxml.jackson.core.JsonGenerator;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * Хранилище за HTTP-обработчиком заглушки (NotesApiHandler).
+ *
+ * ЗАЧЕМ НУЖЕН ЭТОТ ИНТЕРФЕЙС:
+ * Заглушка умеет хранить заметки двумя способами (stub.store):
+ * - heap    - NotesStore: объекты в куче, снимки за O(1), журнал на диске
+ * - offheap - OffHeapNotesStore: заметки упакованы в память вне кучи, для 10M+ заметок
+ * Обработчику всё равно, какое из них работает: он вызывает только эти методы.
+ *
+ * ПОЧЕМУ ЗАМЕТКИ ПИШУТСЯ СРАЗУ В JSON:
+ * Методы заметок не возвращают объекты, а пишут поле data ответа в JsonGenerator.
+ * OffHeapNotesStore так отдаёт заметку прямо из своей памяти, не создавая
+ * на каждый запрос объект заметки с семью строками. Ошибки (401, 404) бросаются
+ * до записи - обработчик тогда отвечает ошибкой с чистого листа.
+ * create() и update() меняют хранилище сразу, а ответ пишет возвращённый NoteWriter:
+ * так время изменения (и записи в журнал) не смешивается со временем ответа (см. StubMetrics).
+ */
+public interface NotesBackend extends Closeable {
+
+    String HEAP = "heap";
+    String OFF_HEAP = "offheap";
+
+    /**
+     * Пишет уже созданную или изменённую заметку в JSON.
+     */
+    @FunctionalInterface
+    interface NoteWriter {
+        void write(JsonGenerator json) throws IOException;
+    }
+
+    /**
+     * Хранилище по настройкам stub.* из EnvConfig.
+     *
+     * @throws IllegalStateException если stub.store неизвестен или offheap задан вместе с stub.dataDir
+     */
+    static NotesBackend fromConfig() {
+        String kind = TestEnv.getStubStore();
+        if (HEAP.equalsIgnoreCase(kind)) {
+            return NotesStore.fromConfig();
+        }
+        if (OFF_HEAP.equalsIgnoreCase(kind)) {
+            if (TestEnv.getStubDataDir() != null) {
+                throw new IllegalStateException("stub.dataDir is supported by the heap store only");
+            }
+            return new OffHeapNotesStore();
+        }
+        throw new IllegalStateException("Unknown stub.store: " + kind + " (expected heap or offheap)");
+    }
+
+    // ==================== ПОЛЬЗОВАТЕЛИ ====================
+
+    /**
+     * @throws StubException 409, если email уже занят
+     */
+    StoredUser register(String name, String email, String password);
+
+    /**
+     * @return новый токен
+     * @throws StubException 401, если пары email/пароль нет
+     */
+    String login(String email, String password);
+
+    /**
+     * @throws StubException 401, если токена нет, он недействителен или аккаунт удалён
+     */
+    StoredUser authenticate(String token);
+
+    /**
+     * Удаляет пользователя вместе с его заметками.
+     */
+    void deleteUser(StoredUser user);
+
+    // ==================== ЗАМЕТКИ ====================
+
+    /**
+     * Пишет массив заметок пользователя в порядке создания.
+     *
+     * @param category  категория или null - любая
+     * @param completed статус или null - любой
+     */
+    void listNotes(StoredUser user, String category, Boolean completed, JsonGenerator json) throws IOException;
+
+    /**
+     * Пишет заметку.
+     *
+     * @throws StubException 404, если у пользователя нет заметки с таким ID
+     */
+    void getNote(StoredUser user, String id, JsonGenerator json) throws IOException;
+
+    /**
+     * Создаёт заметку.
+     *
+     * @return запись созданной заметки в ответ
+     */
+    NoteWriter create(StoredUser user, String title, String description, String category);
+
+    /**
+     * Заменяет поля заметки целиком (PUT).
+     *
+     * @return запись изменённой заметки в ответ
+     * @throws StubException 404, если у пользователя нет заметки с таким ID
+     */
+    NoteWriter update(StoredUser user, String id, String title, String description, String category,
+                      boolean completed);
+
+    /**
+     * @throws StubException 404, если у пользователя нет заметки с таким ID
+     */
+    void deleteNote(StoredUser user, String id);
+}
@@ -0,0 +1,919 @@
+package com.example.notes.stub;
+
+import com.example.notes.config.TestEnv;
+import com.fasterxml.jackson.core.JsonGenerator;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Хранилище пользователей и заметок сервера-заглушки (всё в памяти, stub.store=heap).
+ *
+ * КАК УСТРОЕНО:
+ * Данные разложены по сегментам (Shard). У каждого сегмента - ссылка на неизменяемое
+ * состояние (State) из четырёх карт:
+ * - users:    email -> пользователь (email уникален, как в настоящем API)
+ * - tokens:   токен -> пользователь (после логина)
+ * - owners:   ID пользователя -> его заметки с индексами (UserNotes)
+ * - sessions: ID пользователя -> его токены (чтобы удалить их вместе с пользователем)
+ * Сегмент выбирается по хэшу ключа: email, токена или ID пользователя.
+ *
+ * Заметки хранятся отдельно по пользователям: список заметок и поиск по ID
+ * смотрят только в заметки владельца, поэтому чужая заметка для API "не найдена" (404).
+ *
+ * ИНДЕКСЫ (UserNotes):
+ * - byId        - ID заметки -> заметка (ID растут, поэтому это и порядок создания)
+ * - byCategory  - category -> заметки этой категории
+ * - open / done - заметки по completed
+ * GET /notes отдаёт byId владельца целиком, а с фильтром (?category=Work&completed=false,
+ * расширение заглушки) - готовый индекс: даже у пользователя со 100 000 заметок
+ * запрос не перебирает ни чужие заметки, ни свои лишние.
+ *
+ * ПОТОКОБЕЗОПАСНОСТЬ:
+ * Все карты - PersistentSortedMap: изменение создаёт новую карту, старая остаётся целой.
+ * - Чтение берёт текущее состояние сегмента (volatile) и работает с ним без блокировок
+ * - Запись идёт под блокировкой своего сегмента: собрать новое состояние и подменить ссылку.
+ *   Пишущие в разные сегменты не ждут друг друга, читатели не ждут никого
+ * - byId и индексы меняются одной подменой, поэтому читатель всегда видит их согласованными
+ *
+ * СНИМОК И ВОССТАНОВЛЕНИЕ (snapshot/restore):
+ * Снимок - это ссылки на состояния всех сегментов, восстановление - подмена ссылок обратно.
+ * Время не зависит от объёма данных (только от числа сегментов): пользователь
+ * с 50 000 заметок восстанавливается так же быстро, как пустое хранилище.
+ * Так тесты получают одинаковое исходное состояние без пересоздания данных (см. StubSnapshotExtension).
+ *
+ * ХРАНЕНИЕ НА ДИСКЕ (durable, stub.dataDir):
+ * Каждое изменение пишется в журнал StubStorage под той же блокировкой сегмента, до подмены
+ * состояния, - порядок записей в журнале совпадает с порядком изменений. Ответ клиенту
+ * уходит после фиксации записи на диске (групповая фиксация, см. StubJournal).
+ * При запуске состояние собирается из последнего снимка и хвоста журнала.
+ */
+public class NotesStore implements NotesBackend {
+
+    /**
+     * Сегментов по умолчанию: заметно больше потоков сервера, чтобы два пишущих
+     * пользователя редко делили одну блокировку.
+     */
+    public static final int DEFAULT_SHARDS = 64;
+
+    /**
+     * Неизменяемое состояние сегмента.
+     */
+    private static final class State {
+
+        static final State EMPTY = new State(PersistentSortedMap.empty(), PersistentSortedMap.empty(),
+                PersistentSortedMap.empty(), PersistentSortedMap.empty());
+
+        final PersistentSortedMap<String, StoredUser> users;
+        final PersistentSortedMap<String, StoredUser> tokens;
+        final PersistentSortedMap<String, UserNotes> owners;
+        final PersistentSortedMap<String, PersistentSortedMap<String, StoredUser>> sessions;
+
+        State(PersistentSortedMap<String, StoredUser> users, PersistentSortedMap<String, StoredUser> tokens,
+              PersistentSortedMap<String, UserNotes> owners,
+              PersistentSortedMap<String, PersistentSortedMap<String, StoredUser>> sessions) {
+            this.users = users;
+            this.tokens = tokens;
+            this.owners = owners;
+            this.sessions = sessions;
+        }
+
+        State withUsers(PersistentSortedMap<String, StoredUser> users) {
+            return new State(users, tokens, owners, sessions);
+        }
+
+        State withTokens(PersistentSortedMap<String, StoredUser> tokens) {
+            return new State(users, tokens, owners, sessions);
+        }
+
+        State withOwners(PersistentSortedMap<String, UserNotes> owners) {
+            return new State(users, tokens, owners, sessions);
+        }
+
+        State withSessions(PersistentSortedMap<String, PersistentSortedMap<String, StoredUser>> sessions) {
+            return new State(users, tokens, owners, sessions);
+        }
+    }
+
+    /**
+     * Сегмент: ссылка на состояние и блокировка для пишущих.
+     */
+    private static final class Shard {
+
+        private final int index;
+        private final ReentrantLock write = new ReentrantLock();
+        private volatile State state = State.EMPTY;
+
+        Shard(int index) {
+            this.index = index;
+        }
+    }
+
+    /**
+     * Неизменяемый набор заметок одного пользователя с индексами.
+     */
+    private static final class UserNotes {
+
+        static final UserNotes EMPTY = new UserNotes(PersistentSortedMap.empty(), PersistentSortedMap.empty(),
+                PersistentSortedMap.empty(), PersistentSortedMap.empty());
+
+        final PersistentSortedMap<String, StoredNote> byId;
+        final PersistentSortedMap<String, PersistentSortedMap<String, StoredNote>> byCategory;
+        final PersistentSortedMap<String, StoredNote> open;
+        final PersistentSortedMap<String, StoredNote> done;
+
+        UserNotes(PersistentSortedMap<String, StoredNote> byId,
+                  PersistentSortedMap<String, PersistentSortedMap<String, StoredNote>> byCategory,
+                  PersistentSortedMap<String, StoredNote> open, PersistentSortedMap<String, StoredNote> done) {
+            this.byId = byId;
+            this.byCategory = byCategory;
+            this.open = open;
+            this.done = done;
+        }
+
+        /**
+         * @return набор с добавленной или заменённой заметкой
+         */
+        UserNotes put(StoredNote note) {
+            StoredNote previous = byId.get(note.getId());
+            UserNotes base = previous == null ? this : without(previous);
+            String id = note.getId();
+            PersistentSortedMap<String, StoredNote> category = base.byCategory.get(note.getCategory());
+            if (category == null) {
+                category = PersistentSortedMap.empty();
+            }
+            return new UserNotes(base.byId.plus(id, note),
+                    base.byCategory.plus(note.getCategory(), category.plus(id, note)),
+                    note.isCompleted() ? base.open : base.open.plus(id, note),
+                    note.isCompleted() ? base.done.plus(id, note) : base.done);
+        }
+
+        /**
+         * @return набор без заметки; тот же набор, если заметки нет
+         */
+        UserNotes remove(String id) {
+            StoredNote note = byId.get(id);
+            return note == null ? this : without(note);
+        }
+
+        private UserNotes without(StoredNote note) {
+            String id = note.getId();
+            PersistentSortedMap<String, StoredNote> category = byCategory.get(note.getCategory()).minus(id);
+            return new UserNotes(byId.minus(id),
+                    category.isEmpty() ? byCategory.minus(note.getCategory()) : byCategory.plus(note.getCategory(), category),
+                    open.minus(id), done.minus(id));
+        }
+
+        PersistentSortedMap<String, StoredNote> completed(boolean completed) {
+            return completed ? done : open;
+        }
+
+        /**
+         * @param category  категория или null - любая
+         * @param completed статус или null - любой
+         */
+        List<StoredNote> select(String category, Boolean completed) {
+            if (category == null && completed == null) {
+                return byId.values();
+            }
+            if (category == null) {
+                return completed(completed).values();
+            }
+            PersistentSortedMap<String, StoredNote> inCategory = byCategory.get(category);
+            if (inCategory == null) {
+                return new ArrayList<>();
+            }
+            if (completed == null) {
+                return inCategory.values();
+            }
+            // Оба фильтра: перебираем меньший из двух индексов и проверяем второе поле
+            PersistentSortedMap<String, StoredNote> withStatus = completed(completed);
+            List<StoredNote> result = new ArrayList<>();
+            if (inCategory.size() <= withStatus.size()) {
+                inCategory.forEachValue(note -> {
+                    if (note.isCompleted() == completed) {
+                        result.add(note);
+                    }
+                });
+            } else {
+                withStatus.forEachValue(note -> {
+                    if (note.getCategory().equals(category)) {
+                        result.add(note);
+                    }
+                });
+            }
+            return result;
+        }
+    }
+
+    /**
+     * Снимок состояния хранилища (см. snapshot/restore). Неизменяемый, его можно
+     * восстанавливать сколько угодно раз.
+     */
+    public static final class Snapshot {
+
+        private final State[] states;
+        private final long offset;
+
+        private Snapshot(State[] states, long offset) {
+            this.states = states;
+            this.offset = offset;
+        }
+
+        /**
+         * @return позиция журнала, на которой снят снимок (-1 - хранилище без диска)
+         */
+        long getOffset() {
+            return offset;
+        }
+    }
+
+    private final Shard[] shards;
+    private final int shardMask;
+
+    /**
+     * Хранение на диске или null - только память. Задаётся один раз, до запуска сервера.
+     */
+    private volatile StubStorage storage;
+
+    /**
+     * Формат времени created_at/updated_at, как у настоящего API: 2025-01-15T10:30:00.000Z
+     */
+    private static final DateTimeFormatter TIMESTAMP =
+            DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss.SSS'Z'").withZone(ZoneOffset.UTC);
+
+    /**
+     * Счётчик для ID: ID растут, поэтому заметки в списке идут в порядке создания.
+     * Восстановление снимка счётчик не откатывает - ID не повторяются.
+     */
+    private final AtomicLong sequence = new AtomicLong();
+
+    /**
+     * Начало ID (8 hex-символов) - время запуска сервера, как у ObjectId в MongoDB.
+     */
+    private final String idPrefix = String.format("%08x", Instant.now().getEpochSecond());
+
+    public NotesStore() {
+        this(DEFAULT_SHARDS);
+    }
+
+    /**
+     * @param shards число сегментов; округляется вверх до степени двойки
+     */
+    public NotesStore(int shards) {
+        if (shards < 1) {
+            throw new IllegalArgumentException("Shard count must be positive: " + shards);
+        }
+        int count = Integer.highestOneBit(shards) == shards ? shards : Integer.highestOneBit(shards) << 1;
+        this.shards = new Shard[count];
+        for (int i = 0; i < count; i++) {
+            this.shards[i] = new Shard(i);
+        }
+        this.shardMask = count - 1;
+    }
+
+    /**
+     * Хранилище, восстановленное из каталога (или новое, если каталог пуст), с записью изменений на диск.
+     *
+     * @param syncWrites        true - ответ клиенту только после записи изменения на диск
+     * @param groupCommitMillis окно групповой фиксации журнала
+     * @param snapshotBytes     рост журнала, после которого в фоне снимается снимок
+     */
+    public static NotesStore durable(Path directory, boolean syncWrites, long groupCommitMillis, long snapshotBytes)
+            throws IOException {
+        NotesStore store = new NotesStore();
+        store.storage = StubStorage.recover(directory, store, syncWrites, groupCommitMillis, snapshotBytes);
+        return store;
+    }
+
+    /**
+     * Хранилище по настройкам stub.* из EnvConfig: на диске, если задан stub.dataDir, иначе в памяти.
+     * Что и за сколько восстановлено - storage().getRecovery().
+     */
+    public static NotesStore fromConfig() {
+        String dataDir = TestEnv.getStubDataDir();
+        if (dataDir == null) {
+            return new NotesStore();
+        }
+        try {
+            return durable(Paths.get(dataDir), TestEnv.isStubSyncWrites(),
+                    TestEnv.getStubGroupCommitMillis(), TestEnv.getStubSnapshotMb() << 20);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot open stub data directory " + dataDir, e);
+        }
+    }
+
+    /**
+     * @return хранение на диске или null, если хранилище только в памяти
+     */
+    public StubStorage storage() {
+        return storage;
+    }
+
+    /**
+     * Закрывает журнал (если есть). После этого изменения не принимаются.
+     */
+    @Override
+    public void close() throws IOException {
+        StubStorage current = storage;
+        if (current != null) {
+            current.close();
+        }
+    }
+
+    // ==================== ПОЛЬЗОВАТЕЛИ ====================
+
+    /**
+     * Регистрирует пользователя.
+     *
+     * @throws StubException 409, если email уже занят
+     */
+    @Override
+    public StoredUser register(String name, String email, String password) {
+        StoredUser user = new StoredUser(nextId(), name, email, password);
+        StubStorage disk = storage;
+        long logged = -1;
+        Shard byEmail = shardOf(email);
+        Shard byId = shardOf(user.getId());
+        lock(byEmail, byId);
+        try {
+            if (byEmail.state.users.get(email) != null) {
+                throw new StubException(409, "An account already exists with the same email address");
+            }
+            if (disk != null) {
+                logged = disk.logUser(user);
+            }
+            byEmail.state = byEmail.state.withUsers(byEmail.state.users.plus(email, user));
+            byId.state = byId.state.withOwners(byId.state.owners.plus(user.getId(), UserNotes.EMPTY));
+        } finally {
+            unlock(byEmail, byId);
+        }
+        committed(disk, logged);
+        return user;
+    }
+
+    /**
+     * Проверяет email и пароль и выдаёт новый токен.
+     *
+     * @throws StubException 401, если пары email/пароль нет (или аккаунт удаляется в этот момент)
+     */
+    @Override
+    public String login(String email, String password) {
+        StoredUser user = shardOf(email).state.users.get(email);
+        if (user == null || !user.getPassword().equals(password)) {
+            throw new StubException(401, "Incorrect email address or password");
+        }
+        String token = newToken();
+        StubStorage disk = storage;
+        long logged = -1;
+        Shard shard = shardOf(token);
+        Shard byId = shardOf(user.getId());
+        lock(shard, byId);
+        try {
+            if (byId.state.owners.get(user.getId()) == null) {
+                // deleteUser() успел раньше: токен удалённого пользователя не сохраняем
+                throw new StubException(401, "Incorrect email address or password");
+            }
+            if (disk != null) {
+                logged = disk.logToken(token, user);
+            }
+            addToken(shard, byId, token, user);
+        } finally {
+            unlock(shard, byId);
+        }
+        committed(disk, logged);
+        return token;
+    }
+
+    /**
+     * Находит пользователя по токену из заголовка X-AUTH-TOKEN.
+     *
+     * @throws StubException 401, если токена нет, он недействителен или аккаунт удалён
+     */
+    @Override
+    public StoredUser authenticate(String token) {
+        StoredUser user = token == null ? null : shardOf(token).state.tokens.get(token);
+        if (user == null || shardOf(user.getEmail()).state.users.get(user.getEmail()) != user) {
+            throw new StubException(401, "Access token is not valid or has expired, you will need to login");
+        }
+        return user;
+    }
+
+    /**
+     * Удаляет пользователя вместе с его заметками и токенами.
+     *
+     * Токены удаляются по списку пользователя (sessions) уже после блокировки его сегментов:
+     * между этими шагами authenticate() всё равно отклоняет токен удалённого пользователя.
+     */
+    @Override
+    public void deleteUser(StoredUser user) {
+        StubStorage disk = storage;
+        long logged = -1;
+        PersistentSortedMap<String, StoredUser> tokens;
+        Shard byEmail = shardOf(user.getEmail());
+        Shard byId = shardOf(user.getId());
+        lock(byEmail, byId);
+        try {
+            if (disk != null) {
+                logged = disk.logDeleteUser(user);
+            }
+            if (byEmail.state.users.get(user.getEmail()) == user) {
+                byEmail.state = byEmail.state.withUsers(byEmail.state.users.minus(user.getEmail()));
+            }
+            tokens = removeOwner(byId, user.getId());
+        } finally {
+            unlock(byEmail, byId);
+        }
+        removeTokens(tokens);
+        committed(disk, logged);
+    }
+
+    // ==================== ЗАМЕТКИ ====================
+
+    public StoredNote createNote(StoredUser user, String title, String description, String category) {
+        String now = now();
+        StoredNote note = new StoredNote(nextId(), title, description, category, false, now, now, user.getId());
+        StubStorage disk = storage;
+        long logged = -1;
+        Shard shard = shardOf(user.getId());
+        shard.write.lock();
+        try {
+            UserNotes owned = notesOf(shard, user);
+            if (disk != null) {
+                logged = disk.logNote(note);
+            }
+            replaceNotes(shard, user, owned.put(note));
+        } finally {
+            shard.write.unlock();
+        }
+        committed(disk, logged);
+        return note;
+    }
+
+    /**
+     * @return заметки пользователя в порядке создания
+     */
+    public List<StoredNote> listNotes(StoredUser user) {
+        return listNotes(user, null, null);
+    }
+
+    /**
+     * Заметки пользователя с фильтром по индексам.
+     *
+     * @param category  категория или null - любая
+     * @param completed статус или null - любой
+     * @return подходящие заметки в порядке создания
+     */
+    public List<StoredNote> listNotes(StoredUser user, String category, Boolean completed) {
+        return notesOf(shardOf(user.getId()), user).select(category, completed);
+    }
+
+    /**
+     * @throws StubException 404, если у пользователя нет заметки с таким ID
+     */
+    public StoredNote getNote(StoredUser user, String id) {
+        StoredNote note = notesOf(shardOf(user.getId()), user).byId.get(id);
+        if (note == null) {
+            throw noteNotFound();
+        }
+        return note;
+    }
+
+    /**
+     * Заменяет поля заметки целиком (PUT).
+     *
+     * @throws StubException 404, если у пользователя нет заметки с таким ID
+     */
+    public StoredNote updateNote(StoredUser user, String id, String title, String description, String category,
+                                 boolean completed) {
+        String now = now();
+        StubStorage disk = storage;
+        long logged = -1;
+        StoredNote updated;
+        Shard shard = shardOf(user.getId());
+        shard.write.lock();
+        try {
+            UserNotes owned = notesOf(shard, user);
+            StoredNote note = owned.byId.get(id);
+            if (note == null) {
+                throw noteNotFound();
+            }
+            updated = note.withUpdate(title, description, category, completed, now);
+            if (disk != null) {
+                logged = disk.logNote(updated);
+            }
+            replaceNotes(shard, user, owned.put(updated));
+        } finally {
+            shard.write.unlock();
+        }
+        committed(disk, logged);
+        return updated;
+    }
+
+    /**
+     * @throws StubException 404, если у пользователя нет заметки с таким ID
+     */
+    @Override
+    public void deleteNote(StoredUser user, String id) {
+        StubStorage disk = storage;
+        long logged = -1;
+        Shard shard = shardOf(user.getId());
+        shard.write.lock();
+        try {
+            UserNotes owned = notesOf(shard, user);
+            UserNotes updated = owned.remove(id);
+            if (updated == owned) {
+                throw noteNotFound();
+            }
+            if (disk != null) {
+                logged = disk.logDeleteNote(user, id);
+            }
+            replaceNotes(shard, user, updated);
+        } finally {
+            shard.write.unlock();
+        }
+        committed(disk, logged);
+    }
+
+    // ==================== NotesBackend: ОТВЕТЫ В JSON ====================
+
+    @Override
+    public void listNotes(StoredUser user, String category, Boolean completed, JsonGenerator json)
+            throws IOException {
+        json.writeObject(listNotes(user, category, completed));
+    }
+
+    @Override
+    public void getNote(StoredUser user, String id, JsonGenerator json) throws IOException {
+        json.writeObject(getNote(user, id));
+    }
+
+    @Override
+    public NoteWriter create(StoredUser user, String title, String description, String category) {
+        StoredNote note = createNote(user, title, description, category);
+        return json -> json.writeObject(note);
+    }
+
+    @Override
+    public NoteWriter update(StoredUser user, String id, String title, String description, String category,
+                             boolean completed) {
+        StoredNote note = updateNote(user, id, title, description, category, completed);
+        return json -> json.writeObject(note);
+    }
+
+    // ==================== СНИМКИ ====================
+
+    /**
+     * Запоминает текущее состояние. На время снимка останавливаются только пишущие
+     * (все сегменты блокируются по порядку), поэтому снимок согласован целиком.
+     */
+    public Snapshot snapshot() {
+        State[] states = new State[shards.length];
+        lockAll();
+        try {
+            for (int i = 0; i < shards.length; i++) {
+                states[i] = shards[i].state;
+            }
+        } finally {
+            unlockAll();
+        }
+        return new Snapshot(states, -1);
+    }
+
+    /**
+     * Снимок для StubStorage: состояние и переход журнала на новый сегмент в одной точке.
+     * Все изменения пишутся в журнал под блокировкой сегмента, поэтому, пока заблокированы
+     * все сегменты, журнал стоит на месте.
+     */
+    Snapshot checkpoint(StubJournal journal) {
+        State[] states = new State[shards.length];
+        lockAll();
+        try {
+            for (int i = 0; i < shards.length; i++) {
+                states[i] = shards[i].state;
+            }
+            return new Snapshot(states, journal.roll());
+        } finally {
+            unlockAll();
+        }
+    }
+
+    /**
+     * Обходит снимок: сначала все пользователи, затем токены, затем заметки (в таком
+     * порядке их можно загрузить обратно). Токены удалённых пользователей пропускаются.
+     */
+    void export(Snapshot snapshot, Consumer<StoredUser> users, BiConsumer<String, StoredUser> tokens,
+                Consumer<StoredNote> notes) {
+        for (State state : snapshot.states) {
+            state.users.forEachValue(users);
+        }
+        for (State state : snapshot.states) {
+            state.tokens.forEach((token, user) -> {
+                if (isRegistered(snapshot, user)) {
+                    tokens.accept(token, user);
+                }
+            });
+        }
+        for (State state : snapshot.states) {
+            state.owners.forEachValue(owned -> owned.byId.forEachValue(notes));
+        }
+    }
+
+    /**
+     * Возвращает хранилище в состояние снимка: пользователи, токены и заметки,
+     * созданные после снимка, исчезают, изменённые и удалённые - возвращаются.
+     *
+     * @param snapshot снимок этого же хранилища (или хранилища с тем же числом сегментов)
+     * @throws IllegalStateException для хранилища на диске: журнал не может "откатиться"
+     */
+    public void restore(Snapshot snapshot) {
+        if (storage != null) {
+            throw new IllegalStateException("A durable stub store cannot be restored to an in-memory snapshot");
+        }
+        if (snapshot.states.length != shards.length) {
+            throw new IllegalArgumentException("Snapshot has " + snapshot.states.length
+                    + " shards, store has " + shards.length);
+        }
+        lockAll();
+        try {
+            for (int i = 0; i < shards.length; i++) {
+                shards[i].state = snapshot.states[i];
+            }
+        } finally {
+            unlockAll();
+        }
+    }
+
+    // ==================== ВОССТАНОВЛЕНИЕ (StubStorage) ====================
+    // Применяют записи снимка и журнала: без проверок и без записи в журнал
+
+    void loadUser(StoredUser user) {
+        advanceSequence(user.getId());
+        Shard byEmail = shardOf(user.getEmail());
+        Shard byId = shardOf(user.getId());
+        lock(byEmail, byId);
+        try {
+            byEmail.state = byEmail.state.withUsers(byEmail.state.users.plus(user.getEmail(), user));
+            if (byId.state.owners.get(user.getId()) == null) {
+                byId.state = byId.state.withOwners(byId.state.owners.plus(user.getId(), UserNotes.EMPTY));
+            }
+        } finally {
+            unlock(byEmail, byId);
+        }
+    }
+
+    void loadToken(String token, String userId, String email) {
+        StoredUser user = shardOf(email).state.users.get(email);
+        if (user == null || !user.getId().equals(userId)) {
+            return; // пользователь удалён (и, может быть, email занят заново)
+        }
+        Shard shard = shardOf(token);
+        Shard byId = shardOf(userId);
+        lock(shard, byId);
+        try {
+            addToken(shard, byId, token, user);
+        } finally {
+            unlock(shard, byId);
+        }
+    }
+
+    void loadNote(StoredNote note) {
+        advanceSequence(note.getId());
+        Shard shard = shardOf(note.getUserId());
+        shard.write.lock();
+        try {
+            UserNotes owned = shard.state.owners.get(note.getUserId());
+            if (owned != null) {
+                shard.state = shard.state.withOwners(shard.state.owners.plus(note.getUserId(), owned.put(note)));
+            }
+        } finally {
+            shard.write.unlock();
+        }
+    }
+
+    void loadDeleteNote(String userId, String id) {
+        Shard shard = shardOf(userId);
+        shard.write.lock();
+        try {
+            UserNotes owned = shard.state.owners.get(userId);
+            if (owned != null) {
+                shard.state = shard.state.withOwners(shard.state.owners.plus(userId, owned.remove(id)));
+            }
+        } finally {
+            shard.write.unlock();
+        }
+    }
+
+    void loadDeleteUser(String userId, String email) {
+        PersistentSortedMap<String, StoredUser> tokens;
+        Shard byEmail = shardOf(email);
+        Shard byId = shardOf(userId);
+        lock(byEmail, byId);
+        try {
+            StoredUser user = byEmail.state.users.get(email);
+            if (user != null && user.getId().equals(userId)) {
+                byEmail.state = byEmail.state.withUsers(byEmail.state.users.minus(email));
+            }
+            tokens = removeOwner(byId, userId);
+        } finally {
+            unlock(byEmail, byId);
+        }
+        removeTokens(tokens);
+    }
+
+    /**
+     * Счётчик ID не меньше восстановленного ID: после перезапуска в ту же секунду
+     * (тот же idPrefix) новые ID не совпадут со старыми.
+     */
+    private void advanceSequence(String id) {
+        long value = Long.parseUnsignedLong(id.substring(8), 16);
+        sequence.accumulateAndGet(value, Math::max);
+    }
+
+    /**
+     * @return зарегистрированных пользователей
+     */
+    public int userCount() {
+        int count = 0;
+        for (Shard shard : shards) {
+            count += shard.state.users.size();
+        }
+        return count;
+    }
+
+    /**
+     * @return выданных токенов (токены удалённых пользователей не считаются - их нет)
+     */
+    public int tokenCount() {
+        int count = 0;
+        for (Shard shard : shards) {
+            count += shard.state.tokens.size();
+        }
+        return count;
+    }
+
+    /**
+     * @return заметок у всех пользователей
+     */
+    public long noteCount() {
+        long[] count = new long[1];
+        for (Shard shard : shards) {
+            shard.state.owners.forEachValue(owned -> count[0] += owned.byId.size());
+        }
+        return count[0];
+    }
+
+    // ==================== ВСПОМОГАТЕЛЬНОЕ ====================
+
+    private static void committed(StubStorage disk, long logged) {
+        if (disk != null) {
+            disk.committed(logged);
+        }
+    }
+
+    /**
+     * Сегмент ключа. Хэш строки перемешивается, чтобы младшие биты
+     * (по ним выбирается сегмент) зависели от всего ключа, а не только от его конца.
+     */
+    private Shard shardOf(String key) {
+        return shards[shardIndex(key)];
+    }
+
+    private int shardIndex(String key) {
+        int hash = key.hashCode();
+        return (hash ^ (hash >>> 16)) & shardMask;
+    }
+
+    /**
+     * @return true, если user в снимке - зарегистрированный пользователь (как в authenticate())
+     */
+    private boolean isRegistered(Snapshot snapshot, StoredUser user) {
+        return snapshot.states[shardIndex(user.getEmail())].users.get(user.getEmail()) == user;
+    }
+
+    /**
+     * Блокирует два сегмента (или один, если это один и тот же) всегда в порядке
+     * номеров - два потока с той же парой не заблокируют друг друга навсегда.
+     */
+    private static void lock(Shard first, Shard second) {
+        if (first == second) {
+            first.write.lock();
+        } else if (first.index < second.index) {
+            first.write.lock();
+            second.write.lock();
+        } else {
+            second.write.lock();
+            first.write.lock();
+        }
+    }
+
+    private static void unlock(Shard first, Shard second) {
+        first.write.unlock();
+        if (second != first) {
+            second.write.unlock();
+        }
+    }
+
+    private void lockAll() {
+        for (Shard shard : shards) {
+            shard.write.lock();
+        }
+    }
+
+    private void unlockAll() {
+        for (int i = shards.length - 1; i >= 0; i--) {
+            shards[i].write.unlock();
+        }
+    }
+
+    private static UserNotes notesOf(Shard shard, StoredUser user) {
+        UserNotes owned = shard.state.owners.get(user.getId());
+        if (owned == null) {
+            // Аккаунт удалён, а старый токен ещё в чьих-то руках
+            throw new StubException(401, "Access token is not valid or has expired, you will need to login");
+        }
+        return owned;
+    }
+
+    /**
+     * Добавляет токен в карту токенов и в список токенов пользователя.
+     * Вызывается под блокировками обоих сегментов (они могут совпадать).
+     */
+    private static void addToken(Shard shard, Shard byId, String token, StoredUser user) {
+        shard.state = shard.state.withTokens(shard.state.tokens.plus(token, user));
+        PersistentSortedMap<String, StoredUser> own = byId.state.sessions.get(user.getId());
+        if (own == null) {
+            own = PersistentSortedMap.empty();
+        }
+        byId.state = byId.state.withSessions(byId.state.sessions.plus(user.getId(), own.plus(token, user)));
+    }
+
+    /**
+     * Убирает заметки и список токенов пользователя. Вызывается под блокировкой его сегмента.
+     *
+     * @return токены пользователя (пустая карта, если их не было) - их удаляет removeTokens()
+     */
+    private static PersistentSortedMap<String, StoredUser> removeOwner(Shard byId, String userId) {
+        PersistentSortedMap<String, StoredUser> tokens = byId.state.sessions.get(userId);
+        byId.state = byId.state.withOwners(byId.state.owners.minus(userId))
+                .withSessions(byId.state.sessions.minus(userId));
+        return tokens == null ? PersistentSortedMap.empty() : tokens;
+    }
+
+    /**
+     * Удаляет токены удалённого пользователя, каждый под блокировкой своего сегмента.
+     */
+    private void removeTokens(PersistentSortedMap<String, StoredUser> tokens) {
+        tokens.forEach((token, user) -> {
+            Shard shard = shardOf(token);
+            shard.write.lock();
+            try {
+                if (shard.state.tokens.get(token) == user) {
+                    shard.state = shard.state.withTokens(shard.state.tokens.minus(token));
+                }
+            } finally {
+                shard.write.unlock();
+            }
+        });
+    }
+
+    /**
+     * Вызывается под блокировкой сегмента пользователя.
+     */
+    private static void replaceNotes(Shard shard, StoredUser user, UserNotes notes) {
+        shard.state = shard.state.withOwners(shard.state.owners.plus(user.getId(), notes));
+    }
+
+    private static StubException noteNotFound() {
+        return new StubException(404, "No note was found with the provided ID, Maybe it was deleted");
+    }
+
+    /**
+     * ID из 24 hex-символов, как у настоящего API: 8 символов времени запуска + 16 символов счётчика.
+     */
+    private String nextId() {
+        return idPrefix + String.format("%016x", sequence.incrementAndGet());
+    }
+
+    private static String newToken() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return String.format("%016x%016x%016x%016x",
+                random.nextLong(), random.nextLong(), random.nextLong(), random.nextLong());
+    }
+
+    private static String now() {
+        return TIMESTAMP.format(Instant.now());
+    }
+}
@@ -0,0 +1,218 @@
+package com.example.notes.stub;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Встроенный сервер-заглушка Notes API (работает внутри JVM с тестами).
+ *
+ * ЗАЧЕМ НУЖЕН ЭТОТ КЛАСС:
+ * Тесты ходят на practice.expandtesting.com: прогон медленный и падает,
+ * когда публичный сайт тормозит или недоступен. Заглушка реализует все маршруты
+ * из Endpoints с хранилищем в памяти (NotesStore) и отвечает с теми же
+ * статус-кодами, что и настоящий API. Запросы идут через loopback (127.0.0.1),
+ * поэтому весь набор тестов проходит за секунды и без интернета.
+ *
+ * КАК ВКЛЮЧИТЬ:
+ * baseUrl=inproc в local.properties или -DbaseUrl=inproc в командной строке.
+ * TestEnv.getBaseUrl() сам запустит сервер (см. shared()) и вернёт его адрес.
+ *
+ * КАК ЭТО РАБОТАЕТ:
+ * 1. HttpServer из JDK (com.sun.net.httpserver) слушает случайный свободный порт
+ * 2. Все пути под /notes/api обрабатывает NotesApiHandler
+ * 3. Запросы выполняются пулом потоков, поэтому параллельные тесты не ждут друг друга
+ * 4. GET /metrics - время обработки внутри заглушки по маршрутам (см. StubMetrics);
+ *    ServerTimings сравнивает его с временем, которое видит клиент
+ *
+ * С stub.dataDir общая заглушка хранит данные на диске (см. StubStorage) и после
+ * перезапуска JVM поднимается с теми же пользователями и заметками.
+ * С stub.store=offheap заметки хранятся вне кучи (см. OffHeapNotesStore).
+ */
+public class NotesStubServer {
+
+    /**
+     * Путь API на сервере - как у настоящего: https://practice.expandtesting.com/notes/api
+     */
+    public static final String CONTEXT_PATH = "/notes/api";
+
+    public static final String METRICS_PATH = "/metrics";
+
+    private static volatile NotesStubServer shared;
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final NotesBackend store;
+    private final StubMetrics metrics;
+
+    private NotesStubServer(HttpServer server, ExecutorService executor, NotesBackend store, StubMetrics metrics) {
+        this.server = server;
+        this.executor = executor;
+        this.store = store;
+        this.metrics = metrics;
+    }
+
+    /**
+     * Запускает новый сервер на случайном свободном порту.
+     *
+     * @param threads сколько потоков обрабатывают запросы
+     * @return запущенный сервер
+     */
+    public static NotesStubServer start(int threads) {
+        return start(threads, new NotesStore());
+    }
+
+    /**
+     * Запускает новый сервер с готовым хранилищем (например, восстановленным с диска).
+     * Сервер закрывает хранилище в stop().
+     */
+    public static NotesStubServer start(int threads, NotesBackend store) {
+        AtomicInteger counter = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "notes-stub-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        // HttpServer пишет заголовки и тело ответа отдельными пакетами. С алгоритмом Нейгла
+        // второй пакет ждёт подтверждения первого (delayed ACK, ~40 мс) - на loopback это
+        // в сотни раз дольше самой обработки. Свойство читается один раз, при создании первого сервера.
+        if (System.getProperty("sun.net.httpserver.nodelay") == null) {
+            System.setProperty("sun.net.httpserver.nodelay", "true");
+        }
+        try {
+            // Порт 0 - операционная система выберет свободный порт сама
+            HttpServer server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+            StubMetrics metrics = new StubMetrics();
+            server.createContext(CONTEXT_PATH, new NotesApiHandler(store, CONTEXT_PATH, metrics));
+            server.createContext(METRICS_PATH, exchange -> sendMetrics(exchange, metrics));
+            server.setExecutor(StubMetrics.timed(executor));
+
+            // Поток-диспетчер HttpServer наследует признак daemon от потока, вызвавшего start().
+            // Запускаем из daemon-потока, чтобы незакрытый сервер не мешал JVM завершиться.
+            Thread starter = new Thread(server::start, "notes-stub-starter");
+            starter.setDaemon(true);
+            starter.start();
+            starter.join();
+            return new NotesStubServer(server, executor, store, metrics);
+        } catch (IOException e) {
+            executor.shutdownNow();
+            throw new UncheckedIOException("Cannot start in-process Notes API server", e);
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while starting in-process Notes API server", e);
+        }
+    }
+
+    /**
+     * Возвращает общий сервер для всей JVM, запуская его при первом вызове.
+     *
+     * Потоков - вдвое больше, чем ядер (но не меньше 16): тестов параллельно идёт
+     * немного, а асинхронные клиенты держат в полёте десятки запросов.
+     */
+    public static NotesStubServer shared() {
+        NotesStubServer server = shared;
+        if (server == null) {
+            synchronized (NotesStubServer.class) {
+                server = shared;
+                if (server == null) {
+                    server = start(Math.max(16, Runtime.getRuntime().availableProcessors() * 2),
+                            NotesBackend.fromConfig());
+                    if (server.store instanceof NotesStore && ((NotesStore) server.store).storage() != null) {
+                        // Общий сервер не останавливают явно: журнал закрывается при выходе из JVM
+                        NotesStubServer started = server;
+                        Runtime.getRuntime().addShutdownHook(new Thread(started::stop, "notes-stub-shutdown"));
+                    }
+                    shared = server;
+                }
+            }
+        }
+        return server;
+    }
+
+    /**
+     * @return общий сервер, если он уже запущен, иначе null (в отличие от shared() не запускает)
+     */
+    public static NotesStubServer sharedIfRunning() {
+        return shared;
+    }
+
+    /**
+     * @return базовый URL API, например http://127.0.0.1:54321/notes/api
+     */
+    public String baseUrl() {
+        return rootUrl() + CONTEXT_PATH;
+    }
+
+    /**
+     * @return URL метрик, например http://127.0.0.1:54321/metrics
+     */
+    public String metricsUrl() {
+        return rootUrl() + METRICS_PATH;
+    }
+
+    /**
+     * @return время обработки запросов этим сервером
+     */
+    public StubMetrics metrics() {
+        return metrics;
+    }
+
+    /**
+     * @return хранилище в куче (снимки, журнал)
+     * @throws IllegalStateException если сервер работает с другим хранилищем (stub.store=offheap)
+     */
+    public NotesStore store() {
+        if (!(store instanceof NotesStore)) {
+            throw new IllegalStateException("Stub server runs with " + store.getClass().getSimpleName());
+        }
+        return (NotesStore) store;
+    }
+
+    /**
+     * @return хранилище, с которым работает сервер
+     */
+    public NotesBackend backend() {
+        return store;
+    }
+
+    private String rootUrl() {
+        InetSocketAddress address = server.getAddress();
+        return "http://" + address.getAddress().getHostAddress() + ":" + address.getPort();
+    }
+
+    private static void sendMetrics(HttpExchange exchange, StubMetrics metrics) throws IOException {
+        try {
+            byte[] body = metrics.writePrometheus().getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", "text/plain; version=0.0.4; charset=utf-8");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        } finally {
+            exchange.close();
+        }
+    }
+
+    /**
+     * Останавливает сервер и его потоки, закрывает журнал хранилища (если есть).
+     */
+    public void stop() {
+        server.stop(0);
+        executor.shutdownNow();
+        try {
+            store.close();
+        } catch (IOException e) {
+            System.err.println("Warning: cannot close stub storage: " + e);
+        }
+    }
+}
@@ -0,0 +1,692 @@
+package com.example.notes.stub;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Хранилище заглушки с заметками вне кучи (stub.store=offheap) - для наборов в 10M+ заметок.
+ *
+ * ЗАЧЕМ НУЖЕН ЭТОТ КЛАСС:
+ * В NotesStore заметка - объект с семью строками плюс узлы трёх индексов: сотни байт
+ * на заметку, и все эти объекты сборщик мусора обходит при каждой полной сборке.
+ * 10M заметок - это гигабайты кучи и секунды пауз. Здесь заметка - несколько десятков байт
+ * в больших блоках памяти вне кучи (slab), а в куче на заметку остаётся 16 байт
+ * в массивах long, которые сборщик не обходит вовсе.
+ *
+ * ЗАПИСЬ ЗАМЕТКИ В SLAB:
+ *   0  int   размер блока (кратен ALIGN: блок переиспользуется заметками того же размера)
+ *   4  short длина title в байтах UTF-8
+ *   6  short длина description в байтах UTF-8
+ *   8  long  номер ID (ID = idPrefix + 16 hex номера)
+ *   16 long  created_at, мс от эпохи
+ *   24 long  updated_at, мс от эпохи
+ *   32 byte  флаги: бит 0 - completed, биты 1-7 - код категории из словаря
+ *   33       title, затем description (UTF-8)
+ * user_id в записи нет - заметки и так лежат по владельцам.
+ *
+ * КАК ЭТО РАБОТАЕТ:
+ * - Пользователи и токены - в ConcurrentHashMap (их мало); свои токены владелец помнит сам,
+ *   чтобы удалить их вместе с ним
+ * - У владельца (Owner) - отсортированные массивы номеров ID и адресов записей:
+ *   новые ID больше старых, поэтому создание - дописывание в конец, поиск - двоичный
+ * - Адрес записи - номер slab (старшие 32 бита) и смещение в нём
+ * - Освобождённый блок (удаление, PUT с более длинным текстом) уходит в список свободных
+ *   блоков своего размера и достаётся следующей записи того же размера
+ * - Ответ пишется прямо из slab: байты title и description копируются в буфер потока,
+ *   туда же кодируется ID в hex, и всё уходит в JsonGenerator как UTF-8 - ни String,
+ *   ни объекта заметки на запрос
+ *
+ * ПОТОКОБЕЗОПАСНОСТЬ:
+ * У каждого владельца - своя блокировка чтения/записи: чтения его заметок идут параллельно,
+ * разные пользователи друг друга не ждут. Выделение блоков - под общей блокировкой,
+ * это несколько операций с массивами.
+ *
+ * ОГРАНИЧЕНИЯ:
+ * - Снимков (snapshot/restore) и журнала на диске нет - это NotesStore
+ * - Фильтры ?category= и ?completed= перебирают заметки владельца (индексов нет)
+ * - Память вне кучи ограничена -XX:MaxDirectMemorySize (по умолчанию - как -Xmx)
+ */
+public class OffHeapNotesStore implements NotesBackend {
+
+    /**
+     * Размер slab по умолчанию.
+     */
+    public static final int DEFAULT_SLAB_BYTES = 64 << 20;
+
+    private static final int ALIGN = 16;
+
+    private static final int HEADER = 33;
+
+    private static final int MAX_TEXT_BYTES = 0xFFFF;
+
+    /**
+     * Длина ID: 8 hex-символов idPrefix и 16 hex номера.
+     */
+    private static final int ID_LENGTH = 24;
+
+    private static final byte[] HEX = "0123456789abcdef".getBytes(StandardCharsets.US_ASCII);
+
+    private static final DateTimeFormatter TIMESTAMP =
+            DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss.SSS'Z'").withZone(ZoneOffset.UTC);
+
+    /**
+     * Буфер потока для title/description и ID при записи ответа (description - до 1000 символов).
+     */
+    private static final ThreadLocal<byte[]> SCRATCH = ThreadLocal.withInitial(() -> new byte[4096]);
+
+    /**
+     * Заметки одного пользователя: номера ID по возрастанию и адреса их записей.
+     */
+    private static final class Owner {
+
+        final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+        long[] ids = new long[8];
+        long[] refs = new long[8];
+        int size;
+        boolean deleted;
+        final List<String> tokens = new ArrayList<>();
+
+        int indexOf(long id) {
+            int low = 0;
+            int high = size - 1;
+            while (low <= high) {
+                int mid = (low + high) >>> 1;
+                long value = ids[mid];
+                if (value < id) {
+                    low = mid + 1;
+                } else if (value > id) {
+                    high = mid - 1;
+                } else {
+                    return mid;
+                }
+            }
+            return -1;
+        }
+
+        void append(long id, long ref) {
+            if (size == ids.length) {
+                int capacity = size + (size >> 1);
+                ids = Arrays.copyOf(ids, capacity);
+                refs = Arrays.copyOf(refs, capacity);
+            }
+            ids[size] = id;
+            refs[size] = ref;
+            size++;
+        }
+
+        void removeAt(int index) {
+            int tail = size - index - 1;
+            System.arraycopy(ids, index + 1, ids, index, tail);
+            System.arraycopy(refs, index + 1, refs, index, tail);
+            size--;
+        }
+    }
+
+    private final int slabBytes;
+
+    private final Map<String, StoredUser> users = new ConcurrentHashMap<>();
+    private final Map<String, StoredUser> tokens = new ConcurrentHashMap<>();
+    private final Map<String, Owner> owners = new ConcurrentHashMap<>();
+
+    // Словарь категорий: код (индекс) <-> название. Пишется под своим монитором, читается без блокировок
+    private volatile String[] categories = new String[0];
+    private final Map<String, Integer> categoryCodes = new ConcurrentHashMap<>();
+
+    // Под allocator
+    private final Object allocator = new Object();
+    private final List<ByteBuffer> slabs = new ArrayList<>();
+    private volatile ByteBuffer[] slabArray = new ByteBuffer[0];
+    private int slabOffset;
+    private long[][] free = new long[0][];
+    private int[] freeCount = new int[0];
+    private long usedBytes;
+
+    private final AtomicLong sequence = new AtomicLong();
+
+    /**
+     * Начало ID (8 hex-символов) - время запуска, как в NotesStore.
+     */
+    private final String idPrefix = String.format("%08x", Instant.now().getEpochSecond());
+
+    private final byte[] idPrefixBytes = idPrefix.getBytes(StandardCharsets.US_ASCII);
+
+    public OffHeapNotesStore() {
+        this(DEFAULT_SLAB_BYTES);
+    }
+
+    /**
+     * @param slabBytes размер одного блока памяти вне кучи
+     */
+    public OffHeapNotesStore(int slabBytes) {
+        if (slabBytes < HEADER + 2 * MAX_TEXT_BYTES + ALIGN) {
+            throw new IllegalArgumentException("Slab must fit the largest note: " + slabBytes);
+        }
+        this.slabBytes = slabBytes;
+    }
+
+    // ==================== ПОЛЬЗОВАТЕЛИ ====================
+
+    @Override
+    public StoredUser register(String name, String email, String password) {
+        StoredUser user = new StoredUser(nextId(), name, email, password);
+        owners.put(user.getId(), new Owner());
+        if (users.putIfAbsent(email, user) != null) {
+            owners.remove(user.getId());
+            throw new StubException(409, "An account already exists with the same email address");
+        }
+        return user;
+    }
+
+    @Override
+    public String login(String email, String password) {
+        StoredUser user = users.get(email);
+        if (user == null || !user.getPassword().equals(password)) {
+            throw new StubException(401, "Incorrect email address or password");
+        }
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        String token = String.format("%016x%016x%016x%016x",
+                random.nextLong(), random.nextLong(), random.nextLong(), random.nextLong());
+        Owner owner = owners.get(user.getId());
+        if (owner == null) {
+            throw new StubException(401, "Incorrect email address or password");
+        }
+        owner.lock.writeLock().lock();
+        try {
+            if (owner.deleted) {
+                // deleteUser() успел раньше: токен удалённого пользователя не сохраняем
+                throw new StubException(401, "Incorrect email address or password");
+            }
+            tokens.put(token, user);
+            owner.tokens.add(token);
+        } finally {
+            owner.lock.writeLock().unlock();
+        }
+        return token;
+    }
+
+    @Override
+    public StoredUser authenticate(String token) {
+        StoredUser user = token == null ? null : tokens.get(token);
+        if (user == null || users.get(user.getEmail()) != user) {
+            throw new StubException(401, "Access token is not valid or has expired, you will need to login");
+        }
+        return user;
+    }
+
+    /**
+     * Удаляет пользователя и его токены; блоки его заметок возвращаются в списки свободных.
+     */
+    @Override
+    public void deleteUser(StoredUser user) {
+        users.remove(user.getEmail(), user);
+        Owner owner = owners.remove(user.getId());
+        if (owner == null) {
+            return;
+        }
+        owner.lock.writeLock().lock();
+        try {
+            for (int i = 0; i < owner.size; i++) {
+                release(owner.refs[i]);
+            }
+            for (String token : owner.tokens) {
+                tokens.remove(token);
+            }
+            owner.tokens.clear();
+            owner.size = 0;
+            owner.deleted = true;
+        } finally {
+            owner.lock.writeLock().unlock();
+        }
+    }
+
+    // ==================== ЗАМЕТКИ ====================
+
+    /**
+     * Создаёт заметку без ответа (для заполнения больших наборов).
+     *
+     * @return ID новой заметки
+     */
+    public String addNote(StoredUser user, String title, String description, String category) {
+        return formatId(insert(user, utf8(title), utf8(description), categoryCode(category),
+                System.currentTimeMillis()));
+    }
+
+    /**
+     * Ответ пишется из тех же байтов, что ушли в slab: заметку не нужно искать снова
+     * (её могли уже изменить или удалить другим запросом).
+     */
+    @Override
+    public NoteWriter create(StoredUser user, String title, String description, String category) {
+        byte[] titleBytes = utf8(title);
+        byte[] descriptionBytes = utf8(description);
+        int code = categoryCode(category);
+        long now = System.currentTimeMillis();
+        long number = insert(user, titleBytes, descriptionBytes, code, now);
+        return json -> writeNote(number, now, now, code << 1, titleBytes, descriptionBytes, user, json);
+    }
+
+    /**
+     * @return номер новой заметки
+     */
+    private long insert(StoredUser user, byte[] titleBytes, byte[] descriptionBytes, int code, long now) {
+        Owner owner = ownerOf(user);
+        owner.lock.writeLock().lock();
+        try {
+            checkAlive(owner);
+            // Номер - под блокировкой владельца: его массив ID остаётся отсортированным
+            long id = sequence.incrementAndGet();
+            long ref = allocate(HEADER + titleBytes.length + descriptionBytes.length);
+            write(ref, id, now, now, code, false, titleBytes, descriptionBytes);
+            owner.append(id, ref);
+            return id;
+        } finally {
+            owner.lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void listNotes(StoredUser user, String category, Boolean completed, JsonGenerator json)
+            throws IOException {
+        Owner owner = ownerOf(user);
+        int code = category == null ? -1 : knownCategoryCode(category);
+        owner.lock.readLock().lock();
+        try {
+            checkAlive(owner);
+            json.writeStartArray();
+            if (category == null || code >= 0) {
+                for (int i = 0; i < owner.size; i++) {
+                    long ref = owner.refs[i];
+                    int flags = slab(ref).get(offset(ref) + 32) & 0xFF;
+                    if ((code < 0 || flags >>> 1 == code) && (completed == null || ((flags & 1) != 0) == completed)) {
+                        writeNote(ref, user, json);
+                    }
+                }
+            }
+            json.writeEndArray();
+        } finally {
+            owner.lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void getNote(StoredUser user, String id, JsonGenerator json) throws IOException {
+        Owner owner = ownerOf(user);
+        long number = parseId(id);
+        owner.lock.readLock().lock();
+        try {
+            checkAlive(owner);
+            int index = owner.indexOf(number);
+            if (index < 0) {
+                throw noteNotFound();
+            }
+            writeNote(owner.refs[index], user, json);
+        } finally {
+            owner.lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public NoteWriter update(StoredUser user, String id, String title, String description, String category,
+                             boolean completed) {
+        Owner owner = ownerOf(user);
+        long number = parseId(id);
+        byte[] titleBytes = utf8(title);
+        byte[] descriptionBytes = utf8(description);
+        int code = categoryCode(category);
+        long now = System.currentTimeMillis();
+        long createdAt;
+        owner.lock.writeLock().lock();
+        try {
+            checkAlive(owner);
+            int index = owner.indexOf(number);
+            if (index < 0) {
+                throw noteNotFound();
+            }
+            long ref = owner.refs[index];
+            createdAt = slab(ref).getLong(offset(ref) + 16);
+            int needed = HEADER + titleBytes.length + descriptionBytes.length;
+            if (blockSize(needed) != slab(ref).getInt(offset(ref))) {
+                // Другой размер блока - новый блок, старый в список свободных
+                long moved = allocate(needed);
+                release(ref);
+                ref = moved;
+                owner.refs[index] = ref;
+            }
+            write(ref, number, createdAt, now, code, completed, titleBytes, descriptionBytes);
+        } finally {
+            owner.lock.writeLock().unlock();
+        }
+        long created = createdAt;
+        int flags = code << 1 | (completed ? 1 : 0);
+        return json -> writeNote(number, created, now, flags, titleBytes, descriptionBytes, user, json);
+    }
+
+    @Override
+    public void deleteNote(StoredUser user, String id) {
+        Owner owner = ownerOf(user);
+        long number = parseId(id);
+        owner.lock.writeLock().lock();
+        try {
+            checkAlive(owner);
+            int index = owner.indexOf(number);
+            if (index < 0) {
+                throw noteNotFound();
+            }
+            release(owner.refs[index]);
+            owner.removeAt(index);
+        } finally {
+            owner.lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Память вне кучи не освобождается явно: slab отпускает сборщик мусора вместе с хранилищем.
+     */
+    @Override
+    public void close() {
+        users.clear();
+        tokens.clear();
+        owners.clear();
+        synchronized (allocator) {
+            slabs.clear();
+            slabArray = new ByteBuffer[0];
+            free = new long[0][];
+            freeCount = new int[0];
+            usedBytes = 0;
+        }
+    }
+
+    // ==================== СТАТИСТИКА ====================
+
+    /**
+     * @return выданных токенов (токены удалённых пользователей не считаются - их нет)
+     */
+    public int tokenCount() {
+        return tokens.size();
+    }
+
+    /**
+     * @return заметок у всех пользователей
+     */
+    public long noteCount() {
+        long count = 0;
+        for (Owner owner : owners.values()) {
+            owner.lock.readLock().lock();
+            try {
+                count += owner.size;
+            } finally {
+                owner.lock.readLock().unlock();
+            }
+        }
+        return count;
+    }
+
+    /**
+     * @return выделено памяти вне кучи (все slab целиком)
+     */
+    public long offHeapBytes() {
+        synchronized (allocator) {
+            return (long) slabs.size() * slabBytes;
+        }
+    }
+
+    /**
+     * @return занято записями заметок (без свободных блоков и хвоста последнего slab)
+     */
+    public long usedBytes() {
+        synchronized (allocator) {
+            return usedBytes;
+        }
+    }
+
+    // ==================== SLAB ====================
+
+    private static int blockSize(int bytes) {
+        return (bytes + ALIGN - 1) & -ALIGN;
+    }
+
+    private long allocate(int bytes) {
+        int size = blockSize(bytes);
+        int sizeClass = size / ALIGN;
+        synchronized (allocator) {
+            usedBytes += size;
+            if (sizeClass < freeCount.length && freeCount[sizeClass] > 0) {
+                return free[sizeClass][--freeCount[sizeClass]];
+            }
+            if (slabs.isEmpty() || slabOffset + size > slabBytes) {
+                slabs.add(ByteBuffer.allocateDirect(slabBytes));
+                slabArray = slabs.toArray(new ByteBuffer[0]);
+                slabOffset = 0;
+            }
+            long ref = (long) (slabs.size() - 1) << 32 | slabOffset;
+            slabs.get(slabs.size() - 1).putInt(slabOffset, size);
+            slabOffset += size;
+            return ref;
+        }
+    }
+
+    private void release(long ref) {
+        int size = slab(ref).getInt(offset(ref));
+        int sizeClass = size / ALIGN;
+        synchronized (allocator) {
+            usedBytes -= size;
+            if (sizeClass >= freeCount.length) {
+                free = Arrays.copyOf(free, sizeClass + 1);
+                freeCount = Arrays.copyOf(freeCount, sizeClass + 1);
+            }
+            long[] stack = free[sizeClass];
+            if (stack == null) {
+                stack = free[sizeClass] = new long[16];
+            } else if (freeCount[sizeClass] == stack.length) {
+                stack = free[sizeClass] = Arrays.copyOf(stack, stack.length * 2);
+            }
+            stack[freeCount[sizeClass]++] = ref;
+        }
+    }
+
+    private ByteBuffer slab(long ref) {
+        return slabArray[(int) (ref >>> 32)];
+    }
+
+    private static int offset(long ref) {
+        return (int) ref;
+    }
+
+    /**
+     * Пишет запись в выделенный блок (размер блока в заголовке уже стоит). Вызывается под блокировкой владельца.
+     */
+    private void write(long ref, long id, long createdAt, long updatedAt, int category, boolean completed,
+                       byte[] title, byte[] description) {
+        ByteBuffer slab = slab(ref);
+        int at = offset(ref);
+        slab.putShort(at + 4, (short) title.length);
+        slab.putShort(at + 6, (short) description.length);
+        slab.putLong(at + 8, id);
+        slab.putLong(at + 16, createdAt);
+        slab.putLong(at + 24, updatedAt);
+        slab.put(at + 32, (byte) (category << 1 | (completed ? 1 : 0)));
+        ByteBuffer target = slab.duplicate();
+        target.position(at + HEADER);
+        target.put(title).put(description);
+    }
+
+    /**
+     * Пишет заметку из slab в JSON - те же поля и имена, что у StoredNote.
+     */
+    private void writeNote(long ref, StoredUser user, JsonGenerator json) throws IOException {
+        ByteBuffer slab = slab(ref);
+        int at = offset(ref);
+        int titleLength = slab.getShort(at + 4) & 0xFFFF;
+        int descriptionLength = slab.getShort(at + 6) & 0xFFFF;
+        int flags = slab.get(at + 32) & 0xFF;
+        int text = titleLength + descriptionLength;
+        byte[] scratch = scratch(text + ID_LENGTH);
+        ByteBuffer source = slab.duplicate();
+        source.position(at + HEADER);
+        source.get(scratch, 0, text);
+        encodeId(slab.getLong(at + 8), scratch, text);
+
+        json.writeStartObject();
+        json.writeFieldName("id");
+        json.writeUTF8String(scratch, text, ID_LENGTH);
+        json.writeFieldName("title");
+        json.writeUTF8String(scratch, 0, titleLength);
+        json.writeFieldName("description");
+        json.writeUTF8String(scratch, titleLength, descriptionLength);
+        writeTail(slab.getLong(at + 16), slab.getLong(at + 24), flags, user, json);
+    }
+
+    /**
+     * Пишет заметку из её полей (ответ create() и update()).
+     */
+    private void writeNote(long number, long createdAt, long updatedAt, int flags, byte[] title, byte[] description,
+                           StoredUser user, JsonGenerator json) throws IOException {
+        byte[] scratch = scratch(ID_LENGTH);
+        encodeId(number, scratch, 0);
+        json.writeStartObject();
+        json.writeFieldName("id");
+        json.writeUTF8String(scratch, 0, ID_LENGTH);
+        json.writeFieldName("title");
+        json.writeUTF8String(title, 0, title.length);
+        json.writeFieldName("description");
+        json.writeUTF8String(description, 0, description.length);
+        writeTail(createdAt, updatedAt, flags, user, json);
+    }
+
+    private void writeTail(long createdAt, long updatedAt, int flags, StoredUser user, JsonGenerator json)
+            throws IOException {
+        json.writeStringField("category", categories[flags >>> 1]);
+        json.writeBooleanField("completed", (flags & 1) != 0);
+        json.writeStringField("created_at", TIMESTAMP.format(Instant.ofEpochMilli(createdAt)));
+        json.writeStringField("updated_at", TIMESTAMP.format(Instant.ofEpochMilli(updatedAt)));
+        json.writeStringField("user_id", user.getId());
+        json.writeEndObject();
+    }
+
+    // ==================== ВСПОМОГАТЕЛЬНОЕ ====================
+
+    private Owner ownerOf(StoredUser user) {
+        Owner owner = owners.get(user.getId());
+        if (owner == null) {
+            throw accountDeleted();
+        }
+        return owner;
+    }
+
+    /**
+     * Вызывается под блокировкой владельца: удаление аккаунта могло пройти между ownerOf и блокировкой.
+     */
+    private static void checkAlive(Owner owner) {
+        if (owner.deleted) {
+            throw accountDeleted();
+        }
+    }
+
+    /**
+     * Код категории; новая категория добавляется в словарь (кодов - до 127).
+     */
+    private int categoryCode(String category) {
+        Integer code = categoryCodes.get(category);
+        if (code != null) {
+            return code;
+        }
+        synchronized (categoryCodes) {
+            code = categoryCodes.get(category);
+            if (code == null) {
+                String[] current = categories;
+                if (current.length == 127) {
+                    throw new IllegalStateException("Too many note categories");
+                }
+                String[] extended = Arrays.copyOf(current, current.length + 1);
+                extended[current.length] = category;
+                categories = extended;
+                code = current.length;
+                categoryCodes.put(category, code);
+            }
+            return code;
+        }
+    }
+
+    private int knownCategoryCode(String category) {
+        Integer code = categoryCodes.get(category);
+        return code == null ? -1 : code;
+    }
+
+    private static byte[] utf8(String text) {
+        byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > MAX_TEXT_BYTES) {
+            throw new IllegalArgumentException("Note text longer than " + MAX_TEXT_BYTES + " bytes");
+        }
+        return bytes;
+    }
+
+    /**
+     * @return номер из ID или -1, если ID выдан не этим хранилищем (такой заметки точно нет)
+     */
+    private long parseId(String id) {
+        if (id == null || id.length() != 24 || !id.startsWith(idPrefix)) {
+            return -1;
+        }
+        try {
+            return Long.parseUnsignedLong(id.substring(8), 16);
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private String formatId(long number) {
+        byte[] scratch = scratch(ID_LENGTH);
+        encodeId(number, scratch, 0);
+        return new String(scratch, 0, ID_LENGTH, StandardCharsets.US_ASCII);
+    }
+
+    /**
+     * Пишет ID (idPrefix и 16 hex номера) в target с позиции offset - без String.format.
+     */
+    private void encodeId(long number, byte[] target, int offset) {
+        System.arraycopy(idPrefixBytes, 0, target, offset, idPrefixBytes.length);
+        for (int i = ID_LENGTH - 1; i >= idPrefixBytes.length; i--) {
+            target[offset + i] = HEX[(int) (number & 0xF)];
+            number >>>= 4;
+        }
+    }
+
+    /**
+     * @return буфер потока не меньше length байт
+     */
+    private static byte[] scratch(int length) {
+        byte[] scratch = SCRATCH.get();
+        if (scratch.length < length) {
+            scratch = new byte[length];
+            SCRATCH.set(scratch);
+        }
+        return scratch;
+    }
+
+    private String nextId() {
+        return formatId(sequence.incrementAndGet());
+    }
+
+    private static StubException accountDeleted() {
+        // Аккаунт удалён, а старый токен ещё в чьих-то руках
+        return new StubException(401, "Access token is not valid or has expired, you will need to login");
+    }
+
+    private static StubException noteNotFound() {
+        return new StubException(404, "No note was found with the provided ID, Maybe it was deleted");
+    }
+}
@@ -0,0 +1,220 @@
+package com.example.notes.stub;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+/**
+ * Неизменяемая сортированная карта с общей структурой (persistent map) для NotesStore.
+ *
+ * ЗАЧЕМ НУЖЕН ЭТОТ КЛАСС:
+ * Состояние заглушки должно сохраняться и восстанавливаться за O(1) (NotesStore.snapshot/restore).
+ * Обычную карту для этого пришлось бы копировать целиком - 50 000 заметок копируются
+ * миллисекунды, и так перед каждым тестом. Неизменяемую карту копировать не нужно:
+ * снимок - это просто ссылка на текущий корень.
+ *
+ * КАК ЭТО РАБОТАЕТ:
+ * - Внутри - AVL-дерево, узлы никогда не меняются
+ * - plus/minus копируют только путь от корня до изменённого узла (O(log n) узлов),
+ *   остальные поддеревья новая карта делит со старой
+ * - Старая карта остаётся целой и рабочей - её могут читать другие потоки без блокировок
+ *
+ * Готовые библиотеки (pcollections, vavr) делают то же, но заглушке хватает
+ * get/plus/minus/обхода по порядку - лишняя зависимость ради этого не нужна.
+ *
+ * @param <K> ключ (порядок - compareTo)
+ * @param <V> значение
+ */
+final class PersistentSortedMap<K extends Comparable<K>, V> {
+
+    private static final PersistentSortedMap<?, ?> EMPTY = new PersistentSortedMap<>(null);
+
+    private static final class Node<K, V> {
+
+        final K key;
+        final V value;
+        final Node<K, V> left;
+        final Node<K, V> right;
+        final int height;
+        final int size;
+
+        Node(K key, V value, Node<K, V> left, Node<K, V> right) {
+            this.key = key;
+            this.value = value;
+            this.left = left;
+            this.right = right;
+            this.height = Math.max(height(left), height(right)) + 1;
+            this.size = size(left) + size(right) + 1;
+        }
+    }
+
+    private final Node<K, V> root;
+
+    private PersistentSortedMap(Node<K, V> root) {
+        this.root = root;
+    }
+
+    @SuppressWarnings("unchecked")
+    static <K extends Comparable<K>, V> PersistentSortedMap<K, V> empty() {
+        return (PersistentSortedMap<K, V>) EMPTY;
+    }
+
+    /**
+     * @return значение или null
+     */
+    V get(K key) {
+        Node<K, V> node = root;
+        while (node != null) {
+            int cmp = key.compareTo(node.key);
+            if (cmp == 0) {
+                return node.value;
+            }
+            node = cmp < 0 ? node.left : node.right;
+        }
+        return null;
+    }
+
+    /**
+     * @return карта с добавленным или заменённым значением (эта карта не меняется)
+     */
+    PersistentSortedMap<K, V> plus(K key, V value) {
+        Node<K, V> updated = insert(root, key, value);
+        return updated == root ? this : new PersistentSortedMap<>(updated);
+    }
+
+    /**
+     * @return карта без ключа; та же карта, если ключа не было
+     */
+    PersistentSortedMap<K, V> minus(K key) {
+        Node<K, V> updated = delete(root, key);
+        return updated == root ? this : new PersistentSortedMap<>(updated);
+    }
+
+    int size() {
+        return size(root);
+    }
+
+    boolean isEmpty() {
+        return root == null;
+    }
+
+    /**
+     * Обходит значения в порядке ключей.
+     */
+    void forEachValue(Consumer<? super V> action) {
+        forEach(root, (key, value) -> action.accept(value));
+    }
+
+    /**
+     * Обходит пары ключ-значение в порядке ключей.
+     */
+    void forEach(BiConsumer<? super K, ? super V> action) {
+        forEach(root, action);
+    }
+
+    /**
+     * @return значения в порядке ключей (новый изменяемый список)
+     */
+    List<V> values() {
+        List<V> values = new ArrayList<>(size());
+        forEachValue(values::add);
+        return values;
+    }
+
+    // ==================== AVL ====================
+
+    private static <K extends Comparable<K>, V> Node<K, V> insert(Node<K, V> node, K key, V value) {
+        if (node == null) {
+            return new Node<>(key, value, null, null);
+        }
+        int cmp = key.compareTo(node.key);
+        if (cmp == 0) {
+            return node.value == value ? node : new Node<>(key, value, node.left, node.right);
+        }
+        if (cmp < 0) {
+            Node<K, V> left = insert(node.left, key, value);
+            return left == node.left ? node : balance(node.key, node.value, left, node.right);
+        }
+        Node<K, V> right = insert(node.right, key, value);
+        return right == node.right ? node : balance(node.key, node.value, node.left, right);
+    }
+
+    private static <K extends Comparable<K>, V> Node<K, V> delete(Node<K, V> node, K key) {
+        if (node == null) {
+            return null;
+        }
+        int cmp = key.compareTo(node.key);
+        if (cmp < 0) {
+            Node<K, V> left = delete(node.left, key);
+            return left == node.left ? node : balance(node.key, node.value, left, node.right);
+        }
+        if (cmp > 0) {
+            Node<K, V> right = delete(node.right, key);
+            return right == node.right ? node : balance(node.key, node.value, node.left, right);
+        }
+        if (node.left == null) {
+            return node.right;
+        }
+        if (node.right == null) {
+            return node.left;
+        }
+        // Два потомка: на место узла встаёт наименьший узел правого поддерева
+        Node<K, V> successor = node.right;
+        while (successor.left != null) {
+            successor = successor.left;
+        }
+        return balance(successor.key, successor.value, node.left, deleteMin(node.right));
+    }
+
+    private static <K extends Comparable<K>, V> Node<K, V> deleteMin(Node<K, V> node) {
+        if (node.left == null) {
+            return node.right;
+        }
+        return balance(node.key, node.value, deleteMin(node.left), node.right);
+    }
+
+    /**
+     * Собирает узел и, если высоты поддеревьев разошлись больше чем на 1, делает поворот.
+     */
+    private static <K extends Comparable<K>, V> Node<K, V> balance(K key, V value, Node<K, V> left, Node<K, V> right) {
+        int diff = height(left) - height(right);
+        if (diff > 1) {
+            if (height(left.left) < height(left.right)) {
+                left = rotateLeft(left.key, left.value, left.left, left.right);
+            }
+            return rotateRight(key, value, left, right);
+        }
+        if (diff < -1) {
+            if (height(right.right) < height(right.left)) {
+                right = rotateRight(right.key, right.value, right.left, right.right);
+            }
+            return rotateLeft(key, value, left, right);
+        }
+        return new Node<>(key, value, left, right);
+    }
+
+    private static <K, V> Node<K, V> rotateRight(K key, V value, Node<K, V> left, Node<K, V> right) {
+        return new Node<>(left.key, left.value, left.left, new Node<>(key, value, left.right, right));
+    }
+
+    private static <K, V> Node<K, V> rotateLeft(K key, V value, Node<K, V> left, Node<K, V> right) {
+        return new Node<>(right.key, right.value, new Node<>(key, value, left, right.left), right.right);
+    }
+
+    private static <K, V> void forEach(Node<K, V> node, BiConsumer<? super K, ? super V> action) {
+        while (node != null) {
+            forEach(node.left, action);
+            action.accept(node.key, node.value);
+            node = node.right;
+        }
+    }
+
+    private static int height(Node<?, ?> node) {
+        return node == null ? 0 : node.height;
+    }
+
+    private static int size(Node<?, ?> node) {
+        return node == null ? 0 : node.size;
+    }
+}
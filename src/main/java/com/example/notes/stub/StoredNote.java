@@ -0,0 +1,89 @@
+package com.example.notes.stub;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * Заметка в памяти сервера-заглушки.
+ *
+ * Неизменяемый объект: обновление заметки создаёт новый StoredNote (см. withUpdate),
+ * а хранилище заменяет ссылку. Так читатели никогда не видят наполовину обновлённую заметку.
+ * Поля и их имена в JSON - как в ответе настоящего API (см. fixtures/note-response.json).
+ */
+public class StoredNote {
+
+    @JsonProperty("id")
+    private final String id;
+
+    @JsonProperty("title")
+    private final String title;
+
+    @JsonProperty("description")
+    private final String description;
+
+    @JsonProperty("category")
+    private final String category;
+
+    @JsonProperty("completed")
+    private final boolean completed;
+
+    @JsonProperty("created_at")
+    private final String createdAt;
+
+    @JsonProperty("updated_at")
+    private final String updatedAt;
+
+    @JsonProperty("user_id")
+    private final String userId;
+
+    public StoredNote(String id, String title, String description, String category, boolean completed,
+                      String createdAt, String updatedAt, String userId) {
+        this.id = id;
+        this.title = title;
+        this.description = description;
+        this.category = category;
+        this.completed = completed;
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+        this.userId = userId;
+    }
+
+    /**
+     * @return копия заметки с новыми полями и временем обновления
+     */
+    public StoredNote withUpdate(String title, String description, String category, boolean completed,
+                                 String updatedAt) {
+        return new StoredNote(id, title, description, category, completed, createdAt, updatedAt, userId);
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public String getCategory() {
+        return category;
+    }
+
+    public boolean isCompleted() {
+        return completed;
+    }
+
+    public String getCreatedAt() {
+        return createdAt;
+    }
+
+    public String getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public String getUserId() {
+        return userId;
+    }
+}
@@ -0,0 +1,48 @@
+package com.example.notes.stub;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * Пользователь в памяти сервера-заглушки.
+ *
+ * Неизменяемый объект: его можно отдавать из хранилища в любой поток без блокировок.
+ * В JSON попадают только id, name и email - как в ответе настоящего API.
+ */
+public class StoredUser {
+
+    @JsonProperty("id")
+    private final String id;
+
+    @JsonProperty("name")
+    private final String name;
+
+    @JsonProperty("email")
+    private final String email;
+
+    @JsonIgnore
+    private final String password;
+
+    public StoredUser(String id, String name, String email, String password) {
+        this.id = id;
+        this.name = name;
+        this.email = email;
+        this.password = password;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public String getPassword() {
+        return password;
+    }
+}
@@ -0,0 +1,24 @@
+package com.example.notes.stub;
+
+/**
+ * Ошибка API в сервере-заглушке: статус-код и сообщение для ответа.
+ *
+ * Бросается из NotesStore и проверок запроса, ловится в NotesApiHandler
+ * и превращается в ответ {"success": false, "status": ..., "message": ...}.
+ */
+public class StubException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final int status;
+
+    public StubException(int status, String message) {
+        // Стек вызовов не нужен: это ожидаемый ответ API, а не сбой
+        super(message, null, false, false);
+        this.status = status;
+    }
+
+    public int getStatus() {
+        return status;
+    }
+}
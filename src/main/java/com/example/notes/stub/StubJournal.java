@@ -0,0 +1,370 @@
+package com.example.notes.stub;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.zip.CRC32;
+
+/**
+ * Журнал изменений заглушки: файл только на дозапись, отображённый в память, с групповой фиксацией.
+ *
+ * ЗАЧЕМ НУЖЕН ЭТОТ КЛАСС:
+ * Чтобы заглушку с миллионами заметок можно было перезапустить без повторного заполнения,
+ * каждое изменение (регистрация, логин, заметка, удаление) должно оказаться на диске
+ * до ответа клиенту. fsync на каждый запрос - это миллисекунды на запрос;
+ * групповая фиксация сбрасывает на диск сразу все записи, накопившиеся за окно.
+ *
+ * ФОРМАТ:
+ * Журнал - цепочка сегментов journal-<смещение>.log, смещение (16 hex) - логическая позиция
+ * первой записи сегмента (байты записей без заголовков, сквозные по всем сегментам).
+ *   заголовок сегмента, 16 байт: magic "NSJL" (int), версия (short), 0 (short), смещение (long)
+ *   запись: длина (int, байт после CRC), CRC32 (int), тип (byte), данные
+ * Нулевая длина - конец записей; запись с неверной CRC (недописана при сбое) и всё после неё
+ * при чтении отбрасываются. Тот же формат записей - в снимках (StubStorage).
+ *
+ * КАК ЭТО РАБОТАЕТ:
+ * 1. append() копирует запись в отображённый сегмент (под монитором журнала - это memcpy)
+ *    и возвращает логическую позицию её конца
+ * 2. Поток "stub-journal" ждёт новых записей, выжидает окно группировки (commitNanos),
+ *    одним force() сбрасывает на диск всё, что накопилось, и будит ждущих
+ * 3. awaitDurable(позиция) ждёт, пока запись окажется на диске
+ * 4. Сегмент заполнился или нужен снимок (roll) - сегмент сбрасывается, обрезается
+ *    по последней записи, дальше пишется новый
+ */
+final class StubJournal implements Closeable {
+
+    static final int MAGIC = 0x4E534A4C; // "NSJL"
+    static final short VERSION = 1;
+    static final int HEADER_SIZE = 16;
+
+    /**
+     * Длина, CRC и тип перед данными записи.
+     */
+    static final int RECORD_HEADER = 9;
+
+    /**
+     * Обработчик записей при чтении журнала или снимка.
+     */
+    interface RecordHandler {
+
+        /**
+         * @param payload данные записи (позиция - начало, limit - конец)
+         */
+        void accept(byte type, ByteBuffer payload);
+    }
+
+    /**
+     * Открытый сегмент.
+     */
+    private static final class Segment {
+
+        final long start;
+        final FileChannel channel;
+        final MappedByteBuffer buffer;
+
+        Segment(long start, FileChannel channel, MappedByteBuffer buffer) {
+            this.start = start;
+            this.channel = channel;
+            this.buffer = buffer;
+        }
+    }
+
+    private final Path directory;
+    private final long segmentBytes;
+    private final long commitNanos;
+    private final CRC32 crc = new CRC32();
+    private final Thread committer;
+
+    // Под монитором журнала
+    private Segment segment;
+    private long position;
+    private long durable;
+    private boolean closed;
+
+    /**
+     * @param start        логическая позиция, с которой продолжается журнал (конец прочитанных записей)
+     * @param segmentBytes размер сегмента (отображается целиком)
+     * @param commitMillis окно групповой фиксации
+     */
+    StubJournal(Path directory, long start, long segmentBytes, long commitMillis) throws IOException {
+        this.directory = directory;
+        this.segmentBytes = segmentBytes;
+        this.commitNanos = TimeUnit.MILLISECONDS.toNanos(commitMillis);
+        this.position = start;
+        this.durable = start;
+        this.segment = openSegment(start);
+        this.committer = new Thread(this::commitLoop, "stub-journal");
+        committer.setDaemon(true);
+        committer.start();
+    }
+
+    /**
+     * Добавляет запись.
+     *
+     * @return логическая позиция конца записи (для awaitDurable)
+     */
+    synchronized long append(byte type, byte[] payload) {
+        if (closed) {
+            throw new IllegalStateException("Stub journal is closed: " + directory);
+        }
+        int size = RECORD_HEADER + payload.length;
+        if (HEADER_SIZE + size > segmentBytes) {
+            throw new IllegalArgumentException("Journal record of " + size + " bytes exceeds segment size");
+        }
+        if (HEADER_SIZE + position - segment.start + size > segmentBytes) {
+            rollLocked();
+        }
+        int offset = (int) (HEADER_SIZE + position - segment.start);
+        MappedByteBuffer buffer = segment.buffer;
+        crc.reset();
+        crc.update(type);
+        crc.update(payload);
+        ByteBuffer target = buffer.duplicate();
+        target.position(offset + 8);
+        target.put(type).put(payload);
+        buffer.putInt(offset + 4, (int) crc.getValue());
+        buffer.putInt(offset, payload.length + 1);
+        position += size;
+        notifyAll();
+        return position;
+    }
+
+    /**
+     * Ждёт, пока все записи до позиции окажутся на диске.
+     */
+    synchronized void awaitDurable(long upTo) {
+        boolean interrupted = false;
+        while (durable < upTo && !closed) {
+            try {
+                wait();
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * @return логическая позиция конца последней записи
+     */
+    synchronized long position() {
+        return position;
+    }
+
+    /**
+     * Закрывает текущий сегмент и начинает новый с текущей позиции. Записи старого
+     * сегмента к возврату уже на диске, поэтому его можно удалить после снимка этой позиции.
+     *
+     * @return позиция начала нового сегмента
+     */
+    synchronized long roll() {
+        rollLocked();
+        return position;
+    }
+
+    private void rollLocked() {
+        try {
+            closeSegment(segment, position);
+            durable = position;
+            segment = openSegment(position);
+        } catch (IOException e) {
+            throw new IllegalStateException("Cannot roll stub journal in " + directory, e);
+        }
+        notifyAll();
+    }
+
+    private void commitLoop() {
+        while (true) {
+            MappedByteBuffer buffer;
+            long target;
+            synchronized (this) {
+                while (position == durable && !closed) {
+                    try {
+                        wait();
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                }
+                if (closed) {
+                    return;
+                }
+            }
+            // Окно группировки: записи, пришедшие за это время, уйдут на диск тем же force()
+            LockSupport.parkNanos(commitNanos);
+            synchronized (this) {
+                if (closed) {
+                    return;
+                }
+                buffer = segment.buffer;
+                target = position;
+            }
+            buffer.force();
+            synchronized (this) {
+                if (target > durable) {
+                    durable = target;
+                }
+                notifyAll();
+            }
+        }
+    }
+
+    /**
+     * Сбрасывает записи на диск, обрезает сегмент и останавливает поток фиксации.
+     */
+    @Override
+    public void close() throws IOException {
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            closeSegment(segment, position);
+            durable = position;
+            notifyAll();
+        }
+        try {
+            committer.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private Segment openSegment(long start) throws IOException {
+        Path path = segmentPath(directory, start);
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentBytes);
+        buffer.putInt(0, MAGIC);
+        buffer.putShort(4, VERSION);
+        buffer.putLong(8, start);
+        return new Segment(start, channel, buffer);
+    }
+
+    private static void closeSegment(Segment segment, long end) throws IOException {
+        segment.buffer.force();
+        segment.channel.truncate(HEADER_SIZE + end - segment.start);
+        segment.channel.close();
+    }
+
+    // ==================== ЧТЕНИЕ ====================
+
+    static Path segmentPath(Path directory, long start) {
+        return directory.resolve(String.format("journal-%016x.log", start));
+    }
+
+    /**
+     * @return позиции начала сегментов в каталоге по возрастанию
+     */
+    static List<Long> segments(Path directory) throws IOException {
+        List<Long> starts = new ArrayList<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "journal-*.log")) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                starts.add(Long.parseUnsignedLong(name.substring("journal-".length(), name.length() - 4), 16));
+            }
+        }
+        starts.sort(null);
+        return starts;
+    }
+
+    /**
+     * Читает записи сегментов, начиная с позиции from. Недописанный хвост последнего
+     * сегмента отрезается, чтобы новые записи продолжили журнал сразу за последней целой.
+     *
+     * @return позиция конца последней целой записи (from, если записей нет)
+     */
+    static long replay(Path directory, long from, RecordHandler handler) throws IOException {
+        long end = from;
+        for (long start : segments(directory)) {
+            if (start < from) {
+                continue; // уже в снимке
+            }
+            if (start != end) {
+                // Разрыв: сегмент после недописанного - его записи применять нельзя,
+                // а новые записи пойдут с позиции end и могут дойти до его имени
+                Files.deleteIfExists(segmentPath(directory, start));
+                continue;
+            }
+            Path path = segmentPath(directory, start);
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                long size = channel.size();
+                if (size < HEADER_SIZE) {
+                    continue; // сбой при создании сегмента: записей в нём нет
+                }
+                MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+                if (buffer.getInt(0) != MAGIC || buffer.getLong(8) != start) {
+                    throw new IOException("Not a stub journal segment: " + path);
+                }
+                buffer.position(HEADER_SIZE);
+                long valid = readRecords(buffer, handler);
+                end = start + valid;
+                if (HEADER_SIZE + valid < size) {
+                    channel.truncate(HEADER_SIZE + valid);
+                }
+            }
+        }
+        return end;
+    }
+
+    /**
+     * Читает записи файла от позиции from окнами по window байт: файл снимка может быть больше
+     * 2 ГБ, а один MappedByteBuffer - нет. Запись, разрезанная концом окна, читается следующим
+     * окном, которое начинается с неё; window должно быть больше самой длинной записи.
+     *
+     * @return сколько байт занимают целые записи
+     */
+    static long readRecords(FileChannel channel, long from, long window, RecordHandler handler) throws IOException {
+        long size = channel.size();
+        long position = from;
+        while (position < size) {
+            long length = Math.min(window, size - position);
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, position, length);
+            long valid = readRecords(buffer, handler);
+            position += valid;
+            if (valid == 0 || position + RECORD_HEADER > size || valid < length && length < window) {
+                break; // конец записей или повреждение: дальше в этом файле читать нечего
+            }
+        }
+        return position - from;
+    }
+
+    /**
+     * Читает записи от текущей позиции буфера до нулевой длины, конца буфера или неверной CRC.
+     *
+     * @return сколько байт занимают целые записи
+     */
+    static long readRecords(ByteBuffer buffer, RecordHandler handler) {
+        CRC32 crc = new CRC32();
+        int begin = buffer.position();
+        int offset = begin;
+        while (offset + RECORD_HEADER <= buffer.limit()) {
+            int length = buffer.getInt(offset);
+            if (length <= 0 || offset + 8 + (long) length > buffer.limit()) {
+                break;
+            }
+            ByteBuffer record = buffer.duplicate();
+            record.position(offset + 8).limit(offset + 8 + length);
+            crc.reset();
+            crc.update(record.duplicate());
+            if ((int) crc.getValue() != buffer.getInt(offset + 4)) {
+                break;
+            }
+            byte type = record.get();
+            handler.accept(type, record.slice());
+            offset += 8 + length;
+        }
+        return offset - begin;
+    }
+}
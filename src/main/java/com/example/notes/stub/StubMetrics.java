@@ -0,0 +1,202 @@
+package com.example.notes.stub;
+
+import com.example.notes.endpoints.Route;
+import org.HdrHistogram.AtomicHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.util.Locale;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Время обработки запросов внутри заглушки по маршрутам и фазам, в формате Prometheus (GET /metrics).
+ *
+ * ЗАЧЕМ НУЖЕН ЭТОТ КЛАСС:
+ * Клиент видит только полное время ответа. Если тест против заглушки медленный, непонятно,
+ * где ушло время: в клиенте (RestAssured, фильтры, пул соединений) или в сервере.
+ * Заглушка сама меряет свою часть, а ServerTimings на стороне клиента вычитает её
+ * из клиентского времени - остаток и есть накладные расходы клиента и сети.
+ *
+ * ФАЗЫ (Phase):
+ * - queue     - от передачи соединения пулу потоков сервера до начала обработки
+ *               (запросов больше, чем потоков, - растёт эта фаза)
+ * - handler   - разбор запроса, авторизация, проверки, изменения в хранилище
+ * - serialize - JSON ответа и его отправка в сокет (NotesBackend пишет заметки прямо
+ *               в JSON, поэтому сюда входит и чтение заметок для ответа)
+ *
+ * КАК ЭТО РАБОТАЕТ:
+ * 1. timed() оборачивает пул потоков сервера: задача запоминает момент постановки в очередь
+ * 2. NotesApiHandler в начале handle() забирает его (queuedAt) и отмечает начало
+ *    отправки ответа; в конце вызывает record()
+ * 3. На каждую пару маршрут+фаза - AtomicHistogram (микросекунды, запись без блокировок)
+ *    и точная сумма в наносекундах; на маршрут+класс статуса - счётчик ответов
+ * 4. writePrometheus() выдаёт summary с квантилями 0.5/0.9/0.99, _sum и _count.
+ *    _sum и _count только растут, поэтому разница двух снимков - это время за интервал
+ */
+public class StubMetrics {
+
+    /**
+     * Фаза обработки запроса.
+     */
+    public enum Phase {
+        QUEUE("queue"),
+        HANDLER("handler"),
+        SERIALIZE("serialize");
+
+        private final String label;
+
+        Phase(String label) {
+            this.label = label;
+        }
+
+        /**
+         * @return значение метки phase в /metrics
+         */
+        public String label() {
+            return label;
+        }
+
+        /**
+         * @return фаза по метке или null
+         */
+        public static Phase byLabel(String label) {
+            for (Phase phase : values()) {
+                if (phase.label.equals(label)) {
+                    return phase;
+                }
+            }
+            return null;
+        }
+    }
+
+    /**
+     * Имя метрики времени; у summary ещё _sum и _count.
+     */
+    public static final String SECONDS = "notes_stub_request_seconds";
+
+    public static final String RESPONSES = "notes_stub_responses_total";
+
+    private static final long MAX_MICROS = TimeUnit.HOURS.toMicros(1);
+
+    private static final Route[] ROUTES = Route.values();
+
+    private static final Phase[] PHASES = Phase.values();
+
+    private static final double[] QUANTILES = {0.5, 0.9, 0.99};
+
+    private static final String[] STATUS_CLASSES = {"2xx", "3xx", "4xx", "5xx"};
+
+    /**
+     * Момент постановки задачи в очередь пула; 0 - задача пришла не через timed().
+     */
+    private static final ThreadLocal<long[]> QUEUED_AT = ThreadLocal.withInitial(() -> new long[1]);
+
+    private final AtomicHistogram[] histograms = new AtomicHistogram[ROUTES.length * PHASES.length];
+    private final LongAdder[] sums = new LongAdder[ROUTES.length * PHASES.length];
+    private final LongAdder[] responses = new LongAdder[ROUTES.length * STATUS_CLASSES.length];
+
+    public StubMetrics() {
+        for (int i = 0; i < histograms.length; i++) {
+            histograms[i] = new AtomicHistogram(MAX_MICROS, 3);
+            sums[i] = new LongAdder();
+        }
+        for (int i = 0; i < responses.length; i++) {
+            responses[i] = new LongAdder();
+        }
+    }
+
+    /**
+     * Пул потоков, который отмечает, когда задача встала в очередь (для фазы queue).
+     */
+    public static Executor timed(Executor executor) {
+        return command -> {
+            long queued = System.nanoTime();
+            executor.execute(() -> {
+                QUEUED_AT.get()[0] = queued;
+                command.run();
+            });
+        };
+    }
+
+    /**
+     * Забирает момент постановки в очередь текущей задачи.
+     *
+     * @return System.nanoTime() постановки или 0, если пул не обёрнут timed()
+     */
+    static long queuedAt() {
+        long[] queued = QUEUED_AT.get();
+        long value = queued[0];
+        queued[0] = 0;
+        return value;
+    }
+
+    /**
+     * Записывает время одной фазы.
+     */
+    public void record(Route route, Phase phase, long nanos) {
+        int index = route.ordinal() * PHASES.length + phase.ordinal();
+        long value = Math.max(nanos, 0);
+        histograms[index].recordValue(Math.min(value / 1_000, MAX_MICROS));
+        sums[index].add(value);
+    }
+
+    /**
+     * Считает ответ маршрута со статусом.
+     */
+    public void recordStatus(Route route, int status) {
+        int statusClass = Math.min(Math.max(status / 100 - 2, 0), STATUS_CLASSES.length - 1);
+        responses[route.ordinal() * STATUS_CLASSES.length + statusClass].increment();
+    }
+
+    /**
+     * @return копия гистограммы маршрута и фазы (микросекунды)
+     */
+    public Histogram snapshot(Route route, Phase phase) {
+        return histograms[route.ordinal() * PHASES.length + phase.ordinal()].copy();
+    }
+
+    /**
+     * Текст для GET /metrics (Prometheus text format 0.0.4). Маршруты без запросов пропускаются.
+     */
+    public String writePrometheus() {
+        StringBuilder out = new StringBuilder(8192);
+        out.append("# HELP ").append(SECONDS).append(" Time spent inside the Notes stub per route and phase\n");
+        out.append("# TYPE ").append(SECONDS).append(" summary\n");
+        for (Route route : ROUTES) {
+            for (Phase phase : PHASES) {
+                int index = route.ordinal() * PHASES.length + phase.ordinal();
+                Histogram histogram = histograms[index].copy();
+                if (histogram.getTotalCount() == 0) {
+                    continue;
+                }
+                String labels = "route=\"" + route.name() + "\",phase=\"" + phase.label + "\"";
+                for (double quantile : QUANTILES) {
+                    out.append(SECONDS).append('{').append(labels).append(",quantile=\"").append(quantile)
+                            .append("\"} ").append(seconds(histogram.getValueAtPercentile(quantile * 100) * 1_000))
+                            .append('\n');
+                }
+                out.append(SECONDS).append("_sum{").append(labels).append("} ")
+                        .append(seconds(sums[index].sum())).append('\n');
+                out.append(SECONDS).append("_count{").append(labels).append("} ")
+                        .append(histogram.getTotalCount()).append('\n');
+            }
+        }
+        out.append("# HELP ").append(RESPONSES).append(" Responses of the Notes stub per route and status class\n");
+        out.append("# TYPE ").append(RESPONSES).append(" counter\n");
+        for (Route route : ROUTES) {
+            for (int i = 0; i < STATUS_CLASSES.length; i++) {
+                long count = responses[route.ordinal() * STATUS_CLASSES.length + i].sum();
+                if (count > 0) {
+                    out.append(RESPONSES).append("{route=\"").append(route.name()).append("\",status=\"")
+                            .append(STATUS_CLASSES[i]).append("\"} ").append(count).append('\n');
+                }
+            }
+        }
+        return out.toString();
+    }
+
+    private static String seconds(long nanos) {
+        return String.format(Locale.ROOT, "%.9f", nanos / 1e9);
+    }
+}
@@ -0,0 +1,459 @@
+package com.example.notes.stub;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.zip.CRC32;
+
+/**
+ * Хранение NotesStore на диске: журнал изменений (StubJournal) и периодические снимки.
+ *
+ * ЗАЧЕМ НУЖЕН ЭТОТ КЛАСС:
+ * Заглушку с миллионами заметок нужно перезапускать без повторного заполнения.
+ * Один журнал рос бы бесконечно, и запуск после часа нагрузки переигрывал бы весь час.
+ * Снимок - текущее состояние целиком, без истории: запуск читает последний снимок
+ * и переигрывает только хвост журнала после него.
+ *
+ * ФАЙЛЫ В КАТАЛОГЕ:
+ * - journal-<смещение>.log  - сегменты журнала (см. StubJournal)
+ * - snapshot-<смещение>.snap - снимок состояния на позиции журнала <смещение>:
+ *   заголовок 16 байт (magic "NSSN", версия, 0, смещение), затем записи в формате журнала:
+ *   все пользователи, все токены, все заметки
+ *
+ * ЗАПИСИ (тип - данные; строки - длина int + UTF-8):
+ *   USER        - id, name, email, password
+ *   TOKEN       - token, user_id, email (по email ищется пользователь, по user_id - что это
+ *                 тот же аккаунт, а не зарегистрированный заново с тем же email)
+ *   NOTE        - id, title, description, category, completed (byte), created_at, updated_at, user_id
+ *                 (создание и PUT - одна запись: заметка целиком)
+ *   DELETE_NOTE - user_id, id
+ *   DELETE_USER - user_id, email
+ *
+ * СНИМОК (checkpoint):
+ * 1. NotesStore.checkpoint(): под блокировкой всех сегментов хранилища - ссылки на состояние
+ *    (O(1), см. snapshot) и переход журнала на новый сегмент. Позиция нового сегмента -
+ *    ровно та точка, на которой снято состояние
+ * 2. Состояние пишется во временный файл уже без блокировок: хранилище работает дальше
+ * 3. force, переименование в snapshot-*.snap, удаление старых снимков и сегментов до этой позиции
+ * Снимок снимается в фоне, когда журнал с прошлого снимка вырос на snapshotBytes.
+ *
+ * ВОССТАНОВЛЕНИЕ (recover): последний снимок + сегменты журнала после него.
+ * Снимок читается окнами (SNAPSHOT_WINDOW) и должен прочитаться до конца: снимок пишется
+ * целиком до переименования, поэтому битая запись в нём - повреждение диска, а не сбой записи.
+ * Сегменты журнала до такого снимка уже удалены, и молча пропустить его хвост - потерять данные,
+ * поэтому запуск прерывается IOException, а файлы в каталоге не трогаются.
+ * Время и объём обеих частей - в Recovery, печатаются при запуске.
+ */
+public final class StubStorage implements Closeable {
+
+    static final byte USER = 1;
+    static final byte TOKEN = 2;
+    static final byte NOTE = 3;
+    static final byte DELETE_NOTE = 4;
+    static final byte DELETE_USER = 5;
+
+    static final int SNAPSHOT_MAGIC = 0x4E53534E; // "NSSN"
+    static final short SNAPSHOT_VERSION = 1;
+    static final int SNAPSHOT_HEADER = 16;
+
+    /**
+     * Размер сегмента журнала (отображается целиком, на диске - обрезается по записям).
+     */
+    static final long SEGMENT_BYTES = 64L << 20;
+
+    /**
+     * Окно чтения снимка: больше любой записи (запись не длиннее сегмента журнала).
+     */
+    static final long SNAPSHOT_WINDOW = 4 * SEGMENT_BYTES;
+
+    /**
+     * Итог восстановления при запуске.
+     */
+    public static final class Recovery {
+
+        private long snapshotBytes;
+        private long snapshotRecords;
+        private long snapshotMillis;
+        private long journalBytes;
+        private long journalRecords;
+        private long journalMillis;
+        private int users;
+        private long notes;
+
+        public long getSnapshotBytes() {
+            return snapshotBytes;
+        }
+
+        public long getSnapshotRecords() {
+            return snapshotRecords;
+        }
+
+        public long getSnapshotMillis() {
+            return snapshotMillis;
+        }
+
+        public long getJournalBytes() {
+            return journalBytes;
+        }
+
+        public long getJournalRecords() {
+            return journalRecords;
+        }
+
+        public long getJournalMillis() {
+            return journalMillis;
+        }
+
+        public long getTotalMillis() {
+            return snapshotMillis + journalMillis;
+        }
+
+        public int getUsers() {
+            return users;
+        }
+
+        public long getNotes() {
+            return notes;
+        }
+
+        @Override
+        public String toString() {
+            return String.format(Locale.ROOT,
+                    "recovered %d users, %d notes in %d ms: snapshot %.1f MB (%d records, %d ms)"
+                            + " + journal tail %.1f MB (%d records, %d ms)",
+                    users, notes, getTotalMillis(), snapshotBytes / 1e6, snapshotRecords, snapshotMillis,
+                    journalBytes / 1e6, journalRecords, journalMillis);
+        }
+    }
+
+    private final Path directory;
+    private final NotesStore store;
+    private final boolean syncWrites;
+    private final long snapshotBytes;
+    private final StubJournal journal;
+    private final Recovery recovery;
+    private final Object checkpointLock = new Object();
+    private final AtomicBoolean snapshotting = new AtomicBoolean();
+    private final ExecutorService snapshotter = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "stub-snapshot");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private volatile long snapshotOffset;
+
+    private StubStorage(Path directory, NotesStore store, boolean syncWrites, long snapshotBytes,
+                        long groupCommitMillis, long snapshotOffset, long journalEnd, Recovery recovery)
+            throws IOException {
+        this.directory = directory;
+        this.store = store;
+        this.syncWrites = syncWrites;
+        this.snapshotBytes = snapshotBytes;
+        this.snapshotOffset = snapshotOffset;
+        this.recovery = recovery;
+        this.journal = new StubJournal(directory, journalEnd, SEGMENT_BYTES, groupCommitMillis);
+    }
+
+    /**
+     * Загружает в пустое хранилище последний снимок и хвост журнала и открывает журнал для записи.
+     *
+     * @param syncWrites        true - изменение подтверждается клиенту только после записи на диск
+     * @param groupCommitMillis окно групповой фиксации
+     * @param snapshotBytes     рост журнала, после которого снимается новый снимок
+     */
+    static StubStorage recover(Path directory, NotesStore store, boolean syncWrites, long groupCommitMillis,
+                               long snapshotBytes) throws IOException {
+        Files.createDirectories(directory);
+        Recovery recovery = new Recovery();
+        long[] records = new long[1];
+        StubJournal.RecordHandler apply = (type, payload) -> {
+            records[0]++;
+            apply(store, type, payload);
+        };
+
+        // ШАГ 1: Последний снимок
+        long start = System.nanoTime();
+        long offset = 0;
+        Path snapshot = latestSnapshot(directory);
+        if (snapshot != null) {
+            try (FileChannel channel = FileChannel.open(snapshot, StandardOpenOption.READ)) {
+                long size = channel.size();
+                if (size < SNAPSHOT_HEADER) {
+                    throw new IOException("Not a stub snapshot: " + snapshot);
+                }
+                ByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, SNAPSHOT_HEADER);
+                if (header.getInt(0) != SNAPSHOT_MAGIC) {
+                    throw new IOException("Not a stub snapshot: " + snapshot);
+                }
+                offset = header.getLong(8);
+                long valid = StubJournal.readRecords(channel, SNAPSHOT_HEADER, SNAPSHOT_WINDOW, apply);
+                if (SNAPSHOT_HEADER + valid != size) {
+                    throw new IOException("Stub snapshot " + snapshot + " is damaged at byte "
+                            + (SNAPSHOT_HEADER + valid) + " of " + size
+                            + "; journal segments before it are gone, refusing to start with partial data");
+                }
+                recovery.snapshotBytes = size;
+            }
+        }
+        recovery.snapshotRecords = records[0];
+        recovery.snapshotMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        // ШАГ 2: Хвост журнала после снимка
+        records[0] = 0;
+        start = System.nanoTime();
+        long end = StubJournal.replay(directory, offset, apply);
+        recovery.journalRecords = records[0];
+        recovery.journalBytes = end - offset;
+        recovery.journalMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        recovery.users = store.userCount();
+        recovery.notes = store.noteCount();
+
+        StubStorage storage = new StubStorage(directory, store, syncWrites, snapshotBytes, groupCommitMillis,
+                offset, end, recovery);
+        storage.deleteBefore(offset);
+        return storage;
+    }
+
+    public Recovery getRecovery() {
+        return recovery;
+    }
+
+    public Path getDirectory() {
+        return directory;
+    }
+
+    // ==================== ЗАПИСЬ ====================
+    // Вызываются NotesStore под блокировкой сегмента, до изменения состояния
+
+    long logUser(StoredUser user) {
+        return journal.append(USER, encode(user.getId(), user.getName(), user.getEmail(), user.getPassword()));
+    }
+
+    long logToken(String token, StoredUser user) {
+        return journal.append(TOKEN, encode(token, user.getId(), user.getEmail()));
+    }
+
+    long logNote(StoredNote note) {
+        return journal.append(NOTE, encodeNote(note));
+    }
+
+    long logDeleteNote(StoredUser user, String id) {
+        return journal.append(DELETE_NOTE, encode(user.getId(), id));
+    }
+
+    long logDeleteUser(StoredUser user) {
+        return journal.append(DELETE_USER, encode(user.getId(), user.getEmail()));
+    }
+
+    /**
+     * Вызывается NotesStore после снятия блокировки: ждёт фиксации записи (syncWrites)
+     * и при необходимости запускает снимок в фоне.
+     *
+     * @param end позиция конца записи, которую вернул log*()
+     */
+    void committed(long end) {
+        if (syncWrites) {
+            journal.awaitDurable(end);
+        }
+        if (end - snapshotOffset >= snapshotBytes && snapshotting.compareAndSet(false, true)) {
+            snapshotter.execute(() -> {
+                try {
+                    checkpoint();
+                } catch (IOException | RuntimeException e) {
+                    System.err.println("Warning: stub snapshot failed: " + e);
+                } finally {
+                    snapshotting.set(false);
+                }
+            });
+        }
+    }
+
+    // ==================== СНИМОК ====================
+
+    /**
+     * Снимает снимок сейчас (в вызывающем потоке) и удаляет ставшие ненужными файлы.
+     *
+     * @return позиция журнала, на которой снят снимок
+     */
+    public long checkpoint() throws IOException {
+        synchronized (checkpointLock) {
+            NotesStore.Snapshot snapshot = store.checkpoint(journal);
+            long offset = snapshot.getOffset();
+            Path target = directory.resolve(String.format("snapshot-%016x.snap", offset));
+            Path temp = directory.resolve(target.getFileName() + ".tmp");
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                    StandardOpenOption.TRUNCATE_EXISTING);
+                 DataOutputStream out = new DataOutputStream(
+                         new BufferedOutputStream(Channels.newOutputStream(channel), 1 << 16))) {
+                out.writeInt(SNAPSHOT_MAGIC);
+                out.writeShort(SNAPSHOT_VERSION);
+                out.writeShort(0);
+                out.writeLong(offset);
+                CRC32 crc = new CRC32();
+                try {
+                    store.export(snapshot,
+                            user -> write(out, crc, USER,
+                                    encode(user.getId(), user.getName(), user.getEmail(), user.getPassword())),
+                            (token, user) -> write(out, crc, TOKEN, encode(token, user.getId(), user.getEmail())),
+                            note -> write(out, crc, NOTE, encodeNote(note)));
+                } catch (UncheckedIOException e) {
+                    throw e.getCause();
+                }
+                out.flush();
+                channel.force(true);
+            }
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            snapshotOffset = offset;
+            deleteBefore(offset);
+            return offset;
+        }
+    }
+
+    /**
+     * Дожидается фонового снимка и закрывает журнал (записи сбрасываются на диск).
+     */
+    @Override
+    public void close() throws IOException {
+        snapshotter.shutdown();
+        try {
+            snapshotter.awaitTermination(1, TimeUnit.MINUTES);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        journal.close();
+    }
+
+    // ==================== ВСПОМОГАТЕЛЬНОЕ ====================
+
+    private static void write(DataOutputStream out, CRC32 crc, byte type, byte[] payload) {
+        crc.reset();
+        crc.update(type);
+        crc.update(payload);
+        try {
+            out.writeInt(payload.length + 1);
+            out.writeInt((int) crc.getValue());
+            out.writeByte(type);
+            out.write(payload);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static Path latestSnapshot(Path directory) throws IOException {
+        Path latest = null;
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "snapshot-*.snap")) {
+            for (Path file : files) {
+                // Имена одной длины (16 hex), поэтому порядок строк = порядок смещений
+                if (latest == null || file.getFileName().toString().compareTo(latest.getFileName().toString()) > 0) {
+                    latest = file;
+                }
+            }
+        }
+        return latest;
+    }
+
+    /**
+     * Удаляет снимки и сегменты журнала, которые целиком до позиции снимка, и недописанные снимки.
+     */
+    private void deleteBefore(long offset) throws IOException {
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "snapshot-*")) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                // Снимки снимаются по одному (checkpointLock), поэтому .tmp здесь - остаток сбоя
+                if (name.endsWith(".tmp")
+                        || name.endsWith(".snap") && !name.equals(String.format("snapshot-%016x.snap", offset))) {
+                    Files.deleteIfExists(file);
+                }
+            }
+        }
+        for (long start : StubJournal.segments(directory)) {
+            if (start < offset) {
+                Files.deleteIfExists(StubJournal.segmentPath(directory, start));
+            }
+        }
+    }
+
+    private static void apply(NotesStore store, byte type, ByteBuffer payload) {
+        switch (type) {
+            case USER:
+                store.loadUser(new StoredUser(string(payload), string(payload), string(payload), string(payload)));
+                break;
+            case TOKEN:
+                store.loadToken(string(payload), string(payload), string(payload));
+                break;
+            case NOTE:
+                store.loadNote(new StoredNote(string(payload), string(payload), string(payload), string(payload),
+                        payload.get() != 0, string(payload), string(payload), string(payload)));
+                break;
+            case DELETE_NOTE:
+                store.loadDeleteNote(string(payload), string(payload));
+                break;
+            case DELETE_USER:
+                store.loadDeleteUser(string(payload), string(payload));
+                break;
+            default:
+                throw new IllegalStateException("Unknown stub journal record type " + type);
+        }
+    }
+
+    private static byte[] encodeNote(StoredNote note) {
+        byte[][] parts = utf8(note.getId(), note.getTitle(), note.getDescription(), note.getCategory());
+        byte[][] tail = utf8(note.getCreatedAt(), note.getUpdatedAt(), note.getUserId());
+        ByteBuffer buffer = ByteBuffer.allocate(length(parts) + 1 + length(tail));
+        put(buffer, parts);
+        buffer.put((byte) (note.isCompleted() ? 1 : 0));
+        put(buffer, tail);
+        return buffer.array();
+    }
+
+    private static byte[] encode(String... values) {
+        byte[][] parts = utf8(values);
+        ByteBuffer buffer = ByteBuffer.allocate(length(parts));
+        put(buffer, parts);
+        return buffer.array();
+    }
+
+    private static byte[][] utf8(String... values) {
+        byte[][] parts = new byte[values.length][];
+        for (int i = 0; i < values.length; i++) {
+            parts[i] = values[i].getBytes(StandardCharsets.UTF_8);
+        }
+        return parts;
+    }
+
+    private static int length(byte[][] parts) {
+        int length = 0;
+        for (byte[] part : parts) {
+            length += 4 + part.length;
+        }
+        return length;
+    }
+
+    private static void put(ByteBuffer buffer, byte[][] parts) {
+        for (byte[] part : parts) {
+            buffer.putInt(part.length).put(part);
+        }
+    }
+
+    private static String string(ByteBuffer payload) {
+        byte[] bytes = new byte[payload.getInt()];
+        payload.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
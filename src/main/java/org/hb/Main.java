@@ -1,7 +1,70 @@
 package org.hb;
 
+import com.example.notes.bench.BenchOptions;
+import com.example.notes.bench.FootprintBench;
+import com.example.notes.bench.RecoveryBench;
+import com.example.notes.bench.SampleLogAnalyzer;
+
+import java.util.Arrays;
+
+/**
+ * Точка входа notes-bench: нагрузочные сценарии для Notes API без Maven и JUnit.
+ *
+ * ПРИМЕРЫ:
+ *   java -jar notes-bench.jar smoke --url https://practice.expandtesting.com/notes/api
+ *   java -jar notes-bench.jar steady --url inproc --rate 50 --duration 5m --concurrency 32 --out results
+ *   java -jar notes-bench.jar capacity --url inproc
+ *   java -jar notes-bench.jar distributed --url inproc --processes 4 --rate 400 --concurrency 64
+ *   java -jar notes-bench.jar soak --url inproc --samples soak.samples, затем analyze soak.samples --bucket 10s
+ *   java -jar notes-bench.jar recovery --notes 100000,1000000
+ *   java -Xmx12g -XX:MaxDirectMemorySize=4g -jar notes-bench.jar footprint --notes 1000000,10000000
+ * Без аргументов печатает список сценариев и флагов (см. BenchOptions, Scenario).
+ * --url обязателен: сценарий без него не запускается (код выхода 2).
+ *
+ * КОДЫ ВЫХОДА:
+ * 0 - прогон без ошибок, 1 - были ошибки операций или прогон упал, 2 - неверные аргументы.
+ */
 public class Main {
+
     public static void main(String[] args) {
-        System.out.println("Hello, World!");
+        if (args.length == 1 && ("help".equals(args[0]) || "--help".equals(args[0]) || "-h".equals(args[0]))) {
+            System.out.print(BenchOptions.usage());
+            return;
+        }
+        if (args.length > 0 && "analyze".equals(args[0])) {
+            System.exit(SampleLogAnalyzer.run(Arrays.copyOfRange(args, 1, args.length)));
+            return;
+        }
+        if (args.length > 0 && "recovery".equals(args[0])) {
+            System.exit(RecoveryBench.run(Arrays.copyOfRange(args, 1, args.length)));
+            return;
+        }
+        if (args.length > 0 && "footprint".equals(args[0])) {
+            System.exit(FootprintBench.run(Arrays.copyOfRange(args, 1, args.length)));
+            return;
+        }
+        BenchOptions options;
+        try {
+            options = BenchOptions.parse(args);
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.println();
+            System.err.print(BenchOptions.usage());
+            System.exit(2);
+            return;
+        }
+        // До первого обращения к TestEnv: конфигурация читается один раз
+        options.applyToConfig();
+
+        int exitCode;
+        try {
+            exitCode = options.getScenario().run(options);
+        } catch (Exception e) {
+            System.err.println("Run failed: " + e);
+            e.printStackTrace();
+            exitCode = 1;
+        }
+        // Пул соединений и заглушка держат фоновые потоки - завершаем процесс явно
+        System.exit(exitCode);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,75 @@
+package com.example.notes.benchmarks;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+
+/**
+ * Записанные ответы API для бенчмарков (src/test/resources/fixtures).
+ *
+ * ЗАЧЕМ:
+ * Бенчмарки должны работать без сети и давать одинаковый результат от запуска к запуску.
+ * Поэтому они читают не живой API, а сохранённые ответы.
+ *
+ * БОЛЬШИЕ СПИСКИ:
+ * Хранить в репозитории ответ на 100 000 заметок незачем. notesListBody(n) берёт
+ * записанные заметки из notes-list-response.json и повторяет их по кругу до n штук.
+ */
+public class BenchmarkFixtures {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private BenchmarkFixtures() {
+    }
+
+    /**
+     * @return тело ответа GET /notes/{id} с одной заметкой
+     */
+    public static byte[] noteBody() {
+        return read("fixtures/note-response.json");
+    }
+
+    /**
+     * @return тело ответа 400 с сообщением об ошибке
+     */
+    public static byte[] errorBody() {
+        return read("fixtures/error-response.json");
+    }
+
+    /**
+     * Собирает тело ответа GET /notes ровно с size заметками.
+     *
+     * @param size сколько заметок должно быть в поле "data"
+     * @return байты JSON-ответа
+     */
+    public static byte[] notesListBody(int size) {
+        try {
+            ObjectNode recorded = (ObjectNode) MAPPER.readTree(read("fixtures/notes-list-response.json"));
+            JsonNode notes = recorded.get("data");
+            ArrayNode data = MAPPER.createArrayNode();
+            for (int i = 0; i < size; i++) {
+                data.add(notes.get(i % notes.size()));
+            }
+            recorded.set("data", data);
+            return MAPPER.writeValueAsBytes(recorded);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static byte[] read(String resource) {
+        try (InputStream in = BenchmarkFixtures.class.getClassLoader().getResourceAsStream(resource)) {
+            if (in == null) {
+                throw new IllegalStateException("Fixture not found on classpath: " + resource);
+            }
+            return in.readAllBytes();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.example.notes.benchmarks;
+
+import com.example.notes.endpoints.EnvelopeReader;
+import com.example.notes.models.NoteDto;
+import io.restassured.path.json.JsonPath;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Бенчмарк: извлечение поля "data" из ответа API.
+ *
+ * ЧТО СРАВНИВАЕМ:
+ * - jsonPath*  - как было: JsonPath (Groovy-дерево) -> getObject/getList -> Jackson
+ * - streaming* - как стало: EnvelopeReader (потоковый парсер Jackson + кэшированный ObjectReader)
+ *
+ * КАК ЗАПУСТИТЬ:
+ * mvn -Pbenchmarks test -Djmh.include=EnvelopeExtractionBenchmark
+ * (или main() из IDE). В отчёте, кроме времени на вызов (us/op), будет строка
+ * gc.alloc.rate.norm - сколько байт выделяется на один вызов (профайлер GC).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EnvelopeExtractionBenchmark {
+
+    /**
+     * Сколько заметок в ответе GET /notes.
+     */
+    @Param({"1", "100"})
+    public int listSize;
+
+    private String noteBody;
+    private byte[] noteBytes;
+    private String listBody;
+    private byte[] listBytes;
+
+    @Setup
+    public void setUp() {
+        noteBytes = BenchmarkFixtures.noteBody();
+        noteBody = new String(noteBytes, StandardCharsets.UTF_8);
+        listBytes = BenchmarkFixtures.notesListBody(listSize);
+        listBody = new String(listBytes, StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public NoteDto jsonPathNote() {
+        return new JsonPath(noteBody).getObject("data", NoteDto.class);
+    }
+
+    @Benchmark
+    public NoteDto streamingNote() {
+        return EnvelopeReader.readData(noteBytes, NoteDto.class);
+    }
+
+    @Benchmark
+    public List<NoteDto> jsonPathList() {
+        return new JsonPath(listBody).getList("data", NoteDto.class);
+    }
+
+    @Benchmark
+    public List<NoteDto> streamingList() {
+        return EnvelopeReader.readDataList(listBytes, NoteDto.class);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(EnvelopeExtractionBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
@@ -0,0 +1,68 @@
+package com.example.notes.benchmarks;
+
+import com.example.notes.data.TestData;
+import com.example.notes.models.NoteCreateRequest;
+import com.example.notes.models.NoteUpdateRequest;
+import com.example.notes.models.UserRegisterRequest;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Бенчмарк: сериализация моделей запросов в JSON (Java -> JSON).
+ *
+ * ЧТО ИЗМЕРЯЕМ:
+ * Стоимость превращения тела запроса в байты - то, что происходит при каждом
+ * .body(request) в NotesClient и AuthClient (и в асинхронных клиентах).
+ *
+ * КАК ЗАПУСТИТЬ:
+ * mvn -Pbenchmarks test -Djmh.include=ModelSerializationBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ModelSerializationBenchmark {
+
+    private ObjectWriter writer;
+    private NoteCreateRequest createRequest;
+    private NoteUpdateRequest updateRequest;
+    private UserRegisterRequest registerRequest;
+
+    @Setup
+    public void setUp() {
+        writer = new ObjectMapper().writer();
+        createRequest = TestData.simpleNote();
+        updateRequest = TestData.updateNoteData();
+        registerRequest = TestData.randomUser();
+    }
+
+    @Benchmark
+    public byte[] noteCreateRequest() throws JsonProcessingException {
+        return writer.writeValueAsBytes(createRequest);
+    }
+
+    @Benchmark
+    public byte[] noteUpdateRequest() throws JsonProcessingException {
+        return writer.writeValueAsBytes(updateRequest);
+    }
+
+    @Benchmark
+    public byte[] userRegisterRequest() throws JsonProcessingException {
+        return writer.writeValueAsBytes(registerRequest);
+    }
+}
@@ -0,0 +1,53 @@
+package com.example.notes.benchmarks;
+
+import com.example.notes.endpoints.EnvelopeReader;
+import com.example.notes.models.NoteDto;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Бенчмарк: десериализация ответа GET /notes (JSON -> List<NoteDto>) разного размера.
+ *
+ * ЗАЧЕМ:
+ * Показывает, как стоимость разбора растёт с числом заметок у пользователя -
+ * от одной заметки до 100 000. Время ожидается линейным; если на больших размерах
+ * оно растёт быстрее - значит, где-то лишние копии или давление на GC.
+ *
+ * КАК ЗАПУСТИТЬ:
+ * mvn -Pbenchmarks test -Djmh.include=NoteListDeserializationBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class NoteListDeserializationBenchmark {
+
+    @Param({"1", "10", "100", "1000", "10000", "100000"})
+    public int size;
+
+    private byte[] body;
+
+    @Setup
+    public void setUp() {
+        body = BenchmarkFixtures.notesListBody(size);
+    }
+
+    @Benchmark
+    public List<NoteDto> readNotesList() {
+        return EnvelopeReader.readDataList(body, NoteDto.class);
+    }
+}
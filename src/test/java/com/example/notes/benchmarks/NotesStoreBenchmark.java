@@ -0,0 +1,136 @@
+package com.example.notes.benchmarks;
+
+import com.example.notes.stub.NotesStore;
+import com.example.notes.stub.StoredNote;
+import com.example.notes.stub.StoredUser;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Бенчмарк: хранилище сервера-заглушки (NotesStore) под параллельной нагрузкой.
+ *
+ * ЧТО МЕРЯЕМ (операций в миллисекунду на все потоки вместе):
+ * - getNote        - заметка по ID (чтение без блокировок)
+ * - listByCategory - GET /notes?category=Work через индекс категорий
+ * - updateNote     - PUT: замена заметки и перестройка индексов (блокировка сегмента)
+ * - createDelete   - создание и удаление заметки (две записи)
+ *
+ * Каждый поток JMH - отдельный пользователь со своими заметками, как виртуальные
+ * пользователи в LoadEngine. shards=1 - одна блокировка на всех (как без сегментов),
+ * shards=64 - NotesStore.DEFAULT_SHARDS. С ростом числа потоков пропускная способность
+ * пишущих операций с одним сегментом упирается в его блокировку, с 64 сегментами - растёт
+ * до числа ядер. Чтения от числа сегментов не зависят.
+ *
+ * КАК ЗАПУСТИТЬ:
+ * mvn -Pbenchmarks test -Djmh.include=NotesStoreBenchmark -Djmh.threads=16
+ * Вся серия 1, 2, 4 ... 64 потока - main() этого класса.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class NotesStoreBenchmark {
+
+    /**
+     * Пользователей в хранилище: не меньше максимального числа потоков.
+     */
+    private static final int USERS = 64;
+
+    private static final int NOTES_PER_USER = 1_000;
+
+    private static final String[] CATEGORIES = {"Home", "Work", "Personal"};
+
+    @Param({"1", "64"})
+    public int shards;
+
+    private NotesStore store;
+    private StoredUser[] users;
+    private String[][] noteIds;
+    private final AtomicInteger nextUser = new AtomicInteger();
+
+    /**
+     * Пользователь потока: свой у каждого потока JMH.
+     */
+    @State(Scope.Thread)
+    public static class Client {
+
+        StoredUser user;
+        String[] ids;
+
+        @Setup
+        public void setUp(NotesStoreBenchmark benchmark) {
+            int index = benchmark.nextUser.getAndIncrement() % USERS;
+            user = benchmark.users[index];
+            ids = benchmark.noteIds[index];
+        }
+
+        String randomId() {
+            return ids[ThreadLocalRandom.current().nextInt(ids.length)];
+        }
+    }
+
+    @Setup
+    public void setUp() {
+        store = new NotesStore(shards);
+        users = new StoredUser[USERS];
+        noteIds = new String[USERS][NOTES_PER_USER];
+        for (int u = 0; u < USERS; u++) {
+            users[u] = store.register("user" + u, "user" + u + "@bench.local", "password");
+            for (int n = 0; n < NOTES_PER_USER; n++) {
+                noteIds[u][n] = store.createNote(users[u], "Note " + n, "Benchmark note " + n,
+                        CATEGORIES[n % CATEGORIES.length]).getId();
+            }
+        }
+    }
+
+    @Benchmark
+    public StoredNote getNote(Client client) {
+        return store.getNote(client.user, client.randomId());
+    }
+
+    @Benchmark
+    public List<StoredNote> listByCategory(Client client) {
+        return store.listNotes(client.user, "Work", null);
+    }
+
+    @Benchmark
+    public StoredNote updateNote(Client client) {
+        boolean completed = ThreadLocalRandom.current().nextBoolean();
+        return store.updateNote(client.user, client.randomId(), "Updated", "Updated note",
+                completed ? "Work" : "Home", completed);
+    }
+
+    @Benchmark
+    public void createDelete(Client client) {
+        StoredNote note = store.createNote(client.user, "Temp", "Temporary note", "Personal");
+        store.deleteNote(client.user, note.getId());
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        for (int threads = 1; threads <= USERS; threads *= 2) {
+            new Runner(new OptionsBuilder()
+                    .include(NotesStoreBenchmark.class.getSimpleName())
+                    .threads(threads)
+                    .build()).run();
+        }
+    }
+}
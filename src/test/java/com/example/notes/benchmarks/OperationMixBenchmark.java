@@ -0,0 +1,101 @@
+package com.example.notes.benchmarks;
+
+import com.example.notes.load.AliasSampler;
+import com.example.notes.load.OperationMix;
+import com.example.notes.load.WeightedOperation;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Бенчмарк: выбор следующей операции нагрузки по весам.
+ *
+ * ЧТО СРАВНИВАЕМ:
+ * - cumulativeScan - накопительная шкала: перебор весов до случайной точки, O(n)
+ * - aliasSampler   - таблица псевдонимов (AliasSampler), O(1)
+ * - operationMix   - OperationMix.next() с файлом browse-heavy, как в LoadEngine
+ *
+ * Выбор выполняется на каждую операцию прогона, поэтому при 50 000 op/s
+ * даже 100 нс на выбор - это 0.5% одного ядра. Таблица псевдонимов - около 20 нс
+ * (в основном ThreadLocalRandom) и не растёт с числом операций; перебор растёт.
+ *
+ * КАК ЗАПУСТИТЬ:
+ * mvn -Pbenchmarks test -Djmh.include=OperationMixBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OperationMixBenchmark {
+
+    /**
+     * Сколько операций в смеси.
+     */
+    @Param({"5", "50"})
+    public int operations;
+
+    private double[] cumulative;
+    private AliasSampler sampler;
+    private OperationMix mix;
+
+    @Setup
+    public void setUp() {
+        double[] weights = new double[operations];
+        double total = 0;
+        cumulative = new double[operations];
+        for (int i = 0; i < operations; i++) {
+            // Убывающие веса, как в реальной смеси: одна частая операция и длинный хвост
+            weights[i] = 1.0 / (i + 1);
+            total += weights[i];
+            cumulative[i] = total;
+        }
+        for (int i = 0; i < operations; i++) {
+            cumulative[i] /= total;
+        }
+        sampler = new AliasSampler(weights);
+        mix = OperationMix.load("browse-heavy");
+    }
+
+    @Benchmark
+    public int cumulativeScan() {
+        double point = ThreadLocalRandom.current().nextDouble();
+        for (int i = 0; i < cumulative.length - 1; i++) {
+            if (point < cumulative[i]) {
+                return i;
+            }
+        }
+        return cumulative.length - 1;
+    }
+
+    @Benchmark
+    public int aliasSampler() {
+        return sampler.next();
+    }
+
+    @Benchmark
+    public WeightedOperation operationMix() {
+        return mix.next();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(OperationMixBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,55 @@
+package com.example.notes.benchmarks;
+
+import com.example.notes.core.Specs;
+import com.example.notes.endpoints.Endpoints;
+import io.restassured.specification.RequestSpecification;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Бенчмарк: подготовка запроса на стороне клиента (до отправки в сеть).
+ *
+ * ЧТО ИЗМЕРЯЕМ:
+ * - Endpoints.noteById - подстановка ID в шаблон /notes/{id}
+ * - Specs.authSpecFor  - сборка RequestSpecification с токеном (так делает каждая TestSession)
+ *
+ * Запросы никуда не отправляются, поэтому бенчмарк работает без сети. Адрес задан явно:
+ * authSpecFor(token) взял бы TestEnv.getBaseUrl(), а при baseUrl=inproc это запуск
+ * встроенной заглушки внутри форка JMH.
+ *
+ * КАК ЗАПУСТИТЬ:
+ * mvn -Pbenchmarks test -Djmh.include=RequestBuildingBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RequestBuildingBenchmark {
+
+    public String noteId = "65a1f0c2e4b0a1b2c3d4e5f6";
+
+    public String token = "6f1c2d3e4a5b6c7d8e9f0a1b2c3d4e5f6a7b8c9d0e1f2a3b";
+
+    public String baseUrl = "http://localhost:8080/notes/api";
+
+    @Benchmark
+    public String noteById() {
+        return Endpoints.noteById(noteId);
+    }
+
+    @Benchmark
+    public RequestSpecification authSpec() {
+        return Specs.authSpecFor(baseUrl, token);
+    }
+}
@@ -0,0 +1,115 @@
+package com.example.notes.benchmarks;
+
+import com.example.notes.core.SchemaRegistry;
+import com.example.notes.endpoints.EnvelopeReader;
+import com.example.notes.models.NoteDto;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.networknt.schema.JsonSchemaFactory;
+import com.networknt.schema.SpecVersion;
+import com.networknt.schema.ValidationMessage;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Бенчмарк: сколько стоит проверка ответа по JSON-схеме.
+ *
+ * ЧТО СРАВНИВАЕМ:
+ * - readOnly            - только потоковая десериализация "data" в NoteDto (schema.validation=false)
+ * - validateAndRead     - readValidData: один разбор в дерево, проверка "data" и NoteDto из дерева
+ *                         (NotesClient.getNote)
+ * - validateThenRead    - дерево для проверки, потом второй, потоковый разбор тех же байт
+ *                         (два прохода по телу - так делать не нужно)
+ * - readListOnly        - то же, что readOnly, для списка из listSize заметок (GET /notes)
+ * - validateAndReadList - readValidDataList: проверка каждой заметки и список из того же дерева
+ *                         (NotesClient.getAllNotes)
+ * - validateCached      - только проверка по кэшированной схеме
+ * - compileAndValidate  - схема читается и компилируется заново на каждую проверку
+ *                         (так было бы без SchemaRegistry)
+ *
+ * Разница validateAndRead - readOnly (validateAndReadList - readListOnly) и есть цена
+ * проверки на один ответ.
+ *
+ * КАК ЗАПУСТИТЬ:
+ * mvn -Pbenchmarks test -Djmh.include=SchemaValidationBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SchemaValidationBenchmark {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    @Param({"10", "100"})
+    public int listSize;
+
+    private byte[] noteBody;
+    private byte[] listBody;
+    private byte[] errorBody;
+
+    @Setup
+    public void setUp() {
+        noteBody = BenchmarkFixtures.noteBody();
+        listBody = BenchmarkFixtures.notesListBody(listSize);
+        errorBody = BenchmarkFixtures.errorBody();
+        SchemaRegistry.schema(SchemaRegistry.NOTE);
+        SchemaRegistry.schema(SchemaRegistry.ERROR);
+    }
+
+    @Benchmark
+    public NoteDto readOnly() {
+        return EnvelopeReader.readData(noteBody, NoteDto.class);
+    }
+
+    @Benchmark
+    public NoteDto validateAndRead() {
+        return EnvelopeReader.readValidData(noteBody, NoteDto.class, SchemaRegistry.NOTE);
+    }
+
+    @Benchmark
+    public NoteDto validateThenRead() throws IOException {
+        SchemaRegistry.assertDataValid(MAPPER.readTree(noteBody).path("data"), SchemaRegistry.NOTE);
+        return EnvelopeReader.readData(noteBody, NoteDto.class);
+    }
+
+    @Benchmark
+    public List<NoteDto> readListOnly() {
+        return EnvelopeReader.readDataList(listBody, NoteDto.class);
+    }
+
+    @Benchmark
+    public List<NoteDto> validateAndReadList() {
+        return EnvelopeReader.readValidDataList(listBody, NoteDto.class, SchemaRegistry.NOTE);
+    }
+
+    @Benchmark
+    public Set<ValidationMessage> validateCached() {
+        return SchemaRegistry.validate(errorBody, SchemaRegistry.ERROR);
+    }
+
+    @Benchmark
+    public Set<ValidationMessage> compileAndValidate() throws IOException {
+        try (InputStream in = getClass().getClassLoader().getResourceAsStream(SchemaRegistry.ERROR)) {
+            return JsonSchemaFactory.getInstance(SpecVersion.VersionFlag.V7)
+                    .getSchema(in)
+                    .validate(MAPPER.readTree(errorBody));
+        }
+    }
+}
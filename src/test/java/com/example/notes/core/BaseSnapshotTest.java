@@ -0,0 +1,31 @@
+package com.example.notes.core;
+
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.parallel.ResourceLock;
+
+/**
+ * Базовый класс для тестов на заполненной заглушке с восстановлением снимка.
+ *
+ * ЧЕМ ОТЛИЧАЕТСЯ ОТ BaseApiTest:
+ * - Тесты всегда идут против своей встроенной заглушки (SeededStub), какой бы baseUrl ни был задан
+ * - Перед каждым тестом хранилище восстанавливается из снимка (StubSnapshotExtension):
+ *   всё, что создал предыдущий тест, исчезает за O(1)
+ * - Доступны большие данные только для чтения (SeededStub.largeUser())
+ *
+ * ПАРАЛЛЕЛЬНЫЙ ЗАПУСК:
+ * Заглушка одна на прогон, поэтому такие тесты держат @ResourceLock(STATE) и идут по одному.
+ * С тестами BaseApiTest они при этом идут параллельно - у тех другой сервер.
+ *
+ * ПРИМЕР ИСПОЛЬЗОВАНИЯ:
+ * public class BigListTest extends BaseSnapshotTest {
+ *     @Test
+ *     void myTest(SeededStub stub) {
+ *         TestSession.bind(stub.largeUser());
+ *         NotesClient.getAllNotes();
+ *     }
+ * }
+ */
+@ExtendWith({FailureLogExtension.class, StubSnapshotExtension.class})
+@ResourceLock(StubSnapshotExtension.STATE)
+public class BaseSnapshotTest {
+}
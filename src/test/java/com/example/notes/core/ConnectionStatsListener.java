@@ -0,0 +1,37 @@
+package com.example.notes.core;
+
+import org.apache.http.pool.PoolStats;
+import org.junit.platform.launcher.TestExecutionListener;
+import org.junit.platform.launcher.TestPlan;
+
+/**
+ * Слушатель запуска тестов, который в конце прогона печатает статистику HttpConnectionPool.
+ *
+ * ЧТО ПОКАЗЫВАЕТ:
+ * - сколько запросов отправлено и сколько TCP-соединений для этого открыто
+ * - долю запросов, которые переиспользовали уже открытое соединение
+ * - состояние пула в конце прогона
+ *
+ * Пример: "HTTP connections: 240 requests over 9 connections (96.3% reused)".
+ * Если reused близко к 0% - keep-alive не работает (например, сервер закрывает соединения).
+ *
+ * КАК ПОДКЛЮЧЁН:
+ * Через файл META-INF/services/org.junit.platform.launcher.TestExecutionListener.
+ */
+public class ConnectionStatsListener implements TestExecutionListener {
+
+    @Override
+    public void testPlanExecutionFinished(TestPlan testPlan) {
+        long requests = HttpConnectionPool.requests();
+        if (requests == 0) {
+            return;
+        }
+        long opened = HttpConnectionPool.connectionsOpened();
+        double reusedPercent = 100.0 * Math.max(0, requests - opened) / requests;
+        PoolStats stats = HttpConnectionPool.poolStats();
+
+        System.out.printf("HTTP connections: %d requests over %d connections (%.1f%% reused); "
+                        + "pool at end: %d leased, %d available, max %d%n",
+                requests, opened, reusedPercent, stats.getLeased(), stats.getAvailable(), stats.getMax());
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.notes.core;
+
+import com.example.notes.config.TestEnv;
+import org.junit.jupiter.api.extension.AfterTestExecutionCallback;
+import org.junit.jupiter.api.extension.BeforeEachCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+
+import java.util.List;
+
+/**
+ * JUnit-расширение: печатает HTTP-лог теста, только если тест упал.
+ *
+ * LIFECYCLE:
+ * 1. beforeEach: создаём пустой ExchangeRingBuffer и привязываем его к потоку теста
+ * 2. тест выполняет запросы - RingBufferLogFilter складывает их в буфер
+ * 3. afterTestExecution: если тест упал - форматируем обмены (HttpExchange.format),
+ *    печатаем и публикуем в отчёт; если прошёл - буфер просто выбрасывается, не форматируясь
+ *
+ * КУДА ПОПАДАЕТ ЛОГ:
+ * - в отчёт JUnit (publishReportEntry)
+ * - в System.err, который Surefire сохраняет в отчёт упавшего теста
+ */
+public class FailureLogExtension implements BeforeEachCallback, AfterTestExecutionCallback {
+
+    private static final ExtensionContext.Namespace NAMESPACE =
+            ExtensionContext.Namespace.create(FailureLogExtension.class);
+
+    @Override
+    public void beforeEach(ExtensionContext context) {
+        ExchangeRingBuffer buffer = new ExchangeRingBuffer(TestEnv.getLogBufferSize());
+        context.getStore(NAMESPACE).put(ExchangeRingBuffer.class, buffer);
+        RingBufferLogFilter.bind(buffer);
+    }
+
+    @Override
+    public void afterTestExecution(ExtensionContext context) {
+        RingBufferLogFilter.unbind();
+        ExchangeRingBuffer buffer = context.getStore(NAMESPACE).remove(ExchangeRingBuffer.class, ExchangeRingBuffer.class);
+        if (buffer == null || !context.getExecutionException().isPresent()) {
+            return;
+        }
+
+        List<HttpExchange> entries = buffer.entries();
+        StringBuilder report = new StringBuilder();
+        report.append("HTTP log of failed test ").append(context.getDisplayName())
+                .append(" (last ").append(entries.size()).append(" of ").append(buffer.total()).append(" exchanges):");
+        for (HttpExchange entry : entries) {
+            report.append('\n').append(entry.format());
+        }
+
+        context.publishReportEntry("http-log", report.toString());
+        System.err.println(report);
+    }
+}
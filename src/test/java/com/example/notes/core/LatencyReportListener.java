@@ -0,0 +1,68 @@
+package com.example.notes.core;
+
+import com.example.notes.stub.NotesStubServer;
+import org.junit.platform.launcher.TestExecutionListener;
+import org.junit.platform.launcher.TestPlan;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Locale;
+
+/**
+ * Слушатель запуска тестов, который в конце прогона выгружает время ответа по маршрутам.
+ *
+ * РЕЗУЛЬТАТ:
+ * - target/latency/latency.json
+ * - target/latency/latency.csv
+ * - target/latency/server-timing.csv - если тесты шли во встроенную заглушку (baseUrl=inproc):
+ *   сравнение с её /metrics и доля накладных расходов клиента (см. ServerTimings)
+ * Файлы перезаписываются каждым прогоном (история прогонов - в run-timings.csv).
+ *
+ * КАК ПОДКЛЮЧЁН:
+ * Через файл META-INF/services/org.junit.platform.launcher.TestExecutionListener
+ * (как RunTimingListener).
+ */
+public class LatencyReportListener implements TestExecutionListener {
+
+    private static final Path REPORT_DIR = Paths.get("target", "latency");
+
+    @Override
+    public void testPlanExecutionStarted(TestPlan testPlan) {
+        LatencyHistograms.SUITE.reset();
+    }
+
+    @Override
+    public void testPlanExecutionFinished(TestPlan testPlan) {
+        LatencyHistograms histograms = LatencyHistograms.SUITE;
+        if (histograms.totalCount() == 0) {
+            return;
+        }
+        try {
+            LatencyReport.writeJson(histograms, REPORT_DIR.resolve("latency.json"));
+            LatencyReport.writeCsv(histograms, REPORT_DIR.resolve("latency.csv"));
+            System.out.printf("Latency report: %d requests, see %s%n", histograms.totalCount(), REPORT_DIR);
+        } catch (IOException e) {
+            System.err.println("Warning: Failed to write latency report to " + REPORT_DIR + ": " + e.getMessage());
+        }
+        writeServerTimings(histograms);
+    }
+
+    /**
+     * Общая заглушка запускается в этом прогоне, поэтому её счётчики - время только этих тестов.
+     */
+    private static void writeServerTimings(LatencyHistograms histograms) {
+        NotesStubServer stub = NotesStubServer.sharedIfRunning();
+        if (stub == null) {
+            return;
+        }
+        try {
+            ServerTimings timings = ServerTimings.scrape(stub.metricsUrl());
+            timings.writeCsv(histograms, REPORT_DIR.resolve("server-timing.csv"));
+            System.out.printf(Locale.ROOT, "Server timing: client overhead %.1f%% of observed latency%n",
+                    timings.clientOverheadShare(histograms) * 100);
+        } catch (IOException e) {
+            System.err.println("Warning: Failed to write server timing report: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.example.notes.core;
+
+import org.junit.platform.engine.TestExecutionResult;
+import org.junit.platform.launcher.TestExecutionListener;
+import org.junit.platform.launcher.TestIdentifier;
+import org.junit.platform.launcher.TestPlan;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Слушатель запуска тестов, который замеряет общее (wall-clock) время прогона.
+ *
+ * ЗАЧЕМ НУЖЕН ЭТОТ КЛАСС:
+ * Параллельный запуск нужен ради скорости. Чтобы видеть, что он действительно
+ * ускоряет прогон, каждый запуск записывает своё время и режим (serial/parallel).
+ *
+ * КАК СРАВНИТЬ РЕЖИМЫ:
+ * 1. mvn test                                                  - параллельно
+ * 2. mvn test -Djunit.jupiter.execution.parallel.enabled=false - последовательно
+ * 3. Открыть target/run-timings.csv - там по строке на каждый запуск
+ *
+ * КАК ПОДКЛЮЧЁН:
+ * Через файл META-INF/services/org.junit.platform.launcher.TestExecutionListener.
+ * JUnit Platform сам находит слушателей из этого файла при старте.
+ */
+public class RunTimingListener implements TestExecutionListener {
+
+    private static final String PARALLEL_KEY = "junit.jupiter.execution.parallel.enabled";
+    private static final Path TIMINGS_FILE = Paths.get("target", "run-timings.csv");
+
+    private final AtomicInteger testsRun = new AtomicInteger();
+    private long startNanos;
+    private boolean parallel;
+
+    @Override
+    public void testPlanExecutionStarted(TestPlan testPlan) {
+        parallel = testPlan.getConfigurationParameters().getBoolean(PARALLEL_KEY).orElse(false);
+        testsRun.set(0);
+        startNanos = System.nanoTime();
+    }
+
+    @Override
+    public void executionFinished(TestIdentifier testIdentifier, TestExecutionResult testExecutionResult) {
+        if (testIdentifier.isTest()) {
+            testsRun.incrementAndGet();
+        }
+    }
+
+    @Override
+    public void testPlanExecutionFinished(TestPlan testPlan) {
+        long elapsedMillis = (System.nanoTime() - startNanos) / 1_000_000;
+        String mode = parallel ? "parallel" : "serial";
+        System.out.printf("Test run wall-clock: %d ms (%s, %d tests)%n", elapsedMillis, mode, testsRun.get());
+        appendTiming(mode, elapsedMillis);
+    }
+
+    /**
+     * Дописывает строку в target/run-timings.csv (файл создаётся при первом запуске).
+     */
+    private void appendTiming(String mode, long elapsedMillis) {
+        try {
+            Files.createDirectories(TIMINGS_FILE.getParent());
+            if (Files.notExists(TIMINGS_FILE)) {
+                Files.write(TIMINGS_FILE, "timestamp,mode,tests,wall_clock_ms\n".getBytes(StandardCharsets.UTF_8));
+            }
+            String line = Instant.now() + "," + mode + "," + testsRun.get() + "," + elapsedMillis + "\n";
+            Files.write(TIMINGS_FILE, line.getBytes(StandardCharsets.UTF_8), StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            System.err.println("Warning: Failed to write " + TIMINGS_FILE + ": " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.notes.core;
+
+import com.networknt.schema.ValidationMessage;
+import org.hamcrest.Description;
+import org.hamcrest.Matcher;
+import org.hamcrest.TypeSafeMatcher;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+
+/**
+ * Hamcrest-матчеры для проверки ответа по JSON-схеме в стиле Rest-Assured.
+ *
+ * ПРИМЕР:
+ * response.then()
+ *         .statusCode(400)
+ *         .body(matchesSchema(SchemaRegistry.ERROR));
+ *
+ * Rest-Assured передаёт в матчер тело ответа строкой; схема берётся
+ * уже скомпилированной из SchemaRegistry.
+ */
+public class SchemaMatchers {
+
+    private SchemaMatchers() {
+    }
+
+    /**
+     * @param path путь к схеме (SchemaRegistry.NOTE, SchemaRegistry.ERROR)
+     * @return матчер, который проходит, если тело ответа соответствует схеме
+     */
+    public static Matcher<String> matchesSchema(String path) {
+        return new TypeSafeMatcher<>() {
+
+            @Override
+            protected boolean matchesSafely(String body) {
+                return errors(body).isEmpty();
+            }
+
+            @Override
+            public void describeTo(Description description) {
+                description.appendText("response body matching JSON schema ").appendText(path);
+            }
+
+            @Override
+            protected void describeMismatchSafely(String body, Description mismatch) {
+                mismatch.appendText("schema errors ").appendValue(errors(body));
+            }
+
+            private Set<ValidationMessage> errors(String body) {
+                return SchemaRegistry.validate(body.getBytes(StandardCharsets.UTF_8), path);
+            }
+        };
+    }
+}
@@ -0,0 +1,111 @@
+package com.example.notes.core;
+
+import com.example.notes.stub.NotesStore;
+import com.example.notes.stub.NotesStubServer;
+import com.example.notes.stub.StoredNote;
+import com.example.notes.stub.StoredUser;
+import org.junit.jupiter.api.extension.ExtensionContext;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Отдельная заглушка Notes API с заранее заполненными данными и их снимком.
+ *
+ * ЗАЧЕМ НУЖЕН ЭТОТ КЛАСС:
+ * Большие данные только для чтения (пользователь с 50 000 заметок) через HTTP
+ * создаются минуты, а в хранилище напрямую - секунду. Заполняем их один раз за прогон,
+ * снимаем NotesStore.snapshot(), а перед каждым тестом восстанавливаем снимок (restore - O(1)).
+ *
+ * ЧТО ЗАПОЛНЕНО:
+ * - owner      - пустой пользователь: его сессию StubSnapshotExtension привязывает к тесту
+ * - largeUser  - LARGE_USER_NOTES заметок: категории по кругу Home/Work/Personal,
+ *                каждая четвёртая заметка выполнена (completed)
+ * Токены обоих пользователей входят в снимок, поэтому остаются действительными после restore.
+ *
+ * ПОЧЕМУ ОТДЕЛЬНЫЙ СЕРВЕР:
+ * restore() возвращает всё хранилище целиком. На общей заглушке (baseUrl=inproc) это
+ * стёрло бы пользователей UserPool, которых параллельно используют другие тесты.
+ * Эта заглушка нужна только тестам с BaseSnapshotTest, и они идут по одному
+ * (см. @ResourceLock в BaseSnapshotTest).
+ *
+ * Лежит в корневом Store JUnit: создаётся при первом обращении, сервер останавливается в конце прогона.
+ */
+public class SeededStub implements ExtensionContext.Store.CloseableResource {
+
+    /**
+     * Заметок у большого пользователя.
+     */
+    public static final int LARGE_USER_NOTES = 50_000;
+
+    private static final String[] CATEGORIES = {"Home", "Work", "Personal"};
+
+    private static final String PASSWORD = "snapshot-password";
+
+    private final NotesStubServer server;
+    private final TestSession owner;
+    private final TestSession largeUser;
+    private final NotesStore.Snapshot seeded;
+    private final long seedMillis;
+
+    public SeededStub() {
+        long start = System.nanoTime();
+        server = NotesStubServer.start(8);
+        NotesStore store = server.store();
+
+        store.register("Snapshot Owner", "owner@snapshot.local", PASSWORD);
+        owner = new TestSession(server.baseUrl(), store.login("owner@snapshot.local", PASSWORD));
+
+        StoredUser large = store.register("Large Fixture", "large@snapshot.local", PASSWORD);
+        for (int i = 0; i < LARGE_USER_NOTES; i++) {
+            String category = CATEGORIES[i % CATEGORIES.length];
+            StoredNote note = store.createNote(large, "Fixture note " + i, "Read-only fixture note " + i, category);
+            if (i % 4 == 0) {
+                store.updateNote(large, note.getId(), note.getTitle(), note.getDescription(), category, true);
+            }
+        }
+        largeUser = new TestSession(server.baseUrl(), store.login("large@snapshot.local", PASSWORD));
+
+        seeded = store.snapshot();
+        seedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+    }
+
+    /**
+     * Возвращает заглушку в заполненное состояние.
+     */
+    public void restore() {
+        server.store().restore(seeded);
+    }
+
+    /**
+     * @return сессия пустого пользователя (её тест получает через TestSession.current())
+     */
+    public TestSession owner() {
+        return owner;
+    }
+
+    /**
+     * @return сессия пользователя с LARGE_USER_NOTES заметками
+     */
+    public TestSession largeUser() {
+        return largeUser;
+    }
+
+    /**
+     * @return сколько заняли запуск, заполнение и снимок (StubSnapshotExtension пишет это в отчёт JUnit)
+     */
+    public long seedMillis() {
+        return seedMillis;
+    }
+
+    /**
+     * Хранилище заглушки - для проверок в обход HTTP.
+     */
+    public NotesStore store() {
+        return server.store();
+    }
+
+    @Override
+    public void close() {
+        server.stop();
+    }
+}
@@ -0,0 +1,71 @@
+package com.example.notes.core;
+
+import com.example.notes.config.TestEnv;
+import org.junit.jupiter.api.extension.AfterEachCallback;
+import org.junit.jupiter.api.extension.BeforeEachCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.jupiter.api.extension.ParameterContext;
+import org.junit.jupiter.api.extension.ParameterResolver;
+
+/**
+ * JUnit-расширение, которое выдаёт каждому тесту отдельную TestSession.
+ *
+ * ЗАЧЕМ НУЖНО ЭТО РАСШИРЕНИЕ:
+ * Раньше пользователь создавался в BaseApiTest.setUpAuth() и клался в статическое поле.
+ * Расширение берёт готового пользователя из UserPool и хранит сессию:
+ * - в Store контекста теста (у каждого теста свой Store)
+ * - в ThreadLocal текущего потока (чтобы NotesClient нашёл её без параметров)
+ *
+ * LIFECYCLE:
+ * 1. beforeEach: арендуем пользователя из пула, привязываем сессию к потоку
+ * 2. тест работает через NotesClient (он берёт TestSession.current())
+ * 3. afterEach: отвязываем сессию и возвращаем пользователя в пул
+ *    (пул сам удалит его заметки в фоне)
+ *
+ * ОДИН ПУЛ НА ВЕСЬ ПРОГОН:
+ * Пул лежит в корневом Store - он общий для всех тестовых классов.
+ * Когда все тесты завершены, JUnit закрывает пул, и тот удаляет аккаунты.
+ *
+ * ПАРАМЕТР ТЕСТА:
+ * Если тесту нужен сам токен, можно объявить параметр:
+ *   void myTest(TestSession session) { ... session.getToken() ... }
+ */
+public class SessionExtension implements BeforeEachCallback, AfterEachCallback, ParameterResolver {
+
+    private static final ExtensionContext.Namespace NAMESPACE =
+            ExtensionContext.Namespace.create(SessionExtension.class);
+
+    @Override
+    public void beforeEach(ExtensionContext context) {
+        TestSession session = pool(context).lease();
+        context.getStore(NAMESPACE).put(TestSession.class, session);
+        TestSession.bind(session);
+    }
+
+    @Override
+    public void afterEach(ExtensionContext context) {
+        TestSession.unbind();
+        TestSession session = context.getStore(NAMESPACE).remove(TestSession.class, TestSession.class);
+        if (session != null) {
+            pool(context).release(session);
+        }
+    }
+
+    @Override
+    public boolean supportsParameter(ParameterContext parameterContext, ExtensionContext extensionContext) {
+        return parameterContext.getParameter().getType() == TestSession.class;
+    }
+
+    @Override
+    public Object resolveParameter(ParameterContext parameterContext, ExtensionContext extensionContext) {
+        return extensionContext.getStore(NAMESPACE).get(TestSession.class, TestSession.class);
+    }
+
+    /**
+     * Возвращает общий пул пользователей (создаёт его при первом обращении).
+     */
+    private static UserPool pool(ExtensionContext context) {
+        return context.getRoot().getStore(NAMESPACE)
+                .getOrComputeIfAbsent(UserPool.class, key -> new UserPool(TestEnv.getUserPoolSize()), UserPool.class);
+    }
+}
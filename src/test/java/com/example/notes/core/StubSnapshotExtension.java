@@ -0,0 +1,78 @@
+package com.example.notes.core;
+
+import org.junit.jupiter.api.extension.AfterEachCallback;
+import org.junit.jupiter.api.extension.BeforeEachCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.jupiter.api.extension.ParameterContext;
+import org.junit.jupiter.api.extension.ParameterResolver;
+
+/**
+ * JUnit-расширение: перед каждым тестом возвращает заполненную заглушку (SeededStub)
+ * в исходное состояние и привязывает к тесту сессию её пустого пользователя.
+ *
+ * ЧЕМ ОТЛИЧАЕТСЯ ОТ SessionExtension:
+ * SessionExtension изолирует тесты пользователями: после теста заметки пользователя
+ * удаляются по одной через HTTP. Здесь изоляция - восстановление снимка хранилища:
+ * один вызов NotesStore.restore() за постоянное время, сколько бы заметок тест ни создал
+ * и сколько бы данных ни было заполнено заранее.
+ *
+ * LIFECYCLE:
+ * 1. Первый тест: создаётся SeededStub (заглушка, данные, снимок) - один раз за прогон;
+ *    время заполнения уходит в отчёт JUnit (publishReportEntry "seeded-stub") и в System.out
+ * 2. beforeEach: restore() и привязка сессии owner к потоку
+ * 3. тест работает через NotesClient (TestSession.current()) или параметр SeededStub
+ * 4. afterEach: отвязка сессии
+ *
+ * ПАРАМЕТР ТЕСТА:
+ *   void myTest(SeededStub stub) { ... stub.largeUser() ... }
+ *
+ * Подключается через BaseSnapshotTest: там же блокировка STATE, без которой
+ * restore() одного теста стёр бы данные другого, идущего параллельно.
+ */
+public class StubSnapshotExtension implements BeforeEachCallback, AfterEachCallback, ParameterResolver {
+
+    /**
+     * Имя ресурса для @ResourceLock: тесты с общей заполненной заглушкой идут по одному.
+     */
+    public static final String STATE = "notes-stub-snapshot";
+
+    private static final ExtensionContext.Namespace NAMESPACE =
+            ExtensionContext.Namespace.create(StubSnapshotExtension.class);
+
+    @Override
+    public void beforeEach(ExtensionContext context) {
+        SeededStub[] created = new SeededStub[1];
+        SeededStub stub = context.getRoot().getStore(NAMESPACE).getOrComputeIfAbsent(SeededStub.class,
+                key -> created[0] = new SeededStub(), SeededStub.class);
+        if (created[0] != null) {
+            String seeded = "Seeded stub: " + SeededStub.LARGE_USER_NOTES + " fixture notes in "
+                    + stub.seedMillis() + " ms";
+            context.publishReportEntry("seeded-stub", seeded);
+            System.out.println(seeded);
+        }
+        stub.restore();
+        TestSession.bind(stub.owner());
+    }
+
+    @Override
+    public void afterEach(ExtensionContext context) {
+        TestSession.unbind();
+    }
+
+    @Override
+    public boolean supportsParameter(ParameterContext parameterContext, ExtensionContext extensionContext) {
+        return parameterContext.getParameter().getType() == SeededStub.class;
+    }
+
+    @Override
+    public Object resolveParameter(ParameterContext parameterContext, ExtensionContext extensionContext) {
+        return stub(extensionContext);
+    }
+
+    /**
+     * Возвращает общую заполненную заглушку (её создаёт beforeEach).
+     */
+    private static SeededStub stub(ExtensionContext context) {
+        return context.getRoot().getStore(NAMESPACE).get(SeededStub.class, SeededStub.class);
+    }
+}
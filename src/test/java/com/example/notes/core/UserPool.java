@@ -0,0 +1,238 @@
+package com.example.notes.core;
+
+import com.example.notes.data.TestData;
+import com.example.notes.endpoints.AuthClient;
+import com.example.notes.endpoints.NotesClient;
+import com.example.notes.models.NoteDto;
+import org.junit.jupiter.api.extension.ExtensionContext;
+
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Пул заранее зарегистрированных и залогиненных пользователей.
+ *
+ * ЗАЧЕМ НУЖЕН ЭТОТ КЛАСС:
+ * Раньше каждый тест тратил три HTTP-запроса только на подготовку:
+ * register + login перед тестом и delete-account после.
+ * Пул делает это заранее и в фоне, а тест только "арендует" готового пользователя.
+ *
+ * КАК ЭТО РАБОТАЕТ:
+ * 1. При создании пул в фоне регистрирует size пользователей
+ * 2. lease() - выдаёт свободного пользователя (или ждёт, пока он появится)
+ * 3. release() - возвращает пользователя: в фоне удаляет все его заметки
+ *    через NotesClient и кладёт обратно в очередь свободных
+ * 4. Если очистить не удалось (например, тест удалил аккаунт) - пользователь
+ *    выбрасывается, а вместо него в фоне создаётся новый
+ * 5. close() - в конце прогона удаляет все аккаунты разом. Пользователи, возвращённые
+ *    после этого, не чистятся: их аккаунты удаляет сам close()
+ *
+ * ПОЧЕМУ CloseableResource:
+ * Пул кладётся в корневой Store JUnit (см. SessionExtension).
+ * JUnit сам вызывает close() у таких объектов, когда завершаются ВСЕ тесты.
+ */
+public class UserPool implements ExtensionContext.Store.CloseableResource {
+
+    /**
+     * Сколько ждать свободного пользователя, прежде чем считать, что пул "завис".
+     */
+    private static final long LEASE_TIMEOUT_SECONDS = 60;
+
+    private final int capacity;
+
+    /**
+     * Очередь свободных пользователей (готовы к выдаче).
+     */
+    private final BlockingQueue<TestSession> idle = new LinkedBlockingQueue<>();
+
+    /**
+     * Все пользователи, которыми владеет пул (свободные и арендованные) - для удаления в конце.
+     */
+    private final Set<TestSession> owned = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Сколько пользователей есть или создаётся прямо сейчас (не больше capacity).
+     */
+    private final AtomicInteger size = new AtomicInteger();
+
+    private final AtomicInteger leases = new AtomicInteger();
+
+    /**
+     * Фоновые потоки: создание новых пользователей и очистка возвращённых.
+     */
+    private final ExecutorService background;
+
+    /**
+     * Последняя ошибка при создании пользователя (например, сервер недоступен).
+     */
+    private volatile Throwable lastFailure;
+
+    /**
+     * close() начался: фоновые потоки остановлены, новых задач они не принимают.
+     */
+    private volatile boolean closed;
+
+    /**
+     * Создаёт пул и сразу начинает заполнять его в фоне.
+     *
+     * @param capacity максимальное число пользователей
+     */
+    public UserPool(int capacity) {
+        this.capacity = capacity;
+        this.background = Executors.newFixedThreadPool(Math.max(1, Math.min(capacity, 4)), runnable -> {
+            Thread thread = new Thread(runnable, "user-pool");
+            thread.setDaemon(true);
+            return thread;
+        });
+        refill();
+    }
+
+    /**
+     * Выдаёт свободного пользователя. Если свободных нет - ждёт, пока фон создаст
+     * нового или очистит возвращённого.
+     *
+     * @return сессия арендованного пользователя
+     * @throws IllegalStateException если пользователя не удалось получить
+     */
+    public TestSession lease() {
+        if (closed) {
+            throw new IllegalStateException("User pool is closed");
+        }
+        refill();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(LEASE_TIMEOUT_SECONDS);
+        try {
+            while (System.nanoTime() < deadline) {
+                TestSession session = idle.poll(200, TimeUnit.MILLISECONDS);
+                if (session != null) {
+                    leases.incrementAndGet();
+                    return session;
+                }
+                // Создание падает, а у пула нет ни одного пользователя (ни арендованного,
+                // ни очищаемого, ни создаваемого) - ждать бессмысленно. Если пользователи есть,
+                // кто-то из них вернётся: ждём до таймаута
+                Throwable failure = lastFailure;
+                if (failure != null && size.get() == 0) {
+                    throw new IllegalStateException("User pool could not provision a test user", failure);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a pooled user", e);
+        }
+        throw new IllegalStateException("No pooled user became available within " + LEASE_TIMEOUT_SECONDS + " s");
+    }
+
+    /**
+     * Возвращает пользователя в пул. Очистка заметок идёт в фоне,
+     * поэтому тест не ждёт её окончания.
+     *
+     * @param session сессия, полученная из lease()
+     */
+    public void release(TestSession session) {
+        if (closed) {
+            return;
+        }
+        try {
+            background.execute(() -> {
+                if (wipeNotes(session)) {
+                    idle.offer(session);
+                } else {
+                    discard(session);
+                    refill();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            // close() начался между проверкой и execute - аккаунт удалит он
+        }
+    }
+
+    /**
+     * Удаляет все аккаунты пула. Вызывается JUnit один раз в конце прогона.
+     */
+    @Override
+    public void close() throws InterruptedException {
+        closed = true;
+        background.shutdown();
+        background.awaitTermination(LEASE_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+
+        int total = owned.size();
+        owned.parallelStream().forEach(this::discard);
+        System.out.printf("User pool: %d leases served by %d users%n", leases.get(), total);
+    }
+
+    // ==================== ВНУТРЕННИЕ МЕТОДЫ ====================
+
+    /**
+     * Дозаполняет пул до capacity: на каждого недостающего пользователя - фоновая задача.
+     */
+    private void refill() {
+        int current;
+        while (!closed && (current = size.get()) < capacity) {
+            if (size.compareAndSet(current, current + 1)) {
+                lastFailure = null;
+                try {
+                    background.execute(this::provision);
+                } catch (RejectedExecutionException e) {
+                    // Пул закрывается: создавать пользователей больше не нужно
+                    size.decrementAndGet();
+                    return;
+                }
+            }
+        }
+    }
+
+    private void provision() {
+        try {
+            String token = AuthClient.registerAndLogin(TestData.randomUser());
+            TestSession session = new TestSession(token);
+            owned.add(session);
+            idle.offer(session);
+        } catch (Exception | Error e) {
+            // Error тоже ловим: Rest-Assured сообщает о неверном статус-коде через AssertionError,
+            // и без этого lastFailure остался бы пустым - lease() ждал бы до таймаута
+            size.decrementAndGet();
+            lastFailure = e;
+        }
+    }
+
+    /**
+     * Удаляет все заметки пользователя от его имени.
+     *
+     * @return true, если пользователя можно выдавать снова
+     */
+    private boolean wipeNotes(TestSession session) {
+        TestSession.bind(session);
+        try {
+            for (NoteDto note : NotesClient.getAllNotes()) {
+                NotesClient.deleteNote(note.getId());
+            }
+            return true;
+        } catch (Exception | AssertionError e) {
+            return false;
+        } finally {
+            TestSession.unbind();
+        }
+    }
+
+    /**
+     * Выбрасывает пользователя из пула и удаляет его аккаунт.
+     */
+    private void discard(TestSession session) {
+        if (owned.remove(session)) {
+            size.decrementAndGet();
+        }
+        try {
+            AuthClient.deleteAccount(session.getToken());
+        } catch (Exception | AssertionError e) {
+            // Игнорируем ошибки при удалении (например, если тест уже удалил пользователя)
+            System.err.println("Warning: Failed to delete pooled user: " + e.getMessage());
+        }
+    }
+}
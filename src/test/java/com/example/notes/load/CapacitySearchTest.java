@@ -0,0 +1,146 @@
+package com.example.notes.load;
+
+import com.example.notes.core.LatencyHistograms;
+import com.example.notes.endpoints.Route;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.DoublePredicate;
+import java.util.function.Function;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+/**
+ * ТЕСТЫ ПОИСКА ЧАСТОТЫ (CapacitySearch)
+ *
+ * Что проверяют эти тесты:
+ * 1. BINARY удваивает частоту до первого нарушения SLO и делит интервал пополам до resolution
+ * 2. STEP поднимается на startRate и останавливается на первом нарушении
+ * 3. Частота не выше maxRate, ступеней не больше maxPlateaus
+ * 4. Случайно выдержанная ступень на уже проваленной частоте не становится результатом
+ *
+ * Сеть не нужна: ступени "выполняет" подставной runner, который по частоте решает,
+ * выдержан ли SLO (в этом пакете - ради конструктора LoadResult).
+ */
+@DisplayName("Capacity Search Tests") // Название группы тестов для отчёта
+public class CapacitySearchTest {
+
+    private static final Slo SLO = new Slo(1_000, 0.01);
+
+    private static final Duration PLATEAU = Duration.ofSeconds(1);
+
+    @Test
+    @DisplayName("Binary search doubles up to the first failure, then bisects to the resolution")
+    public void binaryBrackets() {
+        // ШАГ 1: API выдерживает до 55 op/s
+        List<Double> rates = new ArrayList<>();
+        CapacitySearch search = new CapacitySearch(SLO, CapacitySearch.Mode.BINARY, 10, 1_000, 0.05, 20,
+                PLATEAU, 4);
+        CapacityResult result = search.run(runner(rates, rate -> rate <= 55));
+
+        // Проверка 1: 10, 20, 40, 80 (провал), затем пополам между 40 и 80, пока интервал > 5%
+        assertThat("Rates", rates, contains(10.0, 20.0, 40.0, 80.0, 60.0, 50.0, 55.0, 57.5));
+        assertThat("Sustained", result.getSustainedRate(), is(55.0));
+
+        // Проверка 2: Каждая ступень с нарушением - выше найденной частоты
+        for (CapacityResult.Plateau plateau : result.getPlateaus()) {
+            assertThat("Plateau " + plateau.getTargetRate(), plateau.isSloMet(),
+                    is(plateau.getTargetRate() <= 55));
+        }
+    }
+
+    @Test
+    @DisplayName("Step search stops at the first failure")
+    public void stepStops() {
+        // ШАГ 1: API выдерживает до 35 op/s
+        List<Double> rates = new ArrayList<>();
+        CapacitySearch search = new CapacitySearch(SLO, CapacitySearch.Mode.STEP, 10, 1_000, 0.05, 20,
+                PLATEAU, 4);
+        CapacityResult result = search.run(runner(rates, rate -> rate <= 35));
+
+        // Проверка: 10, 20, 30, 40 - и сразу стоп
+        assertThat("Rates", rates, contains(10.0, 20.0, 30.0, 40.0));
+        assertThat("Sustained", result.getSustainedRate(), is(30.0));
+    }
+
+    @Test
+    @DisplayName("Search never goes above maxRate")
+    public void maxRateCaps() {
+        // ШАГ 1: API выдерживает любую частоту
+        List<Double> binary = new ArrayList<>();
+        List<Double> step = new ArrayList<>();
+        CapacityResult binaryResult = new CapacitySearch(SLO, CapacitySearch.Mode.BINARY, 10, 50, 0.05, 20,
+                PLATEAU, 4).run(runner(binary, rate -> true));
+        CapacityResult stepResult = new CapacitySearch(SLO, CapacitySearch.Mode.STEP, 10, 50, 0.05, 20,
+                PLATEAU, 4).run(runner(step, rate -> true));
+
+        // Проверка: последняя ступень - ровно maxRate, дальше поиск не идёт
+        assertThat("Binary rates", binary, contains(10.0, 20.0, 40.0, 50.0));
+        assertThat("Binary sustained", binaryResult.getSustainedRate(), is(50.0));
+        assertThat("Step rates", step, contains(10.0, 20.0, 30.0, 40.0, 50.0));
+        assertThat("Step sustained", stepResult.getSustainedRate(), is(50.0));
+    }
+
+    @Test
+    @DisplayName("Search runs at most maxPlateaus plateaus")
+    public void maxPlateausLimits() {
+        // ШАГ 1: Предел далеко, а ступеней - только 3
+        List<Double> rates = new ArrayList<>();
+        CapacityResult result = new CapacitySearch(SLO, CapacitySearch.Mode.STEP, 10, 1_000, 0.05, 3,
+                PLATEAU, 4).run(runner(rates, rate -> true));
+
+        // Проверка: три ступени, результат - последняя выдержанная
+        assertThat("Plateaus", result.getPlateaus(), hasSize(3));
+        assertThat("Sustained", result.getSustainedRate(), is(30.0));
+    }
+
+    @Test
+    @DisplayName("A lucky pass at an already failed rate is not reported as sustained")
+    public void noisyPassIsIgnored() {
+        // ШАГ 1: Первая ступень на 80 op/s проваливается (шум), все остальные выдерживают SLO.
+        // С resolution 0 поиск делит интервал 40..80, пока середина не совпадёт с 80
+        List<Double> rates = new ArrayList<>();
+        boolean[] failedOnce = {false};
+        CapacityResult result = new CapacitySearch(SLO, CapacitySearch.Mode.BINARY, 10, 1_000, 0, 200,
+                PLATEAU, 4).run(runner(rates, rate -> {
+                    if (rate == 80 && !failedOnce[0]) {
+                        failedOnce[0] = true;
+                        return false;
+                    }
+                    return true;
+                }));
+
+        // Проверка 1: Найденная частота ниже проваленной
+        assertThat("Sustained", result.getSustainedRate(), both(greaterThan(79.0)).and(lessThan(80.0)));
+
+        // Проверка 2: Поиск остановился сам, когда интервал перестал делиться, а не по maxPlateaus
+        assertThat("Plateaus", result.getPlateaus().size(), lessThan(200));
+    }
+
+    /**
+     * Подставной прогон ступени: запоминает частоту и возвращает результат, который SLO
+     * выдерживает (без ошибок) или нарушает (все операции с ошибкой).
+     */
+    private static Function<LoadProfile, LoadResult> runner(List<Double> rates, DoublePredicate sustains) {
+        return profile -> {
+            double rate = profile.getRatePerSecond();
+            rates.add(rate);
+            long completed = (long) Math.ceil(rate * profile.getDuration().getSeconds());
+            LongAdder[] errors = new LongAdder[Route.values().length];
+            for (int i = 0; i < errors.length; i++) {
+                errors[i] = new LongAdder();
+            }
+            if (!sustains.test(rate)) {
+                errors[Route.GET_NOTE.ordinal()].add(completed);
+            }
+            return new LoadResult(profile, completed, completed, 0, TimeUnit.SECONDS.toNanos(1),
+                    new LatencyHistograms(), new LatencyHistograms(), errors);
+        };
+    }
+}
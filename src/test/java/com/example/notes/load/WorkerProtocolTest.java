@@ -0,0 +1,227 @@
+package com.example.notes.load;
+
+import com.example.notes.core.LatencyHistograms;
+import com.example.notes.endpoints.Route;
+import org.HdrHistogram.Histogram;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * ТЕСТЫ ПРОТОКОЛА РАСПРЕДЕЛЁННОЙ НАГРУЗКИ (WorkerProtocol, DistributedLoad, LoadWorker)
+ *
+ * Что проверяют эти тесты:
+ * 1. Гистограммы двух процессов, переданные через writeResult/readResult и сложенные,
+ *    дают те же перцентили, что одна гистограмма со всеми значениями; счётчики и ошибки складываются
+ * 2. Доли процессов в сумме - ровно заданные пользователи, потоки и частота
+ * 3. Барьеры: GO только после READY всех процессов, RELEASE только после RESULT всех
+ *
+ * Сеть не нужна: координатор и "процессы" разговаривают через loopback внутри одной JVM,
+ * нагрузки нет - результаты создаются напрямую (поэтому тест в пакете load).
+ */
+@DisplayName("Worker Protocol Tests") // Название группы тестов для отчёта
+public class WorkerProtocolTest {
+
+    /**
+     * Сколько ждать, чтобы убедиться, что сообщение НЕ пришло раньше барьера.
+     */
+    private static final long QUIET_MS = 300;
+
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+
+    private final List<Socket> sockets = new ArrayList<>();
+
+    @AfterEach
+    public void tearDown() throws IOException {
+        executor.shutdownNow();
+        for (Socket socket : sockets) {
+            socket.close();
+        }
+    }
+
+    @Test
+    @DisplayName("Merged worker results equal a single run with all values")
+    public void resultMergeIsLossless() throws IOException {
+        // ШАГ 1: Два "процесса" с разными распределениями и одна общая гистограмма
+        LatencyHistograms first = new LatencyHistograms();
+        LatencyHistograms second = new LatencyHistograms();
+        LatencyHistograms all = new LatencyHistograms();
+        Random random = new Random(42);
+        for (int i = 0; i < 50_000; i++) {
+            long fast = 1_000_000L + random.nextInt(5_000_000);     // 1..6 мс
+            long slow = 20_000_000L + random.nextInt(200_000_000);  // 20..220 мс
+            first.record(Route.GET_NOTE, fast);
+            second.record(Route.GET_NOTE, slow);
+            all.record(Route.GET_NOTE, fast);
+            all.record(Route.GET_NOTE, slow);
+        }
+
+        // ШАГ 2: Передаём результаты так же, как LoadWorker: RESULT в байты и обратно
+        LatencyHistograms uncorrected = new LatencyHistograms();
+        LatencyHistograms corrected = new LatencyHistograms();
+        long[] errors = new long[Route.values().length];
+        WorkerProtocol.Shard a = roundTrip(result(first, 50_000, 3, 7), uncorrected, corrected, errors);
+        WorkerProtocol.Shard b = roundTrip(result(second, 50_000, 5, 11), uncorrected, corrected, errors);
+
+        // Проверка 1: Счётчики процесса и ошибки по маршрутам
+        assertThat("Completed", a.completed + b.completed, is(100_000L));
+        assertThat("Delayed", a.delayed + b.delayed, is(8L));
+        assertThat("Errors", errors[Route.GET_NOTE.ordinal()], is(18L));
+
+        // Проверка 2: Число значений и перцентили совпадают точно - и для uncorrected, и для corrected
+        Histogram expected = all.snapshot(Route.GET_NOTE);
+        for (LatencyHistograms merged : new LatencyHistograms[]{uncorrected, corrected}) {
+            Histogram actual = merged.snapshot(Route.GET_NOTE);
+            assertThat("Count", actual.getTotalCount(), equalTo(expected.getTotalCount()));
+            for (double percentile : new double[]{50, 90, 99, 99.9, 100}) {
+                assertThat("p" + percentile, actual.getValueAtPercentile(percentile),
+                        equalTo(expected.getValueAtPercentile(percentile)));
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Shards add up to exactly the requested load")
+    public void shardsAddUp() {
+        // ШАГ 1: 10 пользователей и 7 потоков на 3 процесса
+        DistributedLoad load = new DistributedLoad(new LoadProfile(30, Duration.ofSeconds(1), 10, 7), 3);
+
+        // Проверка 1: Остаток - по одному первым процессам, в сумме ровно заданное
+        int sessions = 0;
+        int workers = 0;
+        double rate = 0;
+        for (int i = 0; i < 3; i++) {
+            LoadProfile shard = load.shard(i);
+            sessions += shard.getSessions();
+            workers += shard.getWorkers();
+            rate += shard.getRatePerSecond();
+        }
+        assertThat("First shard", load.shard(0).getSessions(), is(4));
+        assertThat("Sessions", sessions, is(10));
+        assertThat("Workers", workers, is(7));
+        assertThat("Rate", rate, closeTo(30, 1e-9));
+
+        // Проверка 2: Процессов больше, чем пользователей, - ошибка, а не лишние пользователи
+        assertThrows(IllegalArgumentException.class,
+                () -> new DistributedLoad(new LoadProfile(30, Duration.ofSeconds(1), 2, 2), 3));
+    }
+
+    @Test
+    @DisplayName("GO waits for every READY and RELEASE waits for every RESULT")
+    public void barriersWaitForEveryWorker() throws Exception {
+        // ШАГ 1: Координатор и два соединения "процессов"
+        DistributedLoad load = new DistributedLoad(new LoadProfile(20, Duration.ofSeconds(1), 4, 4), 2);
+        List<DataInputStream> coordinatorIns = new ArrayList<>();
+        List<DataOutputStream> coordinatorOuts = new ArrayList<>();
+        DataInputStream[] workerIns = new DataInputStream[2];
+        DataOutputStream[] workerOuts = new DataOutputStream[2];
+        try (ServerSocket server = new ServerSocket(0, 2, InetAddress.getLoopbackAddress())) {
+            for (int i = 0; i < 2; i++) {
+                Socket worker = connect(server.getLocalPort());
+                Socket coordinator = server.accept();
+                sockets.add(coordinator);
+                workerIns[i] = in(worker);
+                workerOuts[i] = out(worker);
+                coordinatorIns.add(in(coordinator));
+                coordinatorOuts.add(out(coordinator));
+            }
+        }
+        Future<LoadResult> merged = executor.submit(() -> load.coordinate(coordinatorIns, coordinatorOuts));
+
+        // ШАГ 2: HELLO в обратном порядке номеров - каждый получает свою долю
+        for (int i = 0; i < 2; i++) {
+            workerOuts[i].writeByte(WorkerProtocol.HELLO);
+            workerOuts[i].writeInt(1 - i);
+            workerOuts[i].flush();
+            assertThat("Job", WorkerProtocol.readJob(workerIns[i]).getSessions(), is(2));
+        }
+
+        // ШАГ 3: Первый процесс готов, второй - ещё нет
+        Future<?> firstStarted = executor.submit(() -> LoadWorker.awaitStart(workerIns[0], workerOuts[0]));
+
+        // Проверка 1: Без READY второго процесса GO не приходит
+        assertThrows(TimeoutException.class, () -> firstStarted.get(QUIET_MS, TimeUnit.MILLISECONDS));
+
+        // Проверка 2: После READY второго оба стартуют
+        LoadWorker.awaitStart(workerIns[1], workerOuts[1]);
+        firstStarted.get(5, TimeUnit.SECONDS);
+
+        // ШАГ 4: Первый процесс отправил результат, второй ещё даёт нагрузку
+        Future<?> firstReleased = executor.submit(() ->
+                LoadWorker.report(workerIns[0], workerOuts[0], result(new LatencyHistograms(), 10, 0, 1)));
+
+        // Проверка 3: Без RESULT второго процесса RELEASE не приходит
+        assertThrows(TimeoutException.class, () -> firstReleased.get(QUIET_MS, TimeUnit.MILLISECONDS));
+
+        // Проверка 4: После RESULT второго оба освобождены, результат - сумма обоих
+        LoadWorker.report(workerIns[1], workerOuts[1], result(new LatencyHistograms(), 12, 1, 2));
+        firstReleased.get(5, TimeUnit.SECONDS);
+        LoadResult result = merged.get(5, TimeUnit.SECONDS);
+        assertThat("Completed", result.getCompleted(), is(22L));
+        assertThat("Delayed", result.getDelayed(), is(1L));
+        assertThat("Errors", result.getErrors(), is(3L));
+    }
+
+    // ==================== ВСПОМОГАТЕЛЬНОЕ ====================
+
+    /**
+     * Результат "процесса": одни и те же значения в uncorrected и corrected, ошибки - на GET_NOTE.
+     */
+    private static LoadResult result(LatencyHistograms latencies, long completed, long delayed, long errors) {
+        LongAdder[] counters = new LongAdder[Route.values().length];
+        for (int i = 0; i < counters.length; i++) {
+            counters[i] = new LongAdder();
+        }
+        counters[Route.GET_NOTE.ordinal()].add(errors);
+        LoadProfile profile = new LoadProfile(10, Duration.ofSeconds(1), 1, 1);
+        return new LoadResult(profile, completed, completed, delayed, TimeUnit.SECONDS.toNanos(1),
+                latencies, latencies, counters);
+    }
+
+    private static WorkerProtocol.Shard roundTrip(LoadResult result, LatencyHistograms uncorrected,
+                                                  LatencyHistograms corrected, long[] errors) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        WorkerProtocol.writeResult(new DataOutputStream(bytes), result);
+        return WorkerProtocol.readResult(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())),
+                uncorrected, corrected, errors);
+    }
+
+    private Socket connect(int port) throws IOException {
+        Socket socket = new Socket(InetAddress.getLoopbackAddress(), port);
+        sockets.add(socket);
+        return socket;
+    }
+
+    private static DataInputStream in(Socket socket) throws IOException {
+        return new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+    }
+
+    private static DataOutputStream out(Socket socket) throws IOException {
+        return new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+    }
+}
@@ -0,0 +1,78 @@
+package com.example.notes.tests;
+
+import com.example.notes.core.LiveStats;
+import com.example.notes.endpoints.Route;
+import org.HdrHistogram.Histogram;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+/**
+ * ТЕСТЫ СЧЁТЧИКОВ ЖИВОЙ ПАНЕЛИ (LiveStats)
+ *
+ * Что проверяют эти тесты:
+ * 1. Пока потоки пишут, читатель забирает интервалы - и ни одно значение
+ *    не теряется и не попадает в два интервала
+ * 2. Статусы забираются так же: сумма интервалов равна числу запросов
+ * 3. Счётчик запросов в полёте возвращается к нулю
+ *
+ * Сеть не нужна: значения записываются напрямую.
+ */
+@DisplayName("Live Stats Tests") // Название группы тестов для отчёта
+public class LiveStatsTest {
+
+    private static final int THREADS = 4;
+    private static final int PER_THREAD = 200_000;
+
+    @Test
+    @DisplayName("Interval swaps lose no samples while writers are running")
+    public void intervalsAreComplete() throws Exception {
+        // ШАГ 1: Четыре потока пишут запросы; каждый сотый - ошибка 503
+        LiveStats stats = new LiveStats();
+        List<Thread> writers = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            Thread writer = new Thread(() -> {
+                for (int i = 0; i < PER_THREAD; i++) {
+                    stats.begin();
+                    stats.end(Route.GET_NOTE, i % 100 == 0 ? 503 : 200, 1_000_000L + i);
+                }
+            });
+            writers.add(writer);
+            writer.start();
+        }
+
+        // ШАГ 2: Тем временем забираем интервалы, как это делает ConsoleDashboard
+        Histogram interval = LiveStats.newIntervalHistogram();
+        long[] statuses = new long[LiveStats.STATUS_SLOTS];
+        long latencyCount = 0;
+        long statusCount = 0;
+        boolean running = true;
+        while (running) {
+            running = writers.stream().anyMatch(Thread::isAlive);
+            stats.drainInterval(Route.GET_NOTE, interval);
+            latencyCount += interval.getTotalCount();
+            statusCount += stats.drainStatuses(statuses);
+        }
+        for (Thread writer : writers) {
+            writer.join();
+        }
+        stats.drainInterval(Route.GET_NOTE, interval);
+        latencyCount += interval.getTotalCount();
+        statusCount += stats.drainStatuses(statuses);
+
+        // Проверка 1: Все значения времени ответа и статусы на месте
+        long total = (long) THREADS * PER_THREAD;
+        assertThat("Latency samples", latencyCount, equalTo(total));
+        assertThat("Status samples", statusCount, equalTo(total));
+        assertThat("503 responses", statuses[503], equalTo(total / 100));
+        assertThat("200 responses", statuses[200], equalTo(total - total / 100));
+
+        // Проверка 2: Запросов в полёте не осталось
+        assertThat("In flight", stats.inFlight(), equalTo(0));
+    }
+}
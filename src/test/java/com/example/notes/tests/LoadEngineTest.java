@@ -0,0 +1,86 @@
+package com.example.notes.tests;
+
+import com.example.notes.config.TestEnv;
+import com.example.notes.endpoints.Route;
+import com.example.notes.load.LoadEngine;
+import com.example.notes.load.LoadProfile;
+import com.example.notes.load.LoadResult;
+import com.example.notes.load.OperationMix;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.parallel.Isolated;
+
+import java.time.Duration;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * ТЕСТ ГЕНЕРАТОРА НАГРУЗКИ (LoadEngine)
+ *
+ * Что проверяют эти тесты:
+ * 1. Короткий прогон с открытой моделью выполняет все запланированные операции
+ *    без ошибок и держит заданную частоту
+ * 2. Операций больше, чем пользователей: занятых пользователей операции не делят
+ *    (иначе GET/PUT/DELETE одной заметки гоняются с её удалением и дают 404)
+ *
+ * Запускается только со встроенной заглушкой (baseUrl=inproc): нагружать
+ * публичный сайт из обычного прогона тестов нельзя.
+ *
+ * @Isolated: частота проверяется по часам, и параллельные тесты (заполнение SeededStub -
+ * 50 000 заметок) на машине с одним-двумя ядрами отнимали у генератора процессор.
+ */
+@Isolated
+@DisplayName("Load Engine Tests") // Название группы тестов для отчёта
+public class LoadEngineTest {
+
+    @Test // JUnit запустит этот метод как тест
+    @DisplayName("Open-model run completes every scheduled operation at the target rate") // Название для отчёта
+    public void openModelRunKeepsTargetRate() {
+        assumeTrue(TestEnv.isInProcess(), "Load test runs only against baseUrl=inproc");
+
+        // ШАГ 1: 40 операций в секунду в течение 2 секунд, 20 пользователей, 16 потоков
+        LoadProfile profile = new LoadProfile(40, Duration.ofSeconds(2), 20, 16);
+
+        // ШАГ 2: Запускаем нагрузку
+        LoadResult result = new LoadEngine(profile, OperationMix.defaultMix()).run();
+
+        // ШАГ 3: ПРОВЕРКИ
+
+        // Проверка 1: Запланировано rate * duration операций
+        assertThat("Scheduled operations", result.getScheduled(), equalTo(80L));
+
+        // Проверка 2: Все запланированные операции выполнены
+        assertThat("Completed operations", result.getCompleted(), equalTo(result.getScheduled()));
+
+        // Проверка 3: Ошибок нет
+        assertThat("Errors", result.getErrors(), equalTo(0L));
+
+        // Проверка 4: Достигнутая частота близка к заданной
+        assertThat("Achieved rate", result.getAchievedRate(), closeTo(40.0, 8.0));
+
+        // Проверка 5: Время от запланированной отправки не меньше времени от фактической
+        // (corrected включает ожидание в очереди)
+        assertThat("Corrected max >= uncorrected max",
+                result.getCorrected().snapshot(Route.CREATE_NOTE).getMaxValue(),
+                greaterThanOrEqualTo(result.getUncorrected().snapshot(Route.CREATE_NOTE).getMaxValue()));
+    }
+
+    @Test
+    @DisplayName("Busy virtual users are never shared between operations")
+    public void busySessionsAreNotShared() {
+        assumeTrue(TestEnv.isInProcess(), "Load test runs only against baseUrl=inproc");
+
+        // ШАГ 1: 2 пользователя на 16 потоков, 200 операций в секунду, половина - удаления
+        LoadProfile profile = new LoadProfile(200, Duration.ofSeconds(1), 2, 16);
+        LoadResult result = new LoadEngine(profile, new OperationMix(1, 1, 1, 3)).run();
+
+        // Проверка 1: Всё выполнено без ложных 404
+        assertThat("Completed operations", result.getCompleted(), equalTo(result.getScheduled()));
+        assertThat("Errors", result.getErrors(), equalTo(0L));
+
+        // Проверка 2: Отложенные операции - часть запланированных
+        assertThat("Delayed operations", result.getDelayed(), lessThanOrEqualTo(result.getScheduled()));
+    }
+}
@@ -0,0 +1,89 @@
+package com.example.notes.tests;
+
+import com.example.notes.core.BaseApiTest;
+import com.example.notes.core.TestSession;
+import com.example.notes.data.TestData;
+import com.example.notes.endpoints.ApiException;
+import com.example.notes.endpoints.NotesAsyncClient;
+import com.example.notes.endpoints.NotesClient;
+import com.example.notes.models.NoteDto;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * ТЕСТЫ АСИНХРОННОГО КЛИЕНТА заметок
+ *
+ * Что проверяют эти тесты:
+ * NotesAsyncClient отправляет запросы через java.net.http.HttpClient и не ждёт ответа.
+ * Тесты проверяют, что много запросов "в полёте" одновременно дают тот же результат,
+ * что и обычный NotesClient, и что ошибки API приходят внутри CompletableFuture.
+ */
+@DisplayName("Notes Async Client Tests") // Название группы тестов для отчёта
+public class NotesAsyncTest extends BaseApiTest { // Наследуемся от базового класса
+
+    /**
+     * ТЕСТ: Параллельное создание заметок из одного потока
+     *
+     * Что проверяет этот тест:
+     * 1. Все запросы отправляются сразу, не дожидаясь ответов друг друга
+     * 2. Каждая заметка создаётся с уникальным ID
+     * 3. Синхронный NotesClient видит все созданные заметки
+     */
+    @Test // JUnit запустит этот метод как тест
+    @DisplayName("Concurrent async creates are all visible to the sync client") // Название для отчёта
+    public void concurrentCreatesAreVisible(TestSession session) {
+
+        // ШАГ 1: Отправляем 20 запросов на создание, не дожидаясь ответов
+        int count = 20;
+        List<CompletableFuture<NoteDto>> futures = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            futures.add(NotesAsyncClient.createNote(session.getToken(), TestData.simpleNote()));
+        }
+
+        // ШАГ 2: Дожидаемся всех ответов разом
+        CompletableFuture.allOf(futures.toArray(CompletableFuture<?>[]::new)).join();
+
+        // ШАГ 3: ПРОВЕРКИ
+        List<String> ids = new ArrayList<>();
+        for (CompletableFuture<NoteDto> future : futures) {
+            ids.add(future.join().getId());
+        }
+
+        // Проверка 1: Все ID разные
+        assertThat("Every note should get its own ID", ids.stream().distinct().count(), equalTo((long) count));
+
+        // Проверка 2: Обычный клиент видит все заметки
+        assertThat("Sync client should see all async-created notes", NotesClient.getAllNotes(), hasSize(count));
+    }
+
+    /**
+     * ТЕСТ: Ошибка API приходит внутри future
+     *
+     * Что проверяет этот тест:
+     * Запрос заметки с невалидным ID завершает future исключением ApiException
+     * со статусом 400 (как и в NotesNegativeTest для синхронного клиента).
+     */
+    @Test // Помечаем как тест
+    @DisplayName("Async get with invalid ID completes exceptionally with 400") // Название для отчёта
+    public void invalidIdCompletesExceptionally(TestSession session) {
+
+        // ШАГ 1: Запрашиваем заметку с заведомо невалидным ID
+        CompletableFuture<NoteDto> future = NotesAsyncClient.getNote(session.getToken(), "invalid-note-id-12345");
+
+        // ШАГ 2: join() бросает CompletionException, внутри которого - ApiException
+        CompletionException thrown = assertThrows(CompletionException.class, future::join);
+
+        // ШАГ 3: ПРОВЕРКИ
+        assertThat("Cause should be ApiException", thrown.getCause(), instanceOf(ApiException.class));
+        assertThat("Status should be 400", ((ApiException) thrown.getCause()).getStatusCode(), equalTo(400));
+    }
+}
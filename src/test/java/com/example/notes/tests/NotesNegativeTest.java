@@ -1,6 +1,7 @@
 package com.example.notes.tests;
 
 import com.example.notes.core.BaseApiTest;
+import com.example.notes.core.SchemaRegistry;
 import com.example.notes.data.TestData;
 import com.example.notes.endpoints.NotesClient;
 import com.example.notes.models.NoteCreateRequest;
@@ -8,6 +9,7 @@ import io.restassured.response.Response;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
+import static com.example.notes.core.SchemaMatchers.matchesSchema;
 import static org.hamcrest.Matchers.notNullValue;
 
 /**
@@ -68,7 +70,10 @@ public class NotesNegativeTest extends BaseApiTest { // Наследуемся 
                 // Проверка 2: В ответе должно быть поле "message" с описанием ошибки
                 // notNullValue() - проверяем, что сообщение об ошибке не пустое
                 // Пользователь должен понять, что именно не так с его запросом
-                .body("message", notNullValue());
+                .body("message", notNullValue())
+
+                // Проверка 3: Ответ соответствует схеме ошибки (schemas/error.json)
+                .body(matchesSchema(SchemaRegistry.ERROR));
 
         // Если сервер вернул 400 с сообщением - тест пройден!
         // Это значит, что валидация работает правильно
@@ -101,7 +106,10 @@ public class NotesNegativeTest extends BaseApiTest { // Наследуемся 
                 .statusCode(400)
 
                 // Проверка 2: Сообщение об ошибке должно присутствовать
-                .body("message", notNullValue());
+                .body("message", notNullValue())
+
+                // Проверка 3: Ответ соответствует схеме ошибки (schemas/error.json)
+                .body(matchesSchema(SchemaRegistry.ERROR));
 
         // Если валидация описания работает - тест пройден!
     }
@@ -139,7 +147,10 @@ public class NotesNegativeTest extends BaseApiTest { // Наследуемся 
 
                 // Проверка 2: Должно быть сообщение об ошибке
                 // Пользователь должен понять, что ID невалидный
-                .body("message", notNullValue());
+                .body("message", notNullValue())
+
+                // Проверка 3: Ответ соответствует схеме ошибки (schemas/error.json)
+                .body(matchesSchema(SchemaRegistry.ERROR));
 
         // Если сервер правильно валидирует формат ID - тест пройден!
     }
@@ -173,7 +184,10 @@ public class NotesNegativeTest extends BaseApiTest { // Наследуемся 
                 .statusCode(400)
 
                 // Проверка 2: Должно быть сообщение об ошибке
-                .body("message", notNullValue());
+                .body("message", notNullValue())
+
+                // Проверка 3: Ответ соответствует схеме ошибки (schemas/error.json)
+                .body(matchesSchema(SchemaRegistry.ERROR));
 
         // Если сервер корректно валидирует формат ID при удалении - тест пройден!
     }
@@ -209,7 +223,10 @@ public class NotesNegativeTest extends BaseApiTest { // Наследуемся 
                 .statusCode(400)
 
                 // Проверка 2: Должно быть сообщение об ошибке
-                .body("message", notNullValue());
+                .body("message", notNullValue())
+
+                // Проверка 3: Ответ соответствует схеме ошибки (schemas/error.json)
+                .body(matchesSchema(SchemaRegistry.ERROR));
 
         // Если сервер корректно валидирует формат ID при обновлении - тест пройден!
     }
@@ -0,0 +1,84 @@
+package com.example.notes.tests;
+
+import com.example.notes.core.BaseSnapshotTest;
+import com.example.notes.core.SeededStub;
+import com.example.notes.core.TestSession;
+import com.example.notes.data.TestData;
+import com.example.notes.endpoints.NotesClient;
+import com.example.notes.models.NoteDto;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+/**
+ * ТЕСТЫ НА ЗАПОЛНЕННОЙ ЗАГЛУШКЕ (BaseSnapshotTest)
+ *
+ * Что проверяют эти тесты:
+ * 1. Большой пользователь из SeededStub виден через API со всеми заметками
+ * 2. Каждый тест начинает с исходного состояния: пустой владелец, нетронутые данные
+ * 3. restore() откатывает и созданные, и удалённые заметки
+ *
+ * Данные заполняются один раз за прогон, между тестами восстанавливается снимок.
+ */
+@DisplayName("Stub Snapshot Tests") // Название группы тестов для отчёта
+public class NotesSnapshotTest extends BaseSnapshotTest {
+
+    @Test
+    @DisplayName("Large read-only fixture is served in full")
+    public void largeFixtureIsServed(SeededStub stub) {
+        // ШАГ 1: Работаем от имени большого пользователя
+        TestSession.bind(stub.largeUser());
+
+        // ШАГ 2: Получаем все его заметки
+        List<NoteDto> notes = NotesClient.getAllNotes();
+
+        // Проверка 1: Все заметки на месте и в порядке создания
+        assertThat("Fixture notes", notes, hasSize(SeededStub.LARGE_USER_NOTES));
+        assertThat("First note", notes.get(0).getTitle(), equalTo("Fixture note 0"));
+        assertThat("Last note", notes.get(notes.size() - 1).getTitle(),
+                equalTo("Fixture note " + (SeededStub.LARGE_USER_NOTES - 1)));
+
+        // Проверка 2: Каждая четвёртая заметка выполнена
+        long completed = notes.stream().filter(NoteDto::getCompleted).count();
+        assertThat("Completed notes", completed, equalTo((long) SeededStub.LARGE_USER_NOTES / 4));
+    }
+
+    @Test
+    @DisplayName("Each test starts from the seeded state")
+    public void testStartsFromSeededState() {
+        // Проверка 1: Что бы ни создали другие тесты, владелец начинает без заметок
+        assertThat("Owner notes before test", NotesClient.getAllNotes(), empty());
+
+        // ШАГ 1: Создаём заметки - следующий тест их уже не увидит
+        NotesClient.createNote(TestData.simpleNote());
+        NotesClient.createNote(TestData.simpleNote());
+
+        // Проверка 2: Заметки созданы
+        assertThat("Owner notes after create", NotesClient.getAllNotes(), hasSize(2));
+    }
+
+    @Test
+    @DisplayName("Restore rolls back created and deleted notes")
+    public void restoreRollsBackChanges(SeededStub stub) {
+        // ШАГ 1: Владелец создаёт заметку, у большого пользователя удаляем одну
+        NotesClient.createNote(TestData.simpleNote());
+        String deletedId = stub.store().listNotes(
+                stub.store().authenticate(stub.largeUser().getToken())).get(0).getId();
+        TestSession.bind(stub.largeUser());
+        NotesClient.deleteNote(deletedId);
+
+        // ШАГ 2: Восстанавливаем снимок
+        stub.restore();
+
+        // Проверка 1: Удалённая заметка вернулась
+        assertThat("Restored note", NotesClient.getNote(deletedId).getId(), equalTo(deletedId));
+
+        // Проверка 2: Созданная заметка исчезла, токен владельца по-прежнему действителен
+        TestSession.bind(stub.owner());
+        assertThat("Owner notes after restore", NotesClient.getAllNotes(), empty());
+    }
+}
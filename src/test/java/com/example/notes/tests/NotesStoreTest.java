@@ -0,0 +1,123 @@
+package com.example.notes.tests;
+
+import com.example.notes.stub.NotesStore;
+import com.example.notes.stub.StoredNote;
+import com.example.notes.stub.StoredUser;
+import com.example.notes.stub.StubException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.function.Executable;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * ТЕСТЫ ХРАНИЛИЩА СЕРВЕРА-ЗАГЛУШКИ (NotesStore)
+ *
+ * Что проверяют эти тесты:
+ * 1. Индексы по category и completed следуют за созданием, изменением и удалением заметок
+ * 2. Пользователи в одном сегменте не видят заметок друг друга
+ * 3. restore() возвращает пользователей, токены и заметки на момент snapshot()
+ *
+ * Сеть не нужна: хранилище вызывается напрямую, без HTTP.
+ */
+@DisplayName("Stub Store Tests") // Название группы тестов для отчёта
+public class NotesStoreTest {
+
+    @Test
+    @DisplayName("Category and completed filters follow updates and deletes")
+    public void indexesFollowChanges() {
+        // ШАГ 1: Пользователь с тремя заметками в двух категориях
+        NotesStore store = new NotesStore();
+        StoredUser user = store.register("Index User", "index@store.local", "password");
+        StoredNote home = store.createNote(user, "Home note", "Description", "Home");
+        StoredNote work = store.createNote(user, "Work note", "Description", "Work");
+        StoredNote other = store.createNote(user, "Other work", "Description", "Work");
+
+        // Проверка 1: Фильтр по категории - в порядке создания
+        assertThat("Work notes", ids(store.listNotes(user, "Work", null)), contains(work.getId(), other.getId()));
+        assertThat("Completed notes", store.listNotes(user, null, true), empty());
+
+        // ШАГ 2: Переносим заметку из Work в Home и отмечаем выполненной
+        store.updateNote(user, work.getId(), "Work note", "Description", "Home", true);
+
+        // Проверка 2: Заметка ушла из старых индексов и попала в новые
+        assertThat("Work notes", ids(store.listNotes(user, "Work", null)), contains(other.getId()));
+        assertThat("Completed home notes", ids(store.listNotes(user, "Home", true)), contains(work.getId()));
+        assertThat("Open notes", ids(store.listNotes(user, null, false)), contains(home.getId(), other.getId()));
+
+        // ШАГ 3: Удаляем заметку
+        store.deleteNote(user, work.getId());
+
+        // Проверка 3: Удалённой заметки нет ни в одном индексе
+        assertThat("All notes", ids(store.listNotes(user)), contains(home.getId(), other.getId()));
+        assertThat("Completed notes", store.listNotes(user, null, true), empty());
+        assertThat("Home notes", ids(store.listNotes(user, "Home", null)), contains(home.getId()));
+    }
+
+    @Test
+    @DisplayName("Users sharing a shard do not see each other's notes")
+    public void usersAreIsolatedWithinShard() {
+        // ШАГ 1: Один сегмент - все пользователи в нём
+        NotesStore store = new NotesStore(1);
+        StoredUser owner = store.register("Owner", "owner@store.local", "password");
+        StoredUser stranger = store.register("Stranger", "stranger@store.local", "password");
+        StoredNote note = store.createNote(owner, "Private", "Description", "Personal");
+        String ownerToken = store.login("owner@store.local", "password");
+        store.login("stranger@store.local", "password");
+
+        // Проверка 1: Списки не пересекаются
+        assertThat("Owner notes", ids(store.listNotes(owner)), contains(note.getId()));
+        assertThat("Stranger notes", store.listNotes(stranger, "Personal", null), empty());
+
+        // Проверка 2: Чужая заметка - 404, после удаления аккаунта - 401, его токен удалён
+        assertThat("Foreign note", statusOf(() -> store.getNote(stranger, note.getId())), is(404));
+        store.deleteUser(owner);
+        assertThat("Deleted owner", statusOf(() -> store.listNotes(owner)), is(401));
+        assertThat("Deleted owner token", statusOf(() -> store.authenticate(ownerToken)), is(401));
+        assertThat("Tokens", store.tokenCount(), is(1));
+    }
+
+    @Test
+    @DisplayName("Restore returns users, tokens and notes to the snapshot")
+    public void restoreReturnsToSnapshot() {
+        // ШАГ 1: Пользователь с заметкой и токеном, снимок
+        NotesStore store = new NotesStore();
+        StoredUser kept = store.register("Kept User", "kept@store.local", "password");
+        String keptToken = store.login("kept@store.local", "password");
+        StoredNote note = store.createNote(kept, "Kept note", "Description", "Work");
+        NotesStore.Snapshot snapshot = store.snapshot();
+
+        // ШАГ 2: После снимка - новый пользователь, изменённая и новая заметки
+        StoredUser added = store.register("Added User", "added@store.local", "password");
+        String addedToken = store.login("added@store.local", "password");
+        store.updateNote(kept, note.getId(), "Changed", "Changed", "Home", true);
+        store.createNote(kept, "Extra note", "Description", "Home");
+
+        // ШАГ 3: Восстанавливаем
+        store.restore(snapshot);
+
+        // Проверка 1: Заметки - как в момент снимка
+        assertThat("Kept notes", store.listNotes(kept), contains(sameInstance(note)));
+        assertThat("Home notes", store.listNotes(kept, "Home", null), empty());
+
+        // Проверка 2: Старый токен работает, пользователя и токена после снимка нет
+        assertThat("Kept token", store.authenticate(keptToken), sameInstance(kept));
+        assertThat("Added token", statusOf(() -> store.authenticate(addedToken)), is(401));
+        assertThat("Added user notes", statusOf(() -> store.listNotes(added)), is(401));
+        assertThat("Email is free again", store.register("Added User", "added@store.local", "password"),
+                notNullValue());
+    }
+
+    private static List<String> ids(List<StoredNote> notes) {
+        return notes.stream().map(StoredNote::getId).collect(Collectors.toList());
+    }
+
+    private static int statusOf(Executable action) {
+        return assertThrows(StubException.class, action).getStatus();
+    }
+}
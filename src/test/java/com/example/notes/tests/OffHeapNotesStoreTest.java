@@ -0,0 +1,146 @@
+package com.example.notes.tests;
+
+import com.example.notes.stub.NotesBackend;
+import com.example.notes.stub.NotesStore;
+import com.example.notes.stub.OffHeapNotesStore;
+import com.example.notes.stub.StoredUser;
+import com.example.notes.stub.StubException;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.function.Executable;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * ТЕСТЫ ХРАНИЛИЩА ВНЕ КУЧИ (OffHeapNotesStore)
+ *
+ * Что проверяют эти тесты:
+ * 1. Ответы те же, что у NotesStore: поля, тексты не-ASCII, фильтры, PUT с переносом записи
+ * 2. Блоки удалённых заметок переиспользуются - память не растёт при создании/удалении
+ * 3. Чужая заметка - 404, удалённый аккаунт - 401
+ *
+ * Сеть не нужна: хранилища вызываются напрямую, ответы пишутся в JsonGenerator.
+ */
+@DisplayName("Off-Heap Store Tests") // Название группы тестов для отчёта
+public class OffHeapNotesStoreTest {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    /**
+     * Пишет поле data в JSON.
+     */
+    private interface DataWriter {
+        void write(JsonGenerator json) throws IOException;
+    }
+
+    @Test
+    @DisplayName("Off-heap store answers like the heap store")
+    public void answersLikeHeapStore() throws IOException {
+        // ШАГ 1: Одинаковые действия в обоих хранилищах
+        JsonNode heap = scenario(new NotesStore());
+        JsonNode offHeap = scenario(new OffHeapNotesStore());
+
+        // Проверка 1: Ответы совпадают (без ID и времени - они у каждого хранилища свои)
+        assertThat("Off-heap answers", offHeap, equalTo(heap));
+
+        // Проверка 2: Сценарий действительно что-то вернул
+        assertThat("Listed notes", heap.get("all").size(), is(2));
+        assertThat("Unicode title", heap.get("updated").get("title").asText(), is("Заметка \"в кавычках\" ✓"));
+    }
+
+    @Test
+    @DisplayName("Blocks of deleted notes are reused")
+    public void freedBlocksAreReused() throws IOException {
+        // ШАГ 1: Пользователь и 10 000 циклов создания и удаления
+        OffHeapNotesStore store = new OffHeapNotesStore(1 << 20);
+        StoredUser user = store.register("Churn User", "churn@offheap.local", "password");
+        for (int i = 0; i < 10_000; i++) {
+            String id = store.addNote(user, "Temp " + i, "Temporary note", "Personal");
+            store.deleteNote(user, id);
+        }
+
+        // Проверка 1: Хватило одного slab, занятых блоков нет
+        assertThat("Slabs", store.offHeapBytes(), is(1L << 20));
+        assertThat("Used bytes", store.usedBytes(), is(0L));
+        assertThat("Notes", store.noteCount(), is(0L));
+
+        // ШАГ 2: Заметка и чужой пользователь
+        String id = store.addNote(user, "Kept", "Kept note", "Work");
+        String token = store.login("churn@offheap.local", "password");
+        StoredUser stranger = store.register("Stranger", "stranger@offheap.local", "password");
+
+        // Проверка 2: Чужая заметка - 404, после удаления аккаунта - 401, блоки освобождены, токен удалён
+        assertThat("Foreign note", statusOf(() -> write(json -> store.getNote(stranger, id, json))), is(404));
+        store.deleteUser(user);
+        assertThat("Deleted owner", statusOf(() -> write(json -> store.getNote(user, id, json))), is(401));
+        assertThat("Used bytes", store.usedBytes(), is(0L));
+        assertThat("Deleted owner token", statusOf(() -> store.authenticate(token)), is(401));
+        assertThat("Tokens", store.tokenCount(), is(0));
+    }
+
+    /**
+     * Создание, PUT (длиннее - запись переезжает в другой блок), удаление и списки с фильтрами.
+     *
+     * @return ответы по шагам без id, user_id и времени
+     */
+    private static JsonNode scenario(NotesBackend store) throws IOException {
+        StoredUser user = store.register("Parity User", "parity@offheap.local", "password");
+        ObjectNode result = MAPPER.createObjectNode();
+
+        JsonNode home = write(store.create(user, "Home note", "Home description", "Home")::write);
+        JsonNode work = write(store.create(user, "Work note", "Work description", "Work")::write);
+        JsonNode gone = write(store.create(user, "Gone note", "Gone description", "Work")::write);
+        String workId = work.get("id").asText();
+        String goneId = gone.get("id").asText();
+        assertThat("User id", work.get("user_id").asText(), is(user.getId()));
+        assertThat("Created at", work.get("created_at").asText(),
+                matchesPattern("\\d{4}-\\d{2}-\\d{2}T\\d{2}:\\d{2}:\\d{2}\\.\\d{3}Z"));
+
+        result.set("created", strip(home));
+        result.set("updated", strip(write(store.update(user, workId, "Заметка \"в кавычках\" ✓",
+                "A much longer description that no longer fits the original block", "Home", true)::write)));
+        store.deleteNote(user, goneId);
+        result.set("fetched", strip(write(json -> store.getNote(user, workId, json))));
+        result.set("all", strip(write(json -> store.listNotes(user, null, null, json))));
+        result.set("homeDone", strip(write(json -> store.listNotes(user, "Home", true, json))));
+        result.set("workOpen", strip(write(json -> store.listNotes(user, "Work", false, json))));
+        result.put("deletedStatus", statusOf(() -> write(json -> store.getNote(user, goneId, json))));
+        return result;
+    }
+
+    private static JsonNode write(DataWriter data) throws IOException {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        try (JsonGenerator json = MAPPER.getFactory().createGenerator(buffer)) {
+            data.write(json);
+        }
+        return MAPPER.readTree(buffer.toByteArray());
+    }
+
+    private static JsonNode strip(JsonNode node) {
+        if (node.isArray()) {
+            ArrayNode copy = MAPPER.createArrayNode();
+            node.forEach(item -> copy.add(strip(item)));
+            return copy;
+        }
+        ObjectNode copy = node.deepCopy();
+        copy.remove("id");
+        copy.remove("user_id");
+        copy.remove("created_at");
+        copy.remove("updated_at");
+        return copy;
+    }
+
+    private static int statusOf(Executable action) {
+        return assertThrows(StubException.class, action).getStatus();
+    }
+}
@@ -0,0 +1,86 @@
+package com.example.notes.tests;
+
+import com.example.notes.load.Operation;
+import com.example.notes.load.OperationMix;
+import com.example.notes.load.PayloadProfile;
+import com.example.notes.load.WeightedOperation;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * ТЕСТЫ СМЕСИ ОПЕРАЦИЙ (OperationMix, WorkloadConfig)
+ *
+ * Что проверяют эти тесты:
+ * 1. Файл нагрузки читается: операции, веса, паузы и размеры тел
+ * 2. Операции выбираются с частотами, пропорциональными весам
+ * 3. Ошибка в файле нагрузки видна сразу, с понятным сообщением
+ *
+ * Сеть не нужна: тесты не отправляют запросов.
+ */
+@DisplayName("Operation Mix Tests") // Название группы тестов для отчёта
+public class OperationMixTest {
+
+    @Test
+    @DisplayName("Built-in workload file is parsed into weighted operations")
+    public void workloadFileIsParsed() {
+        // ШАГ 1: Загружаем встроенный файл workloads/browse-heavy.properties
+        OperationMix mix = OperationMix.load("browse-heavy");
+        List<WeightedOperation> operations = mix.getOperations();
+
+        // Проверка 1: Название и число операций
+        assertThat("Workload name", mix.getName(), equalTo("browse-heavy"));
+        assertThat("Operations", operations, hasSize(5));
+
+        // Проверка 2: Вес, пауза и размер тела для строки "CREATE:10:2s:medium"
+        WeightedOperation create = operations.get(2);
+        assertThat("Operation", create.getOperation(), equalTo(Operation.CREATE));
+        assertThat("Weight", create.getWeight(), equalTo(10.0));
+        assertThat("Think time", create.getThinkTime(), equalTo(Duration.ofSeconds(2)));
+        assertThat("Payload", create.getPayload(), equalTo(PayloadProfile.MEDIUM));
+
+        // Проверка 3: Значения по умолчанию для строки "LIST:70" - без паузы, маленькое тело
+        assertThat("Default think time", operations.get(0).getThinkTime(), equalTo(Duration.ZERO));
+        assertThat("Default payload", operations.get(0).getPayload(), equalTo(PayloadProfile.SMALL));
+    }
+
+    @Test
+    @DisplayName("Operations are sampled in proportion to their weights")
+    public void samplingFollowsWeights() {
+        // ШАГ 1: Веса 70/15/10/4/1 (сумма 100)
+        OperationMix mix = OperationMix.load("browse-heavy");
+
+        // ШАГ 2: Выбираем операцию 200 000 раз и считаем
+        int samples = 200_000;
+        Map<Operation, Integer> counts = new EnumMap<>(Operation.class);
+        for (int i = 0; i < samples; i++) {
+            counts.merge(mix.next().getOperation(), 1, Integer::sum);
+        }
+
+        // Проверка: доля каждой операции в пределах 0.5 процентного пункта от веса
+        for (WeightedOperation operation : mix.getOperations()) {
+            double share = counts.getOrDefault(operation.getOperation(), 0) * 100.0 / samples;
+            assertThat("Share of " + operation.getOperation(), share, closeTo(operation.getWeight(), 0.5));
+        }
+    }
+
+    @Test
+    @DisplayName("Invalid workload entry is rejected with the offending text")
+    public void invalidEntryIsRejected() {
+        // Проверка 1: Неизвестная операция
+        IllegalArgumentException unknown = assertThrows(IllegalArgumentException.class,
+                () -> WeightedOperation.parse("PATCH:10"));
+        assertThat(unknown.getMessage(), containsString("PATCH:10"));
+
+        // Проверка 2: Несуществующий файл нагрузки
+        assertThrows(IllegalArgumentException.class, () -> OperationMix.load("no-such-workload"));
+    }
+}
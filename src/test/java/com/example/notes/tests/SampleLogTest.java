@@ -0,0 +1,96 @@
+package com.example.notes.tests;
+
+import com.example.notes.bench.SampleLogAnalyzer;
+import com.example.notes.core.SampleLog;
+import com.example.notes.core.SampleLogReader;
+import com.example.notes.endpoints.Route;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+/**
+ * ТЕСТЫ ЖУРНАЛА ЗАПРОСОВ (SampleLog, SampleLogReader, SampleLogAnalyzer)
+ *
+ * Что проверяют эти тесты:
+ * 1. Записи из нескольких потоков не теряются и читаются обратно без искажений
+ * 2. Файл обрезается по последней записи при закрытии
+ * 3. Анализатор строит временной ряд, итоги по маршрутам и разбивку ошибок
+ *
+ * Сеть не нужна: записи добавляются напрямую, без HTTP.
+ */
+@DisplayName("Sample Log Tests") // Название группы тестов для отчёта
+public class SampleLogTest {
+
+    private static final int THREADS = 4;
+    private static final int PER_THREAD = 25_000;
+
+    @Test
+    @DisplayName("Concurrent samples are read back and analyzed")
+    public void samplesRoundTrip(@TempDir Path dir) throws Exception {
+        // ШАГ 1: Четыре потока пишут по 25 000 записей; каждая десятая - ошибка 500
+        Path file = dir.resolve("run.samples");
+        try (SampleLog log = SampleLog.open(file)) {
+            List<Thread> writers = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                Route route = t % 2 == 0 ? Route.GET_NOTE : Route.CREATE_NOTE;
+                Thread writer = new Thread(() -> {
+                    for (int i = 0; i < PER_THREAD; i++) {
+                        log.append(route, i % 10 == 0 ? 500 : 200, 1_000_000L + i, 128);
+                    }
+                });
+                writers.add(writer);
+                writer.start();
+            }
+            for (Thread writer : writers) {
+                writer.join();
+            }
+            assertThat("Appended", log.size(), equalTo((long) THREADS * PER_THREAD));
+        }
+
+        // Проверка 1: Файл обрезан: заголовок + 24 байта на запись
+        assertThat("File size", Files.size(file), equalTo(16L + 24L * THREADS * PER_THREAD));
+
+        // ШАГ 2: Читаем журнал обратно
+        Map<Route, Integer> counts = new EnumMap<>(Route.class);
+        int failed = 0;
+        try (SampleLogReader reader = SampleLogReader.open(file)) {
+            while (reader.next()) {
+                counts.merge(reader.route(), 1, Integer::sum);
+                if (reader.status() == 500) {
+                    failed++;
+                }
+                assertThat("Bytes", reader.bytes(), equalTo(128));
+                assertThat("Latency", reader.latencyNanos(), greaterThanOrEqualTo(1_000_000L));
+                assertThat("Timestamp", reader.timestampMicros() / 1_000, greaterThanOrEqualTo(reader.startMillis()));
+            }
+        }
+
+        // Проверка 2: Все записи на месте, ошибок - каждая десятая
+        assertThat("GET samples", counts.get(Route.GET_NOTE), equalTo(2 * PER_THREAD));
+        assertThat("POST samples", counts.get(Route.CREATE_NOTE), equalTo(2 * PER_THREAD));
+        assertThat("Errors", failed, equalTo(THREADS * PER_THREAD / 10));
+
+        // ШАГ 3: Анализируем журнал
+        SampleLogAnalyzer analyzer = new SampleLogAnalyzer(Duration.ofMillis(100));
+        analyzer.analyze(file, dir.resolve("analysis"));
+
+        // Проверка 3: Итоги и файлы отчёта
+        assertThat("Requests", analyzer.getRequests(), equalTo((long) THREADS * PER_THREAD));
+        assertThat("Errors", analyzer.getErrors(), equalTo((long) THREADS * PER_THREAD / 10));
+        List<String> timeline = Files.readAllLines(dir.resolve("analysis/timeline.csv"));
+        assertThat("Timeline rows", timeline.size(), greaterThan(1));
+        assertThat("Error breakdown", Files.readAllLines(dir.resolve("analysis/errors.csv")),
+                hasItems("GET /notes/{id},500," + (2 * PER_THREAD / 10), "POST /notes,500," + (2 * PER_THREAD / 10)));
+    }
+}
@@ -0,0 +1,93 @@
+package com.example.notes.tests;
+
+import com.example.notes.load.SoakMonitor;
+import com.example.notes.load.SoakReport;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+/**
+ * ТЕСТЫ ПРОВЕРКИ ДРЕЙФА (SoakReport)
+ *
+ * Что проверяют эти тесты:
+ * 1. Ровный прогон с шумом проходит все пороги
+ * 2. Медленная утечка памяти и рост p99 проваливают прогон, хотя каждый отдельный
+ *    замер выглядит нормально
+ * 3. Рост в начале прогона (прогрев) не считается утечкой
+ *
+ * Сеть не нужна: замеры создаются напрямую.
+ */
+@DisplayName("Soak Report Tests") // Название группы тестов для отчёта
+public class SoakReportTest {
+
+    private static final int SAMPLES = 120;         // 2 часа по минуте
+    private static final double INTERVAL_S = 60;
+
+    @Test
+    @DisplayName("Steady run with noise passes")
+    public void steadyRunPasses() {
+        // ШАГ 1: p99 около 50 мс, куча около 100 МБ, потоки и дескрипторы постоянны
+        Random random = new Random(7);
+        List<SoakMonitor.Sample> samples = new ArrayList<>();
+        for (int i = 1; i <= SAMPLES; i++) {
+            samples.add(sample(i, 50 + random.nextGaussian() * 5, 100 + random.nextGaussian() * 8, 40, 30));
+        }
+
+        // ШАГ 2: Проверяем с порогами: p99 +50%, куча +64 МБ, потоки +5, дескрипторы +20
+        SoakReport report = new SoakReport(samples, 0.1, 50, 64, 5, 20);
+
+        // Проверка: ни один порог не превышен
+        assertThat("Passed", report.passed(), is(true));
+        assertThat("All metrics checked", report.getDrifts(), everyItem(hasProperty("checked", is(true))));
+    }
+
+    @Test
+    @DisplayName("Slow heap leak and latency creep fail the run")
+    public void slowDriftFails() {
+        // ШАГ 1: Куча растёт на 1 МБ в минуту, p99 - на 1% в минуту; шум больше шага
+        Random random = new Random(7);
+        List<SoakMonitor.Sample> samples = new ArrayList<>();
+        for (int i = 1; i <= SAMPLES; i++) {
+            samples.add(sample(i, 50 * (1 + 0.01 * i) + random.nextGaussian() * 5,
+                    100 + i + random.nextGaussian() * 8, 40, 30));
+        }
+
+        // ШАГ 2: Строим итог
+        SoakReport report = new SoakReport(samples, 0.1, 50, 64, 5, 20);
+
+        // Проверка: провалены куча и p99, потоки и дескрипторы в норме
+        assertThat("Passed", report.passed(), is(false));
+        assertThat("p99 drift", report.getDrifts().get(0).isExceeded(), is(true));
+        assertThat("Heap drift", report.getDrifts().get(1).getDrift(), closeTo(107, 10));
+        assertThat("Heap exceeded", report.getDrifts().get(1).isExceeded(), is(true));
+        assertThat("Threads", report.getDrifts().get(2).isExceeded(), is(false));
+        assertThat("Open FDs", report.getDrifts().get(3).isExceeded(), is(false));
+    }
+
+    @Test
+    @DisplayName("Growth during warmup is not a leak")
+    public void warmupIsIgnored() {
+        // ШАГ 1: Первые 10 замеров потоки и дескрипторы растут (пул наполняется), дальше постоянны
+        List<SoakMonitor.Sample> samples = new ArrayList<>();
+        for (int i = 1; i <= SAMPLES; i++) {
+            int warm = Math.min(i, 10);
+            samples.add(sample(i, 50, 100, 20 + 2 * warm, 10 + 4 * warm));
+        }
+
+        // ШАГ 2: Прогрев - первые 10% замеров
+        SoakReport report = new SoakReport(samples, 0.1, 50, 64, 5, 20);
+
+        // Проверка: рост в прогреве не попал в тренд
+        assertThat("Passed", report.passed(), is(true));
+    }
+
+    private static SoakMonitor.Sample sample(int i, double p99, double heapMb, int threads, long fds) {
+        return new SoakMonitor.Sample(i * INTERVAL_S, 600, p99 / 2, p99, heapMb, threads, fds, 16, 2);
+    }
+}
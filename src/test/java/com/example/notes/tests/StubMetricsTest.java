@@ -0,0 +1,199 @@
+package com.example.notes.tests;
+
+import com.example.notes.core.LatencyHistograms;
+import com.example.notes.core.ServerTimings;
+import com.example.notes.endpoints.Endpoints;
+import com.example.notes.endpoints.Route;
+import com.example.notes.stub.NotesStore;
+import com.example.notes.stub.NotesStubServer;
+import com.example.notes.stub.StubMetrics;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+/**
+ * ТЕСТЫ МЕТРИК ЗАГЛУШКИ (StubMetrics, GET /metrics, ServerTimings)
+ *
+ * Что проверяют эти тесты:
+ * 1. Каждый запрос записан по своему маршруту во все три фазы, ответы - по классу статуса
+ * 2. Разница двух снимков /metrics - только запросы между ними
+ * 3. Накладные расходы клиента - доля от 0 до 1 времени, которое видит клиент
+ * 4. Изменение заметки (с ожиданием записи журнала на диск) - в фазе handler, не serialize
+ *
+ * Каждый тест запускает свой сервер: счётчики общей заглушки копят запросы всех тестов.
+ */
+@DisplayName("Stub Metrics Tests") // Название группы тестов для отчёта
+public class StubMetricsTest {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private static final HttpClient CLIENT = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .build();
+
+    private NotesStubServer server;
+
+    @BeforeEach
+    public void startServer() {
+        server = NotesStubServer.start(2);
+    }
+
+    @AfterEach
+    public void stopServer() {
+        server.stop();
+    }
+
+    @Test
+    @DisplayName("Stub times every phase of every request")
+    public void timesEveryPhase() throws IOException, InterruptedException {
+        // ШАГ 1: Регистрация, вход, три списка и профиль без токена (401)
+        String token = login("metrics@stub.local", null);
+        for (int i = 0; i < 3; i++) {
+            call(Route.LIST_NOTES, get(Endpoints.NOTES, token), null);
+        }
+        call(Route.PROFILE, get(Endpoints.USERS_PROFILE, null), null);
+
+        // ШАГ 2: Метрики
+        awaitRecorded(Route.PROFILE, 1);
+        HttpResponse<String> metrics = CLIENT.send(HttpRequest.newBuilder(URI.create(server.metricsUrl())).build(),
+                HttpResponse.BodyHandlers.ofString(StandardCharsets.UTF_8));
+        ServerTimings timings = ServerTimings.parse(metrics.body());
+
+        // Проверка 1: Формат Prometheus
+        assertThat("Status", metrics.statusCode(), is(200));
+        assertThat("Content type", metrics.headers().firstValue("Content-Type").orElse(""),
+                startsWith("text/plain; version=0.0.4"));
+        assertThat("Summary", metrics.body(), containsString(
+                StubMetrics.SECONDS + "{route=\"LIST_NOTES\",phase=\"handler\",quantile=\"0.99\"}"));
+
+        // Проверка 2: Каждый запрос - во всех фазах своего маршрута
+        for (StubMetrics.Phase phase : StubMetrics.Phase.values()) {
+            assertThat("Register " + phase.label(), timings.count(Route.REGISTER, phase), is(1L));
+            assertThat("Login " + phase.label(), timings.count(Route.LOGIN, phase), is(1L));
+            assertThat("List " + phase.label(), timings.count(Route.LIST_NOTES, phase), is(3L));
+            assertThat("Profile " + phase.label(), timings.count(Route.PROFILE, phase), is(1L));
+        }
+        assertThat("Mean", timings.meanMillis(Route.LIST_NOTES, StubMetrics.Phase.HANDLER), greaterThan(0.0));
+
+        // Проверка 3: Ответы по классам статуса
+        assertThat("2xx", metrics.body(),
+                containsString(StubMetrics.RESPONSES + "{route=\"LIST_NOTES\",status=\"2xx\"} 3"));
+        assertThat("4xx", metrics.body(),
+                containsString(StubMetrics.RESPONSES + "{route=\"PROFILE\",status=\"4xx\"} 1"));
+    }
+
+    @Test
+    @DisplayName("Client overhead is the client time not spent inside the stub")
+    public void clientOverheadFromDiff() throws IOException, InterruptedException {
+        // ШАГ 1: Вход до первого снимка
+        LatencyHistograms client = new LatencyHistograms();
+        String token = login("overhead@stub.local", null);
+        ServerTimings before = ServerTimings.scrape(server.metricsUrl());
+
+        // ШАГ 2: Запросы с замером на стороне клиента
+        for (int i = 0; i < 20; i++) {
+            call(Route.LIST_NOTES, get(Endpoints.NOTES, token), client);
+        }
+        ServerTimings run = awaitRecorded(Route.LIST_NOTES, 20).minus(before);
+
+        // Проверка 1: В разнице - только запросы между снимками
+        assertThat("Listed", run.count(Route.LIST_NOTES, StubMetrics.Phase.HANDLER), is(20L));
+        assertThat("Login", run.count(Route.LOGIN, StubMetrics.Phase.HANDLER), is(0L));
+
+        // Проверка 2: Доля клиента - от 0 до 1, время сервера есть
+        double share = run.clientOverheadShare(client);
+        assertThat("Client overhead share", share, both(greaterThanOrEqualTo(0.0)).and(lessThanOrEqualTo(1.0)));
+        assertThat("Server time", run.serverMeanMillis(Route.LIST_NOTES), greaterThan(0.0));
+    }
+
+    @Test
+    @DisplayName("Store work of POST and PUT is handler time")
+    public void mutationIsHandlerTime(@TempDir Path dir) throws IOException, InterruptedException {
+        // ШАГ 1: Сервер с хранилищем на диске: каждое изменение ждёт окно групповой фиксации (50 мс)
+        server.stop();
+        server = NotesStubServer.start(2, NotesStore.durable(dir, true, 50, Long.MAX_VALUE));
+        String token = login("durable@stub.local", null);
+
+        // ШАГ 2: Создание и PUT заметки
+        String note = "{\"title\":\"Durable note\",\"description\":\"Description\",\"category\":\"Home\"";
+        String created = call(Route.CREATE_NOTE, send("POST", Endpoints.NOTES, note + "}", token), null);
+        String id = MAPPER.readTree(created).get("data").get("id").asText();
+        call(Route.UPDATE_NOTE, send("PUT", Endpoints.NOTES + "/" + id, note + ",\"completed\":true}", token), null);
+        ServerTimings timings = awaitRecorded(Route.UPDATE_NOTE, 1);
+
+        // Проверка 1: Ожидание журнала - в handler, ответ без него
+        for (Route route : new Route[]{Route.CREATE_NOTE, Route.UPDATE_NOTE}) {
+            double handler = timings.meanMillis(route, StubMetrics.Phase.HANDLER);
+            assertThat(route.label() + " handler", handler, greaterThanOrEqualTo(50.0));
+            assertThat(route.label() + " serialize", timings.meanMillis(route, StubMetrics.Phase.SERIALIZE),
+                    lessThan(handler));
+        }
+    }
+
+    /**
+     * Сервер записывает время после отправки ответа: клиент может получить ответ чуть раньше.
+     */
+    private ServerTimings awaitRecorded(Route route, long count) throws IOException, InterruptedException {
+        long deadline = System.nanoTime() + 5_000_000_000L;
+        ServerTimings timings = ServerTimings.scrape(server.metricsUrl());
+        while (timings.count(route, StubMetrics.Phase.SERIALIZE) < count && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+            timings = ServerTimings.scrape(server.metricsUrl());
+        }
+        return timings;
+    }
+
+    private String login(String email, LatencyHistograms client) throws IOException, InterruptedException {
+        String credentials = "{\"name\":\"Metrics User\",\"email\":\"" + email + "\",\"password\":\"password\"}";
+        call(Route.REGISTER, post(Endpoints.USERS_REGISTER, credentials), client);
+        String body = call(Route.LOGIN, post(Endpoints.USERS_LOGIN, credentials), client);
+        return MAPPER.readTree(body).get("data").get("token").asText();
+    }
+
+    private HttpRequest get(String path, String token) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(server.baseUrl() + path));
+        if (token != null) {
+            builder.header("X-AUTH-TOKEN", token);
+        }
+        return builder.GET().build();
+    }
+
+    private HttpRequest post(String path, String json) {
+        return send("POST", path, json, null);
+    }
+
+    private HttpRequest send(String method, String path, String json, String token) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(server.baseUrl() + path))
+                .header("Content-Type", "application/json")
+                .method(method, HttpRequest.BodyPublishers.ofString(json));
+        if (token != null) {
+            builder.header("X-AUTH-TOKEN", token);
+        }
+        return builder.build();
+    }
+
+    private static String call(Route route, HttpRequest request, LatencyHistograms client)
+            throws IOException, InterruptedException {
+        long start = System.nanoTime();
+        HttpResponse<String> response = CLIENT.send(request,
+                HttpResponse.BodyHandlers.ofString(StandardCharsets.UTF_8));
+        if (client != null) {
+            client.record(route, System.nanoTime() - start);
+        }
+        return response.body();
+    }
+}
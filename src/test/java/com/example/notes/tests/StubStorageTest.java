@@ -0,0 +1,216 @@
+package com.example.notes.tests;
+
+import com.example.notes.stub.NotesStore;
+import com.example.notes.stub.StoredNote;
+import com.example.notes.stub.StoredUser;
+import com.example.notes.stub.StubException;
+import com.example.notes.stub.StubStorage;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * ТЕСТЫ ХРАНЕНИЯ ЗАГЛУШКИ НА ДИСКЕ (StubStorage, StubJournal)
+ *
+ * Что проверяют эти тесты:
+ * 1. После перезапуска из журнала - те же пользователи, токены и заметки
+ * 2. Снимок: запуск читает снимок и только хвост журнала, старые файлы удалены
+ * 3. Недописанная при сбое запись отбрасывается, журнал продолжается за последней целой
+ * 4. Токен удалённого пользователя не оживает после снимка, даже если его email заняли заново
+ * 5. Повреждённый снимок останавливает запуск и не удаляет ни одного файла
+ *
+ * Каждый тест - в своём временном каталоге, сеть не нужна.
+ */
+@DisplayName("Stub Storage Tests") // Название группы тестов для отчёта
+public class StubStorageTest {
+
+    private static final long NO_SNAPSHOTS = Long.MAX_VALUE;
+
+    @Test
+    @DisplayName("Reopened store has the same users, tokens and notes")
+    public void reopenRestoresState(@TempDir Path dir) throws IOException {
+        // ШАГ 1: Пользователь, токен, заметки: изменённая, удалённая, удалённый второй пользователь
+        NotesStore store = NotesStore.durable(dir, true, 1, NO_SNAPSHOTS);
+        StoredUser user = store.register("Durable User", "durable@storage.local", "password");
+        String token = store.login("durable@storage.local", "password");
+        StoredNote home = store.createNote(user, "Home note", "Description", "Home");
+        StoredNote work = store.createNote(user, "Work note", "Description", "Work");
+        StoredNote gone = store.createNote(user, "Gone note", "Description", "Work");
+        store.updateNote(user, work.getId(), "Work note", "Done", "Work", true);
+        store.deleteNote(user, gone.getId());
+        StoredUser removed = store.register("Removed User", "removed@storage.local", "password");
+        store.login("removed@storage.local", "password");
+        store.deleteUser(removed);
+        store.close();
+
+        // ШАГ 2: Запуск из того же каталога
+        NotesStore reopened = NotesStore.durable(dir, true, 1, NO_SNAPSHOTS);
+        StubStorage.Recovery recovery = reopened.storage().getRecovery();
+
+        // Проверка 1: Все записи из журнала, снимка нет
+        assertThat("Snapshot records", recovery.getSnapshotRecords(), is(0L));
+        assertThat("Journal records", recovery.getJournalRecords(), is(10L));
+        assertThat("Users", recovery.getUsers(), is(1));
+        assertThat("Notes", recovery.getNotes(), is(2L));
+        assertThat("Tokens", reopened.tokenCount(), is(1));
+
+        // Проверка 2: Токен работает, заметки - в последнем состоянии
+        StoredUser restored = reopened.authenticate(token);
+        assertThat("User id", restored.getId(), is(user.getId()));
+        assertThat("Notes", ids(reopened.listNotes(restored)), contains(home.getId(), work.getId()));
+        assertThat("Completed", ids(reopened.listNotes(restored, null, true)), contains(work.getId()));
+        assertThat("Description", reopened.getNote(restored, work.getId()).getDescription(), is("Done"));
+
+        // Проверка 3: Email удалённого пользователя свободен, новые ID не совпадают со старыми
+        reopened.register("Removed User", "removed@storage.local", "password");
+        StoredNote added = reopened.createNote(restored, "New note", "Description", "Personal");
+        assertThat("New id", added.getId(), not(oneOf(home.getId(), work.getId(), gone.getId())));
+        reopened.close();
+    }
+
+    @Test
+    @DisplayName("Startup reads the snapshot and only the journal tail after it")
+    public void snapshotAndTail(@TempDir Path dir) throws IOException {
+        // ШАГ 1: Три заметки, снимок, ещё две заметки
+        NotesStore store = NotesStore.durable(dir, true, 1, NO_SNAPSHOTS);
+        StoredUser user = store.register("Snapshot User", "snapshot@storage.local", "password");
+        for (int i = 0; i < 3; i++) {
+            store.createNote(user, "Before " + i, "Description", "Home");
+        }
+        store.storage().checkpoint();
+        store.createNote(user, "After 1", "Description", "Work");
+        store.createNote(user, "After 2", "Description", "Work");
+        store.close();
+
+        // Проверка 1: Один снимок; сегменты до снимка удалены
+        assertThat("Snapshots", files(dir, ".snap"), hasSize(1));
+        assertThat("Segments", files(dir, ".log"), hasSize(1));
+
+        // ШАГ 2: Запуск
+        NotesStore reopened = NotesStore.durable(dir, true, 1, NO_SNAPSHOTS);
+        StubStorage.Recovery recovery = reopened.storage().getRecovery();
+
+        // Проверка 2: Снимок - пользователь и три заметки, журнал - только две новые
+        assertThat("Snapshot records", recovery.getSnapshotRecords(), is(4L));
+        assertThat("Journal records", recovery.getJournalRecords(), is(2L));
+        StoredUser restored = reopened.authenticate(reopened.login("snapshot@storage.local", "password"));
+        assertThat("Notes", reopened.listNotes(restored), hasSize(5));
+        assertThat("Work notes", reopened.listNotes(restored, "Work", null), hasSize(2));
+        reopened.close();
+    }
+
+    @Test
+    @DisplayName("A deleted user's token stays dead after a snapshot and re-registration")
+    public void deletedUserTokenStaysDead(@TempDir Path dir) throws IOException {
+        // ШАГ 1: Токен пользователя, удаление, тот же email у нового аккаунта, снимок
+        NotesStore store = NotesStore.durable(dir, true, 1, NO_SNAPSHOTS);
+        StoredUser alice = store.register("Alice User", "reused@storage.local", "password");
+        String oldToken = store.login("reused@storage.local", "password");
+        store.deleteUser(alice);
+        StoredUser mallory = store.register("Mallory User", "reused@storage.local", "password");
+        String newToken = store.login("reused@storage.local", "password");
+        store.storage().checkpoint();
+        store.close();
+
+        // ШАГ 2: Запуск из снимка
+        NotesStore reopened = NotesStore.durable(dir, true, 1, NO_SNAPSHOTS);
+
+        // Проверка 1: В снимке - только живой пользователь и его токен
+        assertThat("Snapshot records", reopened.storage().getRecovery().getSnapshotRecords(), is(2L));
+
+        // Проверка 2: Старый токен - 401, новый - новый аккаунт
+        StubException rejected = assertThrows(StubException.class, () -> reopened.authenticate(oldToken));
+        assertThat("Old token", rejected.getStatus(), is(401));
+        assertThat("New token", reopened.authenticate(newToken).getId(), is(mallory.getId()));
+        reopened.close();
+    }
+
+    @Test
+    @DisplayName("A torn record at the journal tail is dropped")
+    public void tornTailIsDropped(@TempDir Path dir) throws IOException {
+        // ШАГ 1: Две заметки
+        NotesStore store = NotesStore.durable(dir, true, 1, NO_SNAPSHOTS);
+        StoredUser user = store.register("Torn User", "torn@storage.local", "password");
+        StoredNote kept = store.createNote(user, "Kept", "Description", "Home");
+        store.createNote(user, "Torn", "Description", "Home");
+        store.close();
+
+        // ШАГ 2: "Сбой" посреди записи второй заметки - портим её последний байт
+        Path segment = files(dir, ".log").get(0);
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(new byte[]{(byte) 0xFF}), channel.size() - 1);
+        }
+        long corrupted = Files.size(segment);
+
+        // Проверка 1: Осталась только первая заметка, хвост отрезан
+        NotesStore reopened = NotesStore.durable(dir, true, 1, NO_SNAPSHOTS);
+        assertThat("Journal records", reopened.storage().getRecovery().getJournalRecords(), is(2L));
+        assertThat("Segment size", Files.size(segment), lessThan(corrupted));
+        StoredUser restored = reopened.authenticate(reopened.login("torn@storage.local", "password"));
+        assertThat("Notes", ids(reopened.listNotes(restored)), contains(kept.getId()));
+
+        // ШАГ 3: Журнал продолжается за последней целой записью
+        StoredNote next = reopened.createNote(restored, "Next", "Description", "Work");
+        reopened.close();
+
+        // Проверка 2: Новая запись читается при следующем запуске
+        NotesStore again = NotesStore.durable(dir, true, 1, NO_SNAPSHOTS);
+        StoredUser user3 = again.authenticate(again.login("torn@storage.local", "password"));
+        assertThat("Notes", ids(again.listNotes(user3)), contains(kept.getId(), next.getId()));
+        again.close();
+    }
+
+    @Test
+    @DisplayName("A damaged snapshot fails startup and keeps every file")
+    public void damagedSnapshotIsFatal(@TempDir Path dir) throws IOException {
+        // ШАГ 1: Снимок с тремя заметками и хвост журнала
+        NotesStore store = NotesStore.durable(dir, true, 1, NO_SNAPSHOTS);
+        StoredUser user = store.register("Damaged User", "damaged@storage.local", "password");
+        for (int i = 0; i < 3; i++) {
+            store.createNote(user, "Before " + i, "Description", "Home");
+        }
+        store.storage().checkpoint();
+        store.createNote(user, "After", "Description", "Work");
+        store.close();
+
+        // ШАГ 2: Портим байт посреди снимка
+        Path snapshot = files(dir, ".snap").get(0);
+        try (FileChannel channel = FileChannel.open(snapshot, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(new byte[]{(byte) 0xFF}), channel.size() / 2);
+        }
+        List<Path> before = files(dir, "");
+
+        // Проверка 1: Запуск прерван, а не продолжен с частью данных
+        IOException failure = assertThrows(IOException.class, () -> NotesStore.durable(dir, true, 1, NO_SNAPSHOTS));
+        assertThat("Message", failure.getMessage(), containsString("damaged"));
+
+        // Проверка 2: Снимок и сегменты журнала на месте
+        assertThat("Files", files(dir, ""), is(before));
+    }
+
+    private static List<String> ids(List<StoredNote> notes) {
+        return notes.stream().map(StoredNote::getId).collect(Collectors.toList());
+    }
+
+    private static List<Path> files(Path dir, String suffix) throws IOException {
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.filter(file -> file.getFileName().toString().endsWith(suffix))
+                    .sorted()
+                    .collect(Collectors.toList());
+        }
+    }
+}
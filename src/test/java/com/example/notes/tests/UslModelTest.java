@@ -0,0 +1,66 @@
+package com.example.notes.tests;
+
+import com.example.notes.load.UslModel;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+/**
+ * ТЕСТЫ МОДЕЛИ МАСШТАБИРУЕМОСТИ (UslModel)
+ *
+ * Что проверяют эти тесты:
+ * 1. По точной кривой USL коэффициенты σ и κ восстанавливаются
+ * 2. Предсказанный пик N* = sqrt((1 - σ) / κ) совпадает с известным
+ * 3. Линейный рост без спада даёт κ = 0 и бесконечный N*
+ *
+ * Сеть не нужна: модель подбирается по заранее известным числам.
+ */
+@DisplayName("USL Model Tests") // Название группы тестов для отчёта
+public class UslModelTest {
+
+    private static final int[] LEVELS = {1, 2, 4, 8, 16, 32, 64};
+
+    @Test
+    @DisplayName("Contention and coherency are recovered from a synthetic curve")
+    public void coefficientsAreRecovered() {
+        // ШАГ 1: Строим кривую X(N) с λ = 100, σ = 0.05, κ = 0.001
+        UslModel expected = new UslModel(100, 0.05, 0.001, 1.0);
+        double[] throughput = new double[LEVELS.length];
+        for (int i = 0; i < LEVELS.length; i++) {
+            throughput[i] = expected.predict(LEVELS[i]);
+        }
+
+        // ШАГ 2: Подбираем модель по точкам
+        UslModel model = UslModel.fit(LEVELS, throughput);
+
+        // Проверка 1: Коэффициенты
+        assertThat("Lambda", model.getLambda(), closeTo(100, 1e-9));
+        assertThat("Sigma", model.getSigma(), closeTo(0.05, 1e-6));
+        assertThat("Kappa", model.getKappa(), closeTo(0.001, 1e-8));
+        assertThat("R^2", model.getRSquared(), closeTo(1.0, 1e-9));
+
+        // Проверка 2: Пик около 31 сессии, после него пропускная способность падает
+        assertThat("Peak concurrency", model.peakConcurrency(), closeTo(Math.sqrt(0.95 / 0.001), 1e-3));
+        assertThat("Throughput past the peak", model.predict(64), lessThan(model.peakThroughput()));
+    }
+
+    @Test
+    @DisplayName("Linear scaling has no retrograde peak")
+    public void linearScalingHasNoPeak() {
+        // ШАГ 1: Идеальная кривая X(N) = 50 * N
+        double[] throughput = new double[LEVELS.length];
+        for (int i = 0; i < LEVELS.length; i++) {
+            throughput[i] = 50.0 * LEVELS[i];
+        }
+
+        // ШАГ 2: Подбираем модель
+        UslModel model = UslModel.fit(LEVELS, throughput);
+
+        // Проверка: σ = κ = 0, пика нет
+        assertThat("Sigma", model.getSigma(), closeTo(0, 1e-9));
+        assertThat("Kappa", model.getKappa(), closeTo(0, 1e-9));
+        assertThat("Peak concurrency", model.peakConcurrency(), equalTo(Double.POSITIVE_INFINITY));
+    }
+}